@@ -0,0 +1,106 @@
+package com.webclient.lib.balancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * One replica of a load-balanced service: its base URL, the calls in flight
+ * to it and a peak-EWMA of its latency.
+ * <p>
+ * The EWMA decays with time rather than per sample, so a replica that was
+ * slow a while ago is forgiven at the same pace whether it has since served
+ * one call or a thousand.  A sample above the average replaces it outright
+ * ("peak"), so a replica that turns slow is avoided at once.
+ */
+class Endpoint {
+
+    /** Cost of a replica that has calls in flight but no latency sample yet. */
+    private static final double UNPROBED_BUSY_COST = Double.MAX_VALUE / 2;
+
+    private final String url;
+    private final long decayNanos;
+    private final long failurePenaltyNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private double ewmaNanos;
+    private long lastSampleNanos;
+
+    Endpoint(String url, long decayNanos, long failurePenaltyNanos, LongSupplier nanoClock) {
+        this.url = url;
+        this.decayNanos = decayNanos;
+        this.failurePenaltyNanos = failurePenaltyNanos;
+        this.nanoClock = nanoClock;
+        this.lastSampleNanos = nanoClock.getAsLong();
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    /**
+     * Expected wait for a new call: the latency average scaled by the calls
+     * that would be ahead of it.
+     */
+    double cost() {
+        int pending = inFlight.get();
+        double latency = ewma();
+        if (latency == 0 && pending > 0) {
+            return UNPROBED_BUSY_COST + pending;
+        }
+        return latency * (pending + 1);
+    }
+
+    /**
+     * Counts a call in flight and returns its start time.
+     */
+    long start() {
+        inFlight.incrementAndGet();
+        requests.increment();
+        return nanoClock.getAsLong();
+    }
+
+    /**
+     * Ends a call started with {@link #start()}.  A failed call is sampled
+     * at no less than the failure penalty and twice the current average, so
+     * a replica that fails fast does not attract more traffic.
+     *
+     * @param sample whether the call's latency is representative; streamed
+     *               calls are not sampled unless they fail
+     */
+    void complete(long startNanos, boolean failure, boolean sample) {
+        inFlight.decrementAndGet();
+        long elapsed = nanoClock.getAsLong() - startNanos;
+        if (failure) {
+            failures.increment();
+            observe(Math.max(elapsed, Math.max(failurePenaltyNanos, (long) (2 * ewma()))));
+        } else if (sample) {
+            observe(elapsed);
+        }
+    }
+
+    /**
+     * Ends a cancelled call without sampling it.
+     */
+    void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    EndpointStats getStats() {
+        return new EndpointStats(inFlight.get(), ewma() / 1_000_000, requests.sum(), failures.sum());
+    }
+
+    private synchronized double ewma() {
+        return ewmaNanos;
+    }
+
+    private synchronized void observe(long rttNanos) {
+        long now = nanoClock.getAsLong();
+        double weight = Math.exp(-Math.max(0, now - lastSampleNanos) / (double) decayNanos);
+        lastSampleNanos = now;
+        ewmaNanos = rttNanos > ewmaNanos ? rttNanos : ewmaNanos * weight + rttNanos * (1 - weight);
+    }
+}
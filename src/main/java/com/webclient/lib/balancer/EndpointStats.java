@@ -0,0 +1,12 @@
+package com.webclient.lib.balancer;
+
+/**
+ * Point-in-time view of one replica of a load-balanced service.
+ *
+ * @param inFlight       calls currently running against the replica
+ * @param ewmaLatencyMs  peak-EWMA latency, in milliseconds ({@code 0} before the first sample)
+ * @param requests       calls sent to the replica since it was first seen
+ * @param failures       calls that failed with a retriable error
+ */
+public record EndpointStats(int inFlight, double ewmaLatencyMs, long requests, long failures) {
+}
@@ -0,0 +1,227 @@
+package com.webclient.lib.balancer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Spreads the calls to one logical service over its replicas.
+ * <p>
+ * Each call goes to the cheaper of two randomly picked replicas
+ * (power-of-two-choices), where the cost of a replica is its peak-EWMA
+ * latency multiplied by its calls in flight plus one.  Comparing two random
+ * replicas rather than scanning for the global minimum keeps concurrent
+ * callers from all piling onto the same, momentarily best, replica.
+ * <p>
+ * The replica list is read from the supplier on every call, so it may change
+ * at any time (e.g. from service discovery); per-replica state is kept by
+ * base URL.
+ * <p>
+ * Callers may pass a set of replicas to avoid: every replica whose call
+ * failed with an error matched by {@code isFailure} is added to it, so a
+ * retry sharing the set goes elsewhere.  Once every replica has failed, all
+ * are eligible again.
+ */
+public class LoadBalancer {
+
+    private final String service;
+    private final Supplier<List<String>> endpoints;
+    private final long decayNanos;
+    private final long failurePenaltyNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Endpoint> byUrl = new ConcurrentHashMap<>();
+
+    /**
+     * @param endpoints      supplies the base URLs of the replicas
+     * @param decay          time for the latency average to forget roughly two thirds of an old sample
+     * @param failurePenalty latency charged, at least, for a failed call
+     */
+    public LoadBalancer(String service, Supplier<List<String>> endpoints, Duration decay, Duration failurePenalty) {
+        this(service, endpoints, decay, failurePenalty, System::nanoTime);
+    }
+
+    LoadBalancer(String service, Supplier<List<String>> endpoints, Duration decay, Duration failurePenalty,
+                 LongSupplier nanoClock) {
+        this.service = service;
+        this.endpoints = endpoints;
+        this.decayNanos = decay.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    /**
+     * Returns the stats of every current replica, by base URL.
+     */
+    public Map<String, EndpointStats> getStats() {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        for (String url : endpoints.get()) {
+            stats.put(url, endpoint(url).getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Joins a replica's base URL and a request path.
+     */
+    public static String resolve(String baseUrl, String path) {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        return path.startsWith("/") ? base + path : base + "/" + path;
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Decorators
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Picks a replica on each subscription and subscribes to the call built
+     * for its base URL, sampling the call's latency when it completes.
+     *
+     * @param avoid replicas to skip, updated with those that fail; {@code null} to disable
+     */
+    public <T> Mono<T> execute(Function<String, Mono<T>> call, Predicate<Throwable> isFailure, Set<String> avoid) {
+        return Mono.defer(() -> {
+            Endpoint endpoint = choose(avoid);
+            long start = endpoint.start();
+            AtomicBoolean done = new AtomicBoolean();
+            return call.apply(endpoint.getUrl())
+                    .doOnSuccess(value -> {
+                        if (done.compareAndSet(false, true)) {
+                            endpoint.complete(start, false, true);
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (done.compareAndSet(false, true)) {
+                            onError(endpoint, start, isFailure.test(error), true, avoid);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (done.compareAndSet(false, true)) {
+                            endpoint.cancel();
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Streaming counterpart of {@link #execute(Function, Predicate, Set)}.
+     * The replica counts as busy until the stream terminates, but only
+     * failures are sampled: a stream's duration says little about latency.
+     */
+    public <T> Flux<T> executeMany(Function<String, Flux<T>> call, Predicate<Throwable> isFailure, Set<String> avoid) {
+        return Flux.defer(() -> {
+            Endpoint endpoint = choose(avoid);
+            long start = endpoint.start();
+            AtomicBoolean done = new AtomicBoolean();
+            return call.apply(endpoint.getUrl())
+                    .doOnComplete(() -> {
+                        if (done.compareAndSet(false, true)) {
+                            endpoint.complete(start, false, false);
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (done.compareAndSet(false, true)) {
+                            onError(endpoint, start, isFailure.test(error), false, avoid);
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (done.compareAndSet(false, true)) {
+                            endpoint.cancel();
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Blocking counterpart of {@link #execute(Function, Predicate, Set)}.
+     */
+    public <T> T executeBlocking(Function<String, T> call, Predicate<Throwable> isFailure, Set<String> avoid) {
+        Endpoint endpoint = choose(avoid);
+        long start = endpoint.start();
+        T value;
+        try {
+            value = call.apply(endpoint.getUrl());
+        } catch (RuntimeException | Error e) {
+            onError(endpoint, start, isFailure.test(e), true, avoid);
+            throw e;
+        }
+        endpoint.complete(start, false, true);
+        return value;
+    }
+
+    private static void onError(Endpoint endpoint, long start, boolean failure, boolean sample, Set<String> avoid) {
+        if (failure && avoid != null) {
+            avoid.add(endpoint.getUrl());
+        }
+        endpoint.complete(start, failure, sample);
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Selection
+    // ------------------------------------------------------------------ //
+
+    Endpoint choose(Set<String> avoid) {
+        List<String> urls = endpoints.get();
+        if (urls == null || urls.isEmpty()) {
+            throw new IllegalStateException("No endpoints for service '" + service + "'");
+        }
+        prune(urls);
+
+        List<String> candidates = urls;
+        if (avoid != null && !avoid.isEmpty()) {
+            candidates = new ArrayList<>(urls.size());
+            for (String url : urls) {
+                if (!avoid.contains(url)) {
+                    candidates.add(url);
+                }
+            }
+            if (candidates.isEmpty()) {
+                candidates = urls;
+            }
+        }
+
+        int n = candidates.size();
+        if (n == 1) {
+            return endpoint(candidates.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(n);
+        int j = random.nextInt(n - 1);
+        if (j >= i) {
+            j++;
+        }
+        Endpoint a = endpoint(candidates.get(i));
+        Endpoint b = endpoint(candidates.get(j));
+        return a.cost() <= b.cost() ? a : b;
+    }
+
+    private Endpoint endpoint(String url) {
+        return byUrl.computeIfAbsent(url, u -> new Endpoint(u, decayNanos, failurePenaltyNanos, nanoClock));
+    }
+
+    /**
+     * Drops the state of replicas no longer supplied.
+     */
+    private void prune(List<String> urls) {
+        if (byUrl.size() > urls.size()) {
+            byUrl.keySet().retainAll(new HashSet<>(urls));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.webclient.lib.balancer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Holds one {@link LoadBalancer} per logical service name.
+ * <p>
+ * Services are registered with a fixed list of base URLs (from
+ * {@code webclient.http.load-balancer.services}) or with a supplier queried
+ * on every call, e.g. backed by service discovery.  A single registry is
+ * shared by {@code WebServiceClient} and {@code RestServiceClient}, so both
+ * see the same in-flight counts and latencies.
+ */
+public class LoadBalancerRegistry {
+
+    private final Duration decay;
+    private final Duration failurePenalty;
+    private final Map<String, LoadBalancer> balancers = new ConcurrentHashMap<>();
+
+    /**
+     * @param decay          time constant of the per-replica latency average
+     * @param failurePenalty latency charged, at least, for a failed call
+     */
+    public LoadBalancerRegistry(Duration decay, Duration failurePenalty) {
+        this.decay = decay;
+        this.failurePenalty = failurePenalty;
+    }
+
+    public void register(String service, List<String> endpoints) {
+        List<String> copy = List.copyOf(endpoints);
+        register(service, () -> copy);
+    }
+
+    /**
+     * Registers {@code service}, replacing any previous registration (and
+     * its per-replica state).
+     */
+    public void register(String service, Supplier<List<String>> endpoints) {
+        balancers.put(service, new LoadBalancer(service, endpoints, decay, failurePenalty));
+    }
+
+    /**
+     * Returns the balancer of {@code service}.
+     *
+     * @throws IllegalArgumentException if the service is not registered
+     */
+    public LoadBalancer get(String service) {
+        LoadBalancer balancer = balancers.get(service);
+        if (balancer == null) {
+            throw new IllegalArgumentException("Unknown load-balanced service '" + service + "'");
+        }
+        return balancer;
+    }
+
+    /**
+     * Returns the per-replica stats of every service, by service name.
+     */
+    public Map<String, Map<String, EndpointStats>> getStats() {
+        return balancers.values().stream()
+                .collect(Collectors.toMap(LoadBalancer::getService, LoadBalancer::getStats));
+    }
+}
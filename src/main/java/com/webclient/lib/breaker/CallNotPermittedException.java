@@ -0,0 +1,29 @@
+package com.webclient.lib.breaker;
+
+/**
+ * Thrown instead of calling a downstream whose circuit breaker is open (or
+ * half-open with all probe calls in flight).
+ * <p>
+ * Nothing was sent, so the call fails fast.  The retry predicates treat this
+ * exception as non-retriable: retrying would only wait out the backoff to be
+ * rejected again.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    private final String key;
+    private final CircuitBreaker.State state;
+
+    public CallNotPermittedException(String key, CircuitBreaker.State state) {
+        super("Circuit breaker '" + key + "' is " + state + " and does not permit calls");
+        this.key = key;
+        this.state = state;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public CircuitBreaker.State getState() {
+        return state;
+    }
+}
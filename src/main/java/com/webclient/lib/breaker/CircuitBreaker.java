@@ -0,0 +1,314 @@
+package com.webclient.lib.breaker;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker guarding one downstream.
+ * <p>
+ * <b>Closed</b>: calls pass and their outcomes go into a count-based sliding
+ * window of the last {@code slidingWindowSize} calls.  Once the window holds
+ * {@code minimumNumberOfCalls}, a failure rate or slow-call rate at or above
+ * its threshold opens the breaker.
+ * <p>
+ * <b>Open</b>: calls fail fast with {@link CallNotPermittedException} until
+ * {@code waitDurationInOpenState} has elapsed; the next call then moves the
+ * breaker to half-open.
+ * <p>
+ * <b>Half-open</b>: {@code permittedCallsInHalfOpenState} probe calls pass,
+ * others are rejected.  A probe that fails or is slow reopens the breaker;
+ * once every probe has succeeded it closes, with an empty window.
+ * <p>
+ * State lives in an {@link AtomicReference} and changes only by
+ * compare-and-set, so concurrent callers racing on the same transition
+ * produce exactly one event.  The window is a ring of atomic slots with
+ * running counters; recording an outcome never blocks.
+ * <p>
+ * What counts as a failure is decided by the caller's predicate (the clients
+ * use their retriable-exception predicates, so a 4xx answer counts as a
+ * successful call).  A call cancelled because the caller's timeout fired is
+ * recorded as a failure.  Any other cancel is recorded only if the call had
+ * already run for {@code slowCallDuration}, and then as a slow call.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final int RECORDED = 1;
+    private static final int FAILED = 2;
+    private static final int SLOW = 4;
+
+    private final String key;
+    private final CircuitBreakerConfig config;
+    private final Consumer<CircuitBreakerEvent> listener;
+    private final LongSupplier nanoClock;
+    private final long slowCallNanos;
+    private final long waitNanos;
+
+    private final AtomicReference<StateHolder> state;
+    private final AtomicIntegerArray window;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicInteger bufferedCalls = new AtomicInteger();
+    private final AtomicInteger failedCalls = new AtomicInteger();
+    private final AtomicInteger slowCalls = new AtomicInteger();
+    private final LongAdder notPermitted = new LongAdder();
+    private final LongAdder transitions = new LongAdder();
+
+    public CircuitBreaker(String key, CircuitBreakerConfig config, Consumer<CircuitBreakerEvent> listener) {
+        this(key, config, listener, System::nanoTime);
+    }
+
+    CircuitBreaker(String key, CircuitBreakerConfig config, Consumer<CircuitBreakerEvent> listener,
+                   LongSupplier nanoClock) {
+        this.key = key;
+        this.config = config;
+        this.listener = listener;
+        this.nanoClock = nanoClock;
+        this.slowCallNanos = config.slowCallDuration().toNanos();
+        this.waitNanos = config.waitDurationInOpenState().toNanos();
+        this.window = new AtomicIntegerArray(config.slidingWindowSize());
+        this.state = new AtomicReference<>(new StateHolder(State.CLOSED, nanoClock.getAsLong(), 0));
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public State getState() {
+        return state.get().state;
+    }
+
+    public CircuitBreakerStats getStats() {
+        return new CircuitBreakerStats(getState(), bufferedCalls.get(), failedCalls.get(),
+                slowCalls.get(), notPermitted.sum(), transitions.sum());
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Decorators
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Runs {@code call} if the breaker permits it and records its outcome;
+     * otherwise fails with {@link CallNotPermittedException} without
+     * subscribing.  Each subscription (e.g. each retry) is gated separately.
+     *
+     * @param isFailure which errors count as failures; other errors count as successful calls
+     */
+    public <T> Mono<T> execute(Mono<T> call, Predicate<Throwable> isFailure) {
+        return execute(call, isFailure, () -> false);
+    }
+
+    /**
+     * Like {@link #execute(Mono, Predicate)}, for a call whose timeout is
+     * applied outside the breaker, where it surfaces only as a cancel.
+     *
+     * @param isFailure which errors count as failures; other errors count as successful calls
+     * @param timedOut  checked on cancel; {@code true} records the call as a failure
+     */
+    public <T> Mono<T> execute(Mono<T> call, Predicate<Throwable> isFailure, BooleanSupplier timedOut) {
+        return Mono.defer(() -> {
+            if (!tryAcquirePermission()) {
+                return Mono.error(new CallNotPermittedException(key, getState()));
+            }
+            long start = nanoClock.getAsLong();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return call
+                    .doOnSuccess(value -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            onResult(nanoClock.getAsLong() - start, false);
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            onResult(nanoClock.getAsLong() - start, isFailure.test(error));
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (!recorded.compareAndSet(false, true)) {
+                            return;
+                        }
+                        if (timedOut.getAsBoolean()) {
+                            onResult(nanoClock.getAsLong() - start, true);
+                        } else {
+                            onCancel(nanoClock.getAsLong() - start);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Blocking counterpart of {@link #execute(Mono, Predicate)}.
+     */
+    public <T> T execute(Supplier<T> call, Predicate<Throwable> isFailure) {
+        if (!tryAcquirePermission()) {
+            throw new CallNotPermittedException(key, getState());
+        }
+        long start = nanoClock.getAsLong();
+        T value;
+        try {
+            value = call.get();
+        } catch (RuntimeException | Error e) {
+            onResult(nanoClock.getAsLong() - start, isFailure.test(e));
+            throw e;
+        }
+        onResult(nanoClock.getAsLong() - start, false);
+        return value;
+    }
+
+    // ------------------------------------------------------------------ //
+    //  State machine
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Returns whether a call may proceed, moving an open breaker whose wait
+     * has elapsed to half-open.  Every permitted call must be followed by
+     * {@link #onResult} or {@link #onCancel}.
+     */
+    public boolean tryAcquirePermission() {
+        while (true) {
+            StateHolder current = state.get();
+            switch (current.state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (nanoClock.getAsLong() - current.sinceNanos >= waitNanos) {
+                        transition(current, State.HALF_OPEN);
+                        continue;
+                    }
+                    notPermitted.increment();
+                    return false;
+                default:
+                    if (current.permits.getAndUpdate(p -> p > 0 ? p - 1 : 0) > 0) {
+                        return true;
+                    }
+                    notPermitted.increment();
+                    return false;
+            }
+        }
+    }
+
+    /**
+     * Records a completed call.
+     *
+     * @param durationNanos how long the call took
+     * @param failure       whether the call failed
+     */
+    public void onResult(long durationNanos, boolean failure) {
+        boolean slow = durationNanos >= slowCallNanos;
+        StateHolder current = state.get();
+        switch (current.state) {
+            case CLOSED -> {
+                record((failure ? FAILED : 0) | (slow ? SLOW : 0));
+                if (thresholdExceeded()) {
+                    transition(current, State.OPEN);
+                }
+            }
+            case HALF_OPEN -> {
+                if (failure || slow) {
+                    transition(current, State.OPEN);
+                } else if (current.successes.incrementAndGet() >= config.permittedCallsInHalfOpenState()) {
+                    transition(current, State.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // late result of a call permitted before the breaker opened
+            }
+        }
+    }
+
+    /**
+     * Records a call cancelled before it completed: as a slow success if it
+     * had run for at least {@code slowCallDuration}, otherwise not at all
+     * (a half-open probe permit is handed back).
+     */
+    public void onCancel(long durationNanos) {
+        if (durationNanos >= slowCallNanos) {
+            onResult(durationNanos, false);
+            return;
+        }
+        StateHolder current = state.get();
+        if (current.state == State.HALF_OPEN) {
+            current.permits.incrementAndGet();
+        }
+    }
+
+    private void transition(StateHolder expected, State to) {
+        int permits = to == State.HALF_OPEN ? config.permittedCallsInHalfOpenState() : 0;
+        StateHolder next = new StateHolder(to, nanoClock.getAsLong(), permits);
+        if (!state.compareAndSet(expected, next)) {
+            return;
+        }
+        if (to == State.CLOSED) {
+            resetWindow();
+        }
+        transitions.increment();
+        listener.accept(new CircuitBreakerEvent(key, expected.state, to, Instant.now()));
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Sliding window
+    // ------------------------------------------------------------------ //
+
+    private void record(int outcome) {
+        int slot = (int) (cursor.getAndIncrement() % window.length());
+        int previous = window.getAndSet(slot, RECORDED | outcome);
+        if ((previous & RECORDED) == 0) {
+            bufferedCalls.incrementAndGet();
+        }
+        adjust(failedCalls, previous, outcome, FAILED);
+        adjust(slowCalls, previous, outcome, SLOW);
+    }
+
+    private static void adjust(AtomicInteger counter, int previous, int outcome, int flag) {
+        int delta = (outcome & flag) - (previous & flag);
+        if (delta != 0) {
+            counter.addAndGet(Integer.signum(delta));
+        }
+    }
+
+    private boolean thresholdExceeded() {
+        int calls = bufferedCalls.get();
+        if (calls < config.minimumNumberOfCalls()) {
+            return false;
+        }
+        return failedCalls.get() * 100f / calls >= config.failureRateThreshold()
+                || slowCalls.get() * 100f / calls >= config.slowCallRateThreshold();
+    }
+
+    private void resetWindow() {
+        for (int i = 0; i < window.length(); i++) {
+            int previous = window.getAndSet(i, 0);
+            if ((previous & RECORDED) != 0) {
+                bufferedCalls.decrementAndGet();
+            }
+            adjust(failedCalls, previous, 0, FAILED);
+            adjust(slowCalls, previous, 0, SLOW);
+        }
+    }
+
+    private static final class StateHolder {
+
+        final State state;
+        final long sinceNanos;
+        final AtomicInteger permits;
+        final AtomicInteger successes = new AtomicInteger();
+
+        StateHolder(State state, long sinceNanos, int permits) {
+            this.state = state;
+            this.sinceNanos = sinceNanos;
+            this.permits = new AtomicInteger(permits);
+        }
+    }
+}
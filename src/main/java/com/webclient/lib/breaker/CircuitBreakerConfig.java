@@ -0,0 +1,46 @@
+package com.webclient.lib.breaker;
+
+import java.time.Duration;
+
+/**
+ * Thresholds shared by every circuit breaker of a {@link CircuitBreakerRegistry}.
+ *
+ * @param failureRateThreshold          failure rate (percent) at or above which the breaker opens
+ * @param slowCallRateThreshold         slow-call rate (percent) at or above which the breaker opens
+ * @param slowCallDuration              calls taking at least this long count as slow
+ * @param slidingWindowSize             number of most recent calls the rates are computed over
+ * @param minimumNumberOfCalls          calls needed in the window before the rates are evaluated
+ * @param waitDurationInOpenState       time an open breaker rejects calls before probing
+ * @param permittedCallsInHalfOpenState probe calls let through while half-open
+ */
+public record CircuitBreakerConfig(float failureRateThreshold,
+                                   float slowCallRateThreshold,
+                                   Duration slowCallDuration,
+                                   int slidingWindowSize,
+                                   int minimumNumberOfCalls,
+                                   Duration waitDurationInOpenState,
+                                   int permittedCallsInHalfOpenState) {
+
+    public CircuitBreakerConfig {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("failureRateThreshold must be in (0, 100]");
+        }
+        if (slowCallRateThreshold <= 0 || slowCallRateThreshold > 100) {
+            throw new IllegalArgumentException("slowCallRateThreshold must be in (0, 100]");
+        }
+        if (slidingWindowSize < 1) {
+            throw new IllegalArgumentException("slidingWindowSize must be at least 1");
+        }
+        if (minimumNumberOfCalls < 1) {
+            throw new IllegalArgumentException("minimumNumberOfCalls must be at least 1");
+        }
+        if (permittedCallsInHalfOpenState < 1) {
+            throw new IllegalArgumentException("permittedCallsInHalfOpenState must be at least 1");
+        }
+    }
+
+    public static CircuitBreakerConfig defaults() {
+        return new CircuitBreakerConfig(50, 100, Duration.ofSeconds(10), 100, 20,
+                Duration.ofSeconds(30), 5);
+    }
+}
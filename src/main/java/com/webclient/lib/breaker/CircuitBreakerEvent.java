@@ -0,0 +1,15 @@
+package com.webclient.lib.breaker;
+
+import java.time.Instant;
+
+/**
+ * A circuit breaker changed state.
+ *
+ * @param key       the breaker's key (by default scheme, host and port)
+ * @param from      previous state
+ * @param to        new state
+ * @param timestamp when the transition happened
+ */
+public record CircuitBreakerEvent(String key, CircuitBreaker.State from, CircuitBreaker.State to,
+                                  Instant timestamp) {
+}
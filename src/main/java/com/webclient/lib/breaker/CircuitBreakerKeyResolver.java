@@ -0,0 +1,47 @@
+package com.webclient.lib.breaker;
+
+import com.webclient.lib.model.RestServiceRequest;
+import com.webclient.lib.model.WebServiceRequest;
+import com.webclient.lib.util.DownstreamKeys;
+
+/**
+ * Derives the circuit breaker key of a request: requests with equal keys
+ * share one breaker.
+ * <p>
+ * The default resolvers ({@link #forWebRequests()}, {@link #forRestRequests()})
+ * key on scheme, host and port, so one failing downstream does not trip the
+ * breaker of another.  Load-balanced requests key on their service: the
+ * balancer already steers attempts away from a failing replica.  Register a
+ * bean of type {@code CircuitBreakerKeyResolver<WebServiceRequest<?>>} or
+ * {@code CircuitBreakerKeyResolver<RestServiceRequest<?>>} to key more finely,
+ * e.g. per endpoint.
+ *
+ * @param <R> the request type
+ */
+@FunctionalInterface
+public interface CircuitBreakerKeyResolver<R> {
+
+    String resolve(R request);
+
+    static CircuitBreakerKeyResolver<WebServiceRequest<?>> forWebRequests() {
+        return request -> byHostOrService(request.getUrl(), request.getService());
+    }
+
+    static CircuitBreakerKeyResolver<RestServiceRequest<?>> forRestRequests() {
+        return request -> byHostOrService(request.getUrl(), request.getService());
+    }
+
+    /**
+     * @see DownstreamKeys#byHostOrService
+     */
+    static String byHostOrService(String url, String service) {
+        return DownstreamKeys.byHostOrService(url, service);
+    }
+
+    /**
+     * @see DownstreamKeys#byHost
+     */
+    static String byHost(String url) {
+        return DownstreamKeys.byHost(url);
+    }
+}
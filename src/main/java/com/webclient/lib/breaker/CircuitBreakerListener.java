@@ -0,0 +1,15 @@
+package com.webclient.lib.breaker;
+
+/**
+ * Receives the state transitions of every breaker in a
+ * {@link CircuitBreakerRegistry}.  Beans of this type are registered
+ * automatically.
+ * <p>
+ * Called synchronously on the thread that caused the transition (often a
+ * Netty event loop), so implementations must not block.
+ */
+@FunctionalInterface
+public interface CircuitBreakerListener {
+
+    void onStateTransition(CircuitBreakerEvent event);
+}
@@ -0,0 +1,66 @@
+package com.webclient.lib.breaker;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Creates and holds one {@link CircuitBreaker} per key, all sharing the same
+ * {@link CircuitBreakerConfig}.
+ * <p>
+ * A single registry is shared by {@code WebServiceClient} and
+ * {@code RestServiceClient}, so both clients see the same state for a
+ * downstream.  State transitions are logged at WARN and forwarded to every
+ * {@link CircuitBreakerListener}.
+ */
+public class CircuitBreakerRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakerRegistry.class);
+
+    private final CircuitBreakerConfig config;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+
+    public CircuitBreakerRegistry(CircuitBreakerConfig config) {
+        this.config = config;
+    }
+
+    public CircuitBreakerConfig getConfig() {
+        return config;
+    }
+
+    public void addListener(CircuitBreakerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Returns the breaker for {@code key}, creating it (closed) on first use.
+     */
+    public CircuitBreaker get(String key) {
+        return breakers.computeIfAbsent(key, k -> new CircuitBreaker(k, config, this::publish));
+    }
+
+    /**
+     * Returns the stats of every breaker created so far, by key.
+     */
+    public Map<String, CircuitBreakerStats> getStats() {
+        return breakers.values().stream()
+                .collect(Collectors.toMap(CircuitBreaker::getKey, CircuitBreaker::getStats));
+    }
+
+    private void publish(CircuitBreakerEvent event) {
+        log.warn("Circuit breaker '{}' changed from {} to {}", event.key(), event.from(), event.to());
+        for (CircuitBreakerListener listener : listeners) {
+            try {
+                listener.onStateTransition(event);
+            } catch (RuntimeException e) {
+                log.warn("Circuit breaker listener {} failed", listener, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.webclient.lib.breaker;
+
+/**
+ * Point-in-time view of one circuit breaker.
+ *
+ * @param state             current state
+ * @param bufferedCalls     calls in the sliding window
+ * @param failedCalls       failed calls in the sliding window
+ * @param slowCalls         slow calls in the sliding window
+ * @param notPermittedCalls calls rejected since the breaker was created
+ * @param transitions       state transitions since the breaker was created
+ */
+public record CircuitBreakerStats(CircuitBreaker.State state, int bufferedCalls, int failedCalls,
+                                  int slowCalls, long notPermittedCalls, long transitions) {
+
+    /**
+     * Failure rate in percent over the sliding window.
+     */
+    public float failureRate() {
+        return bufferedCalls == 0 ? 0f : failedCalls * 100f / bufferedCalls;
+    }
+
+    /**
+     * Slow-call rate in percent over the sliding window.
+     */
+    public float slowCallRate() {
+        return bufferedCalls == 0 ? 0f : slowCalls * 100f / bufferedCalls;
+    }
+}
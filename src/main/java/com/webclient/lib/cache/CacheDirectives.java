@@ -0,0 +1,102 @@
+package com.webclient.lib.cache;
+
+import java.util.Locale;
+
+/**
+ * Parsed {@code Cache-Control} header (request or response).
+ * <p>
+ * Unknown directives are ignored; a malformed delta-seconds value is treated
+ * as if the directive were absent.
+ */
+public final class CacheDirectives {
+
+    static final CacheDirectives NONE = new CacheDirectives();
+
+    private boolean noStore;
+    private boolean noCache;
+    private boolean mustRevalidate;
+    private boolean isPublic;
+    private long maxAge = -1;
+    private long sMaxAge = -1;
+    private long staleWhileRevalidate = -1;
+    private long staleIfError = -1;
+
+    private CacheDirectives() {
+    }
+
+    /**
+     * Parses a (possibly comma-joined) {@code Cache-Control} value;
+     * {@code null} or blank yields no directives.
+     */
+    public static CacheDirectives parse(String cacheControl) {
+        if (cacheControl == null || cacheControl.isBlank()) {
+            return NONE;
+        }
+        CacheDirectives directives = new CacheDirectives();
+        for (String token : cacheControl.split(",")) {
+            String directive = token.trim();
+            String value = null;
+            int eq = directive.indexOf('=');
+            if (eq >= 0) {
+                value = directive.substring(eq + 1).trim();
+                directive = directive.substring(0, eq).trim();
+            }
+            switch (directive.toLowerCase(Locale.ROOT)) {
+                case "no-store" -> directives.noStore = true;
+                case "no-cache" -> directives.noCache = true;
+                case "must-revalidate", "proxy-revalidate" -> directives.mustRevalidate = true;
+                case "public" -> directives.isPublic = true;
+                case "max-age" -> directives.maxAge = parseSeconds(value);
+                case "s-maxage" -> directives.sMaxAge = parseSeconds(value);
+                case "stale-while-revalidate" -> directives.staleWhileRevalidate = parseSeconds(value);
+                case "stale-if-error" -> directives.staleIfError = parseSeconds(value);
+                default -> {
+                    // ignored
+                }
+            }
+        }
+        return directives;
+    }
+
+    public boolean isNoStore() { return noStore; }
+    public boolean isNoCache() { return noCache; }
+    public boolean isMustRevalidate() { return mustRevalidate; }
+    public boolean isPublic() { return isPublic; }
+
+    /**
+     * Returns {@code max-age} in seconds, or {@code -1} if absent.
+     */
+    public long getMaxAge() { return maxAge; }
+
+    /**
+     * Returns {@code s-maxage} in seconds, or {@code -1} if absent.
+     */
+    public long getSMaxAge() { return sMaxAge; }
+
+    /**
+     * Returns {@code stale-while-revalidate} (RFC 5861) in seconds, or
+     * {@code -1} if absent.
+     */
+    public long getStaleWhileRevalidate() { return staleWhileRevalidate; }
+
+    /**
+     * Returns {@code stale-if-error} (RFC 5861) in seconds, or {@code -1} if
+     * absent.
+     */
+    public long getStaleIfError() { return staleIfError; }
+
+    private static long parseSeconds(String value) {
+        if (value == null) {
+            return -1;
+        }
+        String unquoted = value.startsWith("\"") && value.endsWith("\"") && value.length() >= 2
+                ? value.substring(1, value.length() - 1)
+                : value;
+        try {
+            long seconds = Long.parseLong(unquoted);
+            return seconds < 0 ? -1 : seconds;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.webclient.lib.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HTTP caching rules (RFC 9111) shared by the reactive filter and the
+ * synchronous interceptor.
+ * <p>
+ * Only {@code GET} requests and {@code 200} responses are cached, separately
+ * per {@code Authorization} value.  Freshness comes from {@code max-age} or
+ * {@code Expires}; there is no heuristic freshness, so a response without
+ * either is stored only if it carries a validator ({@code ETag} or
+ * {@code Last-Modified}) and is revalidated on every use.
+ * <p>
+ * Stale entries may still be served within the RFC 5861
+ * {@code stale-while-revalidate} and {@code stale-if-error} windows, unless
+ * the response says {@code must-revalidate} or {@code no-cache} or the
+ * request says {@code no-cache}.
+ */
+final class CachePolicy {
+
+    /**
+     * Headers of a {@code 304} that must not replace the stored ones.
+     */
+    private static final Set<String> NOT_UPDATED_ON_304 = Set.of(
+            "content-length", "content-encoding", "transfer-encoding", "content-range");
+
+    private static final Duration DEFAULT_REVALIDATION_TIMEOUT = Duration.ofSeconds(30);
+
+    private CachePolicy() {
+    }
+
+    /**
+     * Cache key of a request: method and URL, plus a SHA-256 digest of the
+     * {@code Authorization} header when there is one, so callers with
+     * different credentials never share an entry.  The credential itself is
+     * not kept in the key, which the mapped-file tier writes to disk.
+     */
+    static String key(HttpMethod method, URI url, HttpHeaders requestHeaders) {
+        String key = method.name() + " " + url;
+        List<String> authorization = requestHeaders.get(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || authorization.isEmpty()) {
+            return key;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(String.join(",", authorization).getBytes(StandardCharsets.UTF_8));
+            return key + " auth=" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static boolean isCacheableRequest(HttpMethod method, HttpHeaders requestHeaders) {
+        return HttpMethod.GET.equals(method)
+                && !CacheDirectives.parse(requestHeaders.getCacheControl()).isNoStore();
+    }
+
+    /**
+     * Returns the stored entry for {@code key} if it was selected by the same
+     * {@code Vary} header values as {@code requestHeaders}, else {@code null}.
+     */
+    static CachedResponse lookup(ResponseCache cache, String key, HttpHeaders requestHeaders) {
+        CachedResponse cached = cache.get(key);
+        if (cached == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> vary : cached.getVaryValues().entrySet()) {
+            if (!vary.getValue().equals(headerValue(requestHeaders, vary.getKey()))) {
+                return null;
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Whether {@code cached} may be served without contacting the origin.
+     */
+    static boolean isFresh(CachedResponse cached, HttpHeaders requestHeaders, long now) {
+        CacheDirectives request = CacheDirectives.parse(requestHeaders.getCacheControl());
+        CacheDirectives response = CacheDirectives.parse(cached.getHeaders().getCacheControl());
+        if (request.isNoCache() || response.isNoCache()) {
+            return false;
+        }
+        long age = currentAge(cached, now);
+        if (request.getMaxAge() >= 0 && age > request.getMaxAge() * 1000) {
+            return false;
+        }
+        return age < freshnessLifetime(cached.getHeaders(), response);
+    }
+
+    /**
+     * Length in millis of a staleness window: the per-request override if
+     * set, else the response directive (seconds), else zero.
+     */
+    static long staleWindow(Object override, long directiveSeconds) {
+        if (override instanceof Number millis) {
+            return Math.max(0, millis.longValue());
+        }
+        return directiveSeconds > 0 ? directiveSeconds * 1000 : 0;
+    }
+
+    /**
+     * Bound on a background revalidation: the
+     * {@link ResponseCache#REVALIDATION_TIMEOUT_ATTRIBUTE} value if set and
+     * positive, else 30 seconds.
+     */
+    static Duration revalidationTimeout(Object attribute) {
+        if (attribute instanceof Number millis && millis.longValue() > 0) {
+            return Duration.ofMillis(millis.longValue());
+        }
+        return DEFAULT_REVALIDATION_TIMEOUT;
+    }
+
+    static long staleWhileRevalidate(CachedResponse cached, Object override) {
+        return staleWindow(override,
+                CacheDirectives.parse(cached.getHeaders().getCacheControl()).getStaleWhileRevalidate());
+    }
+
+    static long staleIfError(CachedResponse cached, Object override) {
+        return staleWindow(override,
+                CacheDirectives.parse(cached.getHeaders().getCacheControl()).getStaleIfError());
+    }
+
+    /**
+     * Whether stale {@code cached} may still be served, being at most
+     * {@code windowMs} past its freshness lifetime.
+     */
+    static boolean isUsableStale(CachedResponse cached, HttpHeaders requestHeaders, long now, long windowMs) {
+        if (windowMs <= 0) {
+            return false;
+        }
+        CacheDirectives response = CacheDirectives.parse(cached.getHeaders().getCacheControl());
+        if (response.isMustRevalidate() || response.isNoCache()
+                || CacheDirectives.parse(requestHeaders.getCacheControl()).isNoCache()) {
+            return false;
+        }
+        return currentAge(cached, now) < freshnessLifetime(cached.getHeaders(), response) + windowMs;
+    }
+
+    /**
+     * Current age in millis: the age on receipt (from {@code Date} and
+     * {@code Age}) plus the time since it was stored or revalidated.
+     */
+    static long currentAge(CachedResponse cached, long now) {
+        HttpHeaders headers = cached.getHeaders();
+        long date = headers.getDate();
+        long apparentAge = date > 0 ? Math.max(0, cached.getResponseTime() - date) : 0;
+        long ageHeader = parseAge(headers.getFirst(HttpHeaders.AGE)) * 1000;
+        return Math.max(apparentAge, ageHeader) + Math.max(0, now - cached.getResponseTime());
+    }
+
+    static long freshnessLifetime(HttpHeaders headers, CacheDirectives directives) {
+        if (directives.getMaxAge() >= 0) {
+            return directives.getMaxAge() * 1000;
+        }
+        long expires = headers.getExpires();
+        if (expires > 0) {
+            long date = headers.getDate();
+            return date > 0 ? Math.max(0, expires - date) : 0;
+        }
+        return 0;
+    }
+
+    /**
+     * Adds {@code If-None-Match} / {@code If-Modified-Since} from the stored
+     * validators.
+     */
+    static void addConditionalHeaders(HttpHeaders requestHeaders, CachedResponse cached) {
+        String etag = cached.getHeaders().getETag();
+        if (etag != null) {
+            requestHeaders.setIfNoneMatch(etag);
+        }
+        String lastModified = cached.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        if (lastModified != null) {
+            requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+    }
+
+    static boolean isStorable(HttpHeaders requestHeaders, int status, HttpHeaders responseHeaders) {
+        if (status != 200) {
+            return false;
+        }
+        CacheDirectives response = CacheDirectives.parse(responseHeaders.getCacheControl());
+        if (response.isNoStore() || responseHeaders.getVary().contains("*")) {
+            return false;
+        }
+        if (requestHeaders.containsHeader(HttpHeaders.AUTHORIZATION)
+                && !response.isPublic() && !response.isMustRevalidate() && response.getSMaxAge() < 0) {
+            return false;
+        }
+        return freshnessLifetime(responseHeaders, response) > 0
+                || response.isNoCache()
+                || responseHeaders.getETag() != null
+                || responseHeaders.containsHeader(HttpHeaders.LAST_MODIFIED);
+    }
+
+    static CachedResponse create(HttpHeaders requestHeaders, int status, HttpHeaders responseHeaders,
+                                 byte[] body, long now) {
+        Map<String, String> varyValues = new LinkedHashMap<>();
+        for (String name : responseHeaders.getVary()) {
+            varyValues.put(name.toLowerCase(Locale.ROOT), headerValue(requestHeaders, name));
+        }
+        return new CachedResponse(status, responseHeaders, ByteBuffer.wrap(body), now, varyValues);
+    }
+
+    /**
+     * Applies the headers of a {@code 304 Not Modified} to the stored entry
+     * and restarts its age.
+     */
+    static CachedResponse refresh(CachedResponse cached, HttpHeaders notModifiedHeaders, long now) {
+        HttpHeaders merged = HttpHeaders.copyOf(cached.getHeaders());
+        notModifiedHeaders.forEach((name, values) -> {
+            if (!NOT_UPDATED_ON_304.contains(name.toLowerCase(Locale.ROOT))) {
+                merged.put(name, values);
+            }
+        });
+        return new CachedResponse(cached.getStatus(), merged, cached.getBody(), now, cached.getVaryValues());
+    }
+
+    /**
+     * Headers to serve with a stored entry, with {@code Age} set to its
+     * current age.
+     */
+    static HttpHeaders responseHeaders(CachedResponse cached, long now) {
+        HttpHeaders headers = HttpHeaders.copyOf(cached.getHeaders());
+        headers.set(HttpHeaders.AGE, Long.toString(currentAge(cached, now) / 1000));
+        return headers;
+    }
+
+    private static String headerValue(HttpHeaders headers, String name) {
+        List<String> values = headers.get(name);
+        return values == null ? "" : String.join(",", values);
+    }
+
+    private static long parseAge(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
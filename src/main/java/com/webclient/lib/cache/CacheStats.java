@@ -0,0 +1,18 @@
+package com.webclient.lib.cache;
+
+/**
+ * Point-in-time counters of a {@link ResponseCache}.
+ *
+ * @param hits      lookups that found an entry
+ * @param misses    lookups that found nothing
+ * @param evictions entries removed to make room
+ * @param entries   entries currently held
+ * @param bytes     approximate bytes currently held (bodies plus headers)
+ */
+public record CacheStats(long hits, long misses, long evictions, long entries, long bytes) {
+
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,83 @@
+package com.webclient.lib.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable cache entry: the status, headers and body of a stored response,
+ * the time it was received (or last revalidated), and the request header
+ * values it was selected by through {@code Vary}.
+ * <p>
+ * The body is held as a {@link ByteBuffer}, which may be a heap buffer or a
+ * view of off-heap memory; {@link #getBody()} returns an independent,
+ * read-only view so callers cannot disturb each other's position.
+ */
+public final class CachedResponse {
+
+    private final int status;
+    private final HttpHeaders headers;
+    private final ByteBuffer body;
+    private final long responseTime;
+    private final Map<String, String> varyValues;
+
+    /**
+     * @param status       HTTP status code
+     * @param headers      response headers (copied)
+     * @param body         response body; not copied, must not be modified afterwards
+     * @param responseTime epoch millis at which the response was received or revalidated
+     * @param varyValues   request header values for each header named in {@code Vary}
+     *                     (absent headers map to an empty string)
+     */
+    public CachedResponse(int status, HttpHeaders headers, ByteBuffer body,
+                          long responseTime, Map<String, String> varyValues) {
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(HttpHeaders.copyOf(headers));
+        this.body = body.asReadOnlyBuffer();
+        this.responseTime = responseTime;
+        this.varyValues = Collections.unmodifiableMap(new LinkedHashMap<>(varyValues));
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public ByteBuffer getBody() {
+        return body.duplicate();
+    }
+
+    public int getBodySize() {
+        return body.remaining();
+    }
+
+    public long getResponseTime() {
+        return responseTime;
+    }
+
+    public Map<String, String> getVaryValues() {
+        return varyValues;
+    }
+
+    /**
+     * Approximate heap memory held by this entry: header characters, plus
+     * the body bytes unless the body is off-heap (a direct or mapped buffer).
+     */
+    public long getSize() {
+        long size = body.isDirect() ? 0 : body.remaining();
+        for (Map.Entry<String, List<String>> header : headers.headerSet()) {
+            size += header.getKey().length();
+            for (String value : header.getValue()) {
+                size += value.length();
+            }
+        }
+        return size;
+    }
+}
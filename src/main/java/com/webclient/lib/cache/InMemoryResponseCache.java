@@ -0,0 +1,113 @@
+package com.webclient.lib.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Heap-backed {@link ResponseCache} bounded by entry count and total bytes,
+ * evicting the least recently used entries first.
+ * <p>
+ * Access is serialised on a single lock; each operation is a hash lookup plus
+ * a relink, so the lock is held only briefly.  An entry larger than
+ * {@code maxBytes} is never stored.
+ */
+public class InMemoryResponseCache implements ResponseCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public InMemoryResponseCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    public InMemoryResponseCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        CachedResponse response;
+        synchronized (entries) {
+            response = entries.get(key);
+        }
+        if (response != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return response;
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        long size = response.getSize();
+        synchronized (entries) {
+            if (size > maxBytes) {
+                removeEntry(key);
+                return;
+            }
+            CachedResponse previous = entries.put(key, response);
+            if (previous != null) {
+                bytes -= previous.getSize();
+            }
+            bytes += size;
+            evictIfNeeded();
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        synchronized (entries) {
+            removeEntry(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    @Override
+    public CacheStats getStats() {
+        synchronized (entries) {
+            return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), bytes);
+        }
+    }
+
+    private void removeEntry(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.getSize();
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().getSize();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+}
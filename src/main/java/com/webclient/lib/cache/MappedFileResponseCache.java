@@ -0,0 +1,483 @@
+package com.webclient.lib.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * {@link ResponseCache} that keeps response bodies in memory-mapped segment
+ * files, with only the index (keys, status, headers) on the heap.
+ * <p>
+ * Entries are appended to the newest segment; once {@code maxBytes} worth of
+ * segments exist, the oldest segment is deleted together with the entries
+ * it holds.  A hit returns a {@link CachedResponse} whose body is a
+ * read-only view of the mapping, so serving it copies nothing onto the heap
+ * until the response is decoded.
+ * <p>
+ * The directory is scanned on construction, so a restarted process starts
+ * with the entries of the previous one.  Each record carries a CRC and is
+ * only marked valid once fully written, so a record torn by a crash is
+ * dropped together with anything after it in that segment.  Removals are
+ * persisted as tombstones.  Use one instance per directory.
+ * <p>
+ * Mappings are never released explicitly: a body obtained from {@link #get}
+ * may still be decoded, or served by another tier, long after its entry was
+ * evicted or the cache closed, and reading an unmapped buffer crashes the
+ * JVM.  The garbage collector unmaps a segment once no body view of it is
+ * reachable.  Until then an evicted segment's file is unlinked but its disk
+ * space is not reclaimed, so actual disk usage can briefly exceed
+ * {@code maxBytes}, by at most the segments still referenced.
+ */
+public class MappedFileResponseCache implements ResponseCache, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedFileResponseCache.class);
+
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+    public static final long DEFAULT_MAX_BYTES = 1024L * 1024 * 1024;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final int MAGIC = 0x57434331;
+    /** magic, record length, crc */
+    private static final int RECORD_HEADER = 12;
+    private static final byte TYPE_PUT = 1;
+    private static final byte TYPE_REMOVE = 2;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+
+    private final Object writeLock = new Object();
+    private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private Segment active;
+    private long nextSegmentId;
+    private long bytes;
+    private volatile boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public MappedFileResponseCache(Path directory) {
+        this(directory, DEFAULT_MAX_BYTES, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * @param directory    directory holding the segment files; created if missing
+     * @param maxBytes     upper bound on the total size of all live segment files; evicted
+     *                     segments still referenced by a body hold their space until collected
+     * @param segmentBytes size of each segment file; also the largest entry stored
+     */
+    public MappedFileResponseCache(Path directory, long maxBytes, int segmentBytes) {
+        if (segmentBytes <= RECORD_HEADER) {
+            throw new IllegalArgumentException("segmentBytes must be greater than " + RECORD_HEADER);
+        }
+        if (maxBytes < segmentBytes) {
+            throw new IllegalArgumentException("maxBytes must be at least segmentBytes");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = (int) Math.min(Integer.MAX_VALUE, maxBytes / segmentBytes);
+        try {
+            Files.createDirectories(directory);
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open response cache in " + directory, e);
+        }
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        IndexEntry entry = closed ? null : index.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.response;
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        store(key, response);
+    }
+
+    /**
+     * Writes {@code response} to the active segment and returns it with its
+     * body mapped from there, or {@code null} if it is larger than a segment,
+     * could not be written or the cache is closed.
+     */
+    @Override
+    public CachedResponse store(String key, CachedResponse response) {
+        byte[] meta = encodeMeta(TYPE_PUT, key, response);
+        int recordSize = RECORD_HEADER + meta.length + response.getBodySize();
+        synchronized (writeLock) {
+            if (closed) {
+                return null;
+            }
+            if (recordSize > segmentBytes) {
+                removeEntry(key, true);
+                return null;
+            }
+            try {
+                Segment segment = segmentFor(recordSize);
+                int bodyOffset = segment.append(meta, response.getBody());
+                ByteBuffer body = segment.slice(bodyOffset, response.getBodySize());
+                CachedResponse mapped = new CachedResponse(response.getStatus(), response.getHeaders(),
+                        body, response.getResponseTime(), response.getVaryValues());
+                index(key, new IndexEntry(segment.id, recordSize, mapped));
+                return mapped;
+            } catch (IOException e) {
+                log.warn("Failed to write response cache entry to {}", directory, e);
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            removeEntry(key, true);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            index.clear();
+            bytes = 0;
+            for (Segment segment : new ArrayList<>(segments.values())) {
+                deleteSegment(segment);
+            }
+            active = null;
+        }
+    }
+
+    @Override
+    public CacheStats getStats() {
+        synchronized (writeLock) {
+            return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), index.size(), bytes);
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Flushes the active segment to disk (sealed segments were flushed when
+     * they were rolled over).  The files stay on disk for the next instance;
+     * this one then misses every lookup and ignores writes, while
+     * {@link #getStats()} still describes the files.  The mappings are left
+     * to the garbage collector, so bodies obtained earlier stay readable.
+     */
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (active != null) {
+                active.buffer.force();
+            }
+            segments.clear();
+            active = null;
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Index
+    // ------------------------------------------------------------------ //
+
+    private void index(String key, IndexEntry entry) {
+        IndexEntry previous = index.put(key, entry);
+        if (previous != null) {
+            bytes -= previous.size;
+        }
+        bytes += entry.size;
+    }
+
+    private void removeEntry(String key, boolean persist) {
+        IndexEntry removed = index.remove(key);
+        if (removed == null) {
+            return;
+        }
+        bytes -= removed.size;
+        if (persist) {
+            byte[] meta = encodeMeta(TYPE_REMOVE, key, null);
+            try {
+                segmentFor(RECORD_HEADER + meta.length).append(meta, ByteBuffer.allocate(0));
+            } catch (IOException e) {
+                log.warn("Failed to write response cache tombstone to {}", directory, e);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Segments
+    // ------------------------------------------------------------------ //
+
+    private Segment segmentFor(int recordSize) throws IOException {
+        if (active != null && active.remaining() >= recordSize) {
+            return active;
+        }
+        long id = nextSegmentId++;
+        if (active != null) {
+            active.buffer.force();
+        }
+        active = Segment.create(segmentPath(id), id, segmentBytes);
+        segments.put(id, active);
+        while (segments.size() > maxSegments) {
+            evict(segments.firstEntry().getValue());
+        }
+        return active;
+    }
+
+    private void evict(Segment segment) {
+        Iterator<IndexEntry> entries = index.values().iterator();
+        while (entries.hasNext()) {
+            IndexEntry entry = entries.next();
+            if (entry.segmentId == segment.id) {
+                entries.remove();
+                bytes -= entry.size;
+                evictions.increment();
+            }
+        }
+        deleteSegment(segment);
+    }
+
+    /**
+     * Unlinks the file; readers still holding a body view keep a valid
+     * mapping, and the file's disk space stays allocated, until it is
+     * garbage collected.
+     */
+    private void deleteSegment(Segment segment) {
+        segments.remove(segment.id);
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            log.warn("Failed to delete response cache segment {}", segment.path, e);
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(SEGMENT_PREFIX + id + SEGMENT_SUFFIX);
+    }
+
+    private void load() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> {
+                        try {
+                            ids.add(Long.parseLong(name.substring(
+                                    SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                        } catch (NumberFormatException e) {
+                            // not ours
+                        }
+                    });
+        }
+        ids.sort(null);
+        for (long id : ids) {
+            Segment segment = Segment.open(segmentPath(id), id);
+            segments.put(id, segment);
+            active = segment;
+            nextSegmentId = id + 1;
+            replay(segment);
+        }
+        while (segments.size() > maxSegments) {
+            evict(segments.firstEntry().getValue());
+        }
+    }
+
+    /**
+     * Re-indexes the records of {@code segment} and leaves its write
+     * position after the last valid one.
+     */
+    private void replay(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + RECORD_HEADER <= buffer.capacity()) {
+            if (buffer.getInt(position) != MAGIC) {
+                break;
+            }
+            int length = buffer.getInt(position + 4);
+            if (length < RECORD_HEADER || position + length > buffer.capacity()
+                    || buffer.getInt(position + 8) != crc(buffer, position + RECORD_HEADER, length - RECORD_HEADER)) {
+                break;
+            }
+            ByteBuffer record = buffer.slice(position + RECORD_HEADER, length - RECORD_HEADER);
+            byte type = record.get();
+            String key = readString(record);
+            if (type == TYPE_REMOVE) {
+                removeEntry(key, false);
+            } else {
+                int status = record.getInt();
+                long responseTime = record.getLong();
+                HttpHeaders headers = new HttpHeaders();
+                int headerCount = record.getInt();
+                for (int i = 0; i < headerCount; i++) {
+                    String name = readString(record);
+                    int valueCount = record.getInt();
+                    for (int j = 0; j < valueCount; j++) {
+                        headers.add(name, readString(record));
+                    }
+                }
+                Map<String, String> vary = new LinkedHashMap<>();
+                int varyCount = record.getInt();
+                for (int i = 0; i < varyCount; i++) {
+                    vary.put(readString(record), readString(record));
+                }
+                int bodyLength = record.getInt();
+                ByteBuffer body = segment.slice(position + RECORD_HEADER + record.position(), bodyLength);
+                index(key, new IndexEntry(segment.id, length,
+                        new CachedResponse(status, headers, body, responseTime, vary)));
+            }
+            position += length;
+        }
+        segment.position = position;
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Record encoding
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Encodes everything but the body: type, key and, for a put, status,
+     * response time, headers, vary values and body length.
+     */
+    private static byte[] encodeMeta(byte type, String key, CachedResponse response) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(type);
+            writeString(out, key);
+            if (response != null) {
+                out.writeInt(response.getStatus());
+                out.writeLong(response.getResponseTime());
+                HttpHeaders headers = response.getHeaders();
+                out.writeInt(headers.headerSet().size());
+                for (Map.Entry<String, List<String>> header : headers.headerSet()) {
+                    writeString(out, header.getKey());
+                    out.writeInt(header.getValue().size());
+                    for (String value : header.getValue()) {
+                        writeString(out, value);
+                    }
+                }
+                out.writeInt(response.getVaryValues().size());
+                for (Map.Entry<String, String> vary : response.getVaryValues().entrySet()) {
+                    writeString(out, vary.getKey());
+                    writeString(out, vary.getValue());
+                }
+                out.writeInt(response.getBodySize());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] encoded = new byte[buffer.getInt()];
+        buffer.get(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private record IndexEntry(long segmentId, int size, CachedResponse response) {
+    }
+
+    private static final class Segment {
+
+        final long id;
+        final Path path;
+        final MappedByteBuffer buffer;
+        int position;
+
+        private Segment(long id, Path path, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, long id, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return new Segment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        }
+
+        static Segment open(Path path, long id) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return new Segment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            }
+        }
+
+        int remaining() {
+            return buffer.capacity() - position;
+        }
+
+        /**
+         * Writes a record and returns the offset of its body.  The magic is
+         * written last so that a torn record is never replayed.
+         */
+        int append(byte[] meta, ByteBuffer body) {
+            int start = position;
+            int bodyOffset = start + RECORD_HEADER + meta.length;
+            int length = RECORD_HEADER + meta.length + body.remaining();
+            buffer.put(start + RECORD_HEADER, meta);
+            buffer.put(bodyOffset, body, body.position(), body.remaining());
+            buffer.putInt(start + 8, crc(buffer, start + RECORD_HEADER, length - RECORD_HEADER));
+            buffer.putInt(start + 4, length);
+            buffer.putInt(start, MAGIC);
+            position = start + length;
+            return bodyOffset;
+        }
+
+        ByteBuffer slice(int offset, int length) {
+            return buffer.slice(offset, length).asReadOnlyBuffer();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.webclient.lib.cache;
+
+/**
+ * Storage for HTTP responses, keyed by request method and URL.
+ * <p>
+ * Implementations only store and evict entries; freshness, validation and
+ * {@code Vary} matching are decided by {@link ResponseCacheFilterFunction}
+ * and {@link ResponseCacheInterceptor}.  Implementations must be thread-safe.
+ * <p>
+ * Attach a cache to individual calls with
+ * {@code WebServiceRequest.builder().responseCache(cache)} (or the
+ * {@code RestServiceRequest} equivalent), or register a {@code ResponseCache}
+ * bean to apply it to every call.  Use long-lived instances: each client
+ * keeps one filter per cache it has seen.
+ */
+public interface ResponseCache {
+
+    /**
+     * Request attribute ({@code Long}, millis) overriding the response's
+     * {@code stale-while-revalidate} window.
+     */
+    String STALE_WHILE_REVALIDATE_ATTRIBUTE = ResponseCache.class.getName() + ".staleWhileRevalidateMs";
+
+    /**
+     * Request attribute ({@code Long}, millis) overriding the response's
+     * {@code stale-if-error} window.
+     */
+    String STALE_IF_ERROR_ATTRIBUTE = ResponseCache.class.getName() + ".staleIfErrorMs";
+
+    /**
+     * Request attribute ({@code Long}, millis) bounding a background
+     * {@code stale-while-revalidate} request.  The clients set it to the
+     * request's timeout; without it the bound is 30 seconds.
+     */
+    String REVALIDATION_TIMEOUT_ATTRIBUTE = ResponseCache.class.getName() + ".revalidationTimeoutMs";
+
+    /**
+     * Returns the entry stored under {@code key}, or {@code null}.
+     */
+    CachedResponse get(String key);
+
+    /**
+     * Stores {@code response} under {@code key}, replacing any previous entry.
+     * Implementations may decline to store it (e.g. when it exceeds their
+     * capacity).
+     */
+    void put(String key, CachedResponse response);
+
+    /**
+     * Stores {@code response} like {@link #put} and returns the entry as this
+     * cache now holds it.  A cache that moves bodies off the heap returns its
+     * own copy, which callers can hand on instead of {@code response}, or
+     * {@code null} when it declined the entry.  The default calls
+     * {@link #put} and returns {@code response}.
+     */
+    default CachedResponse store(String key, CachedResponse response) {
+        put(key, response);
+        return response;
+    }
+
+    void remove(String key);
+
+    void clear();
+
+    CacheStats getStats();
+}
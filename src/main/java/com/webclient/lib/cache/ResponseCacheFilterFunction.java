@@ -0,0 +1,238 @@
+package com.webclient.lib.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * {@link ExchangeFilterFunction} that serves {@code GET} responses from a
+ * {@link ResponseCache} while they are fresh, revalidates stale entries with
+ * {@code If-None-Match} / {@code If-Modified-Since}, and stores cacheable
+ * responses.
+ * <p>
+ * {@code WebServiceClient} places this filter last in the chain, after the
+ * per-request filters (token injection, correlation ID, logging), so entries
+ * are keyed and checked against the request as actually sent, and a fresh
+ * hit skips only the network.
+ * A cacheable response body is buffered in full before it is stored, which
+ * is what {@code execute} does anyway.
+ * <p>
+ * Requests with {@code Cache-Control: no-store} bypass the cache;
+ * {@code no-cache} or {@code max-age=0} force revalidation.
+ * <p>
+ * Stale entries (RFC 5861):
+ * <ul>
+ *   <li>within the {@code stale-while-revalidate} window the entry is
+ *       returned at once, and a single background request per key
+ *       revalidates it, bounded by
+ *       {@link ResponseCache#REVALIDATION_TIMEOUT_ATTRIBUTE};</li>
+ *   <li>within the {@code stale-if-error} window the entry is returned when
+ *       the origin answers {@code 5xx} or the exchange fails.  Timeouts are
+ *       applied outside the filter chain, so callers cover them with
+ *       {@link #withStaleIfError}.</li>
+ * </ul>
+ * Both windows can be overridden per request through the
+ * {@link ResponseCache#STALE_WHILE_REVALIDATE_ATTRIBUTE} and
+ * {@link ResponseCache#STALE_IF_ERROR_ATTRIBUTE} attributes.
+ */
+public class ResponseCacheFilterFunction implements ExchangeFilterFunction {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheFilterFunction.class);
+
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * Reactor context key of the holder through which the filter hands a
+     * stale-if-error candidate to {@link #withStaleIfError}.
+     */
+    private static final String STALE_CANDIDATE_KEY = ResponseCacheFilterFunction.class.getName() + ".staleCandidate";
+
+    private final ResponseCache cache;
+    private final Clock clock;
+    private final ExchangeStrategies strategies = ExchangeStrategies.withDefaults();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    public ResponseCacheFilterFunction(ResponseCache cache) {
+        this(cache, Clock.systemUTC());
+    }
+
+    public ResponseCacheFilterFunction(ResponseCache cache, Clock clock) {
+        this.cache = cache;
+        this.clock = clock;
+    }
+
+    public ResponseCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!CachePolicy.isCacheableRequest(request.method(), request.headers())) {
+            return next.exchange(request);
+        }
+
+        String key = CachePolicy.key(request.method(), request.url(), request.headers());
+        CachedResponse cached = CachePolicy.lookup(cache, key, request.headers());
+        long now = clock.millis();
+        if (cached != null && CachePolicy.isFresh(cached, request.headers(), now)) {
+            return Mono.just(toClientResponse(cached, now));
+        }
+
+        if (cached == null) {
+            return next.exchange(request)
+                    .flatMap(response -> handleResponse(request, key, null, response));
+        }
+
+        ClientRequest conditional = ClientRequest.from(request)
+                .headers(headers -> CachePolicy.addConditionalHeaders(headers, cached))
+                .build();
+
+        long staleWhileRevalidate = CachePolicy.staleWhileRevalidate(cached,
+                request.attribute(ResponseCache.STALE_WHILE_REVALIDATE_ATTRIBUTE).orElse(null));
+        if (CachePolicy.isUsableStale(cached, request.headers(), now, staleWhileRevalidate)) {
+            revalidateInBackground(request, key, cached, conditional, next);
+            return Mono.just(toClientResponse(cached, now));
+        }
+
+        long staleIfError = CachePolicy.staleIfError(cached,
+                request.attribute(ResponseCache.STALE_IF_ERROR_ATTRIBUTE).orElse(null));
+        if (!CachePolicy.isUsableStale(cached, request.headers(), now, staleIfError)) {
+            return next.exchange(conditional)
+                    .flatMap(response -> handleResponse(request, key, cached, response));
+        }
+
+        StaleCandidate candidate = new StaleCandidate(cached, request.headers(), staleIfError);
+        return Mono.deferContextual(context -> {
+            context.<AtomicReference<StaleCandidate>>getOrEmpty(STALE_CANDIDATE_KEY)
+                    .ifPresent(holder -> holder.set(candidate));
+            return next.exchange(conditional)
+                    .flatMap(response -> {
+                        if (response.statusCode().is5xxServerError()) {
+                            ClientResponse stale = serveStale(candidate);
+                            if (stale != null) {
+                                return response.releaseBody().thenReturn(stale);
+                            }
+                        }
+                        return handleResponse(request, key, cached, response);
+                    })
+                    .onErrorResume(error -> {
+                        ClientResponse stale = serveStale(candidate);
+                        return stale != null ? Mono.just(stale) : Mono.error(error);
+                    });
+        });
+    }
+
+    /**
+     * Falls back to a stale cached response if {@code call} fails after this
+     * filter registered one as usable under {@code stale-if-error} &mdash;
+     * typically a timeout applied around the exchange.
+     *
+     * @param call    the call whose exchange passes through this filter
+     * @param decoder decodes the stale response the same way {@code call}
+     *                decodes a live one
+     */
+    public <T> Mono<T> withStaleIfError(Mono<T> call, Function<ClientResponse, Mono<T>> decoder) {
+        return Mono.defer(() -> {
+            AtomicReference<StaleCandidate> holder = new AtomicReference<>();
+            return call
+                    .onErrorResume(error -> {
+                        StaleCandidate candidate = holder.get();
+                        ClientResponse stale = candidate != null ? serveStale(candidate) : null;
+                        return stale != null ? decoder.apply(stale) : Mono.error(error);
+                    })
+                    .contextWrite(context -> context.put(STALE_CANDIDATE_KEY, holder));
+        });
+    }
+
+    private Mono<ClientResponse> handleResponse(ClientRequest request, String key,
+                                                CachedResponse cached, ClientResponse response) {
+        int status = response.statusCode().value();
+        if (cached != null && status == 304) {
+            long now = clock.millis();
+            CachedResponse refreshed = CachePolicy.refresh(cached, response.headers().asHttpHeaders(), now);
+            cache.put(key, refreshed);
+            return response.releaseBody().thenReturn(toClientResponse(refreshed, now));
+        }
+
+        if (!CachePolicy.isStorable(request.headers(), status, response.headers().asHttpHeaders())) {
+            return Mono.just(response);
+        }
+
+        return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()))
+                .map(ResponseCacheFilterFunction::toBytes)
+                .defaultIfEmpty(EMPTY)
+                .map(body -> {
+                    cache.put(key, CachePolicy.create(request.headers(), status,
+                            response.headers().asHttpHeaders(), body, clock.millis()));
+                    return response.mutate()
+                            .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                            .build();
+                });
+    }
+
+    /**
+     * Revalidates {@code cached} unless a revalidation of {@code key} is
+     * already running.  Failures, including the revalidation timeout, leave
+     * the stale entry in place; the key is released however it ends.
+     */
+    private void revalidateInBackground(ClientRequest request, String key, CachedResponse cached,
+                                        ClientRequest conditional, ExchangeFunction next) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        next.exchange(conditional)
+                .flatMap(response -> handleResponse(request, key, cached, response))
+                .flatMap(ClientResponse::releaseBody)
+                .timeout(CachePolicy.revalidationTimeout(
+                        request.attribute(ResponseCache.REVALIDATION_TIMEOUT_ATTRIBUTE).orElse(null)))
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(null, error -> log.debug("Background revalidation of {} failed", key, error));
+    }
+
+    private ClientResponse serveStale(StaleCandidate candidate) {
+        long now = clock.millis();
+        if (!CachePolicy.isUsableStale(candidate.cached, candidate.requestHeaders, now, candidate.windowMs)) {
+            return null;
+        }
+        return toClientResponse(candidate.cached, now);
+    }
+
+    private ClientResponse toClientResponse(CachedResponse cached, long now) {
+        return ClientResponse.create(HttpStatusCode.valueOf(cached.getStatus()), strategies)
+                .headers(headers -> headers.addAll(CachePolicy.responseHeaders(cached, now)))
+                .body(Flux.defer(() -> Flux.<DataBuffer>just(
+                        DefaultDataBufferFactory.sharedInstance.wrap(cached.getBody()))))
+                .build();
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private record StaleCandidate(CachedResponse cached, HttpHeaders requestHeaders, long windowMs) {
+    }
+}
@@ -0,0 +1,185 @@
+package com.webclient.lib.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ClientHttpRequestInterceptor} that serves {@code GET} responses from
+ * a {@link ResponseCache} while they are fresh, revalidates stale entries
+ * with {@code If-None-Match} / {@code If-Modified-Since}, and stores
+ * cacheable responses.
+ * <p>
+ * This is the synchronous counterpart of {@link ResponseCacheFilterFunction};
+ * {@code RestServiceClient} places it last in the interceptor chain, after
+ * token injection and the other per-request interceptors, so entries are
+ * keyed and checked against the request as actually sent.
+ * <p>
+ * Within the {@code stale-while-revalidate} window a stale entry is returned
+ * at once and revalidated on a virtual thread, one revalidation per key at a
+ * time, bounded by {@link ResponseCache#REVALIDATION_TIMEOUT_ATTRIBUTE}.  Within the {@code stale-if-error} window it is returned when the
+ * origin answers {@code 5xx} or the exchange throws an {@link IOException}
+ * (connection failures and read timeouts).  Both windows can be overridden
+ * per request through the {@link ResponseCache#STALE_WHILE_REVALIDATE_ATTRIBUTE}
+ * and {@link ResponseCache#STALE_IF_ERROR_ATTRIBUTE} attributes.
+ */
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheInterceptor.class);
+
+    private final ResponseCache cache;
+    private final Clock clock;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    public ResponseCacheInterceptor(ResponseCache cache) {
+        this(cache, Clock.systemUTC());
+    }
+
+    public ResponseCacheInterceptor(ResponseCache cache, Clock clock) {
+        this.cache = cache;
+        this.clock = clock;
+    }
+
+    public ResponseCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        if (!CachePolicy.isCacheableRequest(request.getMethod(), request.getHeaders())) {
+            return execution.execute(request, body);
+        }
+
+        String key = CachePolicy.key(request.getMethod(), request.getURI(), request.getHeaders());
+        CachedResponse cached = CachePolicy.lookup(cache, key, request.getHeaders());
+        long now = clock.millis();
+        if (cached != null && CachePolicy.isFresh(cached, request.getHeaders(), now)) {
+            return toClientHttpResponse(cached, now);
+        }
+
+        if (cached == null) {
+            return handleResponse(request, key, null, execution.execute(request, body));
+        }
+
+        HttpRequest conditional = conditional(request, cached);
+        long staleWhileRevalidate = CachePolicy.staleWhileRevalidate(cached,
+                request.getAttributes().get(ResponseCache.STALE_WHILE_REVALIDATE_ATTRIBUTE));
+        if (CachePolicy.isUsableStale(cached, request.getHeaders(), now, staleWhileRevalidate)) {
+            revalidateInBackground(request, key, cached, conditional, body, execution);
+            return toClientHttpResponse(cached, now);
+        }
+
+        long staleIfError = CachePolicy.staleIfError(cached,
+                request.getAttributes().get(ResponseCache.STALE_IF_ERROR_ATTRIBUTE));
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(conditional, body);
+        } catch (IOException e) {
+            now = clock.millis();
+            if (CachePolicy.isUsableStale(cached, request.getHeaders(), now, staleIfError)) {
+                return toClientHttpResponse(cached, now);
+            }
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            now = clock.millis();
+            if (CachePolicy.isUsableStale(cached, request.getHeaders(), now, staleIfError)) {
+                response.close();
+                return toClientHttpResponse(cached, now);
+            }
+        }
+        return handleResponse(request, key, cached, response);
+    }
+
+    private ClientHttpResponse handleResponse(HttpRequest request, String key, CachedResponse cached,
+                                              ClientHttpResponse response) throws IOException {
+        int status = response.getStatusCode().value();
+
+        if (cached != null && status == 304) {
+            response.close();
+            long now = clock.millis();
+            CachedResponse refreshed = CachePolicy.refresh(cached, response.getHeaders(), now);
+            cache.put(key, refreshed);
+            return toClientHttpResponse(refreshed, now);
+        }
+
+        if (!CachePolicy.isStorable(request.getHeaders(), status, response.getHeaders())) {
+            return response;
+        }
+
+        byte[] bytes;
+        try (response) {
+            bytes = response.getBody().readAllBytes();
+        }
+        CachedResponse stored = CachePolicy.create(request.getHeaders(), status, response.getHeaders(),
+                bytes, clock.millis());
+        cache.put(key, stored);
+        return new CachedClientHttpResponse(stored, stored.getHeaders());
+    }
+
+    /**
+     * Revalidates {@code cached} on a virtual thread unless a revalidation of
+     * {@code key} is already running.  This interceptor is last in the
+     * chain and has not called {@code execution} for this request, so the
+     * background call sends the conditional request exactly once.
+     * <p>
+     * A second virtual thread waits for it up to the revalidation timeout,
+     * then interrupts it and releases the key, so a hung origin cannot block
+     * later revalidations of the same key.
+     */
+    private void revalidateInBackground(HttpRequest request, String key, CachedResponse cached,
+                                        HttpRequest conditional, byte[] body,
+                                        ClientHttpRequestExecution execution) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        Duration timeout = CachePolicy.revalidationTimeout(
+                request.getAttributes().get(ResponseCache.REVALIDATION_TIMEOUT_ATTRIBUTE));
+        Thread.ofVirtual().name("cache-revalidate-timeout").start(() -> {
+            Thread revalidation = Thread.ofVirtual().name("cache-revalidate").start(() -> {
+                try {
+                    handleResponse(request, key, cached, execution.execute(conditional, body)).close();
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Background revalidation of {} failed", key, e);
+                }
+            });
+            try {
+                if (!revalidation.join(timeout)) {
+                    revalidation.interrupt();
+                    log.debug("Background revalidation of {} timed out after {} ms", key, timeout.toMillis());
+                }
+            } catch (InterruptedException e) {
+                revalidation.interrupt();
+            } finally {
+                revalidating.remove(key);
+            }
+        });
+    }
+
+    private static HttpRequest conditional(HttpRequest request, CachedResponse cached) {
+        HttpHeaders headers = HttpHeaders.copyOf(request.getHeaders());
+        CachePolicy.addConditionalHeaders(headers, cached);
+        return new HttpRequestWrapper(request) {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    private static ClientHttpResponse toClientHttpResponse(CachedResponse cached, long now) {
+        return new CachedClientHttpResponse(cached, CachePolicy.responseHeaders(cached, now));
+    }
+}
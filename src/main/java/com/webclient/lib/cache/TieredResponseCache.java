@@ -0,0 +1,145 @@
+package com.webclient.lib.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ResponseCache} that chains several caches, fastest first &mdash;
+ * typically an {@link InMemoryResponseCache} in front of a
+ * {@link MappedFileResponseCache}.
+ * <p>
+ * Lookups try each tier in order and copy a hit back into the tiers in front
+ * of it.  Writes and removals go to every tier.  {@link #getStats()} reports
+ * the combined result of a lookup; {@link #getTierStats()} reports each tier
+ * on its own, so a tier's hit ratio counts only the lookups that reached it.
+ * <p>
+ * Writes go to the last tier first, and each tier in front receives the entry
+ * as the tier behind it stored it.  Behind a mapped tier, the front tiers
+ * therefore hold the mapped body rather than a heap copy, and an entry
+ * promoted from a mapped tier keeps its mapped body too; the heap holds only
+ * status and headers.
+ */
+public class TieredResponseCache implements ResponseCache, Closeable {
+
+    private final List<ResponseCache> tiers;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public TieredResponseCache(ResponseCache... tiers) {
+        this(List.of(tiers));
+    }
+
+    public TieredResponseCache(List<ResponseCache> tiers) {
+        if (tiers.isEmpty()) {
+            throw new IllegalArgumentException("At least one tier is required");
+        }
+        this.tiers = List.copyOf(tiers);
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+        for (int i = 0; i < tiers.size(); i++) {
+            CachedResponse response = tiers.get(i).get(key);
+            if (response != null) {
+                for (int j = 0; j < i; j++) {
+                    tiers.get(j).put(key, response);
+                }
+                hits.increment();
+                return response;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+        store(key, response);
+    }
+
+    /**
+     * Stores {@code response} in every tier, last tier first, and returns the
+     * entry as the first tier holds it.
+     */
+    @Override
+    public CachedResponse store(String key, CachedResponse response) {
+        CachedResponse stored = response;
+        CachedResponse first = null;
+        for (int i = tiers.size() - 1; i >= 0; i--) {
+            first = tiers.get(i).store(key, stored);
+            if (first != null) {
+                stored = first;
+            }
+        }
+        return first;
+    }
+
+    @Override
+    public void remove(String key) {
+        tiers.forEach(tier -> tier.remove(key));
+    }
+
+    @Override
+    public void clear() {
+        tiers.forEach(ResponseCache::clear);
+    }
+
+    /**
+     * Combined counters: a hit in any tier is a hit; evictions, entries and
+     * bytes are summed over the tiers.
+     */
+    @Override
+    public CacheStats getStats() {
+        long evictions = 0;
+        long entries = 0;
+        long bytes = 0;
+        for (ResponseCache tier : tiers) {
+            CacheStats stats = tier.getStats();
+            evictions += stats.evictions();
+            entries += stats.entries();
+            bytes += stats.bytes();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions, entries, bytes);
+    }
+
+    /**
+     * Returns the counters of each tier, in lookup order.
+     */
+    public List<CacheStats> getTierStats() {
+        List<CacheStats> stats = new ArrayList<>(tiers.size());
+        tiers.forEach(tier -> stats.add(tier.getStats()));
+        return stats;
+    }
+
+    public List<ResponseCache> getTiers() {
+        return tiers;
+    }
+
+    /**
+     * Clears every tier that is not {@link Closeable}, since it may hold
+     * views of a mapped tier's files that would keep them mapped, then
+     * closes the others.
+     */
+    @Override
+    public void close() {
+        for (ResponseCache tier : tiers) {
+            if (!(tier instanceof Closeable)) {
+                tier.clear();
+            }
+        }
+        for (ResponseCache tier : tiers) {
+            if (tier instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
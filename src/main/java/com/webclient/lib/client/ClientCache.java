@@ -0,0 +1,151 @@
+package com.webclient.lib.client;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, concurrent cache of prebuilt clients keyed by an ordered chain of
+ * filters or interceptors.
+ * <p>
+ * Building a mutated {@code WebClient} or {@code RestClient} rebuilds the whole
+ * exchange chain, so identical per-request chains should share one instance.
+ * Keys compare chain elements by <b>identity</b> and in order: the same filter
+ * beans in the same order hit the same entry, regardless of which {@link List}
+ * instance carries them.
+ * <p>
+ * Lookups are lock-free.  When the cache grows past {@code maxSize}, the oldest
+ * entries (by insertion) are evicted.  Two threads missing on the same chain at
+ * the same time may both build a client; only one is kept.
+ *
+ * @param <E> the chain element type (filter or interceptor)
+ * @param <C> the cached client type
+ */
+public class ClientCache<E, C> {
+
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final int maxSize;
+    private final ConcurrentHashMap<ChainKey, C> clients = new ConcurrentHashMap<>();
+    private final Queue<ChainKey> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ClientCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public ClientCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the client built for {@code chain}, building and caching it with
+     * {@code factory} on a miss.
+     */
+    public C get(List<E> chain, Function<List<E>, C> factory) {
+        ChainKey key = new ChainKey(chain.toArray());
+        C client = clients.get(key);
+        if (client != null) {
+            hits.increment();
+            return client;
+        }
+
+        misses.increment();
+        C built = factory.apply(chain);
+        C existing = clients.putIfAbsent(key, built);
+        if (existing != null) {
+            return existing;
+        }
+
+        insertionOrder.add(key);
+        if (size.incrementAndGet() > maxSize) {
+            evictOldest();
+        }
+        return built;
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), clients.size(), maxSize);
+    }
+
+    public void clear() {
+        insertionOrder.clear();
+        clients.clear();
+        size.set(0);
+    }
+
+    private void evictOldest() {
+        while (size.get() > maxSize) {
+            ChainKey oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            if (clients.remove(oldest) != null) {
+                size.decrementAndGet();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Point-in-time cache counters.
+     */
+    public record Stats(long hits, long misses, long evictions, int size, int maxSize) {
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    /**
+     * Identity-based, order-sensitive key over a chain snapshot.
+     */
+    private static final class ChainKey {
+
+        private final Object[] elements;
+        private final int hash;
+
+        ChainKey(Object[] elements) {
+            this.elements = elements;
+            int h = 1;
+            for (Object element : elements) {
+                h = 31 * h + System.identityHashCode(element);
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ChainKey other) || other.hash != hash
+                    || other.elements.length != elements.length) {
+                return false;
+            }
+            for (int i = 0; i < elements.length; i++) {
+                if (elements[i] != other.elements[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,13 +1,48 @@
 package com.webclient.lib.client;
 
+import com.webclient.lib.balancer.LoadBalancer;
+import com.webclient.lib.balancer.LoadBalancerRegistry;
+import com.webclient.lib.breaker.CircuitBreakerKeyResolver;
+import com.webclient.lib.breaker.CircuitBreakerRegistry;
+import com.webclient.lib.cache.ResponseCache;
+import com.webclient.lib.cache.ResponseCacheInterceptor;
+import com.webclient.lib.coalesce.CoalescingKeyResolver;
+import com.webclient.lib.coalesce.CoalescingStats;
+import com.webclient.lib.coalesce.SyncRequestCoalescer;
 import com.webclient.lib.config.HttpClientProperties;
+import com.webclient.lib.limit.ConcurrencyLimitKeyResolver;
+import com.webclient.lib.limit.ConcurrencyLimiterRegistry;
 import com.webclient.lib.model.RestServiceRequest;
+import com.webclient.lib.model.ServiceResult;
+import com.webclient.lib.retry.SyncRetriableExceptionPredicate;
 import com.webclient.lib.retry.SyncRetryExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.web.client.RestClient;
 
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -17,27 +52,65 @@ import java.util.function.Supplier;
  * Responsibilities are split into focused private methods:
  * <ul>
  *   <li>{@link #resolveRestClient} &mdash; applies per-request
- *       {@link ClientHttpRequestInterceptor} interceptors via {@code restClient.mutate()}.</li>
+ *       {@link ClientHttpRequestInterceptor} interceptors via {@code restClient.mutate()},
+ *       reusing a cached client for interceptor chains seen before.</li>
+ *   <li>{@link #resolveResponseCache} &mdash; selects the per-request or
+ *       global response cache.</li>
  *   <li>{@link #buildRequestSpec} &mdash; translates a {@link RestServiceRequest}
  *       into a RestClient request specification.</li>
  *   <li>{@link #executeWithRetry} &mdash; selects per-request or global retry.</li>
+ *   <li>{@link #shouldCoalesce} &mdash; decides whether concurrent identical
+ *       requests wait for one shared exchange.</li>
+ *   <li>{@link #applyCircuitBreaker} &mdash; gates each attempt through the
+ *       downstream's circuit breaker, when a registry is configured.</li>
+ *   <li>{@link #applyConcurrencyLimit} &mdash; blocks each attempt until the
+ *       downstream's adaptive concurrency limit admits it.</li>
+ *   <li>{@link #balance} &mdash; sends each attempt of a load-balanced
+ *       request to a replica picked by its {@link LoadBalancer}.</li>
  * </ul>
  * <p>
+ * {@link #executeAsync} and {@link #executeAll} run calls on a
+ * virtual-thread-per-task executor.  The blocking I/O and the backoff sleeps
+ * of {@link SyncRetryExecutor} happen on that virtual thread, so fanning out
+ * to many downstreams does not tie up platform (servlet) threads.
+ * {@link #close()} shuts that executor down; the auto-configured bean is
+ * closed with the application context.
+ * <p>
  * Interceptors (bearer token, correlation ID, logging, etc.) are <b>not</b>
  * auto-registered on the shared RestClient.  Instead, each
  * {@link RestServiceRequest} declares its own interceptor list via the builder's
  * {@code interceptor()} method, giving callers full control over which interceptors
  * run for each call.
+ * <p>
+ * Mutated clients are cached in a bounded {@link ClientCache} keyed by the
+ * ordered interceptor list (compared by identity), sized by
+ * {@code webclient.http.client-cache.max-size}.
  */
-public class RestServiceClient {
+public class RestServiceClient implements AutoCloseable {
 
     private RestClient restClient;
     private SyncRetryExecutor syncRetryExecutor;
     private HttpClientProperties properties;
+    private ClientCache<ClientHttpRequestInterceptor, RestClient> clientCache = new ClientCache<>();
+    private final SyncRequestCoalescer coalescer = new SyncRequestCoalescer();
+    private CoalescingKeyResolver<RestServiceRequest<?>> coalescingKeyResolver =
+            CoalescingKeyResolver.forRestRequests();
+    private ResponseCache responseCache;
+    private CircuitBreakerRegistry circuitBreakers;
+    private CircuitBreakerKeyResolver<RestServiceRequest<?>> circuitBreakerKeyResolver =
+            CircuitBreakerKeyResolver.forRestRequests();
+    private ConcurrencyLimiterRegistry concurrencyLimiters;
+    private ConcurrencyLimitKeyResolver<RestServiceRequest<?>> concurrencyLimitKeyResolver =
+            ConcurrencyLimitKeyResolver.forRestRequests();
+    private LoadBalancerRegistry loadBalancers;
+    private final Map<ResponseCache, ResponseCacheInterceptor> cacheInterceptors = new ConcurrentHashMap<>();
+    private final ExecutorService asyncExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("rest-service-client-", 0).factory());
 
     @Autowired
     public void setRestClient(RestClient restClient) {
         this.restClient = restClient;
+        this.clientCache.clear();
     }
 
     @Autowired
@@ -48,30 +121,314 @@ public class RestServiceClient {
     @Autowired
     public void setProperties(HttpClientProperties properties) {
         this.properties = properties;
+        this.clientCache = new ClientCache<>(properties.getClientCache().getMaxSize());
+    }
+
+    /**
+     * Replaces the default single-flight key (method, URL, headers, accept
+     * type, response type, overrides and interceptor chain).
+     */
+    @Autowired(required = false)
+    public void setCoalescingKeyResolver(CoalescingKeyResolver<RestServiceRequest<?>> coalescingKeyResolver) {
+        this.coalescingKeyResolver = coalescingKeyResolver;
+    }
+
+    /**
+     * Sets the circuit breakers consulted by {@link #execute}; without a
+     * registry no breaker is applied.
+     */
+    @Autowired(required = false)
+    public void setCircuitBreakerRegistry(CircuitBreakerRegistry circuitBreakers) {
+        this.circuitBreakers = circuitBreakers;
+    }
+
+    /**
+     * Sets the per-host concurrency limiters consulted by {@link #execute};
+     * without a registry no limit is applied.
+     */
+    @Autowired(required = false)
+    public void setConcurrencyLimiterRegistry(ConcurrencyLimiterRegistry concurrencyLimiters) {
+        this.concurrencyLimiters = concurrencyLimiters;
+    }
+
+    /**
+     * Sets the load balancers that resolve the service of load-balanced
+     * requests; such requests fail without one.
+     */
+    @Autowired(required = false)
+    public void setLoadBalancerRegistry(LoadBalancerRegistry loadBalancers) {
+        this.loadBalancers = loadBalancers;
+    }
+
+    /**
+     * Replaces the default circuit breaker key (scheme, host and port).
+     */
+    @Autowired(required = false)
+    public void setCircuitBreakerKeyResolver(CircuitBreakerKeyResolver<RestServiceRequest<?>> circuitBreakerKeyResolver) {
+        this.circuitBreakerKeyResolver = circuitBreakerKeyResolver;
+    }
+
+    /**
+     * Replaces the default concurrency limit key (scheme, host and port).
+     */
+    @Autowired(required = false)
+    public void setConcurrencyLimitKeyResolver(ConcurrencyLimitKeyResolver<RestServiceRequest<?>> concurrencyLimitKeyResolver) {
+        this.concurrencyLimitKeyResolver = concurrencyLimitKeyResolver;
+    }
+
+    /**
+     * Sets the response cache used for requests that do not declare their own.
+     */
+    @Autowired(required = false)
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Returns hit/miss/eviction counters of the per-interceptor-chain client cache.
+     */
+    public ClientCache.Stats getClientCacheStats() {
+        return clientCache.getStats();
+    }
+
+    /**
+     * Returns how many {@link #execute} calls started an exchange and how many
+     * waited for one already in flight.
+     */
+    public CoalescingStats getCoalescingStats() {
+        return coalescer.getStats();
     }
 
     // ------------------------------------------------------------------ //
     //  Public API
     // ------------------------------------------------------------------ //
 
+    /**
+     * Executes the request on the calling thread.
+     * <p>
+     * When coalescing is enabled (globally or per request) and the request is
+     * a body-less {@code GET}, {@code HEAD} or {@code OPTIONS}, threads issuing
+     * the same request concurrently wait for the first one's exchange instead
+     * of starting their own; see {@link SyncRequestCoalescer}.
+     * <p>
+     * With a {@link CircuitBreakerRegistry}, every attempt (including each
+     * retry) passes the downstream's breaker; an open breaker fails the call
+     * with {@link com.webclient.lib.breaker.CallNotPermittedException}, which
+     * is not retried.
+     * <p>
+     * With a {@link ConcurrencyLimiterRegistry}, every attempt first waits for
+     * a permit from the downstream's adaptive limiter, or fails with
+     * {@link com.webclient.lib.limit.LimitExceededException}, which is not
+     * retried either.
+     * <p>
+     * A load-balanced request picks a replica for every attempt; a retry
+     * avoids the replicas that already failed for this call.
+     */
     public <T> T execute(RestServiceRequest<T> request) {
-        RestClient effectiveClient = resolveRestClient(request);
+        if (shouldCoalesce(request)) {
+            return coalescer.execute(coalescingKeyResolver.resolve(request), () -> exchange(request));
+        }
+        return exchange(request);
+    }
+
+    private <T> T exchange(RestServiceRequest<T> request) {
+        RestClient effectiveClient = resolveRestClient(request, resolveResponseCache(request));
+        // replicas that failed, shared by the attempts of one call
+        Set<String> failedEndpoints = request.getService() != null ? ConcurrentHashMap.newKeySet() : null;
+
+        return executeWithRetry(() -> applyConcurrencyLimit(() -> applyCircuitBreaker(() ->
+                balance(request, failedEndpoints, url -> {
+                    RestClient.RequestHeadersSpec<?> spec = buildRequestSpec(effectiveClient, request, url);
+                    return spec.retrieve().body(request.getResponseType());
+                }), request), request), request);
+    }
+
+    /**
+     * Executes the request on a virtual thread.
+     * <p>
+     * Cancelling the returned future interrupts the call, which aborts the
+     * in-flight exchange or the pending retry backoff.
+     */
+    public <T> CompletableFuture<T> executeAsync(RestServiceRequest<T> request) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = asyncExecutor.submit(() -> {
+            try {
+                result.complete(execute(request));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Executes all requests in parallel with a shared deadline equal to the
+     * global {@code webclient.http.timeout.timeout-ms}.
+     *
+     * @see #executeAll(List, Duration)
+     */
+    public List<ServiceResult<?>> executeAll(List<RestServiceRequest<?>> requests) {
+        return executeAll(requests, Duration.ofMillis(properties.getTimeout().getTimeoutMs()));
+    }
+
+    /**
+     * Executes all requests in parallel, one virtual thread per request, and
+     * waits until every call has finished or {@code deadline} has elapsed.
+     * <p>
+     * Calls still running at the deadline are cancelled (their threads are
+     * interrupted) and reported as failures with a {@link TimeoutException}.
+     * Results are returned in the same order as {@code requests}.
+     *
+     * @param requests the requests to execute
+     * @param deadline time budget shared by all calls, including retries
+     * @return one {@link ServiceResult} per request
+     */
+    public List<ServiceResult<?>> executeAll(List<RestServiceRequest<?>> requests, Duration deadline) {
+        List<Callable<Object>> tasks = new ArrayList<>(requests.size());
+        for (RestServiceRequest<?> request : requests) {
+            tasks.add(() -> execute(request));
+        }
+
+        List<Future<Object>> futures;
+        try {
+            futures = asyncExecutor.invokeAll(tasks, deadline.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Parallel execution interrupted", ie);
+        }
+
+        List<ServiceResult<?>> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(toResult(i, futures.get(i), deadline));
+        }
+        return results;
+    }
+
+    /**
+     * Stops the executor behind {@link #executeAsync} and {@link #executeAll}.
+     * Calls already running finish normally; later async calls are rejected
+     * with a {@link java.util.concurrent.RejectedExecutionException}.
+     * Synchronous {@link #execute} calls are not affected.
+     */
+    @Override
+    public void close() {
+        asyncExecutor.shutdown();
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Parallel execution
+    // ------------------------------------------------------------------ //
+
+    private ServiceResult<?> toResult(int index, Future<Object> future, Duration deadline) {
+        try {
+            return ServiceResult.success(index, future.get());
+        } catch (CancellationException e) {
+            return ServiceResult.failure(index, new TimeoutException(
+                    "Deadline of " + deadline.toMillis() + " ms exceeded"));
+        } catch (ExecutionException e) {
+            return ServiceResult.failure(index, e.getCause());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Parallel execution interrupted", ie);
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Coalescing
+    // ------------------------------------------------------------------ //
+
+    private boolean shouldCoalesce(RestServiceRequest<?> request) {
+        boolean enabled = request.getCoalesce() != null
+                ? request.getCoalesce()
+                : properties.getCoalescing().isEnabled();
+        return enabled && request.isCoalescable();
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Circuit breaker and concurrency limit
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Runs one attempt through the request's breaker.  Failures are the
+     * errors {@link SyncRetriableExceptionPredicate} considers transient, so
+     * a 4xx answer counts as a healthy downstream.
+     */
+    private <T> T applyCircuitBreaker(Supplier<T> attempt, RestServiceRequest<T> request) {
+        if (circuitBreakers == null) {
+            return attempt.get();
+        }
+        return circuitBreakers.get(circuitBreakerKeyResolver.resolve(request))
+                .execute(attempt, SyncRetriableExceptionPredicate.INSTANCE);
+    }
 
-        return executeWithRetry(() -> {
-            RestClient.RequestHeadersSpec<?> spec = buildRequestSpec(effectiveClient, request);
-            return spec.retrieve().body(request.getResponseType());
-        }, request);
+    /**
+     * Blocks one attempt until the request's host admits it.  Placed outside
+     * the circuit breaker, so a call the breaker rejects returns its permit at
+     * once without being sampled.
+     */
+    private <T> T applyConcurrencyLimit(Supplier<T> attempt, RestServiceRequest<T> request) {
+        if (concurrencyLimiters == null) {
+            return attempt.get();
+        }
+        return concurrencyLimiters.get(concurrencyLimitKeyResolver.resolve(request))
+                .execute(attempt, SyncRetriableExceptionPredicate.INSTANCE);
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Load balancing
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Applies {@code call} to the request's URL or, for a load-balanced
+     * request, to the URL on a replica picked for this attempt.
+     */
+    private <T> T balance(RestServiceRequest<?> request, Set<String> failedEndpoints, Function<String, T> call) {
+        if (request.getService() == null) {
+            return call.apply(request.getUrl());
+        }
+        if (loadBalancers == null) {
+            throw new IllegalStateException("Request targets service '" + request.getService()
+                    + "' but no LoadBalancerRegistry is configured");
+        }
+        return loadBalancers.get(request.getService()).executeBlocking(
+                base -> call.apply(LoadBalancer.resolve(base, request.getUrl())),
+                SyncRetriableExceptionPredicate.INSTANCE, failedEndpoints);
     }
 
     // ------------------------------------------------------------------ //
     //  Per-request interceptor resolution
     // ------------------------------------------------------------------ //
 
-    private RestClient resolveRestClient(RestServiceRequest<?> request) {
+    /**
+     * Resolves the client for the request's interceptors, with the response
+     * cache interceptor (if any) placed last so that it sees the request as
+     * the other interceptors leave it, injected {@code Authorization} header
+     * included.
+     */
+    private RestClient resolveRestClient(RestServiceRequest<?> request, ResponseCache cache) {
         List<ClientHttpRequestInterceptor> interceptors = request.getInterceptors();
-        if (interceptors == null || interceptors.isEmpty()) {
+        if (cache != null) {
+            List<ClientHttpRequestInterceptor> chain = new ArrayList<>(interceptors.size() + 1);
+            chain.addAll(interceptors);
+            chain.add(cacheInterceptors.computeIfAbsent(cache, ResponseCacheInterceptor::new));
+            interceptors = chain;
+        }
+        if (interceptors.isEmpty()) {
             return this.restClient;
         }
+        return clientCache.get(interceptors, this::buildInterceptedClient);
+    }
+
+    private ResponseCache resolveResponseCache(RestServiceRequest<?> request) {
+        return request.getResponseCache() != null ? request.getResponseCache() : this.responseCache;
+    }
+
+    private RestClient buildInterceptedClient(List<ClientHttpRequestInterceptor> interceptors) {
         RestClient.Builder builder = this.restClient.mutate();
         interceptors.forEach(builder::requestInterceptor);
         return builder.build();
@@ -82,11 +439,11 @@ public class RestServiceClient {
     // ------------------------------------------------------------------ //
 
     private <T> RestClient.RequestHeadersSpec<?> buildRequestSpec(
-            RestClient client, RestServiceRequest<T> request) {
+            RestClient client, RestServiceRequest<T> request, String url) {
 
         RestClient.RequestBodySpec requestSpec = client
                 .method(request.getHttpMethod())
-                .uri(request.getUrl());
+                .uri(url);
 
         if (!request.getHeaders().isEmpty()) {
             requestSpec.headers(h -> request.getHeaders().forEach(h::set));
@@ -100,21 +457,82 @@ public class RestServiceClient {
             requestSpec.accept(request.getAcceptType());
         }
 
+        if (request.getStaleWhileRevalidateMs() != null) {
+            requestSpec.attribute(ResponseCache.STALE_WHILE_REVALIDATE_ATTRIBUTE, request.getStaleWhileRevalidateMs());
+        }
+
+        if (request.getStaleIfErrorMs() != null) {
+            requestSpec.attribute(ResponseCache.STALE_IF_ERROR_ATTRIBUTE, request.getStaleIfErrorMs());
+        }
+
+        if (resolveResponseCache(request) != null) {
+            long timeoutMs = request.getTimeoutMs() != null
+                    ? request.getTimeoutMs()
+                    : properties.getTimeout().getTimeoutMs();
+            requestSpec.attribute(ResponseCache.REVALIDATION_TIMEOUT_ATTRIBUTE, timeoutMs);
+        }
+
         return request.getBody() != null
-                ? requestSpec.body(request.getBody())
+                ? insertBody(requestSpec, request)
                 : requestSpec;
     }
 
+    /**
+     * Streams file, channel and {@link StreamingHttpOutputMessage.Body} bodies
+     * straight to the connection; converts anything else with the message
+     * converters.
+     * <p>
+     * Streaming only avoids buffering when the request has no interceptors:
+     * Spring's intercepting request factory buffers the whole body so
+     * interceptors can see it.  {@link ReadableByteChannel} bodies are closed
+     * once sent, so such requests are not retried.
+     */
+    private RestClient.RequestHeadersSpec<?> insertBody(
+            RestClient.RequestBodySpec requestSpec, RestServiceRequest<?> request) {
+        Object body = request.getBody();
+
+        if (body instanceof Path path) {
+            defaultToOctetStream(requestSpec, request);
+            return requestSpec.body(out -> Files.copy(path, out));
+        }
+
+        if (body instanceof ReadableByteChannel channel) {
+            defaultToOctetStream(requestSpec, request);
+            return requestSpec.body(out -> {
+                try (InputStream in = Channels.newInputStream(channel)) {
+                    in.transferTo(out);
+                }
+            });
+        }
+
+        if (body instanceof StreamingHttpOutputMessage.Body streamingBody) {
+            return requestSpec.body(streamingBody);
+        }
+
+        return requestSpec.body(body);
+    }
+
+    private void defaultToOctetStream(RestClient.RequestBodySpec requestSpec, RestServiceRequest<?> request) {
+        if (request.getContentType() == null) {
+            requestSpec.contentType(MediaType.APPLICATION_OCTET_STREAM);
+        }
+    }
+
     // ------------------------------------------------------------------ //
     //  Retry
     // ------------------------------------------------------------------ //
 
+    /**
+     * Runs {@code operation} with the per-request or global retry policy.  A
+     * request whose body was consumed by the first attempt (a
+     * {@link ReadableByteChannel}) is sent once.
+     */
     private <T> T executeWithRetry(Supplier<T> operation, RestServiceRequest<T> request) {
         int maxRetries = request.getMaxRetries() != null
                 ? request.getMaxRetries()
                 : properties.getRetry().getMaxRetries();
 
-        if (maxRetries == 0) {
+        if (maxRetries == 0 || !request.hasReplayableBody()) {
             return operation.get();
         }
 
@@ -1,16 +1,64 @@
 package com.webclient.lib.client;
 
+import com.webclient.lib.balancer.LoadBalancer;
+import com.webclient.lib.balancer.LoadBalancerRegistry;
+import com.webclient.lib.breaker.CircuitBreaker;
+import com.webclient.lib.breaker.CircuitBreakerKeyResolver;
+import com.webclient.lib.breaker.CircuitBreakerRegistry;
+import com.webclient.lib.cache.ResponseCache;
+import com.webclient.lib.cache.ResponseCacheFilterFunction;
+import com.webclient.lib.coalesce.CoalescingKeyResolver;
+import com.webclient.lib.coalesce.CoalescingStats;
+import com.webclient.lib.coalesce.RequestCoalescer;
 import com.webclient.lib.config.HttpClientProperties;
+import com.webclient.lib.hedge.HedgingStats;
+import com.webclient.lib.hedge.RequestHedger;
+import com.webclient.lib.limit.ConcurrencyLimitKeyResolver;
+import com.webclient.lib.limit.ConcurrencyLimiter;
+import com.webclient.lib.limit.ConcurrencyLimiterRegistry;
+import com.webclient.lib.limit.FixedLimit;
+import com.webclient.lib.model.ServiceResult;
 import com.webclient.lib.model.WebServiceRequest;
+import com.webclient.lib.retry.RetriableExceptionPredicate;
 import com.webclient.lib.retry.RetryStrategyFactory;
+import com.webclient.lib.util.DownstreamKeys;
+import org.reactivestreams.Publisher;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+import reactor.util.retry.RetryBackoffSpec;
 
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * {@link ServiceClient} implementation backed by Spring {@link WebClient}.
@@ -18,13 +66,35 @@ import java.util.List;
  * Responsibilities are split into focused private methods:
  * <ul>
  *   <li>{@link #resolveWebClient} &mdash; applies per-request
- *       {@link ExchangeFilterFunction} filters via {@code webClient.mutate()}.</li>
+ *       {@link ExchangeFilterFunction} filters via {@code webClient.mutate()},
+ *       reusing a cached client for filter chains seen before.</li>
+ *   <li>{@link #resolveResponseCache} &mdash; selects the per-request or
+ *       global response cache for {@link #execute}; streaming calls are never
+ *       cached.</li>
  *   <li>{@link #buildRequestSpec} &mdash; translates a {@link WebServiceRequest}
  *       into a WebClient request specification.</li>
  *   <li>{@link #handleResponse} &mdash; maps the raw HTTP response to the
  *       target type or propagates an error.</li>
+ *   <li>{@link #handleStreamResponse} &mdash; decodes the raw HTTP response
+ *       element by element for {@link #stream}, or passes raw buffers through
+ *       for {@link #streamRaw} and {@link #download}.</li>
+ *   <li>{@link #probeRanges} &mdash; checks range support before a
+ *       segmented {@link #download(WebServiceRequest, Path, int)}.</li>
  *   <li>{@link #applyRetry} &mdash; selects per-request or global retry.</li>
  *   <li>{@link #applyTimeout} &mdash; selects per-request or global timeout.</li>
+ *   <li>{@link #shouldCoalesce} &mdash; decides whether identical in-flight
+ *       requests share one exchange.</li>
+ *   <li>{@link #shouldHedge} &mdash; decides whether a slow attempt is
+ *       raced against a duplicate; see {@link RequestHedger}.</li>
+ *   <li>{@link #applyCircuitBreaker} &mdash; gates each attempt through the
+ *       downstream's circuit breaker, when a registry is configured.</li>
+ *   <li>{@link #applyConcurrencyLimit} &mdash; holds each attempt (each
+ *       hedged duplicate included) until the downstream's adaptive
+ *       concurrency limit admits it.</li>
+ *   <li>{@link #balance} &mdash; sends each attempt of a load-balanced
+ *       request to a replica picked by its {@link LoadBalancer}.</li>
+ *   <li>{@link #executeAll} &mdash; runs many requests with bounded concurrency,
+ *       wrapping each outcome in a {@link ServiceResult}.</li>
  * </ul>
  * <p>
  * Filters (bearer token, correlation ID, logging, etc.) are <b>not</b>
@@ -32,16 +102,43 @@ import java.util.List;
  * {@link WebServiceRequest} declares its own filter list via the builder's
  * {@code filter()} method, giving callers full control over which filters
  * run for each call.
+ * <p>
+ * Mutated clients are cached in a bounded {@link ClientCache} keyed by the
+ * ordered filter list (compared by identity), so hot paths that always attach
+ * the same filter beans build their client once.
  */
 public class WebServiceClient {
 
+    /**
+     * Reactor context key of the flag {@link #applyTimeout} sets when the
+     * timeout fires, before it cancels the attempt in flight.
+     */
+    private static final String TIMED_OUT_KEY = WebServiceClient.class.getName() + ".timedOut";
+    private static final int BODY_BUFFER_SIZE = 64 * 1024;
+    private static final long MIN_SEGMENT_SIZE = 64 * 1024;
+
     private WebClient webClient;
     private RetryStrategyFactory retryStrategyFactory;
     private HttpClientProperties properties;
+    private ClientCache<ExchangeFilterFunction, WebClient> clientCache = new ClientCache<>();
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private RequestHedger hedger;
+    private CoalescingKeyResolver<WebServiceRequest<?>> coalescingKeyResolver =
+            CoalescingKeyResolver.forWebRequests();
+    private ResponseCache responseCache;
+    private CircuitBreakerRegistry circuitBreakers;
+    private CircuitBreakerKeyResolver<WebServiceRequest<?>> circuitBreakerKeyResolver =
+            CircuitBreakerKeyResolver.forWebRequests();
+    private ConcurrencyLimiterRegistry concurrencyLimiters;
+    private ConcurrencyLimitKeyResolver<WebServiceRequest<?>> concurrencyLimitKeyResolver =
+            ConcurrencyLimitKeyResolver.forWebRequests();
+    private LoadBalancerRegistry loadBalancers;
+    private final Map<ResponseCache, ResponseCacheFilterFunction> cacheFilters = new ConcurrentHashMap<>();
 
     @Autowired
     public void setWebClient(WebClient webClient) {
         this.webClient = webClient;
+        this.clientCache.clear();
     }
 
     @Autowired
@@ -52,34 +149,666 @@ public class WebServiceClient {
     @Autowired
     public void setProperties(HttpClientProperties properties) {
         this.properties = properties;
+        this.clientCache = new ClientCache<>(properties.getClientCache().getMaxSize());
+        HttpClientProperties.Hedging hedging = properties.getHedging();
+        this.hedger = new RequestHedger(Duration.ofMillis(hedging.getDelayMs()),
+                hedging.getPercentile(), hedging.getMaxHedgeRatio());
+    }
+
+    /**
+     * Replaces the default single-flight key (method, URL, headers, accept
+     * type, response type, overrides and filter chain).
+     */
+    @Autowired(required = false)
+    public void setCoalescingKeyResolver(CoalescingKeyResolver<WebServiceRequest<?>> coalescingKeyResolver) {
+        this.coalescingKeyResolver = coalescingKeyResolver;
+    }
+
+    /**
+     * Sets the circuit breakers consulted by {@link #execute}; without a
+     * registry no breaker is applied.
+     */
+    @Autowired(required = false)
+    public void setCircuitBreakerRegistry(CircuitBreakerRegistry circuitBreakers) {
+        this.circuitBreakers = circuitBreakers;
+    }
+
+    /**
+     * Sets the per-host concurrency limiters consulted by {@link #execute};
+     * without a registry no limit is applied.
+     */
+    @Autowired(required = false)
+    public void setConcurrencyLimiterRegistry(ConcurrencyLimiterRegistry concurrencyLimiters) {
+        this.concurrencyLimiters = concurrencyLimiters;
+    }
+
+    /**
+     * Sets the load balancers that resolve the service of load-balanced
+     * requests; such requests fail without one.
+     */
+    @Autowired(required = false)
+    public void setLoadBalancerRegistry(LoadBalancerRegistry loadBalancers) {
+        this.loadBalancers = loadBalancers;
+    }
+
+    /**
+     * Replaces the default circuit breaker key (scheme, host and port).
+     */
+    @Autowired(required = false)
+    public void setCircuitBreakerKeyResolver(CircuitBreakerKeyResolver<WebServiceRequest<?>> circuitBreakerKeyResolver) {
+        this.circuitBreakerKeyResolver = circuitBreakerKeyResolver;
+    }
+
+    /**
+     * Replaces the default concurrency limit key (scheme, host and port).
+     */
+    @Autowired(required = false)
+    public void setConcurrencyLimitKeyResolver(ConcurrencyLimitKeyResolver<WebServiceRequest<?>> concurrencyLimitKeyResolver) {
+        this.concurrencyLimitKeyResolver = concurrencyLimitKeyResolver;
+    }
+
+    /**
+     * Sets the response cache used by {@link #execute} for requests that do
+     * not declare their own.
+     */
+    @Autowired(required = false)
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Returns hit/miss/eviction counters of the per-filter-chain client cache.
+     */
+    public ClientCache.Stats getClientCacheStats() {
+        return clientCache.getStats();
+    }
+
+    /**
+     * Returns how many {@link #execute} calls started an exchange and how many
+     * joined one already in flight.
+     */
+    public CoalescingStats getCoalescingStats() {
+        return coalescer.getStats();
+    }
+
+    /**
+     * Returns how many {@link #execute} calls were hedgeable, how many sent a
+     * duplicate attempt and how many were answered by it.
+     */
+    public HedgingStats getHedgingStats() {
+        return hedger.getStats();
     }
 
     // ------------------------------------------------------------------ //
     //  Public API
     // ------------------------------------------------------------------ //
 
+    /**
+     * Executes the request and decodes the whole response body.
+     * <p>
+     * When coalescing is enabled (globally or per request) and the request is
+     * a body-less {@code GET}, {@code HEAD} or {@code OPTIONS}, concurrent
+     * calls with the same key share one exchange, including its retries and
+     * timeout; see {@link RequestCoalescer}.
+     * <p>
+     * With a response cache (per request or global), {@code GET} responses
+     * are served and stored per {@link ResponseCacheFilterFunction}; a stale
+     * entry within its {@code stale-if-error} window also covers timeouts and
+     * exhausted retries.
+     * <p>
+     * With a {@link CircuitBreakerRegistry}, every attempt (including each
+     * retry) passes the downstream's breaker; an open breaker fails the call
+     * with {@link com.webclient.lib.breaker.CallNotPermittedException}, which
+     * is not retried.
+     * <p>
+     * With a {@link ConcurrencyLimiterRegistry}, every attempt first waits for
+     * a permit from the downstream's adaptive limiter, or fails with
+     * {@link com.webclient.lib.limit.LimitExceededException}, which is not
+     * retried either.
+     * <p>
+     * A load-balanced request picks a replica for every attempt; a retry
+     * avoids the replicas that already failed for this call.
+     */
     public <T> Mono<T> execute(WebServiceRequest<T> request) {
-        WebClient effectiveClient = resolveWebClient(request);
-        WebClient.RequestHeadersSpec<?> spec = buildRequestSpec(effectiveClient, request);
+        if (shouldCoalesce(request)) {
+            return coalescer.execute(coalescingKeyResolver.resolve(request), () -> exchange(request));
+        }
+        return exchange(request);
+    }
 
-        Mono<T> result = spec.exchangeToMono(response ->
-                handleResponse(response, request.getResponseType()));
+    private <T> Mono<T> exchange(WebServiceRequest<T> request) {
+        if (request.getService() != null) {
+            // replicas that failed, shared by the attempts of one call
+            return Mono.defer(() -> exchange(request, ConcurrentHashMap.newKeySet()));
+        }
+        return exchange(request, null);
+    }
+
+    private <T> Mono<T> exchange(WebServiceRequest<T> request, Set<String> failedEndpoints) {
+        ResponseCache cache = resolveResponseCache(request);
+        WebClient effectiveClient = resolveWebClient(request, cache);
+
+        Mono<T> attempt = applyCircuitBreaker(
+                balance(request, failedEndpoints, url -> buildRequestSpec(effectiveClient, request, url)
+                        .exchangeToMono(response -> handleResponse(response, request.getResponseType()))),
+                request);
+
+        // each hedged attempt takes its own permit; the duplicate is skipped rather than queued
+        Mono<T> result = shouldHedge(request)
+                ? hedger.execute(downstream(request),
+                        () -> applyConcurrencyLimit(attempt, request),
+                        () -> tryConcurrencyLimit(attempt, request))
+                : applyConcurrencyLimit(attempt, request);
 
         result = applyRetry(result, request);
         result = applyTimeout(result, request);
 
+        if (cache != null) {
+            // stale-if-error for failures raised outside the filter chain (timeouts, exhausted retries)
+            result = cacheFilter(cache).withStaleIfError(result,
+                    response -> handleResponse(response, request.getResponseType()));
+        }
+
         return result;
     }
 
+    /**
+     * Executes the request and decodes the response body element by element
+     * instead of buffering it.
+     * <p>
+     * The element decoder is chosen from the response {@code Content-Type}:
+     * <ul>
+     *   <li>{@code application/x-ndjson} &mdash; one element per line;</li>
+     *   <li>{@code text/event-stream} &mdash; one element per event's
+     *       {@code data} field;</li>
+     *   <li>{@code application/json} with a top-level array &mdash; one element
+     *       per array entry (requires a JSON codec on the classpath).</li>
+     * </ul>
+     * Elements are read from the connection only as the subscriber requests
+     * them, so memory use stays flat regardless of the response size.
+     * <p>
+     * Retry: a failure is retried (per-request or global policy) only if no
+     * element has been emitted yet.  After the first element, errors are
+     * propagated without retry, because restarting the stream would replay
+     * data the subscriber has already seen.  Callers that can resume (e.g. by
+     * offset) should do so themselves.
+     * <p>
+     * Timeout: the per-request or global timeout bounds the wait for the first
+     * element and the idle gap between elements, not the total transfer time.
+     */
+    public <T> Flux<T> stream(WebServiceRequest<T> request) {
+        return streamBody(request, request.getResponseType());
+    }
+
+    /**
+     * Executes the request and returns the response body as raw
+     * {@link DataBuffer}s, without codec decoding.  The request's
+     * {@code responseType} is ignored.
+     * <p>
+     * Buffers are the pooled Netty buffers read from the connection; no copy
+     * is made.  <b>The subscriber owns every emitted buffer and must release
+     * it</b> with {@link DataBufferUtils#release} once written or forwarded.
+     * Buffers still held inside the pipeline when the subscription is
+     * cancelled or fails are released by this method.
+     * <p>
+     * Retry and timeout follow the same rules as {@link #stream}.
+     */
+    public Flux<DataBuffer> streamRaw(WebServiceRequest<?> request) {
+        return streamBody(request, DataBuffer.class)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Executes the request and writes the response body to {@code target},
+     * creating or truncating the file.
+     * <p>
+     * Buffers from {@link #streamRaw} are written straight to an
+     * {@link java.nio.channels.AsynchronousFileChannel} and released after each
+     * write, so the body is never copied onto the heap.  If the transfer fails
+     * after the first bytes were written, the error propagates without retry
+     * and {@code target} is left partially written.
+     *
+     * @return the target path, once the whole body has been written
+     */
+    public Mono<Path> download(WebServiceRequest<?> request, Path target) {
+        return DataBufferUtils.write(streamRaw(request), target,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)
+                .thenReturn(target);
+    }
+
+    /**
+     * Downloads the response body of a {@code GET} request into {@code target}
+     * over up to {@code segments} parallel {@code Range} requests.
+     * <p>
+     * A {@code HEAD} request first probes the resource.  When the server
+     * answers with {@code Accept-Ranges: bytes} and a {@code Content-Length},
+     * the file is pre-sized and split into contiguous byte ranges (none smaller
+     * than {@value #MIN_SEGMENT_SIZE} bytes), each fetched on its own pooled
+     * connection and written at its offset with positional file-channel
+     * writes.  Otherwise, or when the request is not a {@code GET}, this falls
+     * back to the single-stream {@link #download(WebServiceRequest, Path)}.
+     * <p>
+     * A segment that fails is retried with the request's retry policy and the
+     * same retriable-exception predicate as {@link #execute}; the retry resumes
+     * at the first byte not yet written rather than restarting the segment.
+     * Each segment is subject to the per-request or global timeout as an idle
+     * timeout, as for {@link #stream}.  A server that answers a range request
+     * with anything but {@code 206 Partial Content}, or with a
+     * {@code Content-Range} other than the requested bytes of the probed
+     * length, fails the download.
+     *
+     * @param segments maximum number of concurrent range requests
+     * @return the target path, once every segment has been written
+     */
+    public Mono<Path> download(WebServiceRequest<?> request, Path target, int segments) {
+        if (segments < 1) {
+            throw new IllegalArgumentException("segments must be at least 1");
+        }
+        if (segments == 1 || request.getHttpMethod() != HttpMethod.GET) {
+            return download(request, target);
+        }
+
+        WebClient effectiveClient = resolveWebClient(request);
+        if (request.getService() != null) {
+            // every segment from the same replica
+            return loadBalancer(request).executeMany(
+                            base -> downloadRanged(effectiveClient, request,
+                                    LoadBalancer.resolve(base, request.getUrl()), target, segments).flux(),
+                            RetriableExceptionPredicate.INSTANCE, null)
+                    .last();
+        }
+        return downloadRanged(effectiveClient, request, request.getUrl(), target, segments);
+    }
+
+    /**
+     * Executes every request from {@code requests} with at most
+     * {@code concurrency} calls in flight, emitting results in completion order.
+     *
+     * @see #executeAll(Publisher, int, boolean)
+     */
+    public <T> Flux<ServiceResult<T>> executeAll(
+            Publisher<WebServiceRequest<T>> requests, int concurrency) {
+        return executeAll(requests, concurrency, false);
+    }
+
+    /**
+     * Executes every request from {@code requests} with bounded concurrency.
+     * <p>
+     * Each request goes through {@link #execute} and therefore gets its own
+     * retry and timeout handling.  Failures do not terminate the stream: each
+     * outcome is emitted as a {@link ServiceResult} carrying either the value or
+     * the error, together with the request's position in {@code requests}.
+     * <p>
+     * Upstream requests are pulled only as in-flight calls complete, so a slow
+     * downstream applies backpressure to the source instead of growing the
+     * connection pool's pending-acquire queue.  The effective concurrency is
+     * capped at {@code webclient.http.pool.max-connections}, and the calls to
+     * each host at that host's pool limit ({@code pool.hosts} entry, else
+     * {@code max-connections-per-route}); calls over a host's limit wait here
+     * rather than in its pending-acquire queue.
+     *
+     * @param requests    the requests to execute
+     * @param concurrency maximum number of calls in flight
+     * @param ordered     {@code true} to emit results in submission order,
+     *                    {@code false} to emit them as they complete
+     */
+    public <T> Flux<ServiceResult<T>> executeAll(
+            Publisher<WebServiceRequest<T>> requests, int concurrency, boolean ordered) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1");
+        }
+        int effectiveConcurrency = Math.min(concurrency, properties.getPool().getMaxConnections());
+
+        return Flux.defer(() -> {
+            Map<String, ConcurrencyLimiter> hostLimits = new ConcurrentHashMap<>();
+            Function<Tuple2<Long, WebServiceRequest<T>>, Mono<ServiceResult<T>>> call = t -> hostLimit(
+                    hostLimits, t.getT2(), effectiveConcurrency)
+                    .execute(executeForResult(t.getT1(), t.getT2()), error -> false);
+
+            Flux<Tuple2<Long, WebServiceRequest<T>>> indexed =
+                    Flux.from(requests).index();
+
+            return ordered
+                    ? indexed.flatMapSequential(call, effectiveConcurrency, 1)
+                    : indexed.flatMap(call, effectiveConcurrency, 1);
+        });
+    }
+
+    /**
+     * Returns the batch's gate for the host of {@code request}, sized to the
+     * host's pool limit.  Load-balanced requests are gated per service at
+     * {@code max-connections-per-route}, since their replica is chosen later.
+     */
+    private ConcurrencyLimiter hostLimit(Map<String, ConcurrencyLimiter> hostLimits,
+                                         WebServiceRequest<?> request, int concurrency) {
+        HttpClientProperties.Pool pool = properties.getPool();
+        return hostLimits.computeIfAbsent(DownstreamKeys.byHostOrService(request.getUrl(), request.getService()), key -> {
+            int limit = Math.min(concurrency, request.getService() != null
+                    ? pool.getMaxConnectionsPerRoute()
+                    : pool.maxConnectionsFor(URI.create(key)));
+            return new ConcurrencyLimiter(key, new FixedLimit(limit), Integer.MAX_VALUE, null);
+        });
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Streaming
+    // ------------------------------------------------------------------ //
+
+    private <E> Flux<E> streamBody(WebServiceRequest<?> request, Class<E> elementType) {
+        WebClient effectiveClient = resolveWebClient(request);
+        Function<String, Flux<E>> exchange = url -> buildRequestSpec(effectiveClient, request, url)
+                .exchangeToFlux(response -> handleStreamResponse(response, elementType));
+
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+
+            Flux<E> result = (request.getService() == null
+                    ? exchange.apply(request.getUrl())
+                    : loadBalancer(request).executeMany(
+                            base -> exchange.apply(LoadBalancer.resolve(base, request.getUrl())),
+                            RetriableExceptionPredicate.INSTANCE, ConcurrentHashMap.newKeySet()))
+                    .doOnNext(element -> emitted.set(true));
+
+            result = applyStreamRetry(result, request, emitted);
+            return applyStreamTimeout(result, request);
+        });
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Ranged download
+    // ------------------------------------------------------------------ //
+
+    private Mono<Path> downloadRanged(WebClient client, WebServiceRequest<?> request, String url,
+                                      Path target, int segments) {
+        return probeRanges(client, request, url)
+                .flatMap(length -> downloadRanges(client, request, url, target, length, segments))
+                .switchIfEmpty(Mono.defer(() -> download(request, target)));
+    }
+
+    /**
+     * Emits the resource length when the server supports byte ranges, or
+     * completes empty so the caller falls back to a single stream.
+     */
+    private Mono<Long> probeRanges(WebClient client, WebServiceRequest<?> request, String url) {
+        WebClient.RequestHeadersSpec<?> spec = client.head()
+                .uri(url)
+                .headers(h -> request.getHeaders().forEach(h::set));
+
+        return spec.exchangeToMono(response -> {
+                    ClientResponse.Headers headers = response.headers();
+                    boolean acceptsRanges = response.statusCode().is2xxSuccessful()
+                            && "bytes".equalsIgnoreCase(
+                                    headers.asHttpHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+                    long length = headers.contentLength().orElse(-1);
+                    return response.releaseBody()
+                            .then(acceptsRanges && length > 0 ? Mono.just(length) : Mono.empty());
+                })
+                .timeout(resolveTimeout(request));
+    }
+
+    private Mono<Path> downloadRanges(WebClient client, WebServiceRequest<?> request, String url,
+                                      Path target, long length, int segments) {
+        long segmentCount = Math.min(segments, Math.max(1, length / MIN_SEGMENT_SIZE));
+        long segmentSize = (length + segmentCount - 1) / segmentCount;
+
+        Mono<AsynchronousFileChannel> open = Mono.fromCallable(() -> {
+            AsynchronousFileChannel channel = AsynchronousFileChannel.open(target,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            try (RandomAccessFile file = new RandomAccessFile(target.toFile(), "rw")) {
+                file.setLength(length);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            return channel;
+        }).subscribeOn(Schedulers.boundedElastic());
+
+        return Mono.usingWhen(open,
+                        channel -> Flux.range(0, (int) segmentCount)
+                                .flatMap(i -> {
+                                    long start = i * segmentSize;
+                                    long end = Math.min(start + segmentSize, length) - 1;
+                                    return downloadSegment(client, request, url, channel, start, end, length);
+                                }, (int) segmentCount)
+                                .then(),
+                        channel -> Mono.fromCallable(() -> {
+                            channel.close();
+                            return channel;
+                        }))
+                .thenReturn(target);
+    }
+
+    /**
+     * Fetches bytes {@code start..end} (inclusive) of a resource of
+     * {@code length} bytes and writes them at the same offset.
+     * {@code position} tracks the next byte to write, so a retry requests
+     * only the remainder of the segment.
+     */
+    private Mono<Void> downloadSegment(WebClient client, WebServiceRequest<?> request, String url,
+                                       AsynchronousFileChannel channel, long start, long end, long length) {
+        AtomicLong position = new AtomicLong(start);
+
+        Flux<Long> segment = Flux.defer(() -> client.get()
+                .uri(url)
+                .headers(h -> {
+                    request.getHeaders().forEach(h::set);
+                    h.set(HttpHeaders.RANGE, "bytes=" + position.get() + "-" + end);
+                })
+                .exchangeToFlux(response -> handleRangeResponse(response, position.get(), end, length))
+                .concatMap(buffer -> writeAt(channel, buffer, position))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release));
+
+        segment = applyStreamTimeout(segment, request);
+        RetryBackoffSpec retrySpec = resolveRetrySpec(request);
+        if (retrySpec != null) {
+            segment = segment.retryWhen(retrySpec);
+        }
+        return segment.then();
+    }
+
+    /**
+     * Streams the body of a {@code 206} whose {@code Content-Range} is exactly
+     * bytes {@code start..end} of {@code length}.  Any other range, or a
+     * different total length (the resource changed since the probe), fails
+     * the download rather than writing bytes at the wrong offset.
+     */
+    private Flux<DataBuffer> handleRangeResponse(ClientResponse response, long start, long end, long length) {
+        if (response.statusCode().value() == 206) {
+            String contentRange = response.headers().asHttpHeaders().getFirst(HttpHeaders.CONTENT_RANGE);
+            String expected = "bytes " + start + "-" + end + "/" + length;
+            if (contentRange == null || !expected.equalsIgnoreCase(contentRange.trim())) {
+                return response.releaseBody().thenMany(Flux.error(new IllegalStateException(
+                        "Server answered Range bytes=" + start + "-" + end + " with Content-Range '"
+                                + contentRange + "', expected '" + expected + "'")));
+            }
+            return response.bodyToFlux(DataBuffer.class);
+        }
+        if (response.statusCode().is2xxSuccessful()) {
+            return response.releaseBody().thenMany(Flux.error(new IllegalStateException(
+                    "Server ignored Range request (status " + response.statusCode().value() + ")")));
+        }
+        return response.createException().flatMapMany(Flux::error);
+    }
+
+    /**
+     * Writes one buffer at {@code position}, releases it and advances the
+     * position by the number of bytes written.  The written buffer is emitted
+     * (and released here) even when the write fails.
+     */
+    private Mono<Long> writeAt(AsynchronousFileChannel channel, DataBuffer buffer,
+                               AtomicLong position) {
+        long size = buffer.readableByteCount();
+        return DataBufferUtils.write(Mono.just(buffer), channel, position.get())
+                .map(written -> {
+                    DataBufferUtils.release(written);
+                    return position.addAndGet(size);
+                })
+                .next();
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Bulk execution
+    // ------------------------------------------------------------------ //
+
+    private <T> Mono<ServiceResult<T>> executeForResult(long index, WebServiceRequest<T> request) {
+        return Mono.defer(() -> execute(request))
+                .map(value -> ServiceResult.success(index, value))
+                .switchIfEmpty(Mono.fromSupplier(() -> ServiceResult.success(index, null)))
+                .onErrorResume(error -> Mono.just(ServiceResult.failure(index, error)));
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Coalescing
+    // ------------------------------------------------------------------ //
+
+    private boolean shouldCoalesce(WebServiceRequest<?> request) {
+        boolean enabled = request.getCoalesce() != null
+                ? request.getCoalesce()
+                : properties.getCoalescing().isEnabled();
+        return enabled && request.isCoalescable();
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Hedging
+    // ------------------------------------------------------------------ //
+
+    private boolean shouldHedge(WebServiceRequest<?> request) {
+        boolean enabled = request.getHedge() != null
+                ? request.getHedge()
+                : properties.getHedging().isEnabled();
+        return enabled && request.isHedgeable();
+    }
+
+    /**
+     * Host and port of the request (or its service, when load-balanced),
+     * whose latencies drive the hedge delay.
+     */
+    private static String downstream(WebServiceRequest<?> request) {
+        if (request.getService() != null) {
+            return "lb://" + request.getService();
+        }
+        UriComponents uri = UriComponentsBuilder.fromUriString(request.getUrl()).build();
+        return uri.getHost() + ":" + uri.getPort();
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Circuit breaker and concurrency limit
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Gates each subscription through the request's breaker.  Failures are
+     * the errors {@link RetriableExceptionPredicate} considers transient, so
+     * a 4xx answer counts as a healthy downstream.  The timeout is applied
+     * outside the breaker and reaches it only as a cancel; the flag
+     * {@link #applyTimeout} puts in the context marks that cancel as a
+     * failure, so a hung downstream opens the breaker.
+     */
+    private <T> Mono<T> applyCircuitBreaker(Mono<T> result, WebServiceRequest<T> request) {
+        if (circuitBreakers == null) {
+            return result;
+        }
+        CircuitBreaker breaker = circuitBreakers.get(circuitBreakerKeyResolver.resolve(request));
+        return Mono.deferContextual(context -> {
+            AtomicBoolean timedOut = context.getOrDefault(TIMED_OUT_KEY, new AtomicBoolean());
+            return breaker.execute(result, RetriableExceptionPredicate.INSTANCE, timedOut::get);
+        });
+    }
+
+    /**
+     * Holds each subscription until the request's host admits it.  Placed
+     * outside the circuit breaker, so a call the breaker rejects returns its
+     * permit at once without being sampled.  Applied inside the hedge, so a
+     * hedged call's two attempts each hold a permit and are sampled
+     * separately.
+     */
+    private <T> Mono<T> applyConcurrencyLimit(Mono<T> result, WebServiceRequest<T> request) {
+        if (concurrencyLimiters == null) {
+            return result;
+        }
+        return concurrencyLimiters.get(concurrencyLimitKeyResolver.resolve(request))
+                .execute(result, RetriableExceptionPredicate.INSTANCE);
+    }
+
+    /**
+     * Like {@link #applyConcurrencyLimit} for a hedge, which must not queue
+     * behind the calls it is meant to overtake: returns {@code null} when no
+     * permit is free right now, so the hedge is skipped.
+     */
+    private <T> Mono<T> tryConcurrencyLimit(Mono<T> result, WebServiceRequest<T> request) {
+        if (concurrencyLimiters == null) {
+            return result;
+        }
+        return concurrencyLimiters.get(concurrencyLimitKeyResolver.resolve(request))
+                .tryExecute(result, RetriableExceptionPredicate.INSTANCE);
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Load balancing
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Applies {@code call} to the request's URL or, for a load-balanced
+     * request, to the URL on a replica picked per subscription.  Inside the
+     * hedge, so a hedged duplicate is balanced separately and, with the
+     * first attempt still in flight, usually lands on another replica.
+     */
+    private <T> Mono<T> balance(WebServiceRequest<?> request, Set<String> failedEndpoints,
+                                Function<String, Mono<T>> call) {
+        if (request.getService() == null) {
+            return call.apply(request.getUrl());
+        }
+        return loadBalancer(request).execute(base -> call.apply(LoadBalancer.resolve(base, request.getUrl())),
+                RetriableExceptionPredicate.INSTANCE, failedEndpoints);
+    }
+
+    private LoadBalancer loadBalancer(WebServiceRequest<?> request) {
+        if (loadBalancers == null) {
+            throw new IllegalStateException("Request targets service '" + request.getService()
+                    + "' but no LoadBalancerRegistry is configured");
+        }
+        return loadBalancers.get(request.getService());
+    }
+
     // ------------------------------------------------------------------ //
     //  Per-request filter resolution
     // ------------------------------------------------------------------ //
 
     private WebClient resolveWebClient(WebServiceRequest<?> request) {
+        return resolveWebClient(request, null);
+    }
+
+    /**
+     * Resolves the client for the request's filters, with the response cache
+     * filter (if any) placed last so that it sees the request as the other
+     * filters leave it, injected {@code Authorization} header included.
+     */
+    private WebClient resolveWebClient(WebServiceRequest<?> request, ResponseCache cache) {
         List<ExchangeFilterFunction> filters = request.getFilters();
-        if (filters == null || filters.isEmpty()) {
+        if (cache != null) {
+            List<ExchangeFilterFunction> chain = new ArrayList<>(filters.size() + 1);
+            chain.addAll(filters);
+            chain.add(cacheFilter(cache));
+            filters = chain;
+        }
+        if (filters.isEmpty()) {
             return this.webClient;
         }
+        return clientCache.get(filters, this::buildFilteredClient);
+    }
+
+    private ResponseCacheFilterFunction cacheFilter(ResponseCache cache) {
+        return cacheFilters.computeIfAbsent(cache, ResponseCacheFilterFunction::new);
+    }
+
+    private ResponseCache resolveResponseCache(WebServiceRequest<?> request) {
+        return request.getResponseCache() != null ? request.getResponseCache() : this.responseCache;
+    }
+
+    private WebClient buildFilteredClient(List<ExchangeFilterFunction> filters) {
         WebClient.Builder builder = this.webClient.mutate();
         filters.forEach(builder::filter);
         return builder.build();
@@ -89,12 +818,12 @@ public class WebServiceClient {
     //  Request building
     // ------------------------------------------------------------------ //
 
-    private <T> WebClient.RequestHeadersSpec<?> buildRequestSpec(
-            WebClient client, WebServiceRequest<T> request) {
+    private WebClient.RequestHeadersSpec<?> buildRequestSpec(
+            WebClient client, WebServiceRequest<?> request, String url) {
 
         WebClient.RequestBodySpec requestSpec = client
                 .method(request.getHttpMethod())
-                .uri(request.getUrl());
+                .uri(url);
 
         if (!request.getHeaders().isEmpty()) {
             requestSpec.headers(h -> request.getHeaders().forEach(h::set));
@@ -108,11 +837,62 @@ public class WebServiceClient {
             requestSpec.accept(request.getAcceptType());
         }
 
+        if (request.getStaleWhileRevalidateMs() != null) {
+            requestSpec.attribute(ResponseCache.STALE_WHILE_REVALIDATE_ATTRIBUTE, request.getStaleWhileRevalidateMs());
+        }
+
+        if (request.getStaleIfErrorMs() != null) {
+            requestSpec.attribute(ResponseCache.STALE_IF_ERROR_ATTRIBUTE, request.getStaleIfErrorMs());
+        }
+
+        if (resolveResponseCache(request) != null) {
+            requestSpec.attribute(ResponseCache.REVALIDATION_TIMEOUT_ATTRIBUTE, resolveTimeout(request).toMillis());
+        }
+
         return request.getBody() != null
-                ? requestSpec.bodyValue(request.getBody())
+                ? insertBody(requestSpec, request)
                 : requestSpec;
     }
 
+    /**
+     * Streams file, channel and publisher bodies; encodes anything else with
+     * {@code bodyValue}.
+     * <p>
+     * {@link Path} bodies go through the resource writer, which uses Netty's
+     * zero-copy {@code sendFile} when the connection is not TLS (and a chunked
+     * file transfer otherwise).  {@link FileChannel} bodies are read in
+     * {@value #BODY_BUFFER_SIZE}-byte buffers and closed when sent, so they
+     * cannot be replayed by a retry.
+     */
+    @SuppressWarnings("unchecked")
+    private WebClient.RequestHeadersSpec<?> insertBody(
+            WebClient.RequestBodySpec requestSpec, WebServiceRequest<?> request) {
+        Object body = request.getBody();
+
+        if (body instanceof Path path) {
+            return requestSpec.body(BodyInserters.fromResource(new FileSystemResource(path)));
+        }
+
+        if (body instanceof FileChannel channel) {
+            return requestSpec.body(BodyInserters.fromDataBuffers(DataBufferUtils.readByteChannel(
+                    () -> channel, DefaultDataBufferFactory.sharedInstance, BODY_BUFFER_SIZE)));
+        }
+
+        if (body instanceof Publisher<?> publisher) {
+            Class<?> elementType = request.getBodyElementType();
+            if (DataBuffer.class.isAssignableFrom(elementType)) {
+                return requestSpec.body(BodyInserters.fromDataBuffers((Publisher<DataBuffer>) publisher));
+            }
+            if (request.getContentType() == null) {
+                requestSpec.contentType(MediaType.APPLICATION_NDJSON);
+            }
+            return requestSpec.body(BodyInserters.fromPublisher(
+                    (Publisher<Object>) publisher, (Class<Object>) elementType));
+        }
+
+        return requestSpec.bodyValue(body);
+    }
+
     // ------------------------------------------------------------------ //
     //  Response handling
     // ------------------------------------------------------------------ //
@@ -124,38 +904,95 @@ public class WebServiceClient {
         return response.createException().flatMap(Mono::error);
     }
 
+    private <T> Flux<T> handleStreamResponse(ClientResponse response, Class<T> responseType) {
+        if (response.statusCode().value() == 200) {
+            return response.bodyToFlux(responseType);
+        }
+        return response.createException().flatMapMany(Flux::error);
+    }
+
     // ------------------------------------------------------------------ //
     //  Retry
     // ------------------------------------------------------------------ //
 
     private <T> Mono<T> applyRetry(Mono<T> result, WebServiceRequest<T> request) {
+        RetryBackoffSpec retrySpec = resolveRetrySpec(request);
+        return retrySpec != null ? result.retryWhen(retrySpec) : result;
+    }
+
+    /**
+     * Retries a streamed response only while nothing has been emitted yet.
+     * Once the first element has reached the subscriber, replaying the stream
+     * would duplicate data, so any later failure is propagated as-is.
+     */
+    private <T> Flux<T> applyStreamRetry(
+            Flux<T> result, WebServiceRequest<?> request, AtomicBoolean emitted) {
+        RetryBackoffSpec retrySpec = resolveRetrySpec(request);
+        if (retrySpec == null) {
+            return result;
+        }
+        return result.retryWhen(retrySpec.modifyErrorFilter(
+                filter -> filter.and(error -> !emitted.get())));
+    }
+
+    /**
+     * Returns the per-request or global retry spec, or {@code null} when the
+     * request disables retries or its body ({@link Publisher} or
+     * {@link FileChannel}) was consumed by the first attempt.
+     */
+    private RetryBackoffSpec resolveRetrySpec(WebServiceRequest<?> request) {
+        if (!request.hasReplayableBody()) {
+            return null;
+        }
         if (request.getMaxRetries() != null) {
             if (request.getMaxRetries() == 0) {
-                return result;
+                return null;
             }
             long intervalMs = request.getRetryIntervalMs() != null
                     ? request.getRetryIntervalMs()
                     : properties.getRetry().getRetryIntervalMs();
-            return result.retryWhen(
-                    retryStrategyFactory.createRetrySpec(request.getMaxRetries(), intervalMs));
+            return retryStrategyFactory.createRetrySpec(request.getMaxRetries(), intervalMs);
         }
 
         if (request.getRetryIntervalMs() != null) {
-            return result.retryWhen(retryStrategyFactory.createRetrySpec(
-                    properties.getRetry().getMaxRetries(), request.getRetryIntervalMs()));
+            return retryStrategyFactory.createRetrySpec(
+                    properties.getRetry().getMaxRetries(), request.getRetryIntervalMs());
         }
 
-        return result.retryWhen(retryStrategyFactory.createRetrySpec());
+        return retryStrategyFactory.createRetrySpec();
     }
 
     // ------------------------------------------------------------------ //
     //  Timeout
     // ------------------------------------------------------------------ //
 
+    /**
+     * Fails the call with a {@link java.util.concurrent.TimeoutException}
+     * once the timeout elapses.  The flag in the context is set before the
+     * attempt in flight is cancelled, so the circuit breaker can tell a
+     * timeout from a caller that went away.
+     */
     private <T> Mono<T> applyTimeout(Mono<T> result, WebServiceRequest<T> request) {
+        return Mono.defer(() -> {
+            AtomicBoolean timedOut = new AtomicBoolean();
+            return result
+                    .timeout(Mono.delay(resolveTimeout(request)).doOnNext(tick -> timedOut.set(true)))
+                    .contextWrite(context -> context.put(TIMED_OUT_KEY, timedOut));
+        });
+    }
+
+    /**
+     * For streams the timeout bounds the wait for the first element and the
+     * gap between consecutive elements, not the total transfer time.
+     */
+    private <T> Flux<T> applyStreamTimeout(Flux<T> result, WebServiceRequest<?> request) {
+        return result.timeout(resolveTimeout(request));
+    }
+
+    private Duration resolveTimeout(WebServiceRequest<?> request) {
         int effectiveTimeout = request.getTimeoutMs() != null
                 ? request.getTimeoutMs()
                 : properties.getTimeout().getTimeoutMs();
-        return result.timeout(Duration.ofMillis(effectiveTimeout));
+        return Duration.ofMillis(effectiveTimeout);
     }
 }
@@ -0,0 +1,55 @@
+package com.webclient.lib.coalesce;
+
+import com.webclient.lib.model.RestServiceRequest;
+import com.webclient.lib.model.WebServiceRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derives the single-flight key of a request: concurrent requests with equal
+ * keys share one downstream exchange.
+ * <p>
+ * The default resolvers ({@link #forWebRequests()}, {@link #forRestRequests()})
+ * key on everything that can change the response or how it is obtained:
+ * method, URL (or service and path), headers, accept type, response type,
+ * timeout/retry overrides and the per-request filter or interceptor chain
+ * (compared by identity).
+ * Register a bean of type {@code CoalescingKeyResolver<WebServiceRequest<?>>}
+ * or {@code CoalescingKeyResolver<RestServiceRequest<?>>} to coalesce more
+ * aggressively, e.g. ignoring a per-call correlation-ID header.
+ * <p>
+ * Returned keys must implement {@code equals}/{@code hashCode}.
+ *
+ * @param <R> the request type
+ */
+@FunctionalInterface
+public interface CoalescingKeyResolver<R> {
+
+    Object resolve(R request);
+
+    static CoalescingKeyResolver<WebServiceRequest<?>> forWebRequests() {
+        return request -> new DefaultKey(request.getHttpMethod(), request.getTarget(),
+                request.getHeaders(), request.getAcceptType(), request.getResponseType(),
+                request.getTimeoutMs(), request.getMaxRetries(), request.getRetryIntervalMs(),
+                request.getFilters());
+    }
+
+    static CoalescingKeyResolver<RestServiceRequest<?>> forRestRequests() {
+        return request -> new DefaultKey(request.getHttpMethod(), request.getTarget(),
+                request.getHeaders(), request.getAcceptType(), request.getResponseType(),
+                request.getTimeoutMs(), request.getMaxRetries(), request.getRetryIntervalMs(),
+                request.getInterceptors());
+    }
+
+    /**
+     * Key used by the default resolvers.  Filters and interceptors do not
+     * override {@code equals}, so the chain compares by identity.
+     */
+    record DefaultKey(HttpMethod method, String url, Map<String, String> headers,
+                      MediaType acceptType, Class<?> responseType, Integer timeoutMs,
+                      Integer maxRetries, Long retryIntervalMs, List<?> chain) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.webclient.lib.coalesce;
+
+/**
+ * Point-in-time counters of a request coalescer.
+ *
+ * @param executions downstream exchanges actually started
+ * @param coalesced  calls that joined an exchange already in flight
+ * @param inFlight   distinct keys currently in flight
+ */
+public record CoalescingStats(long executions, long coalesced, int inFlight) {
+
+    /**
+     * Fraction of calls served by another call's exchange.
+     */
+    public double coalescedRatio() {
+        long total = executions + coalesced;
+        return total == 0 ? 0.0 : (double) coalesced / total;
+    }
+}
@@ -0,0 +1,63 @@
+package com.webclient.lib.coalesce;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution for reactive calls: while a call for a key is in
+ * flight, further calls with an equal key subscribe to the same result instead
+ * of starting their own.
+ * <p>
+ * The shared call starts when the first caller subscribes.  A caller that
+ * cancels (e.g. on its own timeout) only detaches itself; the shared call is
+ * cancelled once every caller has cancelled.  When it terminates, the key is
+ * released and the next call starts a fresh exchange, so results are never
+ * cached beyond the lifetime of the call.
+ * <p>
+ * Callers receive the same value instance (or the same error), so shared
+ * response objects must be treated as read-only.
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentHashMap<Object, Mono<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Returns a {@link Mono} that joins the in-flight call for {@code key}, or
+     * starts {@code call} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(Object key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Mono<Object> existing = inFlight.get(key);
+            if (existing == null) {
+                Mono<Object> started = share(key, (Supplier<Mono<Object>>) (Supplier<?>) call);
+                existing = inFlight.putIfAbsent(key, started);
+                if (existing == null) {
+                    executions.increment();
+                    return (Mono<T>) started;
+                }
+            }
+            coalesced.increment();
+            return (Mono<T>) existing;
+        });
+    }
+
+    public CoalescingStats getStats() {
+        return new CoalescingStats(executions.sum(), coalesced.sum(), inFlight.size());
+    }
+
+    private Mono<Object> share(Object key, Supplier<Mono<Object>> call) {
+        AtomicReference<Mono<Object>> self = new AtomicReference<>();
+        Mono<Object> shared = Mono.defer(call)
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .share();
+        self.set(shared);
+        return shared;
+    }
+}
@@ -0,0 +1,69 @@
+package com.webclient.lib.coalesce;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution for blocking calls.
+ * <p>
+ * The first thread to call {@link #execute} for a key runs the call on its
+ * own thread; threads arriving while it runs block until it finishes and
+ * receive the same value or exception.  This is the synchronous counterpart
+ * of {@link RequestCoalescer}.
+ * <p>
+ * A waiting thread that is interrupted stops waiting and throws; the leading
+ * call is unaffected.
+ */
+public class SyncRequestCoalescer {
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> call) {
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+
+        executions.increment();
+        try {
+            T value = call.get();
+            inFlight.remove(key, leader);
+            leader.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, leader);
+            leader.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public CoalescingStats getStats() {
+        return new CoalescingStats(executions.sum(), coalesced.sum(), inFlight.size());
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for coalesced request", ie);
+        }
+    }
+}
@@ -2,13 +2,39 @@ package com.webclient.lib.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @ConfigurationProperties(prefix = "webclient.http")
 public class HttpClientProperties {
 
+    private String protocol = "HTTP11";
     private Ssl ssl = new Ssl();
     private Pool pool = new Pool();
+    private Http2 http2 = new Http2();
+    private Transport transport = new Transport();
+    private Dns dns = new Dns();
+    private Warmup warmup = new Warmup();
     private Timeout timeout = new Timeout();
     private Retry retry = new Retry();
+    private ClientCache clientCache = new ClientCache();
+    private Coalescing coalescing = new Coalescing();
+    private Cache cache = new Cache();
+    private Hedging hedging = new Hedging();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+    private LoadBalancer loadBalancer = new LoadBalancer();
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public void setProtocol(String protocol) {
+        this.protocol = protocol;
+    }
 
     public Ssl getSsl() {
         return ssl;
@@ -26,6 +52,38 @@ public class HttpClientProperties {
         this.pool = pool;
     }
 
+    public Http2 getHttp2() {
+        return http2;
+    }
+
+    public void setHttp2(Http2 http2) {
+        this.http2 = http2;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    public Dns getDns() {
+        return dns;
+    }
+
+    public void setDns(Dns dns) {
+        this.dns = dns;
+    }
+
+    public Warmup getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(Warmup warmup) {
+        this.warmup = warmup;
+    }
+
     public Timeout getTimeout() {
         return timeout;
     }
@@ -42,6 +100,75 @@ public class HttpClientProperties {
         this.retry = retry;
     }
 
+    public ClientCache getClientCache() {
+        return clientCache;
+    }
+
+    public void setClientCache(ClientCache clientCache) {
+        this.clientCache = clientCache;
+    }
+
+    public Coalescing getCoalescing() {
+        return coalescing;
+    }
+
+    public void setCoalescing(Coalescing coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    public Hedging getHedging() {
+        return hedging;
+    }
+
+    public void setHedging(Hedging hedging) {
+        this.hedging = hedging;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public void setConcurrencyLimit(ConcurrencyLimit concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    public LoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    public void setLoadBalancer(LoadBalancer loadBalancer) {
+        this.loadBalancer = loadBalancer;
+    }
+
+    /**
+     * TLS of the shared client.  {@code provider} is {@code auto} (OpenSSL
+     * through netty-tcnative when it is on the classpath, else the JDK),
+     * {@code jdk} or {@code openssl}.  {@code protocols} are offered in
+     * the handshake; {@code tls-protocol}, when set, pins a single one
+     * instead.  Unset session cache settings keep the provider's defaults.
+     * {@code reload-on-change} watches the keystore and truststore and
+     * swaps in their new content for new handshakes once the files have
+     * been quiet for {@code reload-quiet-period-ms}.
+     * {@code host-key-aliases} picks the client certificate per server
+     * ({@code host:port} or {@code host}); other servers get
+     * {@code key-alias-name}.
+     */
     public static class Ssl {
 
         private boolean enabled = false;
@@ -52,8 +179,15 @@ public class HttpClientProperties {
         private String truststorePassword;
         private String truststoreType = "PKCS12";
         private String keyAliasName;
+        private Map<String, String> hostKeyAliases = new LinkedHashMap<>();
         private boolean bypassVerification = false;
-        private String tlsProtocol = "TLSv1.2";
+        private String provider = "auto";
+        private List<String> protocols = new ArrayList<>(List.of("TLSv1.3", "TLSv1.2"));
+        private String tlsProtocol;
+        private Integer sessionCacheSize;
+        private Integer sessionTimeoutSeconds;
+        private boolean reloadOnChange = false;
+        private long reloadQuietPeriodMs = 1000;
 
         public boolean isEnabled() { return enabled; }
         public void setEnabled(boolean enabled) { this.enabled = enabled; }
@@ -71,21 +205,214 @@ public class HttpClientProperties {
         public void setTruststoreType(String truststoreType) { this.truststoreType = truststoreType; }
         public String getKeyAliasName() { return keyAliasName; }
         public void setKeyAliasName(String keyAliasName) { this.keyAliasName = keyAliasName; }
+        public Map<String, String> getHostKeyAliases() { return hostKeyAliases; }
+        public void setHostKeyAliases(Map<String, String> hostKeyAliases) { this.hostKeyAliases = hostKeyAliases; }
         public boolean isBypassVerification() { return bypassVerification; }
         public void setBypassVerification(boolean bypassVerification) { this.bypassVerification = bypassVerification; }
+        public String getProvider() { return provider; }
+        public void setProvider(String provider) { this.provider = provider; }
+        public List<String> getProtocols() { return protocols; }
+        public void setProtocols(List<String> protocols) { this.protocols = protocols; }
         public String getTlsProtocol() { return tlsProtocol; }
         public void setTlsProtocol(String tlsProtocol) { this.tlsProtocol = tlsProtocol; }
+        public Integer getSessionCacheSize() { return sessionCacheSize; }
+        public void setSessionCacheSize(Integer sessionCacheSize) { this.sessionCacheSize = sessionCacheSize; }
+        public Integer getSessionTimeoutSeconds() { return sessionTimeoutSeconds; }
+        public void setSessionTimeoutSeconds(Integer sessionTimeoutSeconds) { this.sessionTimeoutSeconds = sessionTimeoutSeconds; }
+        public boolean isReloadOnChange() { return reloadOnChange; }
+        public void setReloadOnChange(boolean reloadOnChange) { this.reloadOnChange = reloadOnChange; }
+        public long getReloadQuietPeriodMs() { return reloadQuietPeriodMs; }
+        public void setReloadQuietPeriodMs(long reloadQuietPeriodMs) { this.reloadQuietPeriodMs = reloadQuietPeriodMs; }
     }
 
     public static class Pool {
 
         private int maxConnections = 500;
         private int maxConnectionsPerRoute = 50;
+        private Integer pendingAcquireMaxCount;
+        private long maxIdleTimeMs = 60_000;
+        private Map<String, Host> hosts = new LinkedHashMap<>();
 
         public int getMaxConnections() { return maxConnections; }
         public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
         public int getMaxConnectionsPerRoute() { return maxConnectionsPerRoute; }
         public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) { this.maxConnectionsPerRoute = maxConnectionsPerRoute; }
+
+        public Integer getPendingAcquireMaxCount() { return pendingAcquireMaxCount; }
+        public void setPendingAcquireMaxCount(Integer pendingAcquireMaxCount) { this.pendingAcquireMaxCount = pendingAcquireMaxCount; }
+
+        public long getMaxIdleTimeMs() { return maxIdleTimeMs; }
+        public void setMaxIdleTimeMs(long maxIdleTimeMs) { this.maxIdleTimeMs = maxIdleTimeMs; }
+
+        public Map<String, Host> getHosts() { return hosts; }
+        public void setHosts(Map<String, Host> hosts) { this.hosts = hosts; }
+
+        /**
+         * Returns the pool limit of the host of {@code url}: its
+         * {@code hosts} entry ({@code host:port}, else {@code host} for the
+         * default ports), else {@code max-connections-per-route}.
+         */
+        public int maxConnectionsFor(URI url) {
+            if (url.getHost() == null) {
+                return maxConnectionsPerRoute;
+            }
+            int port = url.getPort() != -1 ? url.getPort() : "https".equalsIgnoreCase(url.getScheme()) ? 443 : 80;
+            Host host = hosts.get(url.getHost() + ":" + port);
+            if (host == null && (port == 80 || port == 443)) {
+                host = hosts.get(url.getHost());
+            }
+            return host != null && host.getMaxConnections() != null ? host.getMaxConnections() : maxConnectionsPerRoute;
+        }
+
+        /**
+         * Pool settings for one remote host, keyed by {@code host:port} (or
+         * {@code host} for both port 80 and 443).  Unset values fall back to
+         * the pool-wide ones.
+         */
+        public static class Host {
+
+            private Integer maxConnections;
+            private Integer pendingAcquireMaxCount;
+            private Long pendingAcquireTimeoutMs;
+            private Long maxIdleTimeMs;
+            private Long maxConcurrentStreams;
+
+            public Integer getMaxConnections() { return maxConnections; }
+            public void setMaxConnections(Integer maxConnections) { this.maxConnections = maxConnections; }
+
+            public Integer getPendingAcquireMaxCount() { return pendingAcquireMaxCount; }
+            public void setPendingAcquireMaxCount(Integer pendingAcquireMaxCount) { this.pendingAcquireMaxCount = pendingAcquireMaxCount; }
+
+            public Long getPendingAcquireTimeoutMs() { return pendingAcquireTimeoutMs; }
+            public void setPendingAcquireTimeoutMs(Long pendingAcquireTimeoutMs) { this.pendingAcquireTimeoutMs = pendingAcquireTimeoutMs; }
+
+            public Long getMaxIdleTimeMs() { return maxIdleTimeMs; }
+            public void setMaxIdleTimeMs(Long maxIdleTimeMs) { this.maxIdleTimeMs = maxIdleTimeMs; }
+
+            public Long getMaxConcurrentStreams() { return maxConcurrentStreams; }
+            public void setMaxConcurrentStreams(Long maxConcurrentStreams) { this.maxConcurrentStreams = maxConcurrentStreams; }
+        }
+    }
+
+    /**
+     * Multiplexing settings, used when {@code protocol} is {@code H2} or
+     * {@code H2C}.  A host's connection limit still comes from the pool
+     * settings, but a new connection is only opened once every open one
+     * carries {@code max-concurrent-streams} requests.
+     */
+    public static class Http2 {
+
+        private long maxConcurrentStreams = 100;
+        private int minConnections = 1;
+
+        public long getMaxConcurrentStreams() { return maxConcurrentStreams; }
+        public void setMaxConcurrentStreams(long maxConcurrentStreams) { this.maxConcurrentStreams = maxConcurrentStreams; }
+
+        public int getMinConnections() { return minConnections; }
+        public void setMinConnections(int minConnections) { this.minConnections = minConnections; }
+    }
+
+    /**
+     * Event loops of the outbound client, kept apart from those of any
+     * server in the same JVM.  {@code type} is {@code auto} (the best native
+     * transport on the classpath, else NIO), {@code nio}, {@code epoll} or
+     * {@code io_uring}; an explicit native type fails startup when it is not
+     * the one in use.
+     */
+    public static class Transport {
+
+        private String type = "auto";
+        private Integer workerCount;
+
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+
+        public Integer getWorkerCount() { return workerCount; }
+        public void setWorkerCount(Integer workerCount) { this.workerCount = workerCount; }
+    }
+
+    /**
+     * Asynchronous DNS resolution on the client's event loops, with a cache
+     * shared by all of them.  Record TTLs are clamped to
+     * {@code [min-ttl-seconds, max-ttl-seconds]}; failed lookups are cached
+     * for {@code negative-ttl-seconds}.  {@code servers} ({@code host} or
+     * {@code host:port}) replaces the system name servers.
+     */
+    public static class Dns {
+
+        private boolean enabled = false;
+        private int minTtlSeconds = 0;
+        private int maxTtlSeconds = 300;
+        private int negativeTtlSeconds = 0;
+        private boolean roundRobin = true;
+        private long queryTimeoutMs = 5000;
+        private List<String> servers = new ArrayList<>();
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public int getMinTtlSeconds() { return minTtlSeconds; }
+        public void setMinTtlSeconds(int minTtlSeconds) { this.minTtlSeconds = minTtlSeconds; }
+
+        public int getMaxTtlSeconds() { return maxTtlSeconds; }
+        public void setMaxTtlSeconds(int maxTtlSeconds) { this.maxTtlSeconds = maxTtlSeconds; }
+
+        public int getNegativeTtlSeconds() { return negativeTtlSeconds; }
+        public void setNegativeTtlSeconds(int negativeTtlSeconds) { this.negativeTtlSeconds = negativeTtlSeconds; }
+
+        public boolean isRoundRobin() { return roundRobin; }
+        public void setRoundRobin(boolean roundRobin) { this.roundRobin = roundRobin; }
+
+        public long getQueryTimeoutMs() { return queryTimeoutMs; }
+        public void setQueryTimeoutMs(long queryTimeoutMs) { this.queryTimeoutMs = queryTimeoutMs; }
+
+        public List<String> getServers() { return servers; }
+        public void setServers(List<String> servers) { this.servers = servers; }
+    }
+
+    /**
+     * Connections opened at startup, before the application reports ready,
+     * to each base URL in {@code urls} and, with
+     * {@code include-load-balancer-services}, to every replica of the
+     * load-balanced services.  Each connection is opened by a
+     * {@code probe-method} request to {@code probe-path}; the count per host
+     * is capped at the host's pool limit.  {@code rewarm-interval-ms} above
+     * zero repeats the warm-up periodically, topping the pool back up.
+     */
+    public static class Warmup {
+
+        private boolean enabled = false;
+        private List<String> urls = new ArrayList<>();
+        private boolean includeLoadBalancerServices = true;
+        private int connectionsPerHost = 4;
+        private String probeMethod = "HEAD";
+        private String probePath = "/";
+        private long timeoutMs = 10_000;
+        private long rewarmIntervalMs = 0;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public List<String> getUrls() { return urls; }
+        public void setUrls(List<String> urls) { this.urls = urls; }
+
+        public boolean isIncludeLoadBalancerServices() { return includeLoadBalancerServices; }
+        public void setIncludeLoadBalancerServices(boolean includeLoadBalancerServices) { this.includeLoadBalancerServices = includeLoadBalancerServices; }
+
+        public int getConnectionsPerHost() { return connectionsPerHost; }
+        public void setConnectionsPerHost(int connectionsPerHost) { this.connectionsPerHost = connectionsPerHost; }
+
+        public String getProbeMethod() { return probeMethod; }
+        public void setProbeMethod(String probeMethod) { this.probeMethod = probeMethod; }
+
+        public String getProbePath() { return probePath; }
+        public void setProbePath(String probePath) { this.probePath = probePath; }
+
+        public long getTimeoutMs() { return timeoutMs; }
+        public void setTimeoutMs(long timeoutMs) { this.timeoutMs = timeoutMs; }
+
+        public long getRewarmIntervalMs() { return rewarmIntervalMs; }
+        public void setRewarmIntervalMs(long rewarmIntervalMs) { this.rewarmIntervalMs = rewarmIntervalMs; }
     }
 
     public static class Timeout {
@@ -109,4 +436,175 @@ public class HttpClientProperties {
         public long getRetryIntervalMs() { return retryIntervalMs; }
         public void setRetryIntervalMs(long retryIntervalMs) { this.retryIntervalMs = retryIntervalMs; }
     }
+
+    public static class ClientCache {
+
+        private int maxSize = 256;
+
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+    }
+
+    public static class Coalescing {
+
+        private boolean enabled = false;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    }
+
+    public static class Cache {
+
+        private boolean enabled = false;
+        private int maxEntries = 10_000;
+        private long maxBytes = 64L * 1024 * 1024;
+        private Disk disk = new Disk();
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public int getMaxEntries() { return maxEntries; }
+        public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+
+        public long getMaxBytes() { return maxBytes; }
+        public void setMaxBytes(long maxBytes) { this.maxBytes = maxBytes; }
+
+        public Disk getDisk() { return disk; }
+        public void setDisk(Disk disk) { this.disk = disk; }
+
+        /**
+         * Memory-mapped second tier behind the in-memory cache.
+         */
+        public static class Disk {
+
+            private boolean enabled = false;
+            private String directory;
+            private long maxBytes = 1024L * 1024 * 1024;
+            private int segmentBytes = 64 * 1024 * 1024;
+
+            public boolean isEnabled() { return enabled; }
+            public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+            public String getDirectory() { return directory; }
+            public void setDirectory(String directory) { this.directory = directory; }
+
+            public long getMaxBytes() { return maxBytes; }
+            public void setMaxBytes(long maxBytes) { this.maxBytes = maxBytes; }
+
+            public int getSegmentBytes() { return segmentBytes; }
+            public void setSegmentBytes(int segmentBytes) { this.segmentBytes = segmentBytes; }
+        }
+    }
+
+    public static class Hedging {
+
+        private boolean enabled = false;
+        private long delayMs = 100;
+        private double percentile = 0;
+        private double maxHedgeRatio = 0.1;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public long getDelayMs() { return delayMs; }
+        public void setDelayMs(long delayMs) { this.delayMs = delayMs; }
+
+        public double getPercentile() { return percentile; }
+        public void setPercentile(double percentile) { this.percentile = percentile; }
+
+        public double getMaxHedgeRatio() { return maxHedgeRatio; }
+        public void setMaxHedgeRatio(double maxHedgeRatio) { this.maxHedgeRatio = maxHedgeRatio; }
+    }
+
+    public static class CircuitBreaker {
+
+        private boolean enabled = false;
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 100;
+        private long slowCallDurationMs = 10_000;
+        private int slidingWindowSize = 100;
+        private int minimumNumberOfCalls = 20;
+        private long waitDurationInOpenStateMs = 30_000;
+        private int permittedCallsInHalfOpenState = 5;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public float getFailureRateThreshold() { return failureRateThreshold; }
+        public void setFailureRateThreshold(float failureRateThreshold) { this.failureRateThreshold = failureRateThreshold; }
+
+        public float getSlowCallRateThreshold() { return slowCallRateThreshold; }
+        public void setSlowCallRateThreshold(float slowCallRateThreshold) { this.slowCallRateThreshold = slowCallRateThreshold; }
+
+        public long getSlowCallDurationMs() { return slowCallDurationMs; }
+        public void setSlowCallDurationMs(long slowCallDurationMs) { this.slowCallDurationMs = slowCallDurationMs; }
+
+        public int getSlidingWindowSize() { return slidingWindowSize; }
+        public void setSlidingWindowSize(int slidingWindowSize) { this.slidingWindowSize = slidingWindowSize; }
+
+        public int getMinimumNumberOfCalls() { return minimumNumberOfCalls; }
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) { this.minimumNumberOfCalls = minimumNumberOfCalls; }
+
+        public long getWaitDurationInOpenStateMs() { return waitDurationInOpenStateMs; }
+        public void setWaitDurationInOpenStateMs(long waitDurationInOpenStateMs) { this.waitDurationInOpenStateMs = waitDurationInOpenStateMs; }
+
+        public int getPermittedCallsInHalfOpenState() { return permittedCallsInHalfOpenState; }
+        public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) { this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState; }
+    }
+
+    public static class ConcurrencyLimit {
+
+        private boolean enabled = false;
+        private String algorithm = "vegas";
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 500;
+        private int maxQueueSize = 100;
+        private long maxQueueWaitMs = 1000;
+        private double backoffRatio = 0.9;
+        private double smoothing = 1.0;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public String getAlgorithm() { return algorithm; }
+        public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+
+        public int getInitialLimit() { return initialLimit; }
+        public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+
+        public int getMinLimit() { return minLimit; }
+        public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+
+        public int getMaxLimit() { return maxLimit; }
+        public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+
+        public int getMaxQueueSize() { return maxQueueSize; }
+        public void setMaxQueueSize(int maxQueueSize) { this.maxQueueSize = maxQueueSize; }
+
+        public long getMaxQueueWaitMs() { return maxQueueWaitMs; }
+        public void setMaxQueueWaitMs(long maxQueueWaitMs) { this.maxQueueWaitMs = maxQueueWaitMs; }
+
+        public double getBackoffRatio() { return backoffRatio; }
+        public void setBackoffRatio(double backoffRatio) { this.backoffRatio = backoffRatio; }
+
+        public double getSmoothing() { return smoothing; }
+        public void setSmoothing(double smoothing) { this.smoothing = smoothing; }
+    }
+
+    public static class LoadBalancer {
+
+        private Map<String, List<String>> services = new LinkedHashMap<>();
+        private long decayMs = 10_000;
+        private long failurePenaltyMs = 1_000;
+
+        public Map<String, List<String>> getServices() { return services; }
+        public void setServices(Map<String, List<String>> services) { this.services = services; }
+
+        public long getDecayMs() { return decayMs; }
+        public void setDecayMs(long decayMs) { this.decayMs = decayMs; }
+
+        public long getFailurePenaltyMs() { return failurePenaltyMs; }
+        public void setFailurePenaltyMs(long failurePenaltyMs) { this.failurePenaltyMs = failurePenaltyMs; }
+    }
 }
@@ -65,7 +65,7 @@ public class RestClientAutoConfiguration {
     //  RestServiceClient
     // ------------------------------------------------------------------ //
 
-    @Bean
+    @Bean(destroyMethod = "close")
     @ConditionalOnMissingBean
     public RestServiceClient restServiceClient() {
         return new RestServiceClient();
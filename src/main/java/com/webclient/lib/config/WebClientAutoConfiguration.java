@@ -1,33 +1,97 @@
 package com.webclient.lib.config;
 
 import com.webclient.lib.auth.BearerTokenFilterFunction;
+import com.webclient.lib.balancer.LoadBalancerRegistry;
+import com.webclient.lib.breaker.CircuitBreakerConfig;
+import com.webclient.lib.breaker.CircuitBreakerListener;
+import com.webclient.lib.breaker.CircuitBreakerRegistry;
+import com.webclient.lib.cache.InMemoryResponseCache;
+import com.webclient.lib.cache.MappedFileResponseCache;
+import com.webclient.lib.cache.ResponseCache;
+import com.webclient.lib.cache.TieredResponseCache;
 import com.webclient.lib.client.WebServiceClient;
 import com.webclient.lib.filter.CorrelationIdFilterFunction;
 import com.webclient.lib.filter.RequestLoggingFilterFunction;
+import com.webclient.lib.limit.AimdLimit;
+import com.webclient.lib.limit.ConcurrencyLimiterRegistry;
+import com.webclient.lib.limit.LimitAlgorithm;
+import com.webclient.lib.limit.VegasLimit;
+import com.webclient.lib.metrics.CompositeConnectionPoolMetricsRecorder;
+import com.webclient.lib.metrics.CompositeDnsResolverMetricsRecorder;
+import com.webclient.lib.metrics.CompositeTlsHandshakeMetricsRecorder;
+import com.webclient.lib.metrics.ConnectionPoolMetricsRecorder;
+import com.webclient.lib.metrics.DnsResolverMetricsRecorder;
+import com.webclient.lib.metrics.MeteredAddressResolverGroup;
+import com.webclient.lib.metrics.MeteredConnectionProvider;
+import com.webclient.lib.metrics.MeteredDnsCache;
+import com.webclient.lib.metrics.MicrometerCircuitBreakerListener;
+import com.webclient.lib.metrics.MicrometerConnectionPoolMetricsRecorder;
+import com.webclient.lib.metrics.MicrometerDnsResolverMetricsRecorder;
+import com.webclient.lib.metrics.MicrometerTlsHandshakeMetricsRecorder;
+import com.webclient.lib.metrics.TlsHandshakeMetricsRecorder;
+import com.webclient.lib.metrics.TlsHandshakeTimer;
 import com.webclient.lib.retry.RetryStrategyFactory;
 import com.webclient.lib.ssl.SslConnectionFactoryInitializer;
+import com.webclient.lib.ssl.SslReloadListener;
+import com.webclient.lib.warmup.ConnectionWarmer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.ssl.SslContext;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.dns.DefaultDnsCache;
+import io.netty.resolver.dns.DnsAddressResolverGroup;
+import io.netty.resolver.dns.DnsCache;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.resolver.dns.RoundRobinDnsAddressResolverGroup;
+import io.netty.resolver.dns.SequentialDnsServerAddressStreamProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ReactorClientHttpRequestFactory;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.Http2AllocationStrategy;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
 
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @AutoConfiguration
 @EnableConfigurationProperties(HttpClientProperties.class)
 @ConditionalOnClass(WebClient.class)
 public class WebClientAutoConfiguration {
 
+    private static final Logger log = LoggerFactory.getLogger(WebClientAutoConfiguration.class);
+
     private HttpClientProperties properties;
 
     @Autowired
@@ -39,10 +103,13 @@ public class WebClientAutoConfiguration {
     //  Infrastructure beans
     // ------------------------------------------------------------------ //
 
-    @Bean
+    @Bean(destroyMethod = "close")
     @ConditionalOnMissingBean
-    public SslConnectionFactoryInitializer sslConnectionFactoryInitializer() {
-        return new SslConnectionFactoryInitializer();
+    public SslConnectionFactoryInitializer sslConnectionFactoryInitializer(
+            ObjectProvider<SslReloadListener> sslReloadListeners) {
+        SslConnectionFactoryInitializer initializer = new SslConnectionFactoryInitializer();
+        sslReloadListeners.orderedStream().forEach(initializer::addReloadListener);
+        return initializer;
     }
 
     @Bean
@@ -51,6 +118,93 @@ public class WebClientAutoConfiguration {
         return new RetryStrategyFactory();
     }
 
+    /**
+     * Global response cache, picked up by {@link WebServiceClient} and
+     * {@code RestServiceClient} for requests that do not declare their own.
+     * With {@code webclient.http.cache.disk.enabled}, the in-memory cache is
+     * backed by a memory-mapped tier that persists across restarts.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "webclient.http.cache", name = "enabled", havingValue = "true")
+    public ResponseCache responseCache() {
+        HttpClientProperties.Cache cache = properties.getCache();
+        InMemoryResponseCache memory = new InMemoryResponseCache(cache.getMaxEntries(), cache.getMaxBytes());
+        HttpClientProperties.Cache.Disk disk = cache.getDisk();
+        if (!disk.isEnabled()) {
+            return memory;
+        }
+        if (disk.getDirectory() == null || disk.getDirectory().isBlank()) {
+            throw new IllegalStateException("webclient.http.cache.disk.directory must be set when the disk tier is enabled");
+        }
+        return new TieredResponseCache(memory, new MappedFileResponseCache(
+                Path.of(disk.getDirectory()), disk.getMaxBytes(), disk.getSegmentBytes()));
+    }
+
+    /**
+     * Per-host circuit breakers, shared by {@link WebServiceClient} and
+     * {@code RestServiceClient}.  {@link CircuitBreakerListener} beans receive
+     * every state transition.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "webclient.http.circuit-breaker", name = "enabled", havingValue = "true")
+    public CircuitBreakerRegistry circuitBreakerRegistry(ObjectProvider<CircuitBreakerListener> listeners) {
+        HttpClientProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(new CircuitBreakerConfig(
+                breaker.getFailureRateThreshold(),
+                breaker.getSlowCallRateThreshold(),
+                Duration.ofMillis(breaker.getSlowCallDurationMs()),
+                breaker.getSlidingWindowSize(),
+                breaker.getMinimumNumberOfCalls(),
+                Duration.ofMillis(breaker.getWaitDurationInOpenStateMs()),
+                breaker.getPermittedCallsInHalfOpenState()));
+        listeners.orderedStream().forEach(registry::addListener);
+        return registry;
+    }
+
+    /**
+     * Adaptive per-host concurrency limiters, shared by {@link WebServiceClient}
+     * and {@code RestServiceClient}.  {@code algorithm} is {@code vegas}
+     * (delay-based) or {@code aimd} (loss-based, with the global timeout as
+     * the latency that counts as a drop).
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "webclient.http.concurrency-limit", name = "enabled", havingValue = "true")
+    public ConcurrencyLimiterRegistry concurrencyLimiterRegistry() {
+        HttpClientProperties.ConcurrencyLimit limit = properties.getConcurrencyLimit();
+        Supplier<LimitAlgorithm> algorithms = switch (limit.getAlgorithm().toLowerCase()) {
+            case "vegas" -> () -> new VegasLimit(limit.getInitialLimit(), limit.getMinLimit(),
+                    limit.getMaxLimit(), limit.getSmoothing());
+            case "aimd" -> () -> new AimdLimit(limit.getInitialLimit(), limit.getMinLimit(),
+                    limit.getMaxLimit(), limit.getBackoffRatio(),
+                    Duration.ofMillis(properties.getTimeout().getTimeoutMs()));
+            default -> throw new IllegalStateException(
+                    "webclient.http.concurrency-limit.algorithm must be 'vegas' or 'aimd', was '"
+                            + limit.getAlgorithm() + "'");
+        };
+        return new ConcurrencyLimiterRegistry(algorithms, limit.getMaxQueueSize(),
+                Duration.ofMillis(limit.getMaxQueueWaitMs()));
+    }
+
+    /**
+     * Load balancers for the logical services of load-balanced requests,
+     * shared by {@link WebServiceClient} and {@code RestServiceClient}.
+     * Services listed under {@code webclient.http.load-balancer.services} are
+     * registered here; others can be registered on the bean with an endpoint
+     * supplier.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public LoadBalancerRegistry loadBalancerRegistry() {
+        HttpClientProperties.LoadBalancer balancer = properties.getLoadBalancer();
+        LoadBalancerRegistry registry = new LoadBalancerRegistry(
+                Duration.ofMillis(balancer.getDecayMs()), Duration.ofMillis(balancer.getFailurePenaltyMs()));
+        balancer.getServices().forEach(registry::register);
+        return registry;
+    }
+
     // ------------------------------------------------------------------ //
     //  Exchange filter function beans (injectable, NOT auto-registered)
     //
@@ -80,33 +234,333 @@ public class WebClientAutoConfiguration {
     //  Connection and HTTP client
     // ------------------------------------------------------------------ //
 
+    /**
+     * Shared connection pool.  Reactor Netty keeps a separate pool per remote
+     * address; each is capped at {@code max-connections-per-route}, so one
+     * slow downstream cannot take the connections of the others.  Hosts
+     * listed under {@code webclient.http.pool.hosts} get their own limits.
+     * <p>
+     * With {@code webclient.http.protocol} {@code H2} or {@code H2C}, each
+     * host's pool multiplexes up to {@code max-concurrent-streams} requests
+     * over a connection and only opens another when all are saturated; hosts
+     * that negotiate HTTP/1.1 use one connection per request, up to the same
+     * limit.
+     * <p>
+     * {@link ConnectionPoolMetricsRecorder} beans receive per-host pool gauges,
+     * acquire times and pending-acquire timeouts.  With {@code H2} or
+     * {@code H2C} they receive only the gauges: Reactor Netty acquires those
+     * connections through an HTTP/2 pool of its own, built from
+     * {@link MeteredConnectionProvider#mutate()}, which bypasses the acquire
+     * timing.
+     */
     @Bean
     @ConditionalOnMissingBean(name = "webClientConnectionProvider")
-    public ConnectionProvider webClientConnectionProvider() {
-        return ConnectionProvider.builder("webclient-pool")
-                .maxConnections(properties.getPool().getMaxConnections())
-                .pendingAcquireTimeout(
-                        Duration.ofMillis(properties.getTimeout().getConnectRequestTimeoutMs()))
-                .maxIdleTime(Duration.ofSeconds(60))
-                .evictInBackground(Duration.ofSeconds(120))
+    public ConnectionProvider webClientConnectionProvider(ObjectProvider<ConnectionPoolMetricsRecorder> recorders) {
+        List<ConnectionPoolMetricsRecorder> recorderList = recorders.orderedStream().toList();
+        ConnectionPoolMetricsRecorder recorder = switch (recorderList.size()) {
+            case 0 -> null;
+            case 1 -> recorderList.get(0);
+            default -> new CompositeConnectionPoolMetricsRecorder(recorderList);
+        };
+        ConnectionProvider.MeterRegistrar registrar = recorder != null ? MeteredConnectionProvider.registrar(recorder) : null;
+
+        HttpClientProperties.Pool pool = properties.getPool();
+        long pendingAcquireTimeoutMs = properties.getTimeout().getConnectRequestTimeoutMs();
+        int maxConnectionsPerRoute = checkedMaxConnections("max-connections-per-route", pool.getMaxConnectionsPerRoute());
+        ConnectionProvider.Builder builder = configurePool(ConnectionProvider.builder("webclient-pool"),
+                maxConnectionsPerRoute, multiplexing(maxConnectionsPerRoute, null),
+                pool.getPendingAcquireMaxCount(), pendingAcquireTimeoutMs, pool.getMaxIdleTimeMs(), registrar);
+
+        pool.getHosts().forEach((key, host) -> {
+            int maxConnections = checkedMaxConnections("hosts[" + key + "].max-connections",
+                    host.getMaxConnections() != null ? host.getMaxConnections() : pool.getMaxConnectionsPerRoute());
+            Http2AllocationStrategy multiplexing = multiplexing(maxConnections, host.getMaxConcurrentStreams());
+            for (SocketAddress address : remoteAddresses(key)) {
+                builder.forRemoteHost(address, spec -> configurePool(spec, maxConnections, multiplexing,
+                        host.getPendingAcquireMaxCount() != null ? host.getPendingAcquireMaxCount() : pool.getPendingAcquireMaxCount(),
+                        host.getPendingAcquireTimeoutMs() != null ? host.getPendingAcquireTimeoutMs() : pendingAcquireTimeoutMs,
+                        host.getMaxIdleTimeMs() != null ? host.getMaxIdleTimeMs() : pool.getMaxIdleTimeMs(),
+                        registrar));
+            }
+        });
+        ConnectionProvider provider = builder.build();
+        return recorder != null ? new MeteredConnectionProvider(provider, recorder) : provider;
+    }
+
+    /**
+     * Applies the pool settings to the default spec or to a host-specific
+     * one; a host-specific spec does not inherit from the builder, so every
+     * setting is applied to both.
+     *
+     * @param multiplexing HTTP/2 sizing replacing {@code maxConnections}, or {@code null} for HTTP/1.1
+     */
+    private static <S extends ConnectionProvider.ConnectionPoolSpec<S>> S configurePool(
+            S spec, int maxConnections, Http2AllocationStrategy multiplexing, Integer pendingAcquireMaxCount,
+            long pendingAcquireTimeoutMs, long maxIdleTimeMs, ConnectionProvider.MeterRegistrar registrar) {
+        if (multiplexing != null) {
+            spec.allocationStrategy(multiplexing);
+        } else {
+            spec.maxConnections(maxConnections);
+        }
+        spec.pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .evictInBackground(Duration.ofSeconds(120));
+        if (pendingAcquireMaxCount != null) {
+            spec.pendingAcquireMaxCount(pendingAcquireMaxCount);
+        }
+        if (registrar != null) {
+            spec.metrics(true, () -> registrar);
+        }
+        return spec;
+    }
+
+    /**
+     * Returns the HTTP/2 pool sizing for a host limited to {@code maxConnections},
+     * or {@code null} when the configured protocol does not multiplex.
+     *
+     * @param maxConcurrentStreams the host's override, or {@code null} for {@code webclient.http.http2.max-concurrent-streams}
+     */
+    private Http2AllocationStrategy multiplexing(int maxConnections, Long maxConcurrentStreams) {
+        if (!isMultiplexed(httpProtocols(properties.getProtocol()))) {
+            return null;
+        }
+        HttpClientProperties.Http2 http2 = properties.getHttp2();
+        long streams = maxConcurrentStreams != null ? maxConcurrentStreams : http2.getMaxConcurrentStreams();
+        if (streams < 1) {
+            throw new IllegalStateException("webclient.http.http2.max-concurrent-streams must be at least 1, was " + streams);
+        }
+        if (http2.getMinConnections() < 0) {
+            throw new IllegalStateException("webclient.http.http2.min-connections must not be negative, was "
+                    + http2.getMinConnections());
+        }
+        return Http2AllocationStrategy.builder()
+                .maxConnections(maxConnections)
+                .minConnections(Math.min(http2.getMinConnections(), maxConnections))
+                .maxConcurrentStreams(streams)
                 .build();
     }
 
+    /**
+     * Maps {@code webclient.http.protocol} to the protocols the client
+     * offers.  HTTP/1.1 is always among them, so that a host that does not
+     * speak HTTP/2 (no {@code h2} in ALPN, or a declined {@code h2c}
+     * upgrade) is still reachable.
+     */
+    static HttpProtocol[] httpProtocols(String protocol) {
+        return switch (protocol.toUpperCase()) {
+            case "HTTP11" -> new HttpProtocol[]{HttpProtocol.HTTP11};
+            case "H2" -> new HttpProtocol[]{HttpProtocol.HTTP11, HttpProtocol.H2};
+            case "H2C" -> new HttpProtocol[]{HttpProtocol.HTTP11, HttpProtocol.H2C};
+            default -> throw new IllegalStateException(
+                    "webclient.http.protocol must be 'HTTP11', 'H2' or 'H2C', was '" + protocol + "'");
+        };
+    }
+
+    /**
+     * Builds the asynchronous resolver.  Each event loop gets its own
+     * resolver, but they share one cache, so a name resolved on one loop is
+     * a hit on all of them.  With {@code round-robin}, each connection goes
+     * to a randomly picked address of the host rather than always the first.
+     */
+    AddressResolverGroup<InetSocketAddress> dnsResolverGroup(LoopResources loops, boolean preferNative,
+                                                             DnsResolverMetricsRecorder recorder) {
+        HttpClientProperties.Dns dns = properties.getDns();
+        if (dns.getMinTtlSeconds() < 0 || dns.getMaxTtlSeconds() < dns.getMinTtlSeconds()
+                || dns.getNegativeTtlSeconds() < 0) {
+            throw new IllegalStateException("webclient.http.dns TTLs must satisfy 0 <= min-ttl-seconds <= max-ttl-seconds"
+                    + " and negative-ttl-seconds >= 0, were " + dns.getMinTtlSeconds() + ", "
+                    + dns.getMaxTtlSeconds() + " and " + dns.getNegativeTtlSeconds());
+        }
+        DnsCache cache = new DefaultDnsCache(dns.getMinTtlSeconds(), dns.getMaxTtlSeconds(), dns.getNegativeTtlSeconds());
+        if (recorder != null) {
+            cache = new MeteredDnsCache(cache, recorder);
+        }
+
+        // the resolver's channels run on the client's loops, so they must match its transport
+        EventLoopGroup group = loops.onClient(preferNative);
+        DnsNameResolverBuilder builder = new DnsNameResolverBuilder()
+                .datagramChannelType(loops.onChannelClass(DatagramChannel.class, group))
+                .socketChannelType(loops.onChannelClass(SocketChannel.class, group))
+                .queryTimeoutMillis(dns.getQueryTimeoutMs())
+                .resolveCache(cache);
+        if (!dns.getServers().isEmpty()) {
+            builder.nameServerProvider(new SequentialDnsServerAddressStreamProvider(
+                    dns.getServers().stream().map(WebClientAutoConfiguration::nameServer).toList()));
+        }
+
+        AddressResolverGroup<InetSocketAddress> resolvers = dns.isRoundRobin()
+                ? new RoundRobinDnsAddressResolverGroup(builder)
+                : new DnsAddressResolverGroup(builder);
+        return recorder != null ? new MeteredAddressResolverGroup(resolvers, recorder) : resolvers;
+    }
+
+    /**
+     * Parses a {@code webclient.http.dns.servers} entry: {@code host},
+     * {@code host:port} or a bare IPv6 literal, port 53 by default.
+     */
+    static InetSocketAddress nameServer(String server) {
+        int colon = server.lastIndexOf(':');
+        if (colon < 0 || server.indexOf(':') != colon) {
+            return new InetSocketAddress(server, 53);
+        }
+        try {
+            return new InetSocketAddress(server.substring(0, colon), Integer.parseInt(server.substring(colon + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("webclient.http.dns.servers entry must be 'host' or 'host:port', was '"
+                    + server + "'", e);
+        }
+    }
+
+    private static boolean preferNative(String type) {
+        return switch (type) {
+            case "auto", "epoll", "io_uring" -> true;
+            case "nio" -> false;
+            default -> throw new IllegalStateException(
+                    "webclient.http.transport.type must be 'auto', 'nio', 'epoll' or 'io_uring', was '" + type + "'");
+        };
+    }
+
+    /**
+     * Names the transport Reactor Netty picks for {@code loops}: {@code nio},
+     * {@code epoll}, {@code io_uring} or {@code kqueue}.  Without
+     * {@code preferNative} it is always {@code nio}; otherwise the best native
+     * transport available on this platform and classpath.
+     */
+    static String activeTransport(LoopResources loops, boolean preferNative) {
+        Class<? extends Channel> channel = loops.onChannelClass(SocketChannel.class, loops.onClient(preferNative));
+        String name = channel.getSimpleName().toLowerCase();
+        if (name.startsWith("epoll")) {
+            return "epoll";
+        }
+        if (name.startsWith("iouring")) {
+            return "io_uring";
+        }
+        if (name.startsWith("kqueue")) {
+            return "kqueue";
+        }
+        return "nio";
+    }
+
+    private static boolean isMultiplexed(HttpProtocol[] protocols) {
+        return protocols[protocols.length - 1] != HttpProtocol.HTTP11;
+    }
+
+    private int checkedMaxConnections(String property, int maxConnections) {
+        if (maxConnections < 1 || maxConnections > properties.getPool().getMaxConnections()) {
+            throw new IllegalStateException("webclient.http.pool." + property + " must be between 1 and "
+                    + "webclient.http.pool.max-connections (" + properties.getPool().getMaxConnections()
+                    + "), was " + maxConnections);
+        }
+        return maxConnections;
+    }
+
+    /**
+     * Resolves a {@code webclient.http.pool.hosts} key to the unresolved
+     * addresses Reactor Netty keys its pools by: {@code host:port}, or
+     * {@code host} for both 80 and 443.
+     */
+    static List<SocketAddress> remoteAddresses(String key) {
+        int colon = key.lastIndexOf(':');
+        if (colon < 0) {
+            return List.of(InetSocketAddress.createUnresolved(key, 80),
+                    InetSocketAddress.createUnresolved(key, 443));
+        }
+        try {
+            return List.of(InetSocketAddress.createUnresolved(
+                    key.substring(0, colon), Integer.parseInt(key.substring(colon + 1))));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("webclient.http.pool.hosts key must be 'host' or 'host:port', was '"
+                    + key + "'", e);
+        }
+    }
+
+    /**
+     * Event loops of the shared client, named {@code webclient-http-*}.
+     * Dedicated to outbound calls, so a WebFlux server in the same JVM keeps
+     * its own loops and a burst of client I/O does not delay request
+     * handling (or the reverse).
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnMissingBean(name = "webClientLoopResources")
+    public LoopResources webClientLoopResources() {
+        Integer workerCount = properties.getTransport().getWorkerCount();
+        int workers = workerCount != null ? workerCount : LoopResources.DEFAULT_IO_WORKER_COUNT;
+        if (workers < 1) {
+            throw new IllegalStateException("webclient.http.transport.worker-count must be at least 1, was " + workers);
+        }
+        return LoopResources.create("webclient-http", workers, true);
+    }
+
+    /**
+     * Shared Netty client.  {@code webclient.http.protocol} selects HTTP/1.1
+     * ({@code HTTP11}, the default), HTTP/2 negotiated through ALPN on TLS
+     * connections ({@code H2}) or cleartext HTTP/2 through an HTTP/1.1
+     * upgrade ({@code H2C}).  The protocol is settled per connection, so each
+     * host gets HTTP/2 only if it offers it.
+     * <p>
+     * With {@code webclient.http.dns.enabled}, host names are resolved by
+     * Netty's asynchronous DNS resolver with a TTL-bounded cache instead of
+     * the blocking JDK resolver; {@link DnsResolverMetricsRecorder} beans
+     * receive resolve times and cache hits.
+     * <p>
+     * {@link TlsHandshakeMetricsRecorder} beans receive the time, protocol
+     * and resumption of every TLS handshake.
+     */
     @Bean
     @ConditionalOnMissingBean(name = "webClientHttpClient")
     public HttpClient webClientHttpClient(
             ConnectionProvider webClientConnectionProvider,
-            SslConnectionFactoryInitializer sslInitializer) {
+            SslConnectionFactoryInitializer sslInitializer,
+            LoopResources webClientLoopResources,
+            ObjectProvider<DnsResolverMetricsRecorder> dnsRecorders,
+            ObjectProvider<TlsHandshakeMetricsRecorder> tlsRecorders) {
+
+        String type = properties.getTransport().getType().toLowerCase();
+        boolean preferNative = preferNative(type);
+        String transport = activeTransport(webClientLoopResources, preferNative);
+        if (!type.equals("auto") && !type.equals(transport)) {
+            throw new IllegalStateException("webclient.http.transport.type is '" + type + "' but the available transport is '"
+                    + transport + "'; add the io.netty:netty-transport-native-" + type
+                    + " artifact for this platform, or use 'auto'");
+        }
+        log.info("Outbound HTTP client runs on the {} transport", transport);
 
+        HttpProtocol[] protocols = httpProtocols(properties.getProtocol());
         HttpClient client = HttpClient.create(webClientConnectionProvider)
+                .runOn(webClientLoopResources, preferNative)
+                .protocol(protocols)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
                         properties.getTimeout().getConnectRequestTimeoutMs())
                 .responseTimeout(
                         Duration.ofMillis(properties.getTimeout().getTimeoutMs()));
 
-        SslContext sslContext = sslInitializer.createSslContext();
+        // H2 is negotiated through ALPN, so the context must offer it
+        SslContext sslContext = sslInitializer.createSslContext(Arrays.asList(protocols).contains(HttpProtocol.H2));
         if (sslContext != null) {
             client = client.secure(spec -> spec.sslContext(sslContext));
+            log.info("Outbound TLS uses the {} provider", SslConnectionFactoryInitializer.sslProvider(
+                    properties.getSsl().getProvider()));
+
+            List<TlsHandshakeMetricsRecorder> recorderList = tlsRecorders.orderedStream().toList();
+            TlsHandshakeMetricsRecorder recorder = switch (recorderList.size()) {
+                case 0 -> null;
+                case 1 -> recorderList.get(0);
+                default -> new CompositeTlsHandshakeMetricsRecorder(recorderList);
+            };
+            if (recorder != null) {
+                client = client.doOnChannelInit((observer, channel, remoteAddress) ->
+                        TlsHandshakeTimer.install(channel, remoteAddress, recorder));
+            }
+        }
+
+        if (properties.getDns().isEnabled()) {
+            List<DnsResolverMetricsRecorder> recorderList = dnsRecorders.orderedStream().toList();
+            DnsResolverMetricsRecorder recorder = switch (recorderList.size()) {
+                case 0 -> null;
+                case 1 -> recorderList.get(0);
+                default -> new CompositeDnsResolverMetricsRecorder(recorderList);
+            };
+            client = client.resolver(dnsResolverGroup(webClientLoopResources, preferNative, recorder));
         }
 
         return client;
@@ -153,4 +607,108 @@ public class WebClientAutoConfiguration {
     public WebServiceClient webServiceClient() {
         return new WebServiceClient();
     }
+
+    // ------------------------------------------------------------------ //
+    //  Connection warm-up
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Opens connections in the shared pool ahead of traffic.  Targets are
+     * re-read on every run, so replicas registered with the
+     * {@link LoadBalancerRegistry} later are warmed by the next run.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "webclient.http.warmup", name = "enabled", havingValue = "true")
+    public ConnectionWarmer connectionWarmer(HttpClient webClientHttpClient, LoadBalancerRegistry loadBalancerRegistry) {
+        HttpClientProperties.Warmup warmup = properties.getWarmup();
+        if (warmup.getConnectionsPerHost() < 1) {
+            throw new IllegalStateException("webclient.http.warmup.connections-per-host must be at least 1, was "
+                    + warmup.getConnectionsPerHost());
+        }
+        if (warmup.getTimeoutMs() <= 0) {
+            throw new IllegalStateException("webclient.http.warmup.timeout-ms must be positive, was "
+                    + warmup.getTimeoutMs());
+        }
+        return new ConnectionWarmer(webClientHttpClient, () -> warmupTargets(loadBalancerRegistry),
+                HttpMethod.valueOf(warmup.getProbeMethod().toUpperCase()), warmup.getProbePath(),
+                Duration.ofMillis(warmup.getTimeoutMs()));
+    }
+
+    /**
+     * Runs the first warm-up.  Spring Boot reports the application ready
+     * only after its runners return, so no traffic is routed here before
+     * the connections are open.  Then starts periodic re-warming if
+     * {@code rewarm-interval-ms} is set.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "webclient.http.warmup", name = "enabled", havingValue = "true")
+    public ApplicationRunner connectionWarmupRunner(ConnectionWarmer connectionWarmer) {
+        return args -> {
+            connectionWarmer.warmUp().block();
+            long interval = properties.getWarmup().getRewarmIntervalMs();
+            if (interval > 0) {
+                connectionWarmer.rewarmEvery(Duration.ofMillis(interval));
+            }
+        };
+    }
+
+    /**
+     * Returns the base URLs to warm, with the connections to open to each:
+     * {@code connections-per-host}, capped at the host's pool limit.
+     */
+    Map<String, Integer> warmupTargets(LoadBalancerRegistry loadBalancerRegistry) {
+        HttpClientProperties.Warmup warmup = properties.getWarmup();
+        Set<String> urls = new LinkedHashSet<>(warmup.getUrls());
+        if (warmup.isIncludeLoadBalancerServices()) {
+            loadBalancerRegistry.getStats().values().forEach(replicas -> urls.addAll(replicas.keySet()));
+        }
+        Map<String, Integer> targets = new LinkedHashMap<>();
+        for (String url : urls) {
+            targets.put(url, Math.min(warmup.getConnectionsPerHost(), properties.getPool().maxConnectionsFor(URI.create(url))));
+        }
+        return targets;
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Micrometer (only when on the classpath)
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Publishes the pool, DNS, TLS and circuit breaker metrics to the application's {@link MeterRegistry},
+     * or to Micrometer's global registry when the application defines none.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MicrometerMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public MicrometerConnectionPoolMetricsRecorder micrometerConnectionPoolMetricsRecorder(
+                ObjectProvider<MeterRegistry> meterRegistry) {
+            return new MicrometerConnectionPoolMetricsRecorder(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public MicrometerDnsResolverMetricsRecorder micrometerDnsResolverMetricsRecorder(
+                ObjectProvider<MeterRegistry> meterRegistry) {
+            return new MicrometerDnsResolverMetricsRecorder(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public MicrometerTlsHandshakeMetricsRecorder micrometerTlsHandshakeMetricsRecorder(
+                ObjectProvider<MeterRegistry> meterRegistry) {
+            return new MicrometerTlsHandshakeMetricsRecorder(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(prefix = "webclient.http.circuit-breaker", name = "enabled", havingValue = "true")
+        public MicrometerCircuitBreakerListener micrometerCircuitBreakerListener(
+                ObjectProvider<MeterRegistry> meterRegistry) {
+            return new MicrometerCircuitBreakerListener(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package com.webclient.lib.hedge;
+
+/**
+ * Token bucket limiting hedges to a fraction of requests.
+ * <p>
+ * Every request deposits {@code ratio} tokens (up to {@code burst}); every
+ * hedge withdraws one.  Under a global slowdown, when every request would
+ * hedge, the hedge rate therefore settles at {@code ratio} instead of
+ * doubling the load on the downstream.
+ */
+public class HedgeBudget {
+
+    private final double ratio;
+    private final double burst;
+    private double tokens;
+
+    public HedgeBudget(double ratio, int burst) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("ratio must be in [0, 1]");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be at least 1");
+        }
+        this.ratio = ratio;
+        this.burst = burst;
+        this.tokens = burst;
+    }
+
+    public synchronized void onRequest() {
+        tokens = Math.min(burst, tokens + ratio);
+    }
+
+    /**
+     * Withdraws one token if available.
+     */
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Returns a token withdrawn for a hedge that was not sent after all.
+     */
+    public synchronized void refund() {
+        tokens = Math.min(burst, tokens + 1);
+    }
+
+    public synchronized double getTokens() {
+        return tokens;
+    }
+}
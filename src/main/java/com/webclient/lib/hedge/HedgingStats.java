@@ -0,0 +1,21 @@
+package com.webclient.lib.hedge;
+
+/**
+ * Point-in-time counters of a {@link RequestHedger}.
+ *
+ * @param requests       hedgeable calls started
+ * @param hedges         duplicate attempts sent
+ * @param hedgeWins      calls answered by the duplicate rather than the original
+ * @param budgetRejected hedges not sent because the budget was exhausted
+ * @param limitRejected  hedges not sent because the downstream's concurrency limit was reached
+ */
+public record HedgingStats(long requests, long hedges, long hedgeWins, long budgetRejected,
+                           long limitRejected) {
+
+    /**
+     * Fraction of calls that sent a duplicate attempt.
+     */
+    public double hedgeRatio() {
+        return requests == 0 ? 0.0 : (double) hedges / requests;
+    }
+}
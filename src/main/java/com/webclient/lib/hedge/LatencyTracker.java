@@ -0,0 +1,72 @@
+package com.webclient.lib.hedge;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of the most recent latencies of one downstream, used to
+ * derive a percentile-based hedge delay.
+ * <p>
+ * Samples go into a fixed ring buffer.  The percentile is recomputed (copy
+ * and sort of the window) at most once every {@value #RECOMPUTE_INTERVAL}
+ * samples, so reading it is a field load on the hot path.
+ */
+public class LatencyTracker {
+
+    public static final int DEFAULT_WINDOW = 1024;
+
+    static final int RECOMPUTE_INTERVAL = 64;
+
+    private final long[] samples;
+    private final double percentile;
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long cachedNanos = -1;
+
+    /**
+     * @param percentile percentile to track, in {@code (0, 100]}
+     * @param window     number of recent samples kept
+     */
+    public LatencyTracker(double percentile, int window) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be in (0, 100]");
+        }
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be at least 1");
+        }
+        this.percentile = percentile;
+        this.samples = new long[window];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (++sinceRecompute >= RECOMPUTE_INTERVAL || cachedNanos < 0) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            cachedNanos = sorted[Math.max(0, index)];
+        }
+    }
+
+    /**
+     * Returns the tracked percentile in nanos, or {@code -1} when fewer than
+     * {@code minSamples} latencies have been recorded.
+     */
+    public long getPercentileNanos(int minSamples) {
+        synchronized (this) {
+            if (count < minSamples) {
+                return -1;
+            }
+        }
+        return cachedNanos;
+    }
+
+    public synchronized int getSampleCount() {
+        return count;
+    }
+}
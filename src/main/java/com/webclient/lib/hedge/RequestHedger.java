@@ -0,0 +1,176 @@
+package com.webclient.lib.hedge;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hedged execution for reactive calls: if the first attempt has not
+ * answered within the hedge delay, a second identical attempt is started and
+ * whichever succeeds first wins.  The other attempt is cancelled, which
+ * aborts its exchange and frees its connection-pool slot.
+ * <p>
+ * The hedge delay is either fixed or, when a percentile is configured, the
+ * observed latency percentile of the downstream (falling back to the fixed
+ * delay until {@value #MIN_SAMPLES} samples exist).  Hedges are limited by
+ * a {@link HedgeBudget}, so a downstream that is slow for everyone is not
+ * sent twice the traffic.
+ * <p>
+ * Errors: an attempt that fails does not end the call while the other one
+ * is still running.  The call fails once every started attempt has failed,
+ * with the error of the last one.  A first attempt failing before the hedge
+ * delay fails the call without hedging; retrying is left to the caller.
+ * <p>
+ * Only use this for idempotent requests: both attempts may reach the server.
+ */
+public class RequestHedger {
+
+    public static final int MIN_SAMPLES = 50;
+    public static final int DEFAULT_BURST = 10;
+
+    private final Duration delay;
+    private final double percentile;
+    private final HedgeBudget budget;
+    private final ConcurrentHashMap<String, LatencyTracker> trackers = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetRejected = new LongAdder();
+    private final LongAdder limitRejected = new LongAdder();
+
+    /**
+     * @param delay         fixed hedge delay, also used until enough latencies are observed
+     * @param percentile    latency percentile used as the hedge delay, or {@code 0} to always use {@code delay}
+     * @param maxHedgeRatio maximum long-run fraction of calls that may hedge
+     */
+    public RequestHedger(Duration delay, double percentile, double maxHedgeRatio) {
+        if (delay.isNegative()) {
+            throw new IllegalArgumentException("delay must not be negative");
+        }
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be in [0, 100]");
+        }
+        this.delay = delay;
+        this.percentile = percentile;
+        this.budget = new HedgeBudget(maxHedgeRatio, DEFAULT_BURST);
+    }
+
+    /**
+     * Runs {@code attempt}, hedging it with a second subscription if it is
+     * slow.  {@code downstream} identifies whose latencies are tracked
+     * (typically host and port).
+     */
+    public <T> Mono<T> execute(String downstream, Supplier<Mono<T>> attempt) {
+        return execute(downstream, attempt, attempt);
+    }
+
+    /**
+     * Like {@link #execute(String, Supplier)}, with a separate supplier for
+     * the duplicate.  {@code hedge} may return {@code null} when the
+     * duplicate cannot start right now (for example because the downstream's
+     * concurrency limit is reached); the hedge is then skipped, its budget
+     * token returned, and the call left to the first attempt.
+     */
+    public <T> Mono<T> execute(String downstream, Supplier<Mono<T>> attempt, Supplier<Mono<T>> hedge) {
+        return Mono.defer(() -> {
+            requests.increment();
+            budget.onRequest();
+            LatencyTracker tracker = percentile > 0
+                    ? trackers.computeIfAbsent(downstream, d -> new LatencyTracker(percentile, LatencyTracker.DEFAULT_WINDOW))
+                    : null;
+
+            AtomicInteger started = new AtomicInteger(1);
+            AtomicInteger failed = new AtomicInteger();
+
+            Mono<Outcome<T>> primary = attempt(attempt, tracker, false);
+            Mono<Outcome<T>> duplicate = Mono.delay(resolveDelay(tracker))
+                    .flatMap(tick -> {
+                        if (!budget.tryAcquire()) {
+                            budgetRejected.increment();
+                            return Mono.empty();
+                        }
+                        Mono<T> call = hedge.get();
+                        if (call == null) {
+                            budget.refund();
+                            limitRejected.increment();
+                            return Mono.empty();
+                        }
+                        hedges.increment();
+                        started.incrementAndGet();
+                        return attempt(() -> call, tracker, true);
+                    });
+
+            return Flux.merge(primary, duplicate)
+                    .<T>handle((outcome, sink) -> {
+                        if (outcome.error != null) {
+                            if (failed.incrementAndGet() >= started.get()) {
+                                sink.error(outcome.error);
+                            }
+                            return;
+                        }
+                        if (outcome.hedge) {
+                            hedgeWins.increment();
+                        }
+                        if (outcome.value != null) {
+                            sink.next(outcome.value);
+                        } else {
+                            sink.complete();
+                        }
+                    })
+                    .next();
+        });
+    }
+
+    public HedgingStats getStats() {
+        return new HedgingStats(requests.sum(), hedges.sum(), hedgeWins.sum(), budgetRejected.sum(),
+                limitRejected.sum());
+    }
+
+    /**
+     * Returns the current hedge delay for {@code downstream}.
+     */
+    public Duration getDelay(String downstream) {
+        return resolveDelay(trackers.get(downstream));
+    }
+
+    private Duration resolveDelay(LatencyTracker tracker) {
+        if (tracker != null) {
+            long nanos = tracker.getPercentileNanos(MIN_SAMPLES);
+            if (nanos >= 0) {
+                return Duration.ofNanos(nanos);
+            }
+        }
+        return delay;
+    }
+
+    /**
+     * Subscribes one attempt, turning its result into an {@link Outcome} so
+     * that a failure does not terminate the merge.  Latency is recorded on
+     * success and on cancellation (a lower bound for the attempt that lost),
+     * so hedging does not hide the slow tail from the percentile.
+     */
+    private static <T> Mono<Outcome<T>> attempt(Supplier<Mono<T>> attempt, LatencyTracker tracker, boolean hedge) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Mono<T> call = attempt.get();
+            if (tracker != null) {
+                call = call
+                        .doOnSuccess(value -> tracker.record(System.nanoTime() - start))
+                        .doOnCancel(() -> tracker.record(System.nanoTime() - start));
+            }
+            return call
+                    .map(value -> new Outcome<T>(value, null, hedge))
+                    .defaultIfEmpty(new Outcome<>(null, null, hedge))
+                    .onErrorResume(error -> Mono.just(new Outcome<>(null, error, hedge)));
+        });
+    }
+
+    private record Outcome<T>(T value, Throwable error, boolean hedge) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.webclient.lib.limit;
+
+import java.time.Duration;
+
+/**
+ * Additive-increase / multiplicative-decrease limit.
+ * <p>
+ * A drop, or a call that took {@code timeout} or longer, multiplies the
+ * limit by {@code backoffRatio}.  Any other call raises it by one, but only
+ * while at least half of the limit is in use, so an idle downstream does not
+ * accumulate headroom it has never been tested with.
+ * <p>
+ * A call cancelled after running {@code timeout} or longer backs off like a
+ * drop; an earlier cancel leaves the limit unchanged.
+ */
+public class AimdLimit implements LimitAlgorithm {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long timeoutNanos;
+    private volatile int limit;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, Duration timeout) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be in (0, 1)");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.timeoutNanos = timeout.toNanos();
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped || rttNanos >= timeoutNanos) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    @Override
+    public synchronized void onCancel(long elapsedNanos, int inFlight) {
+        if (elapsedNanos >= timeoutNanos) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.webclient.lib.limit;
+
+import com.webclient.lib.model.RestServiceRequest;
+import com.webclient.lib.model.WebServiceRequest;
+import com.webclient.lib.util.DownstreamKeys;
+
+/**
+ * Derives the concurrency limit key of a request: requests with equal keys
+ * share one {@link ConcurrencyLimiter}.
+ * <p>
+ * The default resolvers ({@link #forWebRequests()}, {@link #forRestRequests()})
+ * key on scheme, host and port, and load-balanced requests on their service,
+ * like the circuit breaker's default key.  Both clients share one
+ * {@link ConcurrencyLimiterRegistry}, so a custom resolver should produce
+ * the same key for reactive and blocking calls to the same downstream.
+ * Register a bean of type
+ * {@code ConcurrencyLimitKeyResolver<WebServiceRequest<?>>} or
+ * {@code ConcurrencyLimitKeyResolver<RestServiceRequest<?>>} to key
+ * differently, e.g. per endpoint.
+ *
+ * @param <R> the request type
+ */
+@FunctionalInterface
+public interface ConcurrencyLimitKeyResolver<R> {
+
+    String resolve(R request);
+
+    static ConcurrencyLimitKeyResolver<WebServiceRequest<?>> forWebRequests() {
+        return request -> DownstreamKeys.byHostOrService(request.getUrl(), request.getService());
+    }
+
+    static ConcurrencyLimitKeyResolver<RestServiceRequest<?>> forRestRequests() {
+        return request -> DownstreamKeys.byHostOrService(request.getUrl(), request.getService());
+    }
+}
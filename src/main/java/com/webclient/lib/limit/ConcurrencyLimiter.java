@@ -0,0 +1,278 @@
+package com.webclient.lib.limit;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the calls in flight to one downstream by the limit of a
+ * {@link LimitAlgorithm}, which adapts it to the measured round-trip times.
+ * <p>
+ * A call over the limit waits in a FIFO queue of at most
+ * {@code maxQueueSize} entries for up to {@code maxQueueWait}; when the queue
+ * is full or the wait runs out it fails with {@link LimitExceededException}.
+ * A queue size of {@code 0} rejects the excess immediately; a {@code null}
+ * wait lets queued calls wait until a permit frees up.  Either way the
+ * excess is held back here, before it reaches the connection pool's
+ * pending-acquire queue or the downstream's own queues.
+ * <p>
+ * Each completed call feeds its round-trip time into the algorithm; errors
+ * matched by the caller's {@code isDropped} predicate are reported as drops,
+ * other errors are not sampled.  A cancelled call is never sampled as a
+ * round-trip time; the algorithm only learns how long it ran through
+ * {@link LimitAlgorithm#onCancel}, which may count a long cancel (a call
+ * abandoned at a timeout) as a drop.
+ */
+public class ConcurrencyLimiter {
+
+    private final String key;
+    private final LimitAlgorithm algorithm;
+    private final int maxQueueSize;
+    private final long maxQueueWaitNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<CompletableFuture<Permit>> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    public ConcurrencyLimiter(String key, LimitAlgorithm algorithm, int maxQueueSize, Duration maxQueueWait) {
+        this(key, algorithm, maxQueueSize, maxQueueWait, System::nanoTime);
+    }
+
+    ConcurrencyLimiter(String key, LimitAlgorithm algorithm, int maxQueueSize, Duration maxQueueWait,
+                       LongSupplier nanoClock) {
+        if (maxQueueSize < 0) {
+            throw new IllegalArgumentException("maxQueueSize must not be negative");
+        }
+        this.key = key;
+        this.algorithm = algorithm;
+        this.maxQueueSize = maxQueueSize;
+        this.maxQueueWaitNanos = maxQueueWait != null ? maxQueueWait.toNanos() : -1;
+        this.nanoClock = nanoClock;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public ConcurrencyLimiterStats getStats() {
+        return new ConcurrencyLimiterStats(algorithm.getLimit(), inFlight.get(), queued.get(), rejected.sum());
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Decorators
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Subscribes to {@code call} once a permit is available and releases the
+     * permit when it terminates or is cancelled.  Each subscription (e.g. each
+     * retry) takes its own permit.
+     *
+     * @param isDropped which errors signal overload to the limit algorithm
+     */
+    public <T> Mono<T> execute(Mono<T> call, Predicate<Throwable> isDropped) {
+        return withPermit(Mono.create(sink -> {
+            CompletableFuture<Permit> waiter = acquire();
+            sink.onCancel(() -> waiter.cancel(false));
+            waiter.whenComplete((permit, error) -> {
+                if (permit != null) {
+                    sink.success(permit);
+                } else if (!(error instanceof CancellationException)) {
+                    sink.error(error);
+                }
+            });
+        }), call, isDropped);
+    }
+
+    /**
+     * Like {@link #execute(Mono, Predicate)}, but never queues: takes a
+     * permit now and returns the call holding it, or returns {@code null}
+     * when none is free or calls are already waiting, so it never overtakes
+     * them.  The returned call must be subscribed exactly once.
+     */
+    public <T> Mono<T> tryExecute(Mono<T> call, Predicate<Throwable> isDropped) {
+        Permit permit = waiters.isEmpty() ? tryAcquire() : null;
+        return permit != null ? withPermit(Mono.just(permit), call, isDropped) : null;
+    }
+
+    private static <T> Mono<T> withPermit(Mono<Permit> permits, Mono<T> call, Predicate<Throwable> isDropped) {
+        return permits
+                .flatMap(permit -> call
+                        .doOnSuccess(value -> permit.onSuccess())
+                        .doOnError(error -> permit.onError(isDropped.test(error)))
+                        .doOnCancel(permit::onCancel))
+                .doOnDiscard(Permit.class, Permit::onIgnore);
+    }
+
+    /**
+     * Blocking counterpart of {@link #execute(Mono, Predicate)}.  Waiting for a
+     * permit blocks the calling thread; interrupting it abandons the wait.
+     */
+    public <T> T execute(Supplier<T> call, Predicate<Throwable> isDropped) {
+        Permit permit = await(acquire());
+        T value;
+        try {
+            value = call.get();
+        } catch (RuntimeException | Error e) {
+            permit.onError(isDropped.test(e));
+            throw e;
+        }
+        permit.onSuccess();
+        return value;
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Permits
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Returns a future completed with a permit as soon as the call may
+     * proceed, or failed with {@link LimitExceededException}.  Cancelling the
+     * future gives up the place in the queue.
+     */
+    public CompletableFuture<Permit> acquire() {
+        Permit permit = tryAcquire();
+        if (permit != null) {
+            return CompletableFuture.completedFuture(permit);
+        }
+        if (queued.incrementAndGet() > maxQueueSize) {
+            queued.decrementAndGet();
+            rejected.increment();
+            return CompletableFuture.failedFuture(
+                    new LimitExceededException(key, algorithm.getLimit(), "wait queue full"));
+        }
+
+        CompletableFuture<Permit> waiter = new CompletableFuture<>();
+        waiter.whenComplete((granted, error) -> {
+            if (error != null && waiters.remove(waiter)) {
+                queued.decrementAndGet();
+            }
+        });
+        waiters.add(waiter);
+        if (maxQueueWaitNanos >= 0) {
+            CompletableFuture.delayedExecutor(maxQueueWaitNanos, TimeUnit.NANOSECONDS).execute(() -> {
+                if (waiter.completeExceptionally(new LimitExceededException(
+                        key, algorithm.getLimit(), "waited longer than " + maxQueueWaitNanos / 1_000_000 + " ms"))) {
+                    rejected.increment();
+                }
+            });
+        }
+        drain();
+        return waiter;
+    }
+
+    private Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= algorithm.getLimit()) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1);
+            }
+        }
+    }
+
+    /**
+     * Hands free permits to waiting calls in arrival order.  Called after
+     * every release and after every enqueue, so a waiter added concurrently
+     * with a release is never stranded.
+     */
+    private void drain() {
+        while (!waiters.isEmpty()) {
+            Permit permit = tryAcquire();
+            if (permit == null) {
+                return;
+            }
+            CompletableFuture<Permit> waiter = waiters.poll();
+            if (waiter == null) {
+                inFlight.decrementAndGet();
+                return;
+            }
+            queued.decrementAndGet();
+            if (!waiter.complete(permit)) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private static Permit await(CompletableFuture<Permit> waiter) {
+        try {
+            return waiter.get();
+        } catch (InterruptedException ie) {
+            if (!waiter.cancel(false) && !waiter.isCompletedExceptionally()) {
+                waiter.join().onIgnore();
+            }
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a concurrency permit", ie);
+        } catch (ExecutionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * Right to one call.  Exactly one of the release methods takes effect;
+     * later calls are ignored.
+     */
+    public final class Permit {
+
+        private final int inFlightAtStart;
+        private final long startNanos = nanoClock.getAsLong();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void onSuccess() {
+            release(rtt -> algorithm.onSample(rtt, inFlightAtStart, false));
+        }
+
+        /**
+         * @param dropped whether the error signals overload; other errors are not sampled
+         */
+        public void onError(boolean dropped) {
+            release(dropped ? rtt -> algorithm.onSample(rtt, inFlightAtStart, true) : null);
+        }
+
+        /**
+         * Reports the time run so far through {@link LimitAlgorithm#onCancel}
+         * rather than as a round-trip time.
+         */
+        public void onCancel() {
+            release(elapsed -> algorithm.onCancel(elapsed, inFlightAtStart));
+        }
+
+        /**
+         * Releases the permit without sampling.
+         */
+        public void onIgnore() {
+            release(null);
+        }
+
+        private void release(LongConsumer sample) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            inFlight.decrementAndGet();
+            if (sample != null) {
+                sample.accept(nanoClock.getAsLong() - startNanos);
+            }
+            drain();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.webclient.lib.limit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Creates and holds one {@link ConcurrencyLimiter} per downstream key, each
+ * with its own {@link LimitAlgorithm} instance.
+ * <p>
+ * A single registry is shared by {@code WebServiceClient} and
+ * {@code RestServiceClient}, so reactive and blocking calls to the same
+ * downstream count against the same limit.
+ */
+public class ConcurrencyLimiterRegistry {
+
+    private final Supplier<LimitAlgorithm> algorithms;
+    private final int maxQueueSize;
+    private final Duration maxQueueWait;
+    private final Map<String, ConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * @param algorithms   creates the limit algorithm of each new limiter
+     * @param maxQueueSize calls allowed to wait for a permit, per downstream
+     * @param maxQueueWait longest time a call waits for a permit
+     */
+    public ConcurrencyLimiterRegistry(Supplier<LimitAlgorithm> algorithms, int maxQueueSize, Duration maxQueueWait) {
+        this.algorithms = algorithms;
+        this.maxQueueSize = maxQueueSize;
+        this.maxQueueWait = maxQueueWait;
+    }
+
+    /**
+     * Returns the limiter for {@code key}, creating it on first use.
+     */
+    public ConcurrencyLimiter get(String key) {
+        return limiters.computeIfAbsent(key,
+                k -> new ConcurrencyLimiter(k, algorithms.get(), maxQueueSize, maxQueueWait));
+    }
+
+    /**
+     * Returns the stats of every limiter created so far, by key.
+     */
+    public Map<String, ConcurrencyLimiterStats> getStats() {
+        return limiters.values().stream()
+                .collect(Collectors.toMap(ConcurrencyLimiter::getKey, ConcurrencyLimiter::getStats));
+    }
+}
@@ -0,0 +1,12 @@
+package com.webclient.lib.limit;
+
+/**
+ * Point-in-time view of one concurrency limiter.
+ *
+ * @param limit    current limit on concurrent calls
+ * @param inFlight calls holding a permit
+ * @param queued   calls waiting for a permit
+ * @param rejected calls rejected (queue full or queue wait exceeded) since creation
+ */
+public record ConcurrencyLimiterStats(int limit, int inFlight, int queued, long rejected) {
+}
@@ -0,0 +1,27 @@
+package com.webclient.lib.limit;
+
+/**
+ * A {@link LimitAlgorithm} whose limit never changes, for bounding calls by
+ * a known capacity (such as a connection pool's size) rather than by measured
+ * latency.
+ */
+public class FixedLimit implements LimitAlgorithm {
+
+    private final int limit;
+
+    public FixedLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        this.limit = limit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void onSample(long rttNanos, int inFlight, boolean dropped) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.webclient.lib.limit;
+
+/**
+ * Computes the concurrency limit of one downstream from the round-trip
+ * times and drops observed by a {@link ConcurrencyLimiter}.
+ * <p>
+ * Implementations are called concurrently from many threads.
+ */
+public interface LimitAlgorithm {
+
+    /**
+     * Returns the current limit on concurrent calls.
+     */
+    int getLimit();
+
+    /**
+     * Records one completed call.
+     *
+     * @param rttNanos round-trip time, measured from the moment the call got its permit
+     * @param inFlight calls in flight when this call started, itself included
+     * @param dropped  whether the call failed in a way that signals overload
+     *                 (5xx, 429, connection or I/O error)
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+
+    /**
+     * Records a call cancelled after running {@code elapsedNanos}.  That time
+     * is only a lower bound of the real latency, so it must never be taken as
+     * a round-trip time: an early cancel would otherwise pass for a very fast
+     * call.  Implementations may treat a long cancel as a drop; by default
+     * cancels are ignored.
+     *
+     * @param elapsedNanos time run before the cancel, measured from the moment the call got its permit
+     * @param inFlight     calls in flight when this call started, itself included
+     */
+    default void onCancel(long elapsedNanos, int inFlight) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.webclient.lib.limit;
+
+/**
+ * Thrown when a call finds its downstream at its concurrency limit and the
+ * wait queue full, or has waited in the queue longer than allowed.
+ * <p>
+ * Nothing was sent.  The retry predicates treat this exception as
+ * non-retriable: the downstream is saturated, and retrying would add load
+ * exactly when it needs to drain.
+ */
+public class LimitExceededException extends RuntimeException {
+
+    private final String key;
+    private final int limit;
+
+    public LimitExceededException(String key, int limit, String reason) {
+        super("Concurrency limit of " + limit + " for '" + key + "' reached: " + reason);
+        this.key = key;
+        this.limit = limit;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
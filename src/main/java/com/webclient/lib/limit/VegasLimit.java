@@ -0,0 +1,105 @@
+package com.webclient.lib.limit;
+
+/**
+ * Delay-based limit modelled on TCP Vegas.
+ * <p>
+ * The lowest round-trip time seen is taken as the no-load latency.  From it,
+ * each sample estimates how many calls are queued at the downstream:
+ * {@code queue = limit * (1 - minRtt / rtt)}.  With {@code log = log10(limit)}:
+ * <ul>
+ *   <li>{@code queue <= log} &mdash; grow quickly, by {@code 6 * log};</li>
+ *   <li>{@code queue < 3 * log} &mdash; grow by {@code log};</li>
+ *   <li>{@code queue > 6 * log} &mdash; shrink by {@code log};</li>
+ *   <li>otherwise keep the limit.</li>
+ * </ul>
+ * A drop shrinks the limit by {@code log}.  The new limit is blended into the
+ * old one with {@code smoothing} (1 applies it fully), and it only grows
+ * while at least half of it is in use.
+ * <p>
+ * The no-load latency is re-learned every {@value #PROBE_INTERVAL} samples,
+ * so a downstream that became permanently slower (e.g. moved region) does not
+ * keep the limit pinned low.
+ * <p>
+ * A cancelled call never updates the no-load latency: cancelled early it
+ * would look like a very fast call and collapse the limit.  A cancel that ran
+ * longer than the smoothed round-trip time (a call abandoned at a timeout)
+ * counts as a drop; shorter cancels are ignored.
+ */
+public class VegasLimit implements LimitAlgorithm {
+
+    static final int PROBE_INTERVAL = 1000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private double estimate;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long smoothedRttNanos;
+    private long samples;
+    private volatile int limit;
+
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit, double smoothing) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("smoothing must be in (0, 1]");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.estimate = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.limit = (int) estimate;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        double log = Math.max(1, Math.log10(estimate));
+        if (dropped) {
+            update(estimate - log);
+            return;
+        }
+        if (rttNanos <= 0) {
+            return;
+        }
+        smoothedRttNanos = smoothedRttNanos == 0 ? rttNanos : smoothedRttNanos + (rttNanos - smoothedRttNanos) / 8;
+        if (++samples % PROBE_INTERVAL == 0) {
+            minRttNanos = rttNanos;
+            return;
+        }
+        minRttNanos = Math.min(minRttNanos, rttNanos);
+
+        double queue = Math.ceil(estimate * (1 - (double) minRttNanos / rttNanos));
+        double next;
+        if (queue <= log) {
+            next = estimate + 6 * log;
+        } else if (queue < 3 * log) {
+            next = estimate + log;
+        } else if (queue > 6 * log) {
+            next = estimate - log;
+        } else {
+            return;
+        }
+        if (next > estimate && inFlight * 2 < estimate) {
+            return;
+        }
+        update(next);
+    }
+
+    @Override
+    public synchronized void onCancel(long elapsedNanos, int inFlight) {
+        if (smoothedRttNanos > 0 && elapsedNanos > smoothedRttNanos) {
+            update(estimate - Math.max(1, Math.log10(estimate)));
+        }
+    }
+
+    private void update(double next) {
+        estimate = Math.clamp(estimate * (1 - smoothing) + next * smoothing, minLimit, maxLimit);
+        limit = (int) estimate;
+    }
+}
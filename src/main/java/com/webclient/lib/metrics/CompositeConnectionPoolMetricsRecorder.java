@@ -0,0 +1,38 @@
+package com.webclient.lib.metrics;
+
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Forwards every call to each of several recorders, in order.
+ */
+public class CompositeConnectionPoolMetricsRecorder implements ConnectionPoolMetricsRecorder {
+
+    private final List<ConnectionPoolMetricsRecorder> recorders;
+
+    public CompositeConnectionPoolMetricsRecorder(List<ConnectionPoolMetricsRecorder> recorders) {
+        this.recorders = List.copyOf(recorders);
+    }
+
+    @Override
+    public void registerPool(String poolName, String id, String remoteHost, ConnectionPoolMetrics metrics) {
+        recorders.forEach(recorder -> recorder.registerPool(poolName, id, remoteHost, metrics));
+    }
+
+    @Override
+    public void deregisterPool(String poolName, String id, String remoteHost) {
+        recorders.forEach(recorder -> recorder.deregisterPool(poolName, id, remoteHost));
+    }
+
+    @Override
+    public void recordAcquireTime(String poolName, String remoteHost, Duration time, boolean success) {
+        recorders.forEach(recorder -> recorder.recordAcquireTime(poolName, remoteHost, time, success));
+    }
+
+    @Override
+    public void recordPendingAcquireTimeout(String poolName, String remoteHost) {
+        recorders.forEach(recorder -> recorder.recordPendingAcquireTimeout(poolName, remoteHost));
+    }
+}
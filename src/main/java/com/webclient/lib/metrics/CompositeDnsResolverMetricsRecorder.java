@@ -0,0 +1,26 @@
+package com.webclient.lib.metrics;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Forwards every call to each of several recorders, in order.
+ */
+public class CompositeDnsResolverMetricsRecorder implements DnsResolverMetricsRecorder {
+
+    private final List<DnsResolverMetricsRecorder> recorders;
+
+    public CompositeDnsResolverMetricsRecorder(List<DnsResolverMetricsRecorder> recorders) {
+        this.recorders = List.copyOf(recorders);
+    }
+
+    @Override
+    public void recordResolveTime(String hostname, Duration time, boolean success) {
+        recorders.forEach(recorder -> recorder.recordResolveTime(hostname, time, success));
+    }
+
+    @Override
+    public void recordCacheLookup(String hostname, boolean hit) {
+        recorders.forEach(recorder -> recorder.recordCacheLookup(hostname, hit));
+    }
+}
@@ -0,0 +1,21 @@
+package com.webclient.lib.metrics;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Forwards every call to each of several recorders, in order.
+ */
+public class CompositeTlsHandshakeMetricsRecorder implements TlsHandshakeMetricsRecorder {
+
+    private final List<TlsHandshakeMetricsRecorder> recorders;
+
+    public CompositeTlsHandshakeMetricsRecorder(List<TlsHandshakeMetricsRecorder> recorders) {
+        this.recorders = List.copyOf(recorders);
+    }
+
+    @Override
+    public void recordHandshake(String remoteHost, Duration time, String protocol, boolean resumed, boolean success) {
+        recorders.forEach(recorder -> recorder.recordHandshake(remoteHost, time, protocol, resumed, success));
+    }
+}
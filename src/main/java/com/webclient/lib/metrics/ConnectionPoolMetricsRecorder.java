@@ -0,0 +1,50 @@
+package com.webclient.lib.metrics;
+
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+import java.time.Duration;
+
+/**
+ * Receives the metrics of the {@code webclient-pool} connection pool.  Beans
+ * of this type are registered automatically; a Micrometer implementation is
+ * provided when Micrometer is on the classpath.
+ * <p>
+ * Reactor Netty keeps one pool per remote address, so everything is reported
+ * per {@code remoteHost} ({@code host:port} as written in the request URL).
+ * Several pools can serve the same host (for example HTTP/1.1 and HTTP/2, or
+ * one per proxy or TLS configuration); Reactor Netty tells them apart by
+ * {@code id}, which is unique per pool.
+ * The record methods are called on Netty event loops and must not block.
+ */
+public interface ConnectionPoolMetricsRecorder {
+
+    /**
+     * Called when a pool for a remote host is created.  {@code metrics} is a
+     * live view (active, idle, pending-acquire counts and limits) to be read
+     * by gauges; it stays valid until {@link #deregisterPool} with the same
+     * {@code id}.
+     */
+    void registerPool(String poolName, String id, String remoteHost, ConnectionPoolMetrics metrics);
+
+    /**
+     * Called when the pool with {@code id} is disposed.
+     */
+    default void deregisterPool(String poolName, String id, String remoteHost) {
+    }
+
+    /**
+     * Records how long a request waited for a connection, including the time
+     * to open one when the pool had none idle.  Not called for clients whose
+     * protocols include HTTP/2 (see {@link MeteredConnectionProvider}).
+     *
+     * @param success whether a connection was obtained
+     */
+    void recordAcquireTime(String poolName, String remoteHost, Duration time, boolean success);
+
+    /**
+     * Records a request that gave up waiting for a connection, either after
+     * the pending-acquire timeout or because the pending-acquire queue was
+     * full.  Not called for clients whose protocols include HTTP/2.
+     */
+    void recordPendingAcquireTimeout(String poolName, String remoteHost);
+}
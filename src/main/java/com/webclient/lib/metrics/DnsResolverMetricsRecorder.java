@@ -0,0 +1,28 @@
+package com.webclient.lib.metrics;
+
+import java.time.Duration;
+
+/**
+ * Receives the metrics of the asynchronous DNS resolver enabled with
+ * {@code webclient.http.dns.enabled}.  Beans of this type are registered
+ * automatically; a Micrometer implementation is provided when Micrometer is
+ * on the classpath.
+ * <p>
+ * The record methods are called on Netty event loops and must not block.
+ */
+public interface DnsResolverMetricsRecorder {
+
+    /**
+     * Records how long resolving {@code hostname} took, whether answered
+     * from the cache or by a name server.
+     *
+     * @param success whether an address was found
+     */
+    void recordResolveTime(String hostname, Duration time, boolean success);
+
+    /**
+     * Records a lookup in the resolver's cache.  A cached failure (negative
+     * TTL) counts as a hit.
+     */
+    void recordCacheLookup(String hostname, boolean hit);
+}
@@ -0,0 +1,112 @@
+package com.webclient.lib.metrics;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@link AddressResolverGroup} decorator reporting how long each resolution
+ * took to a {@link DnsResolverMetricsRecorder}.  Addresses that need no
+ * resolution (IP literals) are not reported.
+ */
+public class MeteredAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+
+    private final AddressResolverGroup<InetSocketAddress> delegate;
+    private final DnsResolverMetricsRecorder recorder;
+
+    public MeteredAddressResolverGroup(AddressResolverGroup<InetSocketAddress> delegate,
+                                       DnsResolverMetricsRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+        return new MeteredAddressResolver(delegate.getResolver(executor));
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        delegate.close();
+    }
+
+    static String withoutRootLabel(String hostname) {
+        return hostname.endsWith(".") ? hostname.substring(0, hostname.length() - 1) : hostname;
+    }
+
+    private class MeteredAddressResolver implements AddressResolver<InetSocketAddress> {
+
+        private final AddressResolver<InetSocketAddress> resolver;
+
+        MeteredAddressResolver(AddressResolver<InetSocketAddress> resolver) {
+            this.resolver = resolver;
+        }
+
+        @Override
+        public Future<InetSocketAddress> resolve(SocketAddress address) {
+            if (resolver.isResolved(address)) {
+                return resolver.resolve(address);
+            }
+            long start = System.nanoTime();
+            return timed(address, start, resolver.resolve(address));
+        }
+
+        @Override
+        public Future<InetSocketAddress> resolve(SocketAddress address, Promise<InetSocketAddress> promise) {
+            if (resolver.isResolved(address)) {
+                return resolver.resolve(address, promise);
+            }
+            long start = System.nanoTime();
+            return timed(address, start, resolver.resolve(address, promise));
+        }
+
+        @Override
+        public Future<List<InetSocketAddress>> resolveAll(SocketAddress address) {
+            if (resolver.isResolved(address)) {
+                return resolver.resolveAll(address);
+            }
+            long start = System.nanoTime();
+            return timed(address, start, resolver.resolveAll(address));
+        }
+
+        @Override
+        public Future<List<InetSocketAddress>> resolveAll(SocketAddress address,
+                                                          Promise<List<InetSocketAddress>> promise) {
+            if (resolver.isResolved(address)) {
+                return resolver.resolveAll(address, promise);
+            }
+            long start = System.nanoTime();
+            return timed(address, start, resolver.resolveAll(address, promise));
+        }
+
+        private <T> Future<T> timed(SocketAddress address, long start, Future<T> future) {
+            String hostname = withoutRootLabel(((InetSocketAddress) address).getHostString());
+            future.addListener(done -> recorder.recordResolveTime(
+                    hostname, Duration.ofNanos(System.nanoTime() - start), done.isSuccess()));
+            return future;
+        }
+
+        @Override
+        public boolean isSupported(SocketAddress address) {
+            return resolver.isSupported(address);
+        }
+
+        @Override
+        public boolean isResolved(SocketAddress address) {
+            return resolver.isResolved(address);
+        }
+
+        @Override
+        public void close() {
+            // the resolver belongs to the delegate group, which closes it
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.webclient.lib.metrics;
+
+import io.netty.resolver.AddressResolverGroup;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.transport.TransportConfig;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * {@link ConnectionProvider} decorator reporting acquire times and
+ * pending-acquire timeouts to a {@link ConnectionPoolMetricsRecorder}.
+ * <p>
+ * The per-host gauges come from Reactor Netty itself: the pool must be built
+ * with {@link #registrar} so that each per-host pool registers its
+ * {@link ConnectionPoolMetrics} on creation.
+ * <p>
+ * {@link #mutate()} returns the delegate's builder, and Reactor Netty's
+ * builder cannot be subclassed, so a provider built from it keeps the
+ * {@link #registrar} gauges but not the acquire times and timeouts recorded
+ * here.  Wrap it in a new {@code MeteredConnectionProvider} to keep them.
+ * <p>
+ * The same applies to HTTP/2: when the client's protocols include
+ * {@code H2} or {@code H2C}, Reactor Netty builds its HTTP/2 pool from
+ * {@link #mutate()} and acquires every connection through that pool, including
+ * those that fall back to HTTP/1.1.  Such clients get the {@link #registrar}
+ * gauges of the HTTP/2 pools, but no acquire times or pending-acquire timeouts.
+ */
+public class MeteredConnectionProvider implements ConnectionProvider {
+
+    private final ConnectionProvider delegate;
+    private final ConnectionPoolMetricsRecorder recorder;
+
+    public MeteredConnectionProvider(ConnectionProvider delegate, ConnectionPoolMetricsRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Adapts {@code recorder} to Reactor Netty's per-pool registration
+     * callback, for {@code ConnectionPoolSpec.metrics(true, ...)}.
+     */
+    public static MeterRegistrar registrar(ConnectionPoolMetricsRecorder recorder) {
+        return new MeterRegistrar() {
+            @Override
+            public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+                                        ConnectionPoolMetrics metrics) {
+                recorder.registerPool(poolName, id, remoteHost(remoteAddress), metrics);
+            }
+
+            @Override
+            public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+                recorder.deregisterPool(poolName, id, remoteHost(remoteAddress));
+            }
+        };
+    }
+
+    @Override
+    public Mono<? extends Connection> acquire(TransportConfig config, ConnectionObserver connectionObserver,
+                                              Supplier<? extends SocketAddress> remoteAddress,
+                                              AddressResolverGroup<?> resolverGroup) {
+        return Mono.defer(() -> {
+            String host = remoteAddress != null ? remoteHost(remoteAddress.get()) : "unknown";
+            long start = System.nanoTime();
+            return delegate.acquire(config, connectionObserver, remoteAddress, resolverGroup)
+                    .doOnSuccess(connection -> recorder.recordAcquireTime(
+                            name(), host, Duration.ofNanos(System.nanoTime() - start), true))
+                    .doOnError(error -> {
+                        recorder.recordAcquireTime(name(), host, Duration.ofNanos(System.nanoTime() - start), false);
+                        if (isPendingAcquireTimeout(error)) {
+                            recorder.recordPendingAcquireTimeout(name(), host);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Reactor Netty ships reactor-pool shaded, so its exceptions are matched
+     * by simple name rather than by type.
+     */
+    static boolean isPendingAcquireTimeout(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            String name = t.getClass().getSimpleName();
+            if (name.equals("PoolAcquireTimeoutException") || name.equals("PoolAcquirePendingLimitException")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String remoteHost(SocketAddress address) {
+        if (address instanceof InetSocketAddress inet) {
+            return inet.getHostString() + ":" + inet.getPort();
+        }
+        return String.valueOf(address);
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Delegation
+    // ------------------------------------------------------------------ //
+
+    @Override
+    public void dispose() {
+        delegate.dispose();
+    }
+
+    @Override
+    public Mono<Void> disposeLater() {
+        return delegate.disposeLater();
+    }
+
+    @Override
+    public void disposeWhen(SocketAddress address) {
+        delegate.disposeWhen(address);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate.isDisposed();
+    }
+
+    @Override
+    public int maxConnections() {
+        return delegate.maxConnections();
+    }
+
+    @Override
+    public Map<SocketAddress, Integer> maxConnectionsPerHost() {
+        return delegate.maxConnectionsPerHost();
+    }
+
+    /**
+     * The delegate's builder; the provider it builds is not metered by this
+     * class (see the class comment).
+     */
+    @Override
+    public Builder mutate() {
+        return delegate.mutate();
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+}
@@ -0,0 +1,57 @@
+package com.webclient.lib.metrics;
+
+import io.netty.channel.EventLoop;
+import io.netty.handler.codec.dns.DnsRecord;
+import io.netty.resolver.dns.DnsCache;
+import io.netty.resolver.dns.DnsCacheEntry;
+
+import java.net.InetAddress;
+import java.util.List;
+
+/**
+ * {@link DnsCache} decorator reporting every lookup as a hit or a miss to a
+ * {@link DnsResolverMetricsRecorder}.
+ */
+public class MeteredDnsCache implements DnsCache {
+
+    private final DnsCache delegate;
+    private final DnsResolverMetricsRecorder recorder;
+
+    public MeteredDnsCache(DnsCache delegate, DnsResolverMetricsRecorder recorder) {
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public List<? extends DnsCacheEntry> get(String hostname, DnsRecord[] additionals) {
+        List<? extends DnsCacheEntry> entries = delegate.get(hostname, additionals);
+        recorder.recordCacheLookup(MeteredAddressResolverGroup.withoutRootLabel(hostname),
+                entries != null && !entries.isEmpty());
+        return entries;
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Delegation
+    // ------------------------------------------------------------------ //
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean clear(String hostname) {
+        return delegate.clear(hostname);
+    }
+
+    @Override
+    public DnsCacheEntry cache(String hostname, DnsRecord[] additionals, InetAddress address, long originalTtl,
+                               EventLoop loop) {
+        return delegate.cache(hostname, additionals, address, originalTtl, loop);
+    }
+
+    @Override
+    public DnsCacheEntry cache(String hostname, DnsRecord[] additionals, Throwable cause, EventLoop loop) {
+        return delegate.cache(hostname, additionals, cause, loop);
+    }
+}
@@ -0,0 +1,65 @@
+package com.webclient.lib.metrics;
+
+import com.webclient.lib.breaker.CircuitBreaker;
+import com.webclient.lib.breaker.CircuitBreakerEvent;
+import com.webclient.lib.breaker.CircuitBreakerListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes circuit breaker state changes to a Micrometer {@link MeterRegistry}:
+ * <ul>
+ *   <li>{@code webclient.circuitbreaker.state} &mdash; gauge tagged
+ *       {@code key} and {@code state=closed|open|half_open}, {@code 1} for
+ *       the breaker's current state and {@code 0} for the others;</li>
+ *   <li>{@code webclient.circuitbreaker.transitions} &mdash; counter tagged
+ *       {@code key}, {@code from} and {@code to}.</li>
+ * </ul>
+ * A breaker's gauges are registered on its first transition; until then it
+ * is closed.
+ * <p>
+ * Only instantiated when Micrometer is on the classpath.
+ */
+public class MicrometerCircuitBreakerListener implements CircuitBreakerListener {
+
+    private final MeterRegistry registry;
+    private final Map<String, AtomicReference<CircuitBreaker.State>> states = new ConcurrentHashMap<>();
+
+    public MicrometerCircuitBreakerListener(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onStateTransition(CircuitBreakerEvent event) {
+        states.computeIfAbsent(event.key(), this::registerStateGauges).set(event.to());
+        Counter.builder("webclient.circuitbreaker.transitions")
+                .description("State transitions of the client's circuit breakers")
+                .tag("key", event.key())
+                .tag("from", tagValue(event.from()))
+                .tag("to", tagValue(event.to()))
+                .register(registry)
+                .increment();
+    }
+
+    private AtomicReference<CircuitBreaker.State> registerStateGauges(String key) {
+        AtomicReference<CircuitBreaker.State> current = new AtomicReference<>(CircuitBreaker.State.CLOSED);
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("webclient.circuitbreaker.state", current, c -> c.get() == state ? 1 : 0)
+                    .description("1 if the circuit breaker is in this state, else 0")
+                    .tag("key", key)
+                    .tag("state", tagValue(state))
+                    .register(registry);
+        }
+        return current;
+    }
+
+    private static String tagValue(CircuitBreaker.State state) {
+        return state.name().toLowerCase(Locale.ROOT);
+    }
+}
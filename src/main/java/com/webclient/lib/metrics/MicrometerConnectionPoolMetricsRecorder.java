@@ -0,0 +1,92 @@
+package com.webclient.lib.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the pool metrics to a Micrometer {@link MeterRegistry}, tagged
+ * with {@code pool} and {@code remote.host}:
+ * <ul>
+ *   <li>{@code webclient.pool.connections.active}, {@code .idle},
+ *       {@code .allocated}, {@code .max} and {@code webclient.pool.pending},
+ *       {@code webclient.pool.pending.max} gauges, also tagged {@code id} so
+ *       that pools sharing a host each keep their own;</li>
+ *   <li>{@code webclient.pool.acquire} timer with a percentile histogram,
+ *       tagged {@code outcome=success|failure};</li>
+ *   <li>{@code webclient.pool.pending.timeouts} counter.</li>
+ * </ul>
+ * Only instantiated when Micrometer is on the classpath.
+ */
+public class MicrometerConnectionPoolMetricsRecorder implements ConnectionPoolMetricsRecorder {
+
+    private final MeterRegistry registry;
+    private final Map<String, List<Meter>> gauges = new ConcurrentHashMap<>();
+
+    public MicrometerConnectionPoolMetricsRecorder(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void registerPool(String poolName, String id, String remoteHost, ConnectionPoolMetrics metrics) {
+        Tags tags = tags(poolName, remoteHost).and("id", id);
+        gauges.put(id, List.of(
+                gauge("webclient.pool.connections.active", "Connections in use", tags, metrics, ConnectionPoolMetrics::acquiredSize),
+                gauge("webclient.pool.connections.idle", "Idle connections", tags, metrics, ConnectionPoolMetrics::idleSize),
+                gauge("webclient.pool.connections.allocated", "Open connections, in use or idle", tags, metrics, ConnectionPoolMetrics::allocatedSize),
+                gauge("webclient.pool.connections.max", "Maximum connections", tags, metrics, ConnectionPoolMetrics::maxAllocatedSize),
+                gauge("webclient.pool.pending", "Requests waiting for a connection", tags, metrics, ConnectionPoolMetrics::pendingAcquireSize),
+                gauge("webclient.pool.pending.max", "Maximum requests waiting for a connection", tags, metrics, ConnectionPoolMetrics::maxPendingAcquireSize)));
+    }
+
+    @Override
+    public void deregisterPool(String poolName, String id, String remoteHost) {
+        List<Meter> meters = gauges.remove(id);
+        if (meters != null) {
+            meters.forEach(registry::remove);
+        }
+    }
+
+    @Override
+    public void recordAcquireTime(String poolName, String remoteHost, Duration time, boolean success) {
+        Timer.builder("webclient.pool.acquire")
+                .description("Time to obtain a connection from the pool")
+                .tags(tags(poolName, remoteHost))
+                .tag("outcome", success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(time);
+    }
+
+    @Override
+    public void recordPendingAcquireTimeout(String poolName, String remoteHost) {
+        Counter.builder("webclient.pool.pending.timeouts")
+                .description("Requests that gave up waiting for a connection")
+                .tags(tags(poolName, remoteHost))
+                .register(registry)
+                .increment();
+    }
+
+    private Gauge gauge(String name, String description, Tags tags, ConnectionPoolMetrics metrics,
+                        ToDoubleFunction<ConnectionPoolMetrics> value) {
+        return Gauge.builder(name, metrics, value)
+                .description(description)
+                .tags(tags)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    private static Tags tags(String poolName, String remoteHost) {
+        return Tags.of("pool", String.valueOf(poolName), "remote.host", remoteHost);
+    }
+}
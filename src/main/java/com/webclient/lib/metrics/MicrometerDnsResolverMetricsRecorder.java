@@ -0,0 +1,48 @@
+package com.webclient.lib.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+
+/**
+ * Publishes the DNS resolver metrics to a Micrometer {@link MeterRegistry},
+ * tagged with {@code host}:
+ * <ul>
+ *   <li>{@code webclient.dns.resolve} timer with a percentile histogram,
+ *       tagged {@code outcome=success|failure};</li>
+ *   <li>{@code webclient.dns.cache.lookups} counter, tagged
+ *       {@code result=hit|miss}.</li>
+ * </ul>
+ * Only instantiated when Micrometer is on the classpath.
+ */
+public class MicrometerDnsResolverMetricsRecorder implements DnsResolverMetricsRecorder {
+
+    private final MeterRegistry registry;
+
+    public MicrometerDnsResolverMetricsRecorder(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void recordResolveTime(String hostname, Duration time, boolean success) {
+        Timer.builder("webclient.dns.resolve")
+                .description("Time to resolve a host name")
+                .tag("host", hostname)
+                .tag("outcome", success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(time);
+    }
+
+    @Override
+    public void recordCacheLookup(String hostname, boolean hit) {
+        Counter.builder("webclient.dns.cache.lookups")
+                .description("Lookups in the DNS resolver cache")
+                .tag("host", hostname)
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,37 @@
+package com.webclient.lib.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+
+/**
+ * Publishes the TLS handshake metrics to a Micrometer {@link MeterRegistry}
+ * as the {@code webclient.tls.handshake} timer with a percentile histogram,
+ * tagged {@code remote.host}, {@code outcome=success|failure},
+ * {@code protocol} ({@code none} for failures) and
+ * {@code resumed=true|false}.
+ * <p>
+ * Only instantiated when Micrometer is on the classpath.
+ */
+public class MicrometerTlsHandshakeMetricsRecorder implements TlsHandshakeMetricsRecorder {
+
+    private final MeterRegistry registry;
+
+    public MicrometerTlsHandshakeMetricsRecorder(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void recordHandshake(String remoteHost, Duration time, String protocol, boolean resumed, boolean success) {
+        Timer.builder("webclient.tls.handshake")
+                .description("Time of TLS handshakes of the shared client")
+                .tag("remote.host", remoteHost)
+                .tag("outcome", success ? "success" : "failure")
+                .tag("protocol", protocol != null ? protocol : "none")
+                .tag("resumed", String.valueOf(resumed))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(time);
+    }
+}
@@ -0,0 +1,24 @@
+package com.webclient.lib.metrics;
+
+import java.time.Duration;
+
+/**
+ * Receives the TLS handshake metrics of the shared client.  Beans of this
+ * type are registered automatically; a Micrometer implementation is
+ * provided when Micrometer is on the classpath.
+ * <p>
+ * The record method is called on Netty event loops and must not block.
+ */
+public interface TlsHandshakeMetricsRecorder {
+
+    /**
+     * Records a handshake with {@code remoteHost} ({@code host:port}),
+     * timed from the TCP connection becoming active until the handshake
+     * completed or failed.
+     *
+     * @param protocol negotiated protocol, e.g. {@code TLSv1.3}, or {@code null} if the handshake failed
+     * @param resumed  whether an earlier session was resumed (abbreviated handshake)
+     * @param success  whether the handshake completed
+     */
+    void recordHandshake(String remoteHost, Duration time, String protocol, boolean resumed, boolean success);
+}
@@ -0,0 +1,74 @@
+package com.webclient.lib.metrics;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.ssl.SslHandler;
+
+import javax.net.ssl.SSLSession;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+
+/**
+ * Times the TLS handshake of one connection and reports it to a
+ * {@link TlsHandshakeMetricsRecorder}.  Sits just before the
+ * {@link SslHandler}, starts the clock when the connection becomes active
+ * (which is when the client sends its hello) and removes itself.
+ * <p>
+ * Neither provider flags a resumed session directly, but a resumed session
+ * keeps the creation time of the handshake that established it, so a
+ * session created before this handshake started counts as resumed.
+ */
+public class TlsHandshakeTimer extends ChannelInboundHandlerAdapter {
+
+    private static final String NAME = "webclient.tlsHandshakeTimer";
+
+    private final SslHandler sslHandler;
+    private final String remoteHost;
+    private final TlsHandshakeMetricsRecorder recorder;
+
+    private TlsHandshakeTimer(SslHandler sslHandler, String remoteHost, TlsHandshakeMetricsRecorder recorder) {
+        this.sslHandler = sslHandler;
+        this.remoteHost = remoteHost;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Adds a timer to {@code channel} if its pipeline has an
+     * {@link SslHandler}; cleartext connections are left alone.
+     */
+    public static void install(Channel channel, SocketAddress remoteAddress, TlsHandshakeMetricsRecorder recorder) {
+        SslHandler sslHandler = channel.pipeline().get(SslHandler.class);
+        if (sslHandler == null) {
+            return;
+        }
+        channel.pipeline().addBefore(channel.pipeline().context(sslHandler).name(), NAME,
+                new TlsHandshakeTimer(sslHandler, remoteHost(remoteAddress), recorder));
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        long start = System.nanoTime();
+        long startMillis = System.currentTimeMillis();
+        sslHandler.handshakeFuture().addListener(future -> {
+            Duration time = Duration.ofNanos(System.nanoTime() - start);
+            if (future.isSuccess()) {
+                SSLSession session = sslHandler.engine().getSession();
+                recorder.recordHandshake(remoteHost, time, session.getProtocol(),
+                        session.getCreationTime() < startMillis, true);
+            } else {
+                recorder.recordHandshake(remoteHost, time, null, false, false);
+            }
+        });
+        ctx.pipeline().remove(this);
+        ctx.fireChannelActive();
+    }
+
+    private static String remoteHost(SocketAddress address) {
+        if (address instanceof InetSocketAddress inet) {
+            return inet.getHostString() + ":" + inet.getPort();
+        }
+        return String.valueOf(address);
+    }
+}
@@ -1,9 +1,11 @@
 package com.webclient.lib.model;
 
+import com.webclient.lib.cache.ResponseCache;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 
+import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -16,12 +18,20 @@ import java.util.Map;
  * <p>
  * This is the synchronous equivalent of {@link WebServiceRequest}.
  * Uses {@link ClientHttpRequestInterceptor} instead of {@code ExchangeFilterFunction}.
+ * <p>
+ * Besides plain objects, the body may be a {@link java.nio.file.Path},
+ * a {@link java.nio.channels.ReadableByteChannel} (such as a
+ * {@link java.nio.channels.FileChannel}) or a
+ * {@link org.springframework.http.StreamingHttpOutputMessage.Body}; these are
+ * streamed to the connection rather than materialised in memory.  A channel
+ * is closed once sent, so a request with a channel body is not retried.
  *
  * @param <T> the expected response body type
  */
 public class RestServiceRequest<T> {
 
     private final String url;
+    private final String service;
     private final HttpMethod httpMethod;
     private final Map<String, String> headers;
     private final MediaType contentType;
@@ -31,10 +41,15 @@ public class RestServiceRequest<T> {
     private final Integer timeoutMs;
     private final Integer maxRetries;
     private final Long retryIntervalMs;
+    private final Boolean coalesce;
+    private final ResponseCache responseCache;
+    private final Long staleWhileRevalidateMs;
+    private final Long staleIfErrorMs;
     private final List<ClientHttpRequestInterceptor> interceptors;
 
     private RestServiceRequest(Builder<T> builder) {
         this.url = builder.url;
+        this.service = builder.service;
         this.httpMethod = builder.httpMethod;
         this.headers = builder.headers != null
                 ? Collections.unmodifiableMap(new HashMap<>(builder.headers))
@@ -46,6 +61,10 @@ public class RestServiceRequest<T> {
         this.timeoutMs = builder.timeoutMs;
         this.maxRetries = builder.maxRetries;
         this.retryIntervalMs = builder.retryIntervalMs;
+        this.coalesce = builder.coalesce;
+        this.responseCache = builder.responseCache;
+        this.staleWhileRevalidateMs = builder.staleWhileRevalidateMs;
+        this.staleIfErrorMs = builder.staleIfErrorMs;
         this.interceptors = builder.interceptors != null
                 ? Collections.unmodifiableList(new ArrayList<>(builder.interceptors))
                 : Collections.emptyList();
@@ -59,6 +78,25 @@ public class RestServiceRequest<T> {
         return url;
     }
 
+    /**
+     * Returns the logical service the request is load-balanced across, or
+     * {@code null} when {@link #getUrl()} is an absolute URL.  For a
+     * load-balanced request the URL is a path resolved against the base URL
+     * of the replica each attempt is sent to.
+     */
+    public String getService() {
+        return service;
+    }
+
+    /**
+     * Returns the absolute URL, or {@code lb://<service><path>} for a
+     * load-balanced request: what the request addresses, independent of the
+     * replica that serves it.
+     */
+    public String getTarget() {
+        return service != null ? "lb://" + service + url : url;
+    }
+
     public HttpMethod getHttpMethod() {
         return httpMethod;
     }
@@ -95,6 +133,59 @@ public class RestServiceRequest<T> {
         return retryIntervalMs;
     }
 
+    /**
+     * Returns the per-request coalescing override, or {@code null} to follow
+     * {@code webclient.http.coalescing.enabled}.
+     */
+    public Boolean getCoalesce() {
+        return coalesce;
+    }
+
+    /**
+     * Returns the per-request response cache, or {@code null} to use the
+     * client's global cache (if any).
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Returns how long past freshness a cached response may be served while
+     * it is revalidated in the background, or {@code null} to follow the
+     * response's {@code stale-while-revalidate} directive.
+     */
+    public Long getStaleWhileRevalidateMs() {
+        return staleWhileRevalidateMs;
+    }
+
+    /**
+     * Returns how long past freshness a cached response may be served when
+     * the origin fails, or {@code null} to follow the response's
+     * {@code stale-if-error} directive.
+     */
+    public Long getStaleIfErrorMs() {
+        return staleIfErrorMs;
+    }
+
+    /**
+     * Whether the body can be sent again by a retry: anything but a
+     * {@link ReadableByteChannel}, which the first attempt reads and closes.
+     */
+    public boolean hasReplayableBody() {
+        return !(body instanceof ReadableByteChannel);
+    }
+
+    /**
+     * Whether this request may share an in-flight exchange: a {@code GET},
+     * {@code HEAD} or {@code OPTIONS} without a body.
+     */
+    public boolean isCoalescable() {
+        return body == null
+                && (httpMethod == HttpMethod.GET
+                || httpMethod == HttpMethod.HEAD
+                || httpMethod == HttpMethod.OPTIONS);
+    }
+
     public List<ClientHttpRequestInterceptor> getInterceptors() {
         return interceptors;
     }
@@ -102,6 +193,7 @@ public class RestServiceRequest<T> {
     public static class Builder<T> {
 
         private String url;
+        private String service;
         private HttpMethod httpMethod = HttpMethod.GET;
         private Map<String, String> headers;
         private MediaType contentType;
@@ -111,6 +203,10 @@ public class RestServiceRequest<T> {
         private Integer timeoutMs;
         private Integer maxRetries;
         private Long retryIntervalMs;
+        private Boolean coalesce;
+        private ResponseCache responseCache;
+        private Long staleWhileRevalidateMs;
+        private Long staleIfErrorMs;
         private List<ClientHttpRequestInterceptor> interceptors;
 
         public Builder<T> url(String url) {
@@ -118,6 +214,16 @@ public class RestServiceRequest<T> {
             return this;
         }
 
+        /**
+         * Load-balances the request across the replicas of {@code service}
+         * (see {@code LoadBalancerRegistry}); {@link #url(String)} is then the path,
+         * e.g. {@code /orders/42}, appended to each replica's base URL.
+         */
+        public Builder<T> service(String service) {
+            this.service = service;
+            return this;
+        }
+
         public Builder<T> method(HttpMethod httpMethod) {
             this.httpMethod = httpMethod;
             return this;
@@ -171,6 +277,49 @@ public class RestServiceRequest<T> {
             return this;
         }
 
+        /**
+         * Enables or disables single-flight coalescing for this request,
+         * overriding {@code webclient.http.coalescing.enabled}.  Only
+         * body-less {@code GET}, {@code HEAD} and {@code OPTIONS} requests
+         * can be coalesced.
+         */
+        public Builder<T> coalesce(boolean coalesce) {
+            this.coalesce = coalesce;
+            return this;
+        }
+
+        /**
+         * Serves and stores this request's response through {@code responseCache},
+         * overriding the client's global cache.  Only {@code GET} requests are
+         * cached; send {@code Cache-Control: no-store} to bypass caching.
+         */
+        public Builder<T> responseCache(ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Serves a cached response up to {@code staleWhileRevalidateMs} past
+         * its freshness lifetime while one background request revalidates it,
+         * overriding the response's {@code stale-while-revalidate}; {@code 0}
+         * disables it.  Only applies when a response cache is in use.
+         */
+        public Builder<T> staleWhileRevalidateMs(long staleWhileRevalidateMs) {
+            this.staleWhileRevalidateMs = staleWhileRevalidateMs;
+            return this;
+        }
+
+        /**
+         * Serves a cached response up to {@code staleIfErrorMs} past its
+         * freshness lifetime when the origin answers {@code 5xx}, fails or
+         * times out, overriding the response's {@code stale-if-error};
+         * {@code 0} disables it.  Only applies when a response cache is in use.
+         */
+        public Builder<T> staleIfErrorMs(long staleIfErrorMs) {
+            this.staleIfErrorMs = staleIfErrorMs;
+            return this;
+        }
+
         public Builder<T> interceptor(ClientHttpRequestInterceptor interceptor) {
             if (this.interceptors == null) {
                 this.interceptors = new ArrayList<>();
@@ -188,10 +337,22 @@ public class RestServiceRequest<T> {
             if (url == null || url.isBlank()) {
                 throw new IllegalArgumentException("URL must not be blank");
             }
+            if (service != null && url.contains("://")) {
+                throw new IllegalArgumentException("A load-balanced request takes a path, not an absolute URL");
+            }
             if (responseType == null) {
                 throw new IllegalArgumentException("responseType must not be null");
             }
-            return new RestServiceRequest<>(this);
+            if ((staleWhileRevalidateMs != null && staleWhileRevalidateMs < 0)
+                    || (staleIfErrorMs != null && staleIfErrorMs < 0)) {
+                throw new IllegalArgumentException("Stale windows must not be negative");
+            }
+            RestServiceRequest<T> request = new RestServiceRequest<>(this);
+            if (Boolean.TRUE.equals(coalesce) && !request.isCoalescable()) {
+                throw new IllegalArgumentException(
+                        "Only GET, HEAD and OPTIONS requests without a body can be coalesced");
+            }
+            return request;
         }
     }
 }
@@ -0,0 +1,75 @@
+package com.webclient.lib.model;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Outcome of one request in a bulk execution: either a value or the failure
+ * that ended the call (after retries and timeout were applied).
+ * <p>
+ * {@link #getIndex()} is the zero-based position of the originating request in
+ * the submitted sequence, so results can be correlated when completion order
+ * differs from submission order.
+ *
+ * @param <T> the expected response body type
+ */
+public final class ServiceResult<T> {
+
+    private final long index;
+    private final T value;
+    private final Throwable error;
+
+    private ServiceResult(long index, T value, Throwable error) {
+        this.index = index;
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * Creates a successful result. {@code value} may be {@code null} when the
+     * response had no body.
+     */
+    public static <T> ServiceResult<T> success(long index, T value) {
+        return new ServiceResult<>(index, value, null);
+    }
+
+    public static <T> ServiceResult<T> failure(long index, Throwable error) {
+        if (error == null) {
+            throw new IllegalArgumentException("error must not be null");
+        }
+        return new ServiceResult<>(index, null, error);
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Returns the response body of a successful call.
+     *
+     * @throws NoSuchElementException if this result is a failure
+     */
+    public T getValue() {
+        if (error != null) {
+            throw new NoSuchElementException("Request " + index + " failed: " + error);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the failure, or {@code null} for a successful call.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess()
+                ? "ServiceResult[" + index + ", success]"
+                : "ServiceResult[" + index + ", failure=" + error.getClass().getSimpleName() + "]";
+    }
+}
@@ -1,9 +1,12 @@
 package com.webclient.lib.model;
 
+import com.webclient.lib.cache.ResponseCache;
+import org.reactivestreams.Publisher;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -13,25 +16,40 @@ import java.util.Map;
 /**
  * Immutable specification for a downstream service call.
  * Use the {@link Builder} to construct instances.
+ * <p>
+ * Besides plain objects (encoded with {@code bodyValue}), the body may be
+ * streamed: a {@link java.nio.file.Path} or {@link java.nio.channels.FileChannel}
+ * is sent from the file without loading it into memory, and a {@link Publisher}
+ * registered via {@link Builder#body(Publisher, Class)} is encoded element by
+ * element as it is produced.  Publisher and channel bodies can be consumed
+ * only once, so such requests are neither retried nor hedged.
  *
  * @param <T> the expected response body type
  */
 public class WebServiceRequest<T> {
 
     private final String url;
+    private final String service;
     private final HttpMethod httpMethod;
     private final Map<String, String> headers;
     private final MediaType contentType;
     private final MediaType acceptType;
     private final Object body;
+    private final Class<?> bodyElementType;
     private final Class<T> responseType;
     private final Integer timeoutMs;
     private final Integer maxRetries;
     private final Long retryIntervalMs;
+    private final Boolean coalesce;
+    private final Boolean hedge;
+    private final ResponseCache responseCache;
+    private final Long staleWhileRevalidateMs;
+    private final Long staleIfErrorMs;
     private final List<ExchangeFilterFunction> filters;
 
     private WebServiceRequest(Builder<T> builder) {
         this.url = builder.url;
+        this.service = builder.service;
         this.httpMethod = builder.httpMethod;
         this.headers = builder.headers != null
                 ? Collections.unmodifiableMap(new HashMap<>(builder.headers))
@@ -39,10 +57,16 @@ public class WebServiceRequest<T> {
         this.contentType = builder.contentType;
         this.acceptType = builder.acceptType;
         this.body = builder.body;
+        this.bodyElementType = builder.bodyElementType;
         this.responseType = builder.responseType;
         this.timeoutMs = builder.timeoutMs;
         this.maxRetries = builder.maxRetries;
         this.retryIntervalMs = builder.retryIntervalMs;
+        this.coalesce = builder.coalesce;
+        this.hedge = builder.hedge;
+        this.responseCache = builder.responseCache;
+        this.staleWhileRevalidateMs = builder.staleWhileRevalidateMs;
+        this.staleIfErrorMs = builder.staleIfErrorMs;
         this.filters = builder.filters != null
                 ? Collections.unmodifiableList(new ArrayList<>(builder.filters))
                 : Collections.emptyList();
@@ -56,6 +80,25 @@ public class WebServiceRequest<T> {
         return url;
     }
 
+    /**
+     * Returns the logical service the request is load-balanced across, or
+     * {@code null} when {@link #getUrl()} is an absolute URL.  For a
+     * load-balanced request the URL is a path resolved against the base URL
+     * of the replica each attempt is sent to.
+     */
+    public String getService() {
+        return service;
+    }
+
+    /**
+     * Returns the absolute URL, or {@code lb://<service><path>} for a
+     * load-balanced request: what the request addresses, independent of the
+     * replica that serves it.
+     */
+    public String getTarget() {
+        return service != null ? "lb://" + service + url : url;
+    }
+
     public HttpMethod getHttpMethod() {
         return httpMethod;
     }
@@ -76,6 +119,14 @@ public class WebServiceRequest<T> {
         return body;
     }
 
+    /**
+     * Returns the element type of a {@link Publisher} body, or {@code null}
+     * when the body is not a publisher.
+     */
+    public Class<?> getBodyElementType() {
+        return bodyElementType;
+    }
+
     public Class<T> getResponseType() {
         return responseType;
     }
@@ -92,6 +143,82 @@ public class WebServiceRequest<T> {
         return retryIntervalMs;
     }
 
+    /**
+     * Returns the per-request coalescing override, or {@code null} to follow
+     * {@code webclient.http.coalescing.enabled}.
+     */
+    public Boolean getCoalesce() {
+        return coalesce;
+    }
+
+    /**
+     * Returns the per-request response cache, or {@code null} to use the
+     * client's global cache (if any).
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Returns how long past freshness a cached response may be served while
+     * it is revalidated in the background, or {@code null} to follow the
+     * response's {@code stale-while-revalidate} directive.
+     */
+    public Long getStaleWhileRevalidateMs() {
+        return staleWhileRevalidateMs;
+    }
+
+    /**
+     * Returns how long past freshness a cached response may be served when
+     * the origin fails, or {@code null} to follow the response's
+     * {@code stale-if-error} directive.
+     */
+    public Long getStaleIfErrorMs() {
+        return staleIfErrorMs;
+    }
+
+    /**
+     * Whether this request may share an in-flight exchange: a {@code GET},
+     * {@code HEAD} or {@code OPTIONS} without a body.
+     */
+    public boolean isCoalescable() {
+        return body == null
+                && (httpMethod == HttpMethod.GET
+                || httpMethod == HttpMethod.HEAD
+                || httpMethod == HttpMethod.OPTIONS);
+    }
+
+    /**
+     * Returns the per-request hedging override, or {@code null} to follow
+     * {@code webclient.http.hedging.enabled}.
+     */
+    public Boolean getHedge() {
+        return hedge;
+    }
+
+    /**
+     * Whether the body can be sent again by a retry or a hedge: no body, a
+     * plain object or a {@link java.nio.file.Path}.  {@link Publisher} and
+     * {@link FileChannel} bodies are consumed by the first attempt.
+     */
+    public boolean hasReplayableBody() {
+        return !(body instanceof Publisher || body instanceof FileChannel);
+    }
+
+    /**
+     * Whether this request may be sent twice: an idempotent method
+     * ({@code GET}, {@code HEAD}, {@code OPTIONS}, {@code PUT},
+     * {@code DELETE}) whose body, if any, can be replayed.
+     */
+    public boolean isHedgeable() {
+        return hasReplayableBody()
+                && (httpMethod == HttpMethod.GET
+                || httpMethod == HttpMethod.HEAD
+                || httpMethod == HttpMethod.OPTIONS
+                || httpMethod == HttpMethod.PUT
+                || httpMethod == HttpMethod.DELETE);
+    }
+
     public List<ExchangeFilterFunction> getFilters() {
         return filters;
     }
@@ -99,15 +226,22 @@ public class WebServiceRequest<T> {
     public static class Builder<T> {
 
         private String url;
+        private String service;
         private HttpMethod httpMethod = HttpMethod.GET;
         private Map<String, String> headers;
         private MediaType contentType;
         private MediaType acceptType;
         private Object body;
+        private Class<?> bodyElementType;
         private Class<T> responseType;
         private Integer timeoutMs;
         private Integer maxRetries;
         private Long retryIntervalMs;
+        private Boolean coalesce;
+        private Boolean hedge;
+        private ResponseCache responseCache;
+        private Long staleWhileRevalidateMs;
+        private Long staleIfErrorMs;
         private List<ExchangeFilterFunction> filters;
 
         public Builder<T> url(String url) {
@@ -115,6 +249,16 @@ public class WebServiceRequest<T> {
             return this;
         }
 
+        /**
+         * Load-balances the request across the replicas of {@code service}
+         * (see {@code LoadBalancerRegistry}); {@link #url(String)} is then the path,
+         * e.g. {@code /orders/42}, appended to each replica's base URL.
+         */
+        public Builder<T> service(String service) {
+            this.service = service;
+            return this;
+        }
+
         public Builder<T> method(HttpMethod httpMethod) {
             this.httpMethod = httpMethod;
             return this;
@@ -145,6 +289,18 @@ public class WebServiceRequest<T> {
 
         public Builder<T> body(Object body) {
             this.body = body;
+            this.bodyElementType = null;
+            return this;
+        }
+
+        /**
+         * Sets a streamed body.  {@code DataBuffer} publishers are written as-is;
+         * publishers of any other type are encoded per element, as
+         * {@code application/x-ndjson} unless a content type is set.
+         */
+        public <E> Builder<T> body(Publisher<E> publisher, Class<E> elementType) {
+            this.body = publisher;
+            this.bodyElementType = elementType;
             return this;
         }
 
@@ -168,6 +324,59 @@ public class WebServiceRequest<T> {
             return this;
         }
 
+        /**
+         * Enables or disables single-flight coalescing for this request,
+         * overriding {@code webclient.http.coalescing.enabled}.  Only
+         * body-less {@code GET}, {@code HEAD} and {@code OPTIONS} requests
+         * can be coalesced.
+         */
+        public Builder<T> coalesce(boolean coalesce) {
+            this.coalesce = coalesce;
+            return this;
+        }
+
+        /**
+         * Enables or disables hedging for this request, overriding
+         * {@code webclient.http.hedging.enabled}.  Only idempotent requests
+         * with a replayable body can be hedged.
+         */
+        public Builder<T> hedge(boolean hedge) {
+            this.hedge = hedge;
+            return this;
+        }
+
+        /**
+         * Serves and stores this request's response through {@code responseCache},
+         * overriding the client's global cache.  Only {@code GET} requests are
+         * cached; send {@code Cache-Control: no-store} to bypass caching.
+         */
+        public Builder<T> responseCache(ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Serves a cached response up to {@code staleWhileRevalidateMs} past
+         * its freshness lifetime while one background request revalidates it,
+         * overriding the response's {@code stale-while-revalidate}; {@code 0}
+         * disables it.  Only applies when a response cache is in use.
+         */
+        public Builder<T> staleWhileRevalidateMs(long staleWhileRevalidateMs) {
+            this.staleWhileRevalidateMs = staleWhileRevalidateMs;
+            return this;
+        }
+
+        /**
+         * Serves a cached response up to {@code staleIfErrorMs} past its
+         * freshness lifetime when the origin answers {@code 5xx}, fails or
+         * times out, overriding the response's {@code stale-if-error};
+         * {@code 0} disables it.  Only applies when a response cache is in use.
+         */
+        public Builder<T> staleIfErrorMs(long staleIfErrorMs) {
+            this.staleIfErrorMs = staleIfErrorMs;
+            return this;
+        }
+
         public Builder<T> filter(ExchangeFilterFunction filter) {
             if (this.filters == null) {
                 this.filters = new ArrayList<>();
@@ -185,10 +394,30 @@ public class WebServiceRequest<T> {
             if (url == null || url.isBlank()) {
                 throw new IllegalArgumentException("URL must not be blank");
             }
+            if (service != null && url.contains("://")) {
+                throw new IllegalArgumentException("A load-balanced request takes a path, not an absolute URL");
+            }
             if (responseType == null) {
                 throw new IllegalArgumentException("responseType must not be null");
             }
-            return new WebServiceRequest<>(this);
+            if ((staleWhileRevalidateMs != null && staleWhileRevalidateMs < 0)
+                    || (staleIfErrorMs != null && staleIfErrorMs < 0)) {
+                throw new IllegalArgumentException("Stale windows must not be negative");
+            }
+            if (body instanceof Publisher && bodyElementType == null) {
+                throw new IllegalArgumentException(
+                        "Publisher bodies require an element type; use body(Publisher, Class)");
+            }
+            WebServiceRequest<T> request = new WebServiceRequest<>(this);
+            if (Boolean.TRUE.equals(coalesce) && !request.isCoalescable()) {
+                throw new IllegalArgumentException(
+                        "Only GET, HEAD and OPTIONS requests without a body can be coalesced");
+            }
+            if (Boolean.TRUE.equals(hedge) && !request.isHedgeable()) {
+                throw new IllegalArgumentException(
+                        "Only idempotent requests with a replayable body can be hedged");
+            }
+            return request;
         }
     }
 }
@@ -1,5 +1,7 @@
 package com.webclient.lib.retry;
 
+import com.webclient.lib.breaker.CallNotPermittedException;
+import com.webclient.lib.limit.LimitExceededException;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
@@ -20,6 +22,10 @@ import java.util.function.Predicate;
  * Non-retriable:
  * <ul>
  *   <li>HTTP 4xx client errors (except 429)</li>
+ *   <li>{@link CallNotPermittedException} (an open circuit breaker; retrying
+ *       would only be rejected again)</li>
+ *   <li>{@link LimitExceededException} (the downstream's concurrency limit is
+ *       saturated; retrying would add load while it drains)</li>
  *   <li>All other exceptions (programming errors, serialization failures, etc.)</li>
  * </ul>
  */
@@ -29,6 +35,9 @@ public final class RetriableExceptionPredicate implements Predicate<Throwable> {
 
     @Override
     public boolean test(Throwable throwable) {
+        if (throwable instanceof CallNotPermittedException || throwable instanceof LimitExceededException) {
+            return false;
+        }
         if (throwable instanceof WebClientResponseException wcre) {
             int status = wcre.getStatusCode().value();
             return status >= 500 || status == 429;
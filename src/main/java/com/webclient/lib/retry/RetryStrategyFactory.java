@@ -5,6 +5,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
 
 import java.time.Duration;
 
@@ -16,6 +17,9 @@ import java.time.Duration;
  * Client errors (4xx except 429) and other non-transient exceptions propagate
  * immediately without retry.  Each retry attempt is logged at WARN level with
  * the attempt number and failure reason.
+ * <p>
+ * Specs are returned as {@link RetryBackoffSpec} so callers can narrow the
+ * retriable set further, e.g. with {@link RetryBackoffSpec#modifyErrorFilter}.
  */
 public class RetryStrategyFactory {
 
@@ -31,7 +35,7 @@ public class RetryStrategyFactory {
     /**
      * Creates a retry spec using global configuration properties.
      */
-    public Retry createRetrySpec() {
+    public RetryBackoffSpec createRetrySpec() {
         return buildRetrySpec(
                 properties.getRetry().getMaxRetries(),
                 properties.getRetry().getRetryIntervalMs());
@@ -40,11 +44,11 @@ public class RetryStrategyFactory {
     /**
      * Creates a retry spec with explicit per-request parameters.
      */
-    public Retry createRetrySpec(int maxRetries, long retryIntervalMs) {
+    public RetryBackoffSpec createRetrySpec(int maxRetries, long retryIntervalMs) {
         return buildRetrySpec(maxRetries, retryIntervalMs);
     }
 
-    private Retry buildRetrySpec(int maxRetries, long retryIntervalMs) {
+    private RetryBackoffSpec buildRetrySpec(int maxRetries, long retryIntervalMs) {
         return Retry.backoff(maxRetries, Duration.ofMillis(retryIntervalMs))
                 .filter(RetriableExceptionPredicate.INSTANCE)
                 .doBeforeRetry(signal -> log.warn(
@@ -1,5 +1,7 @@
 package com.webclient.lib.retry;
 
+import com.webclient.lib.breaker.CallNotPermittedException;
+import com.webclient.lib.limit.LimitExceededException;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.ResourceAccessException;
 
@@ -23,6 +25,10 @@ import java.util.function.Predicate;
  * Non-retriable:
  * <ul>
  *   <li>HTTP 4xx client errors (except 429)</li>
+ *   <li>{@link CallNotPermittedException} (an open circuit breaker; retrying
+ *       would only be rejected again)</li>
+ *   <li>{@link LimitExceededException} (the downstream's concurrency limit is
+ *       saturated; retrying would add load while it drains)</li>
  *   <li>All other exceptions (programming errors, serialization failures, etc.)</li>
  * </ul>
  */
@@ -32,6 +38,9 @@ public final class SyncRetriableExceptionPredicate implements Predicate<Throwabl
 
     @Override
     public boolean test(Throwable throwable) {
+        if (throwable instanceof CallNotPermittedException || throwable instanceof LimitExceededException) {
+            return false;
+        }
         if (throwable instanceof HttpStatusCodeException hsce) {
             int status = hsce.getStatusCode().value();
             return status >= 500 || status == 429;
@@ -16,6 +16,11 @@ import java.util.function.Supplier;
  * exceptions propagate immediately without retry.
  * <p>
  * Each retry attempt is logged at WARN level with the attempt number and failure reason.
+ * <p>
+ * Retries run on the calling thread.  When called from a virtual thread (as
+ * {@code RestServiceClient.executeAsync} and {@code executeAll} do), the backoff
+ * sleep unmounts the virtual thread instead of blocking a platform thread.
+ * Interrupting the thread aborts the backoff.
  */
 public class SyncRetryExecutor {
 
@@ -1,48 +1,92 @@
 package com.webclient.lib.ssl;
 
 import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
 import javax.net.ssl.X509ExtendedKeyManager;
 import java.net.Socket;
 import java.security.Principal;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * A custom {@link X509ExtendedKeyManager} that always selects a specific key alias
+ * A custom {@link X509ExtendedKeyManager} that selects a specific key alias
  * from the keystore, overriding the default JDK behavior which assumes one key per keystore.
  * <p>
- * This decorator wraps an existing {@link X509ExtendedKeyManager} and returns the configured
- * alias for all alias-selection methods, while delegating certificate and key retrieval
- * to the wrapped manager.
+ * This decorator wraps an existing {@link X509ExtendedKeyManager} and picks the alias
+ * itself in the {@code choose*Alias} methods: the per-host alias when the peer host
+ * has one, else the configured default alias, else whatever the wrapped manager
+ * chooses.  Alias listing, certificate and key retrieval are delegated to the
+ * wrapped manager.
+ * <p>
+ * With a host map the alias is chosen per peer: the handshake's peer host (the
+ * SNI name the client sends) is looked up as {@code host:port}, then as
+ * {@code host}, ignoring case.  Hosts without an entry get the default alias,
+ * or the wrapped manager's own choice when there is none.  Since Reactor
+ * Netty pools connections per remote host and port, every pooled connection
+ * to a host carries that host's identity, and one client serves many mTLS
+ * identities without connections crossing between them.
  */
 public class AliasSelectingX509KeyManager extends X509ExtendedKeyManager {
 
     private final X509ExtendedKeyManager delegate;
     private final String alias;
+    private final Map<String, String> hostAliases;
 
     public AliasSelectingX509KeyManager(X509ExtendedKeyManager delegate, String alias) {
+        this(delegate, alias, Map.of());
+    }
+
+    /**
+     * @param alias       alias for hosts without an entry in {@code hostAliases},
+     *                    or {@code null} to let {@code delegate} choose
+     * @param hostAliases alias per {@code host:port} or {@code host}
+     */
+    public AliasSelectingX509KeyManager(X509ExtendedKeyManager delegate, String alias,
+                                        Map<String, String> hostAliases) {
         this.delegate = delegate;
         this.alias = alias;
+        this.hostAliases = new LinkedHashMap<>();
+        hostAliases.forEach((host, hostAlias) -> this.hostAliases.put(host.toLowerCase(), hostAlias));
+    }
+
+    /**
+     * Returns every alias this manager may select, for checking them against the keystore.
+     */
+    public Set<String> getAliases() {
+        Set<String> aliases = new LinkedHashSet<>(hostAliases.values());
+        if (alias != null) {
+            aliases.add(alias);
+        }
+        return aliases;
     }
 
     @Override
     public String chooseClientAlias(String[] keyType, Principal[] issuers, Socket socket) {
-        return alias;
+        String selected = aliasFor(socket);
+        return selected != null ? selected : delegate.chooseClientAlias(keyType, issuers, socket);
     }
 
     @Override
     public String chooseServerAlias(String keyType, Principal[] issuers, Socket socket) {
-        return alias;
+        String selected = aliasFor(socket);
+        return selected != null ? selected : delegate.chooseServerAlias(keyType, issuers, socket);
     }
 
     @Override
     public String chooseEngineClientAlias(String[] keyType, Principal[] issuers, SSLEngine engine) {
-        return alias;
+        String selected = aliasFor(engine);
+        return selected != null ? selected : delegate.chooseEngineClientAlias(keyType, issuers, engine);
     }
 
     @Override
     public String chooseEngineServerAlias(String keyType, Principal[] issuers, SSLEngine engine) {
-        return alias;
+        String selected = aliasFor(engine);
+        return selected != null ? selected : delegate.chooseEngineServerAlias(keyType, issuers, engine);
     }
 
     @Override
@@ -64,4 +108,32 @@ public class AliasSelectingX509KeyManager extends X509ExtendedKeyManager {
     public String[] getServerAliases(String keyType, Principal[] issuers) {
         return delegate.getServerAliases(keyType, issuers);
     }
+
+    private String aliasFor(SSLEngine engine) {
+        return engine != null ? aliasFor(engine.getPeerHost(), engine.getPeerPort()) : alias;
+    }
+
+    private String aliasFor(Socket socket) {
+        if (socket instanceof SSLSocket sslSocket) {
+            SSLSession session = sslSocket.getHandshakeSession();
+            if (session != null) {
+                return aliasFor(session.getPeerHost(), session.getPeerPort());
+            }
+        }
+        return alias;
+    }
+
+    private String aliasFor(String peerHost, int peerPort) {
+        if (peerHost != null && !hostAliases.isEmpty()) {
+            String host = peerHost.toLowerCase();
+            String selected = hostAliases.get(host + ":" + peerPort);
+            if (selected == null) {
+                selected = hostAliases.get(host);
+            }
+            if (selected != null) {
+                return selected;
+            }
+        }
+        return alias;
+    }
 }
@@ -0,0 +1,132 @@
+package com.webclient.lib.ssl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Watches keystore and truststore files and reports the ones whose content
+ * changed.
+ * <p>
+ * The directories holding the files are watched rather than the files
+ * themselves, so replacing a file by a rename or by swapping a symlink (as
+ * Kubernetes does for mounted secrets) is seen as well as rewriting it in
+ * place.  After the first event the watcher waits until the directories have
+ * been quiet for {@code quietPeriod}, then compares a SHA-256 digest of each
+ * file with the last one it saw; a file that is missing or unreadable at that
+ * point is left for the next event, so a half-finished copy is not reported.
+ * <p>
+ * Runs on a single daemon thread, which also calls {@code onChange}.
+ */
+public class KeyStoreWatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyStoreWatcher.class);
+
+    private final WatchService watchService;
+    private final Map<Path, byte[]> fingerprints = new LinkedHashMap<>();
+    private final Duration quietPeriod;
+    private final Consumer<Path> onChange;
+    private final Thread thread;
+
+    /**
+     * Starts watching {@code files}.
+     *
+     * @param onChange called with the absolute, normalized path of each file whose content changed
+     */
+    public KeyStoreWatcher(Collection<Path> files, Duration quietPeriod, Consumer<Path> onChange) throws IOException {
+        this.quietPeriod = quietPeriod;
+        this.onChange = onChange;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        Set<Path> directories = new HashSet<>();
+        try {
+            for (Path file : files) {
+                Path absolute = file.toAbsolutePath().normalize();
+                fingerprints.put(absolute, fingerprint(absolute));
+                if (directories.add(absolute.getParent())) {
+                    absolute.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+        this.thread = Thread.ofPlatform().daemon().name("webclient-ssl-watcher").start(this::run);
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                drain(watchService.take());
+                WatchKey next;
+                while ((next = watchService.poll(quietPeriod.toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    drain(next);
+                }
+                checkFiles();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private static void drain(WatchKey key) {
+        key.pollEvents();
+        key.reset();
+    }
+
+    private void checkFiles() {
+        for (Map.Entry<Path, byte[]> entry : fingerprints.entrySet()) {
+            byte[] current = fingerprint(entry.getKey());
+            if (current == null || Arrays.equals(current, entry.getValue())) {
+                continue;
+            }
+            entry.setValue(current);
+            try {
+                onChange.accept(entry.getKey());
+            } catch (RuntimeException e) {
+                log.warn("Handling the change of {} failed", entry.getKey(), e);
+            }
+        }
+    }
+
+    private static byte[] fingerprint(Path file) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(file));
+        } catch (IOException e) {
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.debug("Closing the keystore watch service failed", e);
+        }
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,79 @@
+package com.webclient.lib.ssl;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.X509ExtendedKeyManager;
+import java.net.Socket;
+import java.security.Principal;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+
+/**
+ * An {@link X509ExtendedKeyManager} whose delegate can be replaced at run
+ * time, so the SSL context built on it presents a rotated client
+ * certificate on new handshakes without being rebuilt.  Connections that
+ * already completed their handshake keep the certificate they presented.
+ * <p>
+ * Every method reads the current delegate; a handshake running while the
+ * delegate is swapped may select its alias from the old key manager and
+ * read the key from the new one, which is harmless as long as rotated
+ * keystores keep their aliases.
+ */
+public class ReloadingX509KeyManager extends X509ExtendedKeyManager {
+
+    private volatile X509ExtendedKeyManager delegate;
+
+    public ReloadingX509KeyManager(X509ExtendedKeyManager delegate) {
+        this.delegate = delegate;
+    }
+
+    public X509ExtendedKeyManager getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Makes {@code delegate} the key manager of all handshakes started from now on.
+     */
+    public void setDelegate(X509ExtendedKeyManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String chooseClientAlias(String[] keyType, Principal[] issuers, Socket socket) {
+        return delegate.chooseClientAlias(keyType, issuers, socket);
+    }
+
+    @Override
+    public String chooseServerAlias(String keyType, Principal[] issuers, Socket socket) {
+        return delegate.chooseServerAlias(keyType, issuers, socket);
+    }
+
+    @Override
+    public String chooseEngineClientAlias(String[] keyType, Principal[] issuers, SSLEngine engine) {
+        return delegate.chooseEngineClientAlias(keyType, issuers, engine);
+    }
+
+    @Override
+    public String chooseEngineServerAlias(String keyType, Principal[] issuers, SSLEngine engine) {
+        return delegate.chooseEngineServerAlias(keyType, issuers, engine);
+    }
+
+    @Override
+    public X509Certificate[] getCertificateChain(String alias) {
+        return delegate.getCertificateChain(alias);
+    }
+
+    @Override
+    public PrivateKey getPrivateKey(String alias) {
+        return delegate.getPrivateKey(alias);
+    }
+
+    @Override
+    public String[] getClientAliases(String keyType, Principal[] issuers) {
+        return delegate.getClientAliases(keyType, issuers);
+    }
+
+    @Override
+    public String[] getServerAliases(String keyType, Principal[] issuers) {
+        return delegate.getServerAliases(keyType, issuers);
+    }
+}
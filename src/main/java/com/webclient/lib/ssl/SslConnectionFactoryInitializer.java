@@ -1,93 +1,302 @@
 package com.webclient.lib.ssl;
 
 import com.webclient.lib.config.HttpClientProperties;
-import io.netty.handler.ssl.ClientAuth;
-import io.netty.handler.ssl.IdentityCipherSuiteFilter;
-import io.netty.handler.ssl.JdkSslContext;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.OpenSsl;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.KeyManagerFactory;
-import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509ExtendedKeyManager;
+import javax.net.ssl.X509ExtendedTrustManager;
 import java.io.FileInputStream;
+import java.nio.file.Path;
 import java.security.KeyStore;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Initializes SSL context for the HTTP client connection factory.
  * All keystore, truststore, and TLS configuration is encapsulated here.
+ * <p>
+ * The context is built on the OpenSSL provider (netty-tcnative, e.g.
+ * {@code netty-tcnative-boringssl-static}) when it is available and
+ * {@code ssl.provider} allows it, otherwise on the JDK provider.  Both keep
+ * a client session cache keyed by host and port, so a new connection to a
+ * host resumes an earlier session (TLS 1.3 PSK or TLS 1.2 session ticket or
+ * ID) with an abbreviated handshake whenever the server allows it.
+ * <p>
+ * With {@code ssl.reload-on-change} the keystore and truststore are watched
+ * and the contexts are built on {@link ReloadingX509KeyManager} and
+ * {@link ReloadingX509TrustManager}, which are swapped to the new material
+ * when a store changes, and the client session caches are cleared so new
+ * connections handshake in full with the new certificates.  Pooled
+ * connections keep serving on the session they established; a store that
+ * fails to load leaves the previous one in use.  Every attempt is
+ * reported to the {@link SslReloadListener}s.
  */
-public class SslConnectionFactoryInitializer {
+public class SslConnectionFactoryInitializer implements AutoCloseable {
 
+    private static final Logger log = LoggerFactory.getLogger(SslConnectionFactoryInitializer.class);
+
+    private final List<SslReloadListener> reloadListeners = new CopyOnWriteArrayList<>();
+    private final List<SslContext> reloadingContexts = new CopyOnWriteArrayList<>();
     private HttpClientProperties properties;
+    private ReloadingX509KeyManager reloadingKeyManager;
+    private ReloadingX509TrustManager reloadingTrustManager;
+    private Path keystoreFile;
+    private Path truststoreFile;
+    private KeyStoreWatcher watcher;
+    private boolean reloading;
 
     @Autowired
     public void setProperties(HttpClientProperties properties) {
         this.properties = properties;
     }
 
+    public void addReloadListener(SslReloadListener listener) {
+        reloadListeners.add(listener);
+    }
+
     /**
      * Creates a Netty {@link SslContext} based on the configured SSL properties.
      *
      * @return configured SslContext, or {@code null} if SSL is not enabled
      */
     public SslContext createSslContext() {
+        return createSslContext(false);
+    }
+
+    /**
+     * Creates a Netty {@link SslContext} based on the configured SSL properties,
+     * optionally offering HTTP/2 through ALPN.
+     *
+     * @param http2 whether to offer {@code h2} ahead of {@code http/1.1} during
+     *              the handshake; a server that selects neither, or does not
+     *              support ALPN, is spoken to over HTTP/1.1
+     * @return configured SslContext, or {@code null} if SSL is not enabled
+     */
+    public SslContext createSslContext(boolean http2) {
         HttpClientProperties.Ssl ssl = properties.getSsl();
+        ApplicationProtocolConfig alpn = http2 ? http2Alpn() : null;
 
         if (!ssl.isEnabled()) {
             return null;
         }
 
+        SslProvider provider = sslProvider(ssl.getProvider());
         try {
+            SslContextBuilder builder = SslContextBuilder.forClient()
+                    .sslProvider(provider)
+                    .protocols(protocols(ssl))
+                    .applicationProtocolConfig(alpn);
+            if (ssl.getSessionCacheSize() != null) {
+                builder.sessionCacheSize(ssl.getSessionCacheSize());
+            }
+            if (ssl.getSessionTimeoutSeconds() != null) {
+                builder.sessionTimeout(ssl.getSessionTimeoutSeconds());
+            }
+
             if (ssl.isBypassVerification()) {
-                return SslContextBuilder.forClient()
-                        .trustManager(InsecureTrustManagerFactory.INSTANCE)
-                        .protocols(ssl.getTlsProtocol())
-                        .build();
+                return builder.trustManager(InsecureTrustManagerFactory.INSTANCE).build();
             }
 
-            KeyManagerFactory kmf = buildKeyManagerFactory(ssl);
-            TrustManagerFactory tmf = buildTrustManagerFactory(ssl);
+            if (ssl.isReloadOnChange()) {
+                startReloading(ssl);
+                if (reloadingKeyManager != null) {
+                    builder.keyManager(reloadingKeyManager);
+                }
+                if (reloadingTrustManager != null) {
+                    builder.trustManager(reloadingTrustManager);
+                }
+                SslContext context = builder.build();
+                reloadingContexts.add(context);
+                return context;
+            }
 
-            KeyManager[] keyManagers = resolveKeyManagers(kmf, ssl);
-            TrustManager[] trustManagers = tmf != null ? tmf.getTrustManagers() : null;
-
-            SSLContext jdkSslContext = SSLContext.getInstance(ssl.getTlsProtocol());
-            jdkSslContext.init(keyManagers, trustManagers, null);
-
-            return new JdkSslContext(
-                    jdkSslContext,
-                    true,
-                    null,
-                    IdentityCipherSuiteFilter.INSTANCE,
-                    null,
-                    ClientAuth.NONE,
-                    new String[]{ssl.getTlsProtocol()},
-                    false
-            );
+            X509ExtendedKeyManager keyManager = resolveKeyManager(buildKeyManagerFactory(ssl), ssl);
+            if (keyManager != null) {
+                builder.keyManager(keyManager);
+            }
+            TrustManagerFactory tmf = buildTrustManagerFactory(ssl);
+            if (tmf != null) {
+                builder.trustManager(tmf);
+            }
+            return builder.build();
         } catch (Exception e) {
             throw new SslInitializationException("Failed to create SSL context", e);
         }
     }
 
-    private KeyManager[] resolveKeyManagers(KeyManagerFactory kmf, HttpClientProperties.Ssl ssl) {
+    /**
+     * Stops watching the keystore and truststore.
+     */
+    @Override
+    public synchronized void close() {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    /**
+     * Loads the stores into reloading managers and starts watching them, once;
+     * every context created afterwards shares the same managers.
+     */
+    private synchronized void startReloading(HttpClientProperties.Ssl ssl) throws Exception {
+        if (reloading) {
+            return;
+        }
+        X509ExtendedKeyManager keyManager = resolveKeyManager(buildKeyManagerFactory(ssl), ssl);
+        TrustManagerFactory tmf = buildTrustManagerFactory(ssl);
+        List<Path> files = new ArrayList<>();
+        if (keyManager != null) {
+            reloadingKeyManager = new ReloadingX509KeyManager(keyManager);
+            keystoreFile = Path.of(ssl.getKeystorePath()).toAbsolutePath().normalize();
+            files.add(keystoreFile);
+        }
+        if (tmf != null) {
+            reloadingTrustManager = new ReloadingX509TrustManager(findX509TrustManager(tmf));
+            truststoreFile = Path.of(ssl.getTruststorePath()).toAbsolutePath().normalize();
+            files.add(truststoreFile);
+        }
+        if (!files.isEmpty()) {
+            watcher = new KeyStoreWatcher(files, Duration.ofMillis(ssl.getReloadQuietPeriodMs()), this::reload);
+            log.info("Watching {} for changes", files);
+        }
+        reloading = true;
+    }
+
+    private void reload(Path file) {
+        HttpClientProperties.Ssl ssl = properties.getSsl();
+        if (file.equals(keystoreFile)) {
+            reload(SslReloadEvent.Store.KEYSTORE, file, () -> {
+                reloadingKeyManager.setDelegate(resolveKeyManager(buildKeyManagerFactory(ssl), ssl));
+            });
+        }
+        if (file.equals(truststoreFile)) {
+            reload(SslReloadEvent.Store.TRUSTSTORE, file,
+                    () -> reloadingTrustManager.setDelegate(findX509TrustManager(buildTrustManagerFactory(ssl))));
+        }
+    }
+
+    private void reload(SslReloadEvent.Store store, Path file, StoreLoader loader) {
+        SslReloadEvent event;
+        try {
+            loader.load();
+            invalidateSessions();
+            log.info("Reloaded {} {}", store.name().toLowerCase(), file);
+            event = new SslReloadEvent(store, file, null, Instant.now());
+        } catch (Exception e) {
+            log.warn("Failed to reload {} {}, keeping the previous one", store.name().toLowerCase(), file, e);
+            event = new SslReloadEvent(store, file, e, Instant.now());
+        }
+        for (SslReloadListener listener : reloadListeners) {
+            try {
+                listener.onReload(event);
+            } catch (RuntimeException e) {
+                log.warn("SSL reload listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Drops the cached sessions of every context on the reloading managers,
+     * so the next connection to a host handshakes in full with the new
+     * material instead of resuming a session established with the old one.
+     */
+    private void invalidateSessions() {
+        for (SslContext context : reloadingContexts) {
+            SSLSessionContext sessions = context.sessionContext();
+            for (Enumeration<byte[]> ids = sessions.getIds(); ids.hasMoreElements(); ) {
+                SSLSession session = sessions.getSession(ids.nextElement());
+                if (session != null) {
+                    session.invalidate();
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface StoreLoader {
+
+        void load() throws Exception;
+    }
+
+    /**
+     * Returns the provider selected by {@code ssl.provider}.
+     *
+     * @throws SslInitializationException for {@code openssl} without netty-tcnative, or an unknown value
+     */
+    public static SslProvider sslProvider(String provider) {
+        return switch (provider.toLowerCase()) {
+            case "auto" -> OpenSsl.isAvailable() ? SslProvider.OPENSSL : SslProvider.JDK;
+            case "jdk" -> SslProvider.JDK;
+            case "openssl" -> {
+                if (!OpenSsl.isAvailable()) {
+                    throw new SslInitializationException("webclient.http.ssl.provider is 'openssl' but OpenSSL is not"
+                            + " available; add io.netty:netty-tcnative-boringssl-static", OpenSsl.unavailabilityCause());
+                }
+                yield SslProvider.OPENSSL;
+            }
+            default -> throw new SslInitializationException(
+                    "webclient.http.ssl.provider must be 'auto', 'jdk' or 'openssl', was '" + provider + "'");
+        };
+    }
+
+    private static String[] protocols(HttpClientProperties.Ssl ssl) {
+        if (ssl.getTlsProtocol() != null && !ssl.getTlsProtocol().isBlank()) {
+            return new String[]{ssl.getTlsProtocol()};
+        }
+        if (ssl.getProtocols() == null || ssl.getProtocols().isEmpty()) {
+            throw new SslInitializationException("webclient.http.ssl.protocols must not be empty");
+        }
+        return ssl.getProtocols().toArray(String[]::new);
+    }
+
+    private static ApplicationProtocolConfig http2Alpn() {
+        return new ApplicationProtocolConfig(
+                ApplicationProtocolConfig.Protocol.ALPN,
+                ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                ApplicationProtocolNames.HTTP_2,
+                ApplicationProtocolNames.HTTP_1_1);
+    }
+
+    private X509ExtendedKeyManager resolveKeyManager(KeyManagerFactory kmf, HttpClientProperties.Ssl ssl) {
         if (kmf == null) {
             return null;
         }
 
-        if (ssl.getKeyAliasName() != null && !ssl.getKeyAliasName().isBlank()) {
-            X509ExtendedKeyManager defaultKeyManager = findX509KeyManager(kmf);
-            return new KeyManager[]{
-                    new AliasSelectingX509KeyManager(defaultKeyManager, ssl.getKeyAliasName())
-            };
+        X509ExtendedKeyManager defaultKeyManager = findX509KeyManager(kmf);
+        boolean hasAlias = ssl.getKeyAliasName() != null && !ssl.getKeyAliasName().isBlank();
+        if (!hasAlias && ssl.getHostKeyAliases().isEmpty()) {
+            return defaultKeyManager;
         }
 
-        return kmf.getKeyManagers();
+        AliasSelectingX509KeyManager keyManager = new AliasSelectingX509KeyManager(
+                defaultKeyManager, hasAlias ? ssl.getKeyAliasName() : null, ssl.getHostKeyAliases());
+        for (String alias : keyManager.getAliases()) {
+            if (defaultKeyManager.getCertificateChain(alias) == null) {
+                throw new SslInitializationException("Keystore " + ssl.getKeystorePath()
+                        + " has no key entry for alias '" + alias + "'");
+            }
+        }
+        return keyManager;
     }
 
     private X509ExtendedKeyManager findX509KeyManager(KeyManagerFactory kmf) {
@@ -100,6 +309,16 @@ public class SslConnectionFactoryInitializer {
                 "No X509ExtendedKeyManager found in KeyManagerFactory");
     }
 
+    private X509ExtendedTrustManager findX509TrustManager(TrustManagerFactory tmf) {
+        for (TrustManager tm : tmf.getTrustManagers()) {
+            if (tm instanceof X509ExtendedTrustManager) {
+                return (X509ExtendedTrustManager) tm;
+            }
+        }
+        throw new SslInitializationException(
+                "No X509ExtendedTrustManager found in TrustManagerFactory");
+    }
+
     private KeyManagerFactory buildKeyManagerFactory(HttpClientProperties.Ssl ssl) throws Exception {
         if (ssl.getKeystorePath() == null || ssl.getKeystorePath().isBlank()) {
             return null;
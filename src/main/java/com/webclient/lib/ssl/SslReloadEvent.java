@@ -0,0 +1,25 @@
+package com.webclient.lib.ssl;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * A watched keystore or truststore changed on disk and was reloaded, or
+ * failed to load (in which case the previous one stays in use).
+ *
+ * @param store     which store changed
+ * @param path      the store's file
+ * @param error     why loading failed, or {@code null} on success
+ * @param timestamp when the reload was attempted
+ */
+public record SslReloadEvent(Store store, Path path, Throwable error, Instant timestamp) {
+
+    public enum Store {
+        KEYSTORE,
+        TRUSTSTORE
+    }
+
+    public boolean success() {
+        return error == null;
+    }
+}
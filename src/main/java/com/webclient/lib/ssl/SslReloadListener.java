@@ -0,0 +1,15 @@
+package com.webclient.lib.ssl;
+
+/**
+ * Receives the keystore and truststore reloads of
+ * {@link SslConnectionFactoryInitializer} when
+ * {@code webclient.http.ssl.reload-on-change} is enabled.  Beans of this
+ * type are registered automatically.
+ * <p>
+ * Called on the file-watcher thread, one reload at a time.
+ */
+@FunctionalInterface
+public interface SslReloadListener {
+
+    void onReload(SslReloadEvent event);
+}
@@ -0,0 +1,35 @@
+package com.webclient.lib.util;
+
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Keys that identify a downstream, shared by the per-downstream resilience
+ * features (circuit breakers, concurrency limits).
+ */
+public final class DownstreamKeys {
+
+    private DownstreamKeys() {
+    }
+
+    /**
+     * Returns {@code lb://service} for a load-balanced request, whose
+     * replicas share one key, and {@link #byHost} of {@code url} otherwise.
+     */
+    public static String byHostOrService(String url, String service) {
+        return service != null ? "lb://" + service : byHost(url);
+    }
+
+    /**
+     * Returns {@code scheme://host:port} of {@code url}, with the default
+     * port filled in for {@code http} and {@code https}.
+     */
+    public static String byHost(String url) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(url).build();
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+    }
+}
@@ -0,0 +1,184 @@
+package com.webclient.lib.warmup;
+
+import com.webclient.lib.balancer.LoadBalancer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelId;
+import io.netty.handler.codec.http.HttpMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Opens pooled connections to a set of hosts ahead of real traffic, so the
+ * first requests after a deploy or scale-out do not pay for DNS, TCP and TLS.
+ * <p>
+ * Reactor Netty only adds a connection to the pool for a request, so each
+ * connection is opened by a probe request ({@code HEAD /} by default) sent
+ * through the shared client.  A probe holds its connection, by not finishing
+ * its (empty) body, until every probe to the host has one; otherwise a fast
+ * probe would hand its connection to the next one and fewer would be opened.
+ * Any response status counts: the connection, with its TLS session, is what
+ * is warmed.
+ * <p>
+ * A run tops every host back up to its count: connections still idle in the
+ * pool are reused and only the missing ones are opened, so {@link #warmUp()}
+ * can be called again whenever the pool may have idled out, or periodically
+ * with {@link #rewarmEvery(Duration)}.  Targets are read on every run, so
+ * replicas added to a load-balanced service are warmed on the next one.
+ */
+public class ConnectionWarmer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionWarmer.class);
+
+    private final HttpClient client;
+    private final Supplier<Map<String, Integer>> targets;
+    private final HttpMethod probeMethod;
+    private final String probePath;
+    private final Duration timeout;
+
+    private volatile WarmupResult lastResult;
+    private volatile Disposable rewarming;
+
+    /**
+     * @param client      the client whose pool is warmed
+     * @param targets     base URL ({@code scheme://host[:port]}) of each host, with the connections to open to it
+     * @param probeMethod method of the probe requests
+     * @param probePath   path of the probe requests
+     * @param timeout     limit on a whole run; probes still waiting then are cancelled
+     */
+    public ConnectionWarmer(HttpClient client, Supplier<Map<String, Integer>> targets, HttpMethod probeMethod,
+                            String probePath, Duration timeout) {
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        this.client = client;
+        this.targets = targets;
+        this.probeMethod = probeMethod;
+        this.probePath = probePath;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Warms every target host concurrently.  Never fails: probes that get no
+     * connection or no response are counted in {@link WarmupResult#failed()}.
+     */
+    public Mono<WarmupResult> warmUp() {
+        return Mono.defer(() -> {
+            Map<String, Integer> hosts = targets.get();
+            Run run = new Run();
+            long start = System.nanoTime();
+            // loads the event loops, resolver and TLS provider before the first connect
+            return client.warmup()
+                    .thenMany(Flux.fromIterable(hosts.entrySet()))
+                    .flatMap(host -> warmUp(host.getKey(), host.getValue(), run))
+                    .then()
+                    .timeout(timeout, Mono.fromRunnable(() ->
+                            log.warn("Connection warm-up timed out after {} ms", timeout.toMillis())))
+                    .then(Mono.fromSupplier(() -> new WarmupResult(Duration.ofNanos(System.nanoTime() - start),
+                            hosts.size(), hosts.values().stream().mapToInt(Integer::intValue).sum(),
+                            run.established.intValue(), run.failed.intValue())))
+                    .doOnNext(result -> {
+                        lastResult = result;
+                        log.info("Warmed up {} of {} connections to {} hosts in {} ms ({} probes failed)",
+                                result.established(), result.requested(), result.hosts(),
+                                result.duration().toMillis(), result.failed());
+                    });
+        });
+    }
+
+    /**
+     * Re-runs {@link #warmUp()} every {@code interval} until {@link #close()}.
+     * An interval below the pool's max idle time keeps the warmed connections
+     * from being evicted.
+     */
+    public synchronized void rewarmEvery(Duration interval) {
+        if (rewarming != null) {
+            rewarming.dispose();
+        }
+        rewarming = Flux.interval(interval, interval)
+                .concatMap(tick -> warmUp())
+                .subscribe();
+    }
+
+    /**
+     * Returns the result of the last completed run, or {@code null} before the first.
+     */
+    public WarmupResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Stops periodic re-warming.
+     */
+    @Override
+    public synchronized void close() {
+        if (rewarming != null) {
+            rewarming.dispose();
+            rewarming = null;
+        }
+    }
+
+    private Mono<Void> warmUp(String baseUrl, int connections, Run run) {
+        String uri = LoadBalancer.resolve(baseUrl, probePath);
+        Sinks.Empty<Void> allConnected = Sinks.empty();
+        AtomicInteger waiting = new AtomicInteger(connections);
+        Set<ChannelId> channels = ConcurrentHashMap.newKeySet();
+
+        return Flux.range(0, connections)
+                .flatMap(i -> {
+                    AtomicBoolean counted = new AtomicBoolean();
+                    Runnable connected = () -> {
+                        if (counted.compareAndSet(false, true) && waiting.decrementAndGet() == 0) {
+                            allConnected.tryEmitEmpty();
+                        }
+                    };
+                    return client.request(probeMethod)
+                            .uri(uri)
+                            .send((request, outbound) -> {
+                                outbound.withConnection(connection -> channels.add(connectionOf(connection.channel()).id()));
+                                connected.run();
+                                return allConnected.asMono();
+                            })
+                            .response()
+                            .then()
+                            .onErrorResume(e -> {
+                                run.failed.increment();
+                                log.debug("Warm-up probe to {} failed: {}", uri, e.toString());
+                                return Mono.empty();
+                            })
+                            // a probe that failed before connecting must not hold the others back
+                            .doFinally(signal -> connected.run());
+                }, connections)
+                .then()
+                .doFinally(signal -> {
+                    run.established.add(channels.size());
+                    log.debug("Warmed up {} of {} connections to {}", channels.size(), connections, baseUrl);
+                });
+    }
+
+    /**
+     * Returns the TCP connection of {@code channel}; an HTTP/2 request runs
+     * on a stream channel whose parent is the connection.
+     */
+    private static Channel connectionOf(Channel channel) {
+        return channel.parent() != null ? channel.parent() : channel;
+    }
+
+    private static final class Run {
+        final LongAdder established = new LongAdder();
+        final LongAdder failed = new LongAdder();
+    }
+}
@@ -0,0 +1,16 @@
+package com.webclient.lib.warmup;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one warm-up run of a {@link ConnectionWarmer}.
+ *
+ * @param duration    time from the start of the run until every probe finished or the timeout
+ * @param hosts       hosts warmed up
+ * @param requested   connections asked for, over all hosts
+ * @param established distinct connections the probes ran on; pooled connections that were
+ *                    still open count as well as new ones
+ * @param failed      probes that did not get a connection or a response
+ */
+public record WarmupResult(Duration duration, int hosts, int requested, int established, int failed) {
+}
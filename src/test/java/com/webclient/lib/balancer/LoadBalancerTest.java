@@ -0,0 +1,171 @@
+package com.webclient.lib.balancer;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadBalancerTest {
+
+    private static final String A = "http://a:8080";
+    private static final String B = "http://b:8080";
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void choose_prefersTheFasterReplica() {
+        LoadBalancer balancer = balancer(A, B);
+        sample(balancer, A, Duration.ofMillis(10));
+        sample(balancer, B, Duration.ofMillis(200));
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(A, balancer.choose(null).getUrl());
+        }
+    }
+
+    @Test
+    void choose_weighsLatencyByCallsInFlight() {
+        LoadBalancer balancer = balancer(A, B);
+        sample(balancer, A, Duration.ofMillis(10));
+        sample(balancer, B, Duration.ofMillis(30));
+
+        Endpoint a = balancer.choose(null);
+        assertEquals(A, a.getUrl());
+        a.start();
+        a.start();
+        a.start();
+
+        assertEquals(B, balancer.choose(null).getUrl());
+    }
+
+    @Test
+    void choose_slowSampleIsForgottenOverTime() {
+        LoadBalancer balancer = balancer(A, B);
+        sample(balancer, A, Duration.ofMillis(200));
+        sample(balancer, B, Duration.ofMillis(50));
+        assertEquals(B, balancer.choose(null).getUrl());
+
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        sample(balancer, A, Duration.ofMillis(10));
+
+        assertEquals(A, balancer.choose(null).getUrl());
+    }
+
+    @Test
+    void execute_failedReplicaIsAvoidedOnRetry() {
+        LoadBalancer balancer = balancer(A, B);
+        Set<String> avoid = new HashSet<>();
+        List<String> called = new ArrayList<>();
+
+        StepVerifier.create(balancer.execute(url -> {
+                    called.add(url);
+                    return Mono.<String>error(new IllegalStateException("unavailable"));
+                }, e -> true, avoid))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        StepVerifier.create(balancer.execute(url -> {
+                    called.add(url);
+                    return Mono.just(url);
+                }, e -> true, avoid))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(2, called.size());
+        assertEquals(Set.of(called.get(0)), avoid);
+        assertTrue(!called.get(0).equals(called.get(1)));
+        assertEquals(1, balancer.getStats().get(called.get(0)).failures());
+        assertEquals(0, balancer.getStats().get(called.get(1)).inFlight());
+    }
+
+    @Test
+    void execute_nonRetriableErrorDoesNotMarkReplica() {
+        LoadBalancer balancer = balancer(A, B);
+        Set<String> avoid = new HashSet<>();
+
+        StepVerifier.create(balancer.execute(url -> Mono.error(new IllegalArgumentException("bad request")),
+                        e -> false, avoid))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        assertTrue(avoid.isEmpty());
+        assertEquals(0, balancer.getStats().values().stream().mapToLong(EndpointStats::failures).sum());
+    }
+
+    @Test
+    void choose_allReplicasAvoided_fallsBackToAll() {
+        LoadBalancer balancer = balancer(A, B);
+
+        String chosen = balancer.choose(Set.of(A, B)).getUrl();
+
+        assertTrue(chosen.equals(A) || chosen.equals(B));
+    }
+
+    @Test
+    void choose_noEndpoints_throws() {
+        LoadBalancer balancer = balancer();
+
+        assertThrows(IllegalStateException.class, () -> balancer.choose(null));
+    }
+
+    @Test
+    void executeBlocking_countsCallsAndFailures() {
+        LoadBalancer balancer = balancer(A);
+
+        assertEquals(A + "/x", balancer.executeBlocking(url -> url + "/x", e -> true, null));
+        assertThrows(IllegalStateException.class, () -> balancer.executeBlocking(url -> {
+            throw new IllegalStateException("unavailable");
+        }, e -> true, null));
+
+        EndpointStats stats = balancer.getStats().get(A);
+        assertEquals(2, stats.requests());
+        assertEquals(1, stats.failures());
+        assertEquals(0, stats.inFlight());
+        assertTrue(stats.ewmaLatencyMs() >= 1000, "failure penalty is charged");
+    }
+
+    @Test
+    void resolve_joinsBaseUrlAndPath() {
+        assertEquals("http://a:8080/orders", LoadBalancer.resolve("http://a:8080", "/orders"));
+        assertEquals("http://a:8080/orders", LoadBalancer.resolve("http://a:8080/", "/orders"));
+        assertEquals("http://a:8080/orders", LoadBalancer.resolve("http://a:8080", "orders"));
+    }
+
+    @Test
+    void registry_unknownService_throws() {
+        LoadBalancerRegistry registry = new LoadBalancerRegistry(Duration.ofSeconds(10), Duration.ofSeconds(1));
+        registry.register("orders", List.of(A, B));
+
+        assertEquals("orders", registry.get("orders").getService());
+        assertEquals(Set.of(A, B), registry.getStats().get("orders").keySet());
+        assertThrows(IllegalArgumentException.class, () -> registry.get("billing"));
+    }
+
+    private LoadBalancer balancer(String... urls) {
+        List<String> endpoints = List.of(urls);
+        return new LoadBalancer("orders", () -> endpoints, Duration.ofSeconds(10), Duration.ofSeconds(1), clock::get);
+    }
+
+    private void sample(LoadBalancer balancer, String url, Duration latency) {
+        Endpoint endpoint = balancer.choose(otherThan(url, balancer));
+        long start = endpoint.start();
+        clock.addAndGet(latency.toNanos());
+        endpoint.complete(start, false, true);
+    }
+
+    private static Set<String> otherThan(String url, LoadBalancer balancer) {
+        Set<String> others = new HashSet<>(balancer.getStats().keySet());
+        others.remove(url);
+        return others;
+    }
+}
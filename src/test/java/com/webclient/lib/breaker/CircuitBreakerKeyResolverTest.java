@@ -0,0 +1,42 @@
+package com.webclient.lib.breaker;
+
+import com.webclient.lib.model.RestServiceRequest;
+import com.webclient.lib.model.WebServiceRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CircuitBreakerKeyResolverTest {
+
+    @Test
+    void byHost_defaultPorts_areFilledIn() {
+        assertEquals("https://example.com:443", CircuitBreakerKeyResolver.byHost("https://example.com/a?b=c"));
+        assertEquals("http://example.com:80", CircuitBreakerKeyResolver.byHost("http://example.com/a"));
+    }
+
+    @Test
+    void byHost_explicitPort_isKept() {
+        assertEquals("http://example.com:8080", CircuitBreakerKeyResolver.byHost("http://example.com:8080/a"));
+    }
+
+    @Test
+    void defaultResolvers_ignorePath() {
+        WebServiceRequest<String> web = WebServiceRequest.<String>builder()
+                .url("https://example.com/users/1")
+                .responseType(String.class)
+                .build();
+        RestServiceRequest<String> rest = RestServiceRequest.<String>builder()
+                .url("https://example.com/orders/2")
+                .responseType(String.class)
+                .build();
+
+        assertEquals(CircuitBreakerKeyResolver.forWebRequests().resolve(web),
+                CircuitBreakerKeyResolver.forRestRequests().resolve(rest));
+    }
+
+    @Test
+    void byHostOrService_loadBalancedRequest_isKeyedByService() {
+        assertEquals("lb://orders", CircuitBreakerKeyResolver.byHostOrService("/orders/1", "orders"));
+        assertEquals("https://example.com:443", CircuitBreakerKeyResolver.byHostOrService("https://example.com/a", null));
+    }
+}
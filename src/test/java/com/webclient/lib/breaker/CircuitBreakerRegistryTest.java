@@ -0,0 +1,49 @@
+package com.webclient.lib.breaker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CircuitBreakerRegistryTest {
+
+    private final CircuitBreakerRegistry registry = new CircuitBreakerRegistry(CircuitBreakerConfig.defaults());
+
+    @Test
+    void get_sameKey_returnsSameBreaker() {
+        assertSame(registry.get("https://a:443"), registry.get("https://a:443"));
+        assertNotSame(registry.get("https://a:443"), registry.get("https://b:443"));
+    }
+
+    @Test
+    void addListener_receivesTransitions() {
+        List<CircuitBreakerEvent> events = new ArrayList<>();
+        registry.addListener(events::add);
+        registry.addListener(event -> {
+            throw new IllegalStateException("listener failure is isolated");
+        });
+
+        CircuitBreaker breaker = registry.get("https://a:443");
+        for (int i = 0; i < CircuitBreakerConfig.defaults().minimumNumberOfCalls(); i++) {
+            breaker.onResult(0, true);
+        }
+
+        assertEquals(1, events.size());
+        assertEquals("https://a:443", events.get(0).key());
+        assertEquals(CircuitBreaker.State.CLOSED, events.get(0).from());
+        assertEquals(CircuitBreaker.State.OPEN, events.get(0).to());
+    }
+
+    @Test
+    void getStats_coversEveryBreaker() {
+        registry.get("https://a:443").onResult(0, false);
+        registry.get("https://b:443");
+
+        assertEquals(2, registry.getStats().size());
+        assertEquals(1, registry.getStats().get("https://a:443").bufferedCalls());
+    }
+}
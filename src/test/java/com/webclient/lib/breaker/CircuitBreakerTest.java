@@ -0,0 +1,189 @@
+package com.webclient.lib.breaker;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final Predicate<Throwable> IO_FAILURES = IOException.class::isInstance;
+    private static final long MILLIS = 1_000_000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<CircuitBreakerEvent> events = new ArrayList<>();
+
+    private CircuitBreaker breaker(float slowCallRateThreshold) {
+        CircuitBreakerConfig config = new CircuitBreakerConfig(50, slowCallRateThreshold,
+                Duration.ofMillis(100), 4, 4, Duration.ofSeconds(1), 2);
+        return new CircuitBreaker("https://example.com:443", config, events::add, clock::get);
+    }
+
+    @Test
+    void onResult_belowMinimumCalls_staysClosed() {
+        CircuitBreaker breaker = breaker(100);
+
+        for (int i = 0; i < 3; i++) {
+            breaker.onResult(MILLIS, true);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void onResult_failureRateReached_opensAndRejects() {
+        CircuitBreaker breaker = breaker(100);
+
+        breaker.onResult(MILLIS, false);
+        breaker.onResult(MILLIS, false);
+        breaker.onResult(MILLIS, true);
+        breaker.onResult(MILLIS, true);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(1, breaker.getStats().notPermittedCalls());
+        assertEquals(List.of(CircuitBreaker.State.OPEN), events.stream().map(CircuitBreakerEvent::to).toList());
+    }
+
+    @Test
+    void onResult_slowCallRateReached_opens() {
+        CircuitBreaker breaker = breaker(50);
+
+        breaker.onResult(MILLIS, false);
+        breaker.onResult(MILLIS, false);
+        breaker.onResult(200 * MILLIS, false);
+        breaker.onResult(200 * MILLIS, false);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(50f, breaker.getStats().slowCallRate());
+    }
+
+    @Test
+    void onResult_windowSlides_oldFailuresDropOut() {
+        CircuitBreaker breaker = breaker(100);
+
+        breaker.onResult(MILLIS, true);
+        for (int i = 0; i < 4; i++) {
+            breaker.onResult(MILLIS, false);
+        }
+
+        CircuitBreakerStats stats = breaker.getStats();
+        assertEquals(4, stats.bufferedCalls());
+        assertEquals(0, stats.failedCalls());
+    }
+
+    @Test
+    void halfOpen_allProbesSucceed_closesWithEmptyWindow() {
+        CircuitBreaker breaker = openBreaker();
+
+        clock.addAndGet(1000 * MILLIS);
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+
+        breaker.onResult(MILLIS, false);
+        breaker.onResult(MILLIS, false);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getStats().bufferedCalls());
+        assertEquals(List.of(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN, CircuitBreaker.State.CLOSED),
+                events.stream().map(CircuitBreakerEvent::to).toList());
+    }
+
+    @Test
+    void halfOpen_probeFails_reopens() {
+        CircuitBreaker breaker = openBreaker();
+
+        clock.addAndGet(1000 * MILLIS);
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onResult(MILLIS, true);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void halfOpen_cancelledProbe_returnsPermit() {
+        CircuitBreaker breaker = openBreaker();
+
+        clock.addAndGet(1000 * MILLIS);
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onCancel(MILLIS);
+
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void executeMono_open_failsWithoutSubscribing() {
+        CircuitBreaker breaker = openBreaker();
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        StepVerifier.create(breaker.execute(Mono.just("ok").doOnSubscribe(s -> subscriptions.incrementAndGet()), IO_FAILURES))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+
+        assertEquals(0, subscriptions.get());
+    }
+
+    @Test
+    void executeMono_nonFailureError_recordedAsSuccess() {
+        CircuitBreaker breaker = breaker(100);
+
+        StepVerifier.create(breaker.execute(Mono.error(new IllegalArgumentException()), IO_FAILURES))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        CircuitBreakerStats stats = breaker.getStats();
+        assertEquals(1, stats.bufferedCalls());
+        assertEquals(0, stats.failedCalls());
+    }
+
+    @Test
+    void executeMono_cancelledAtTimeout_recordedAsFailure() {
+        CircuitBreaker breaker = breaker(100);
+        AtomicBoolean timedOut = new AtomicBoolean();
+
+        breaker.execute(Mono.never(), IO_FAILURES, timedOut::get).subscribe().dispose();
+        timedOut.set(true);
+        breaker.execute(Mono.never(), IO_FAILURES, timedOut::get).subscribe().dispose();
+
+        CircuitBreakerStats stats = breaker.getStats();
+        assertEquals(1, stats.bufferedCalls());
+        assertEquals(1, stats.failedCalls());
+    }
+
+    @Test
+    void executeSupplier_failure_recordedAndRethrown() {
+        CircuitBreaker breaker = breaker(100);
+
+        assertThrows(IllegalStateException.class, () -> breaker.execute(() -> {
+            throw new IllegalStateException("boom");
+        }, IllegalStateException.class::isInstance));
+
+        assertEquals(1, breaker.getStats().failedCalls());
+    }
+
+    private CircuitBreaker openBreaker() {
+        CircuitBreaker breaker = breaker(100);
+        for (int i = 0; i < 4; i++) {
+            breaker.onResult(MILLIS, true);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        return breaker;
+    }
+}
@@ -0,0 +1,62 @@
+package com.webclient.lib.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheDirectivesTest {
+
+    @Test
+    void parse_null_returnsNone() {
+        assertSame(CacheDirectives.NONE, CacheDirectives.parse(null));
+        assertSame(CacheDirectives.NONE, CacheDirectives.parse("  "));
+    }
+
+    @Test
+    void parse_readsAllSupportedDirectives() {
+        CacheDirectives directives = CacheDirectives.parse(
+                "public, max-age=60, s-maxage=\"120\", no-cache, no-store, must-revalidate");
+
+        assertTrue(directives.isPublic());
+        assertTrue(directives.isNoCache());
+        assertTrue(directives.isNoStore());
+        assertTrue(directives.isMustRevalidate());
+        assertEquals(60, directives.getMaxAge());
+        assertEquals(120, directives.getSMaxAge());
+    }
+
+    @Test
+    void parse_isCaseInsensitive() {
+        CacheDirectives directives = CacheDirectives.parse("No-Store, MAX-AGE=5");
+
+        assertTrue(directives.isNoStore());
+        assertEquals(5, directives.getMaxAge());
+    }
+
+    @Test
+    void parse_malformedSeconds_treatedAsAbsent() {
+        assertEquals(-1, CacheDirectives.parse("max-age=abc").getMaxAge());
+        assertEquals(-1, CacheDirectives.parse("max-age=-3").getMaxAge());
+        assertEquals(-1, CacheDirectives.parse("max-age").getMaxAge());
+    }
+
+    @Test
+    void parse_unknownDirectives_ignored() {
+        CacheDirectives directives = CacheDirectives.parse("private, immutable, max-age=10");
+
+        assertFalse(directives.isNoStore());
+        assertEquals(10, directives.getMaxAge());
+    }
+
+    @Test
+    void parse_readsRfc5861Directives() {
+        CacheDirectives directives = CacheDirectives.parse("max-age=60, stale-while-revalidate=30, stale-if-error=600");
+
+        assertEquals(30, directives.getStaleWhileRevalidate());
+        assertEquals(600, directives.getStaleIfError());
+        assertEquals(-1, CacheDirectives.parse("max-age=60").getStaleIfError());
+    }
+}
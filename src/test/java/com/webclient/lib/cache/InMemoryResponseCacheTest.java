@@ -0,0 +1,108 @@
+package com.webclient.lib.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InMemoryResponseCacheTest {
+
+    @Test
+    void constructor_invalidBounds_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryResponseCache(0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryResponseCache(10, 0));
+    }
+
+    @Test
+    void getAndPut_countHitsAndMisses() {
+        InMemoryResponseCache cache = new InMemoryResponseCache();
+        CachedResponse entry = entry(10);
+
+        assertNull(cache.get("a"));
+        cache.put("a", entry);
+        assertSame(entry, cache.get("a"));
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.entries());
+        assertEquals(10, stats.bytes());
+        assertEquals(0.5, stats.hitRatio());
+    }
+
+    @Test
+    void put_overEntryLimit_evictsLeastRecentlyUsed() {
+        InMemoryResponseCache cache = new InMemoryResponseCache(2, 1_000);
+        cache.put("a", entry(1));
+        cache.put("b", entry(1));
+        cache.get("a");
+
+        cache.put("c", entry(1));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(1, cache.getStats().evictions());
+    }
+
+    @Test
+    void put_overByteLimit_evictsUntilWithinBound() {
+        InMemoryResponseCache cache = new InMemoryResponseCache(100, 25);
+        cache.put("a", entry(10));
+        cache.put("b", entry(10));
+
+        cache.put("c", entry(10));
+
+        CacheStats stats = cache.getStats();
+        assertEquals(2, stats.entries());
+        assertEquals(20, stats.bytes());
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void put_replacingEntry_adjustsBytes() {
+        InMemoryResponseCache cache = new InMemoryResponseCache();
+        cache.put("a", entry(10));
+        cache.put("a", entry(4));
+
+        assertEquals(1, cache.getStats().entries());
+        assertEquals(4, cache.getStats().bytes());
+    }
+
+    @Test
+    void put_entryLargerThanMaxBytes_notStoredAndDropsPrevious() {
+        InMemoryResponseCache cache = new InMemoryResponseCache(10, 5);
+        cache.put("a", entry(3));
+
+        cache.put("a", entry(6));
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getStats().bytes());
+        assertEquals(0, cache.getStats().evictions());
+    }
+
+    @Test
+    void removeAndClear_releaseBytes() {
+        InMemoryResponseCache cache = new InMemoryResponseCache();
+        cache.put("a", entry(3));
+        cache.put("b", entry(4));
+
+        cache.remove("a");
+        assertEquals(4, cache.getStats().bytes());
+
+        cache.clear();
+        assertEquals(0, cache.getStats().entries());
+        assertEquals(0, cache.getStats().bytes());
+    }
+
+    private static CachedResponse entry(int bodySize) {
+        return new CachedResponse(200, new HttpHeaders(), ByteBuffer.allocate(bodySize), 0, Map.of());
+    }
+}
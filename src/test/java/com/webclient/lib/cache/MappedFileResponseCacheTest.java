@@ -0,0 +1,209 @@
+package com.webclient.lib.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedFileResponseCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void constructor_invalidSizes_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new MappedFileResponseCache(dir, 1024, 8));
+        assertThrows(IllegalArgumentException.class, () -> new MappedFileResponseCache(dir, 512, 1024));
+    }
+
+    @Test
+    void putAndGet_roundTripsEntryWithMappedBody() {
+        MappedFileResponseCache cache = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+
+        cache.put("GET https://example.com/a", entry("hello", "max-age=60"));
+        CachedResponse cached = cache.get("GET https://example.com/a");
+
+        assertNotNull(cached);
+        assertEquals(200, cached.getStatus());
+        assertEquals("max-age=60", cached.getHeaders().getCacheControl());
+        assertEquals(Map.of("accept-language", "en"), cached.getVaryValues());
+        assertEquals(1234, cached.getResponseTime());
+        assertEquals("hello", body(cached));
+        assertTrue(cached.getBody().isDirect());
+        assertEquals(1, cache.getStats().hits());
+    }
+
+    @Test
+    void reopen_restoresEntries() {
+        MappedFileResponseCache cache = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+        cache.put("a", entry("one", "max-age=60"));
+        cache.put("b", entry("two", "max-age=60"));
+        cache.put("a", entry("three", "max-age=60"));
+        cache.close();
+
+        MappedFileResponseCache reopened = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+
+        assertEquals("three", body(reopened.get("a")));
+        assertEquals("two", body(reopened.get("b")));
+        assertEquals(2, reopened.getStats().entries());
+        assertEquals(cache.getStats().bytes(), reopened.getStats().bytes());
+    }
+
+    @Test
+    void reopen_removedEntryStaysRemoved() {
+        MappedFileResponseCache cache = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+        cache.put("a", entry("one", "max-age=60"));
+        cache.remove("a");
+        cache.close();
+
+        assertNull(new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024).get("a"));
+    }
+
+    @Test
+    void reopen_appendsAfterExistingRecords() {
+        MappedFileResponseCache cache = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+        cache.put("a", entry("one", "max-age=60"));
+        cache.close();
+
+        MappedFileResponseCache reopened = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+        reopened.put("b", entry("two", "max-age=60"));
+        reopened.close();
+
+        MappedFileResponseCache third = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+        assertEquals("one", body(third.get("a")));
+        assertEquals("two", body(third.get("b")));
+    }
+
+    @Test
+    void reopen_tornRecordIsDropped() throws IOException {
+        MappedFileResponseCache cache = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+        cache.put("a", entry("one", "max-age=60"));
+        cache.put("b", entry("two", "max-age=60"));
+        cache.close();
+
+        Path segment = segments().get(0);
+        long secondRecord = cache.getStats().bytes() / 2;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7f}), secondRecord + 20);
+        }
+
+        MappedFileResponseCache reopened = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+        assertEquals("one", body(reopened.get("a")));
+        assertNull(reopened.get("b"));
+    }
+
+    @Test
+    void put_overMaxBytes_evictsOldestSegment() throws IOException {
+        MappedFileResponseCache cache = new MappedFileResponseCache(dir, 2 * 4096, 4096);
+        String body = "x".repeat(3000);
+
+        cache.put("a", entry(body, "max-age=60"));
+        cache.put("b", entry(body, "max-age=60"));
+        cache.put("c", entry(body, "max-age=60"));
+
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(1, cache.getStats().evictions());
+        assertEquals(2, segments().size());
+    }
+
+    @Test
+    void evict_bodiesObtainedBeforeStayReadable() {
+        MappedFileResponseCache cache = new MappedFileResponseCache(dir, 2 * 4096, 4096);
+        String body = "x".repeat(3000);
+        cache.put("a", entry(body, "max-age=60"));
+        CachedResponse held = cache.get("a");
+
+        cache.put("b", entry(body, "max-age=60"));
+        cache.put("c", entry(body, "max-age=60"));
+        cache.close();
+
+        assertNull(cache.get("a"));
+        assertEquals(body, body(held));
+    }
+
+    @Test
+    void put_entryLargerThanSegment_notStored() {
+        MappedFileResponseCache cache = new MappedFileResponseCache(dir, 8192, 4096);
+        cache.put("a", entry("small", "max-age=60"));
+
+        cache.put("a", entry("x".repeat(5000), "max-age=60"));
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getStats().entries());
+    }
+
+    @Test
+    void clear_deletesSegments() throws IOException {
+        MappedFileResponseCache cache = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+        cache.put("a", entry("one", "max-age=60"));
+
+        cache.clear();
+        cache.put("b", entry("two", "max-age=60"));
+
+        assertNull(cache.get("a"));
+        assertEquals("two", body(cache.get("b")));
+        assertEquals(1, segments().size());
+        assertEquals(1, cache.getStats().entries());
+    }
+
+    @Test
+    void store_returnsEntryWithMappedBody() {
+        MappedFileResponseCache cache = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+
+        CachedResponse stored = cache.store("a", entry("hello", "max-age=60"));
+
+        assertTrue(stored.getBody().isDirect());
+        assertEquals("hello", body(stored));
+        assertNull(cache.store("b", entry("x".repeat(20_000), "max-age=60")));
+    }
+
+    @Test
+    void close_stopsServingAndKeepsFilesForReopen() {
+        MappedFileResponseCache cache = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+        cache.put("a", entry("one", "max-age=60"));
+
+        cache.close();
+        cache.put("b", entry("two", "max-age=60"));
+
+        assertNull(cache.get("a"));
+        MappedFileResponseCache reopened = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+        assertEquals("one", body(reopened.get("a")));
+        assertNull(reopened.get("b"));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static CachedResponse entry(String body, String cacheControl) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(cacheControl);
+        headers.add(HttpHeaders.VARY, "Accept-Language");
+        return new CachedResponse(200, headers, ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)),
+                1234, Map.of("accept-language", "en"));
+    }
+
+    private static String body(CachedResponse response) {
+        return StandardCharsets.UTF_8.decode(response.getBody()).toString();
+    }
+}
@@ -0,0 +1,360 @@
+package com.webclient.lib.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheFilterFunctionTest {
+
+    private static final URI URL = URI.create("https://example.com/items");
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private InMemoryResponseCache cache;
+    private ResponseCacheFilterFunction filter;
+    private List<ClientRequest> sent;
+
+    @BeforeEach
+    void setUp() {
+        cache = new InMemoryResponseCache();
+        filter = new ResponseCacheFilterFunction(cache, clock(now));
+        sent = new ArrayList<>();
+    }
+
+    @Test
+    void freshEntry_servedWithoutExchange() {
+        ExchangeFunction next = respond(req -> ok("one", "max-age=60"));
+
+        assertEquals("one", body(filter.filter(get().build(), next)));
+        now.addAndGet(30_000);
+        ClientResponse cached = filter.filter(get().build(), next).block();
+
+        assertEquals(1, sent.size());
+        assertEquals("30", cached.headers().asHttpHeaders().getFirst(HttpHeaders.AGE));
+        assertEquals("one", cached.bodyToMono(String.class).block());
+    }
+
+    @Test
+    void staleEntry_revalidatesWithEtag_andServesCachedBodyOn304() {
+        ExchangeFunction next = respond(req -> sent.size() == 1
+                ? ClientResponse.create(HttpStatus.OK).header(HttpHeaders.ETAG, "\"v1\"")
+                        .header(HttpHeaders.CACHE_CONTROL, "max-age=1").body("one").build()
+                : ClientResponse.create(HttpStatus.NOT_MODIFIED).header(HttpHeaders.CACHE_CONTROL, "max-age=60").build());
+
+        body(filter.filter(get().build(), next));
+        now.addAndGet(2_000);
+
+        assertEquals("one", body(filter.filter(get().build(), next)));
+        assertEquals("\"v1\"", sent.get(1).headers().getIfNoneMatch().get(0));
+
+        body(filter.filter(get().build(), next));
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void lastModified_sentAsIfModifiedSince() {
+        ExchangeFunction next = respond(req -> ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.LAST_MODIFIED, "Wed, 21 Oct 2015 07:28:00 GMT").body("one").build());
+
+        body(filter.filter(get().build(), next));
+        body(filter.filter(get().build(), next));
+
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT",
+                sent.get(1).headers().getFirst(HttpHeaders.IF_MODIFIED_SINCE));
+    }
+
+    @Test
+    void noStoreResponse_notCached() {
+        ExchangeFunction next = respond(req -> ok("one", "no-store"));
+
+        body(filter.filter(get().build(), next));
+        body(filter.filter(get().build(), next));
+
+        assertEquals(2, sent.size());
+        assertNull(cache.get(CachePolicy.key(HttpMethod.GET, URL, new HttpHeaders())));
+    }
+
+    @Test
+    void noStoreRequest_bypassesCache() {
+        ExchangeFunction next = respond(req -> ok("one", "max-age=60"));
+
+        body(filter.filter(get().build(), next));
+        body(filter.filter(get().header(HttpHeaders.CACHE_CONTROL, "no-store").build(), next));
+
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void noCacheRequest_forcesRevalidation() {
+        ExchangeFunction next = respond(req -> ok("one", "max-age=60"));
+
+        body(filter.filter(get().build(), next));
+        body(filter.filter(get().header(HttpHeaders.CACHE_CONTROL, "no-cache").build(), next));
+
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void vary_differentHeaderValue_misses() {
+        ExchangeFunction next = respond(req -> ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+                .header(HttpHeaders.VARY, "Accept-Language")
+                .body(req.headers().getFirst(HttpHeaders.ACCEPT_LANGUAGE)).build());
+
+        assertEquals("en", body(filter.filter(get().header(HttpHeaders.ACCEPT_LANGUAGE, "en").build(), next)));
+        assertEquals("en", body(filter.filter(get().header(HttpHeaders.ACCEPT_LANGUAGE, "en").build(), next)));
+        assertEquals("de", body(filter.filter(get().header(HttpHeaders.ACCEPT_LANGUAGE, "de").build(), next)));
+
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void errorResponse_notCached() {
+        ExchangeFunction next = respond(req -> ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR)
+                .header(HttpHeaders.CACHE_CONTROL, "max-age=60").body("boom").build());
+
+        body(filter.filter(get().build(), next));
+        body(filter.filter(get().build(), next));
+
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void postRequest_bypassesCache() {
+        ExchangeFunction next = respond(req -> ok("one", "max-age=60"));
+        ClientRequest post = ClientRequest.create(HttpMethod.POST, URL).build();
+
+        body(filter.filter(post, next));
+        body(filter.filter(post, next));
+
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void authorizedRequest_notStoredUnlessPublic() {
+        ExchangeFunction next = respond(req -> ok("one", "max-age=60"));
+
+        body(filter.filter(get().header(HttpHeaders.AUTHORIZATION, "Bearer t").build(), next));
+        body(filter.filter(get().header(HttpHeaders.AUTHORIZATION, "Bearer t").build(), next));
+
+        assertEquals(2, sent.size());
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Stale-while-revalidate / stale-if-error
+    // ------------------------------------------------------------------ //
+
+    @Test
+    void staleWhileRevalidate_servesStaleAndRevalidatesOnceInBackground() {
+        Sinks.One<ClientResponse> revalidation = Sinks.one();
+        ExchangeFunction next = request -> {
+            sent.add(request);
+            return sent.size() == 1
+                    ? Mono.just(ok("one", "max-age=1, stale-while-revalidate=30"))
+                    : revalidation.asMono();
+        };
+
+        body(filter.filter(get().build(), next));
+        now.addAndGet(5_000);
+
+        assertEquals("one", body(filter.filter(get().build(), next)));
+        assertEquals("one", body(filter.filter(get().build(), next)));
+        assertEquals(2, sent.size());
+
+        revalidation.tryEmitValue(ok("two", "max-age=60"));
+        assertEquals("two", body(filter.filter(get().build(), next)));
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void staleWhileRevalidate_hungRevalidation_releasesKeyAfterTimeout() throws Exception {
+        ExchangeFunction next = request -> {
+            sent.add(request);
+            if (sent.size() == 1) {
+                return Mono.just(ok("one", "max-age=1, stale-while-revalidate=30"));
+            }
+            return sent.size() == 2 ? Mono.never() : Mono.just(ok("two", "max-age=60"));
+        };
+        body(filter.filter(get().build(), next));
+        now.addAndGet(5_000);
+        ClientRequest stale = get().attribute(ResponseCache.REVALIDATION_TIMEOUT_ATTRIBUTE, 50L).build();
+
+        assertEquals("one", body(filter.filter(stale, next)));
+        Thread.sleep(200);
+        assertEquals("one", body(filter.filter(stale, next)));
+
+        assertEquals(3, sent.size());
+        assertEquals("two", body(filter.filter(get().build(), next)));
+    }
+
+    @Test
+    void staleWhileRevalidate_beyondWindow_revalidatesInline() {
+        ExchangeFunction next = respond(req -> ok("v" + sent.size(), "max-age=1, stale-while-revalidate=2"));
+
+        body(filter.filter(get().build(), next));
+        now.addAndGet(5_000);
+
+        assertEquals("v2", body(filter.filter(get().build(), next)));
+    }
+
+    @Test
+    void staleWhileRevalidate_requestOverride_enablesWindow() {
+        ExchangeFunction next = respond(req -> ok("v" + sent.size(), "max-age=1"));
+
+        body(filter.filter(get().build(), next));
+        now.addAndGet(5_000);
+
+        assertEquals("v1", body(filter.filter(get()
+                .attribute(ResponseCache.STALE_WHILE_REVALIDATE_ATTRIBUTE, 10_000L).build(), next)));
+    }
+
+    @Test
+    void staleIfError_serverError_servesStale() {
+        ExchangeFunction next = respond(req -> sent.size() == 1
+                ? ok("one", "max-age=1, stale-if-error=60")
+                : ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).body("down").build());
+
+        body(filter.filter(get().build(), next));
+        now.addAndGet(5_000);
+        ClientResponse response = filter.filter(get().build(), next).block();
+
+        assertEquals(200, response.statusCode().value());
+        assertEquals("one", response.bodyToMono(String.class).block());
+    }
+
+    @Test
+    void staleIfError_exchangeFails_servesStale() {
+        ExchangeFunction next = request -> {
+            sent.add(request);
+            return sent.size() == 1
+                    ? Mono.just(ok("one", "max-age=1, stale-if-error=60"))
+                    : Mono.error(new IllegalStateException("connection refused"));
+        };
+
+        body(filter.filter(get().build(), next));
+        now.addAndGet(5_000);
+
+        assertEquals("one", body(filter.filter(get().build(), next)));
+    }
+
+    @Test
+    void staleIfError_mustRevalidate_propagatesFailure() {
+        ExchangeFunction next = respond(req -> sent.size() == 1
+                ? ok("one", "max-age=1, must-revalidate, stale-if-error=60")
+                : ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        body(filter.filter(get().build(), next));
+        now.addAndGet(5_000);
+
+        assertEquals(503, filter.filter(get().build(), next).block().statusCode().value());
+    }
+
+    @Test
+    void staleIfError_requestOverrideZero_disablesWindow() {
+        ExchangeFunction next = respond(req -> sent.size() == 1
+                ? ok("one", "max-age=1, stale-if-error=60")
+                : ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        body(filter.filter(get().build(), next));
+        now.addAndGet(5_000);
+
+        assertEquals(503, filter.filter(get().attribute(ResponseCache.STALE_IF_ERROR_ATTRIBUTE, 0L).build(), next)
+                .block().statusCode().value());
+    }
+
+    @Test
+    void withStaleIfError_failureOutsideFilter_decodesStale() {
+        ExchangeFunction next = request -> {
+            sent.add(request);
+            return sent.size() == 1
+                    ? Mono.just(ok("one", "max-age=1, stale-if-error=60"))
+                    : Mono.never();
+        };
+        body(filter.filter(get().build(), next));
+        now.addAndGet(5_000);
+
+        Mono<String> call = filter.filter(get().build(), next)
+                .flatMap(response -> response.bodyToMono(String.class))
+                .timeout(java.time.Duration.ofMillis(50));
+
+        StepVerifier.create(filter.withStaleIfError(call, response -> response.bodyToMono(String.class)))
+                .expectNext("one")
+                .verifyComplete();
+    }
+
+    @Test
+    void withStaleIfError_noCandidate_propagatesFailure() {
+        Mono<String> call = Mono.error(new TimeoutException());
+
+        StepVerifier.create(filter.withStaleIfError(call, response -> response.bodyToMono(String.class)))
+                .expectError(TimeoutException.class)
+                .verify();
+        assertTrue(sent.isEmpty());
+    }
+
+    private ClientRequest.Builder get() {
+        return ClientRequest.create(HttpMethod.GET, URL);
+    }
+
+    private ExchangeFunction respond(Function<ClientRequest, ClientResponse> responder) {
+        return request -> {
+            sent.add(request);
+            return Mono.just(responder.apply(request));
+        };
+    }
+
+    private static ClientResponse ok(String body, String cacheControl) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .body(body)
+                .build();
+    }
+
+    private static String body(Mono<ClientResponse> response) {
+        StringBuilder body = new StringBuilder();
+        StepVerifier.create(response.flatMap(r -> r.bodyToMono(String.class).defaultIfEmpty("")))
+                .consumeNextWith(body::append)
+                .verifyComplete();
+        return body.toString();
+    }
+
+    static Clock clock(AtomicLong millis) {
+        return new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(java.time.ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(millis.get());
+            }
+        };
+    }
+}
@@ -0,0 +1,267 @@
+package com.webclient.lib.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheInterceptorTest {
+
+    private static final URI URL = URI.create("https://example.com/items");
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private InMemoryResponseCache cache;
+    private ResponseCacheInterceptor interceptor;
+    private List<HttpRequest> sent;
+
+    @BeforeEach
+    void setUp() {
+        cache = new InMemoryResponseCache();
+        interceptor = new ResponseCacheInterceptor(cache,
+                ResponseCacheFilterFunctionTest.clock(now));
+        sent = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    void freshEntry_servedWithoutExecution() throws IOException {
+        ClientHttpRequestExecution execution = respond(() -> ok("one", "max-age=60"));
+
+        assertEquals("one", body(interceptor.intercept(get(), new byte[0], execution)));
+        now.addAndGet(5_000);
+        ClientHttpResponse cached = interceptor.intercept(get(), new byte[0], execution);
+
+        assertEquals(1, sent.size());
+        assertEquals("5", cached.getHeaders().getFirst(HttpHeaders.AGE));
+        assertEquals("one", body(cached));
+    }
+
+    @Test
+    void staleEntry_revalidatesWithEtag_andServesCachedBodyOn304() throws IOException {
+        ClientHttpRequestExecution execution = respond(() -> {
+            if (sent.size() == 1) {
+                MockClientHttpResponse response = ok("one", "max-age=1");
+                response.getHeaders().setETag("\"v1\"");
+                return response;
+            }
+            return new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+        });
+
+        body(interceptor.intercept(get(), new byte[0], execution));
+        now.addAndGet(2_000);
+
+        assertEquals("one", body(interceptor.intercept(get(), new byte[0], execution)));
+        assertEquals("\"v1\"", sent.get(1).getHeaders().getIfNoneMatch().get(0));
+    }
+
+    @Test
+    void conditionalHeaders_doNotLeakIntoCallerRequest() throws IOException {
+        ClientHttpRequestExecution execution = respond(() -> {
+            MockClientHttpResponse response = new MockClientHttpResponse("one".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+            response.getHeaders().setETag("\"v1\"");
+            return response;
+        });
+        MockClientHttpRequest request = get();
+
+        body(interceptor.intercept(get(), new byte[0], execution));
+        body(interceptor.intercept(request, new byte[0], execution));
+
+        assertEquals(2, sent.size());
+        assertEquals(0, request.getHeaders().getIfNoneMatch().size());
+    }
+
+    @Test
+    void noStoreResponse_notCached() throws IOException {
+        ClientHttpRequestExecution execution = respond(() -> ok("one", "no-store"));
+
+        body(interceptor.intercept(get(), new byte[0], execution));
+        body(interceptor.intercept(get(), new byte[0], execution));
+
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void postRequest_bypassesCache() throws IOException {
+        ClientHttpRequestExecution execution = respond(() -> ok("one", "max-age=60"));
+
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, URL), new byte[0], execution);
+        interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, URL), new byte[0], execution);
+
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void staleWhileRevalidate_servesStaleAndRevalidatesOnceOnVirtualThread() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ClientHttpRequestExecution execution = respond(() -> {
+            if (sent.size() == 1) {
+                return ok("one", "max-age=1, stale-while-revalidate=30");
+            }
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ok("two", "max-age=60");
+        });
+
+        body(interceptor.intercept(get(), new byte[0], execution));
+        now.addAndGet(5_000);
+
+        assertEquals("one", body(interceptor.intercept(get(), new byte[0], execution)));
+        assertEquals("one", body(interceptor.intercept(get(), new byte[0], execution)));
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!"two".equals(cachedBody()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals("two", cachedBody());
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void staleWhileRevalidate_hungRevalidation_isInterruptedAndKeyReleasedAfterTimeout() throws Exception {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        ClientHttpRequestExecution execution = respond(() -> {
+            if (sent.size() == 1) {
+                return ok("one", "max-age=1, stale-while-revalidate=30");
+            }
+            if (sent.size() == 2) {
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+                throw new IOException("revalidation interrupted");
+            }
+            return ok("two", "max-age=60");
+        });
+        body(interceptor.intercept(get(), new byte[0], execution));
+        now.addAndGet(5_000);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!"two".equals(cachedBody()) && System.nanoTime() < deadline) {
+            MockClientHttpRequest request = get();
+            request.getAttributes().put(ResponseCache.REVALIDATION_TIMEOUT_ATTRIBUTE, 50L);
+            assertEquals("one", body(interceptor.intercept(request, new byte[0], execution)));
+            Thread.sleep(10);
+        }
+
+        assertEquals("two", cachedBody());
+        assertEquals(3, sent.size());
+        assertTrue(interrupted.get());
+    }
+
+    @Test
+    void staleIfError_ioException_servesStale() throws IOException {
+        ClientHttpRequestExecution execution = respond(() -> {
+            if (sent.size() == 1) {
+                return ok("one", "max-age=1, stale-if-error=60");
+            }
+            throw new java.net.SocketTimeoutException("read timed out");
+        });
+
+        body(interceptor.intercept(get(), new byte[0], execution));
+        now.addAndGet(5_000);
+
+        assertEquals("one", body(interceptor.intercept(get(), new byte[0], execution)));
+    }
+
+    @Test
+    void staleIfError_serverError_servesStale() throws IOException {
+        ClientHttpRequestExecution execution = respond(() -> sent.size() == 1
+                ? ok("one", "max-age=1, stale-if-error=60")
+                : new MockClientHttpResponse(new byte[0], HttpStatus.BAD_GATEWAY));
+
+        body(interceptor.intercept(get(), new byte[0], execution));
+        now.addAndGet(5_000);
+        ClientHttpResponse response = interceptor.intercept(get(), new byte[0], execution);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("one", body(response));
+    }
+
+    @Test
+    void staleIfError_beyondWindow_propagatesFailure() throws IOException {
+        ClientHttpRequestExecution execution = respond(() -> {
+            if (sent.size() == 1) {
+                return ok("one", "max-age=1, stale-if-error=2");
+            }
+            throw new IOException("connection refused");
+        });
+
+        body(interceptor.intercept(get(), new byte[0], execution));
+        now.addAndGet(5_000);
+
+        assertThrows(IOException.class, () -> interceptor.intercept(get(), new byte[0], execution));
+    }
+
+    @Test
+    void staleIfError_requestAttribute_overridesDirective() throws IOException {
+        ClientHttpRequestExecution execution = respond(() -> {
+            if (sent.size() == 1) {
+                return ok("one", "max-age=1");
+            }
+            throw new IOException("connection refused");
+        });
+        body(interceptor.intercept(get(), new byte[0], execution));
+        now.addAndGet(5_000);
+
+        MockClientHttpRequest request = get();
+        request.getAttributes().put(ResponseCache.STALE_IF_ERROR_ATTRIBUTE, 60_000L);
+
+        assertEquals("one", body(interceptor.intercept(request, new byte[0], execution)));
+        assertEquals(2, sent.size());
+    }
+
+    private String cachedBody() {
+        CachedResponse cached = cache.get(CachePolicy.key(HttpMethod.GET, URL, new HttpHeaders()));
+        return StandardCharsets.UTF_8.decode(cached.getBody()).toString();
+    }
+
+    private static MockClientHttpRequest get() {
+        return new MockClientHttpRequest(HttpMethod.GET, URL);
+    }
+
+    private ClientHttpRequestExecution respond(ResponseSupplier supplier) {
+        return (request, body) -> {
+            sent.add(request);
+            return supplier.get();
+        };
+    }
+
+    private static MockClientHttpResponse ok(String body, String cacheControl) {
+        MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        response.getHeaders().setCacheControl(cacheControl);
+        return response;
+    }
+
+    private static String body(ClientHttpResponse response) throws IOException {
+        return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private interface ResponseSupplier {
+        ClientHttpResponse get() throws IOException;
+    }
+}
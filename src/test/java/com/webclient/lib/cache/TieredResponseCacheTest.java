@@ -0,0 +1,134 @@
+package com.webclient.lib.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TieredResponseCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void constructor_noTiers_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new TieredResponseCache(List.of()));
+    }
+
+    @Test
+    void put_writesEveryTier() {
+        InMemoryResponseCache first = new InMemoryResponseCache();
+        InMemoryResponseCache second = new InMemoryResponseCache();
+        TieredResponseCache cache = new TieredResponseCache(first, second);
+
+        cache.put("a", entry());
+
+        assertEquals(1, first.getStats().entries());
+        assertEquals(1, second.getStats().entries());
+    }
+
+    @Test
+    void get_hitInLaterTier_promotesToEarlierTiers() {
+        InMemoryResponseCache first = new InMemoryResponseCache();
+        MappedFileResponseCache second = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+        second.put("a", entry());
+        TieredResponseCache cache = new TieredResponseCache(first, second);
+
+        CachedResponse hit = cache.get("a");
+
+        assertNotNull(hit);
+        assertSame(hit, first.get("a"));
+    }
+
+    @Test
+    void put_inFrontOfMappedTier_frontTierHoldsMappedBody() {
+        InMemoryResponseCache first = new InMemoryResponseCache();
+        MappedFileResponseCache second = new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024);
+        TieredResponseCache cache = new TieredResponseCache(first, second);
+
+        cache.put("a", new CachedResponse(200, new HttpHeaders(), ByteBuffer.wrap(new byte[4096]), 0, Map.of()));
+
+        assertTrue(first.get("a").getBody().isDirect());
+        assertEquals(0, first.getStats().bytes());
+    }
+
+    @Test
+    void close_clearsTiersInFrontOfMappedTier() {
+        InMemoryResponseCache first = new InMemoryResponseCache();
+        TieredResponseCache cache = new TieredResponseCache(first,
+                new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024));
+        cache.put("a", entry());
+
+        cache.close();
+
+        assertEquals(0, first.getStats().entries());
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void stats_reportCombinedAndPerTierHitRatios() {
+        InMemoryResponseCache first = new InMemoryResponseCache();
+        InMemoryResponseCache second = new InMemoryResponseCache();
+        second.put("a", entry());
+        TieredResponseCache cache = new TieredResponseCache(first, second);
+
+        cache.get("a");
+        cache.get("a");
+        cache.get("missing");
+
+        CacheStats combined = cache.getStats();
+        assertEquals(2, combined.hits());
+        assertEquals(1, combined.misses());
+
+        List<CacheStats> tiers = cache.getTierStats();
+        assertEquals(1, tiers.get(0).hits());
+        assertEquals(2, tiers.get(0).misses());
+        assertEquals(1, tiers.get(1).hits());
+        assertEquals(1, tiers.get(1).misses());
+    }
+
+    @Test
+    void removeAndClear_applyToEveryTier() {
+        InMemoryResponseCache first = new InMemoryResponseCache();
+        InMemoryResponseCache second = new InMemoryResponseCache();
+        TieredResponseCache cache = new TieredResponseCache(first, second);
+        cache.put("a", entry());
+        cache.put("b", entry());
+
+        cache.remove("a");
+        assertNull(first.get("a"));
+        assertNull(second.get("a"));
+
+        cache.clear();
+        assertEquals(0, cache.getStats().entries());
+    }
+
+    @Test
+    void close_reopenedDiskTierServesEntries() {
+        TieredResponseCache cache = new TieredResponseCache(new InMemoryResponseCache(),
+                new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024));
+        cache.put("a", entry());
+        cache.close();
+
+        TieredResponseCache restarted = new TieredResponseCache(new InMemoryResponseCache(),
+                new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024));
+
+        assertNotNull(restarted.get("a"));
+        assertEquals(1, restarted.getTierStats().get(1).hits());
+    }
+
+    private static CachedResponse entry() {
+        return new CachedResponse(200, new HttpHeaders(), ByteBuffer.wrap(new byte[] {1, 2, 3}), 0, Map.of());
+    }
+}
@@ -0,0 +1,112 @@
+package com.webclient.lib.client;
+
+import com.webclient.lib.auth.BearerTokenFilterFunction;
+import com.webclient.lib.config.HttpClientProperties;
+import com.webclient.lib.filter.CorrelationIdFilterFunction;
+import com.webclient.lib.model.WebServiceRequest;
+import com.webclient.lib.retry.RetryStrategyFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Allocation and latency of one {@code execute()} with a two-filter chain
+ * (correlation ID and bearer token), with and without a client cache hit.
+ * <p>
+ * The exchange is answered in memory, so the figures cover only the client's
+ * own work.  Attaching the same filter instances on every call hits the
+ * {@link ClientCache}; fresh filter instances miss it and rebuild the
+ * exchange chain with {@code webClient.mutate().build()} on every call, as
+ * every call did before the cache.
+ * <p>
+ * Timing-dependent, so tagged {@code benchmark} and run only with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ClientCacheBenchmarkTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void cacheHit_allocatesLessAndRunsFasterThanRebuild() {
+        WebServiceClient client = client();
+        ExchangeFilterFunction correlationId = new CorrelationIdFilterFunction();
+        ExchangeFilterFunction bearerToken = bearerToken();
+
+        Cost cached = measure(client, () -> request(correlationId, bearerToken));
+        Cost rebuilt = measure(client, () -> request(new CorrelationIdFilterFunction(), bearerToken()));
+
+        assertTrue(cached.bytesPerCall() < rebuilt.bytesPerCall(),
+                "expected a cache hit to allocate less, was " + rebuilt + " -> " + cached);
+        assertTrue(cached.nanosPerCall() < rebuilt.nanosPerCall(),
+                "expected a cache hit to be faster, was " + rebuilt + " -> " + cached);
+    }
+
+    private Cost measure(WebServiceClient client, Supplier<WebServiceRequest<String>> requests) {
+        run(client, requests, WARMUP);
+        long thread = Thread.currentThread().threadId();
+        long bytes = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        run(client, requests, ITERATIONS);
+        long nanos = System.nanoTime() - start;
+        return new Cost((threads.getThreadAllocatedBytes(thread) - bytes) / ITERATIONS, nanos / ITERATIONS);
+    }
+
+    private static void run(WebServiceClient client, Supplier<WebServiceRequest<String>> requests, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            assertEquals("ok", client.execute(requests.get()).block(Duration.ofSeconds(5)));
+        }
+    }
+
+    private static WebServiceRequest<String> request(ExchangeFilterFunction... filters) {
+        WebServiceRequest.Builder<String> builder = WebServiceRequest.<String>builder()
+                .url("http://localhost/ping")
+                .responseType(String.class);
+        for (ExchangeFilterFunction filter : filters) {
+            builder.filter(filter);
+        }
+        return builder.build();
+    }
+
+    private static ExchangeFilterFunction bearerToken() {
+        BearerTokenFilterFunction filter = new BearerTokenFilterFunction();
+        filter.setBearerTokenProvider(() -> "token");
+        return filter;
+    }
+
+    private static WebServiceClient client() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.getRetry().setMaxRetries(0);
+        RetryStrategyFactory retryStrategyFactory = new RetryStrategyFactory();
+        retryStrategyFactory.setProperties(properties);
+
+        WebServiceClient client = new WebServiceClient();
+        client.setRetryStrategyFactory(retryStrategyFactory);
+        client.setProperties(properties);
+        client.setWebClient(WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE).body("ok").build()))
+                .build());
+        return client;
+    }
+
+    private record Cost(long bytesPerCall, long nanosPerCall) {
+    }
+}
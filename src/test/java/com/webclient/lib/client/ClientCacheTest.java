@@ -0,0 +1,94 @@
+package com.webclient.lib.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ClientCacheTest {
+
+    private final Object filterA = new Object();
+    private final Object filterB = new Object();
+
+    @Test
+    void get_sameChainDifferentListInstances_buildsOnce() {
+        ClientCache<Object, Object> cache = new ClientCache<>();
+        AtomicInteger builds = new AtomicInteger();
+
+        Object first = cache.get(List.of(filterA, filterB), chain -> buildCounting(builds));
+        Object second = cache.get(new ArrayList<>(List.of(filterA, filterB)), chain -> buildCounting(builds));
+
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+        assertEquals(1, cache.getStats().hits());
+        assertEquals(1, cache.getStats().misses());
+    }
+
+    @Test
+    void get_differentOrder_isDifferentEntry() {
+        ClientCache<Object, Object> cache = new ClientCache<>();
+
+        Object ab = cache.get(List.of(filterA, filterB), chain -> new Object());
+        Object ba = cache.get(List.of(filterB, filterA), chain -> new Object());
+
+        assertNotSame(ab, ba);
+        assertEquals(2, cache.getStats().size());
+    }
+
+    @Test
+    void get_equalButNotIdenticalElements_isDifferentEntry() {
+        ClientCache<String, Object> cache = new ClientCache<>();
+
+        Object first = cache.get(List.of(new String("filter")), chain -> new Object());
+        Object second = cache.get(List.of(new String("filter")), chain -> new Object());
+
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void get_beyondMaxSize_evictsOldest() {
+        ClientCache<Object, Object> cache = new ClientCache<>(2);
+        Object filterC = new Object();
+
+        cache.get(List.of(filterA), chain -> new Object());
+        cache.get(List.of(filterB), chain -> new Object());
+        cache.get(List.of(filterC), chain -> new Object());
+
+        ClientCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.size());
+        assertEquals(1, stats.evictions());
+
+        AtomicInteger builds = new AtomicInteger();
+        cache.get(List.of(filterA), chain -> buildCounting(builds));
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void stats_hitRatio() {
+        ClientCache<Object, Object> cache = new ClientCache<>();
+        assertEquals(0.0, cache.getStats().hitRatio());
+
+        cache.get(List.of(filterA), chain -> new Object());
+        cache.get(List.of(filterA), chain -> new Object());
+        cache.get(List.of(filterA), chain -> new Object());
+        cache.get(List.of(filterA), chain -> new Object());
+
+        assertEquals(0.75, cache.getStats().hitRatio());
+    }
+
+    @Test
+    void constructor_zeroMaxSize_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new ClientCache<>(0));
+    }
+
+    private static Object buildCounting(AtomicInteger builds) {
+        builds.incrementAndGet();
+        return new Object();
+    }
+}
@@ -0,0 +1,638 @@
+package com.webclient.lib.client;
+
+import com.webclient.lib.balancer.EndpointStats;
+import com.webclient.lib.balancer.LoadBalancerRegistry;
+import com.webclient.lib.breaker.CallNotPermittedException;
+import com.webclient.lib.breaker.CircuitBreaker;
+import com.webclient.lib.breaker.CircuitBreakerConfig;
+import com.webclient.lib.breaker.CircuitBreakerRegistry;
+import com.webclient.lib.cache.InMemoryResponseCache;
+import com.webclient.lib.cache.ResponseCacheInterceptor;
+import com.webclient.lib.config.HttpClientProperties;
+import com.webclient.lib.limit.AimdLimit;
+import com.webclient.lib.limit.ConcurrencyLimiterRegistry;
+import com.webclient.lib.limit.ConcurrencyLimiterStats;
+import com.webclient.lib.model.RestServiceRequest;
+import com.webclient.lib.model.ServiceResult;
+import com.webclient.lib.retry.SyncRetryExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+class RestServiceClientTest {
+
+    private RestClient restClient;
+    private HttpClientProperties properties;
+    private RestServiceClient serviceClient;
+
+    private RestClient.RequestBodyUriSpec requestBodyUriSpec;
+    private RestClient.RequestBodySpec requestBodySpec;
+    private RestClient.ResponseSpec responseSpec;
+
+    @BeforeEach
+    void setUp() {
+        restClient = mock(RestClient.class);
+
+        properties = new HttpClientProperties();
+        properties.getRetry().setMaxRetries(2);
+        properties.getRetry().setRetryIntervalMs(10);
+
+        SyncRetryExecutor syncRetryExecutor = new SyncRetryExecutor();
+        syncRetryExecutor.setProperties(properties);
+
+        serviceClient = new RestServiceClient();
+        serviceClient.setRestClient(restClient);
+        serviceClient.setSyncRetryExecutor(syncRetryExecutor);
+        serviceClient.setProperties(properties);
+
+        requestBodyUriSpec = mock(RestClient.RequestBodyUriSpec.class);
+        requestBodySpec = mock(RestClient.RequestBodySpec.class);
+        responseSpec = mock(RestClient.ResponseSpec.class);
+
+        stubRequestChain(restClient, requestBodyUriSpec, requestBodySpec, responseSpec);
+    }
+
+    @Test
+    void execute_get_success() {
+        when(responseSpec.body(String.class)).thenReturn("response-body");
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .method(HttpMethod.GET)
+                .acceptType(MediaType.APPLICATION_JSON)
+                .responseType(String.class)
+                .build();
+
+        assertEquals("response-body", serviceClient.execute(request));
+        verify(restClient).method(HttpMethod.GET);
+        verify(requestBodySpec).accept(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void execute_serverErrorThenSuccess_retriesAndSucceeds() {
+        when(responseSpec.body(String.class))
+                .thenThrow(HttpServerErrorException.create(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null))
+                .thenReturn("recovered");
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .build();
+
+        assertEquals("recovered", serviceClient.execute(request));
+        verify(responseSpec, times(2)).body(String.class);
+    }
+
+    @Test
+    void execute_clientError_doesNotRetry() {
+        when(responseSpec.body(String.class))
+                .thenThrow(HttpClientErrorException.create(
+                        HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .build();
+
+        assertThrows(HttpClientErrorException.class, () -> serviceClient.execute(request));
+        verify(responseSpec, times(1)).body(String.class);
+    }
+
+    @Test
+    void execute_withNoInterceptors_usesBaseRestClientDirectly() {
+        when(responseSpec.body(String.class)).thenReturn("direct");
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .build();
+
+        assertEquals("direct", serviceClient.execute(request));
+        verify(restClient, never()).mutate();
+    }
+
+    @Test
+    void execute_sameInterceptorChainTwice_reusesCachedClient() {
+        ClientHttpRequestInterceptor interceptor =
+                (request, body, execution) -> execution.execute(request, body);
+
+        RestClient.Builder mutatedBuilder = mock(RestClient.Builder.class);
+        RestClient mutatedClient = mock(RestClient.class);
+        when(restClient.mutate()).thenReturn(mutatedBuilder);
+        when(mutatedBuilder.requestInterceptor(any())).thenReturn(mutatedBuilder);
+        when(mutatedBuilder.build()).thenReturn(mutatedClient);
+
+        RestClient.ResponseSpec mutatedResponseSpec = mock(RestClient.ResponseSpec.class);
+        stubRequestChain(mutatedClient, mock(RestClient.RequestBodyUriSpec.class),
+                mock(RestClient.RequestBodySpec.class), mutatedResponseSpec);
+        when(mutatedResponseSpec.body(String.class)).thenReturn("intercepted");
+
+        for (int i = 0; i < 2; i++) {
+            RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                    .url("https://example.com/api")
+                    .responseType(String.class)
+                    .interceptor(interceptor)
+                    .build();
+
+            assertEquals("intercepted", serviceClient.execute(request));
+        }
+
+        verify(restClient, times(1)).mutate();
+        verify(mutatedBuilder, times(1)).requestInterceptor(interceptor);
+        assertEquals(1, serviceClient.getClientCacheStats().hits());
+        assertEquals(1, serviceClient.getClientCacheStats().misses());
+    }
+
+    @Test
+    void setProperties_clientCacheMaxSize_boundsCache() {
+        properties.getClientCache().setMaxSize(1);
+        serviceClient.setProperties(properties);
+
+        assertEquals(1, serviceClient.getClientCacheStats().maxSize());
+    }
+
+    @Test
+    void execute_pathBody_streamsFileContents(@TempDir Path dir) throws Exception {
+        Path source = dir.resolve("upload.bin");
+        Files.writeString(source, "file-contents");
+        when(requestBodySpec.body(any(StreamingHttpOutputMessage.Body.class))).thenReturn(requestBodySpec);
+        when(responseSpec.body(String.class)).thenReturn("uploaded");
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/upload")
+                .method(HttpMethod.POST)
+                .body(source)
+                .responseType(String.class)
+                .build();
+
+        assertEquals("uploaded", serviceClient.execute(request));
+
+        ArgumentCaptor<StreamingHttpOutputMessage.Body> captor =
+                ArgumentCaptor.forClass(StreamingHttpOutputMessage.Body.class);
+        verify(requestBodySpec).body(captor.capture());
+        verify(requestBodySpec).contentType(MediaType.APPLICATION_OCTET_STREAM);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        captor.getValue().writeTo(out);
+        assertEquals("file-contents", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void execute_channelBody_streamsAndClosesChannel(@TempDir Path dir) throws Exception {
+        Path source = dir.resolve("upload.bin");
+        Files.writeString(source, "channel-contents");
+        when(requestBodySpec.body(any(StreamingHttpOutputMessage.Body.class))).thenReturn(requestBodySpec);
+        when(responseSpec.body(String.class)).thenReturn("uploaded");
+
+        FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/upload")
+                .method(HttpMethod.POST)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(channel)
+                .responseType(String.class)
+                .build();
+
+        serviceClient.execute(request);
+
+        ArgumentCaptor<StreamingHttpOutputMessage.Body> captor =
+                ArgumentCaptor.forClass(StreamingHttpOutputMessage.Body.class);
+        verify(requestBodySpec).body(captor.capture());
+        verify(requestBodySpec, never()).contentType(MediaType.APPLICATION_OCTET_STREAM);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        captor.getValue().writeTo(out);
+        assertEquals("channel-contents", out.toString(StandardCharsets.UTF_8));
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    void execute_channelBody_isNotRetried(@TempDir Path dir) throws Exception {
+        Path source = dir.resolve("upload.bin");
+        Files.writeString(source, "channel-contents");
+        when(requestBodySpec.body(any(StreamingHttpOutputMessage.Body.class))).thenReturn(requestBodySpec);
+        when(responseSpec.body(String.class))
+                .thenThrow(HttpServerErrorException.create(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null));
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/upload")
+                .method(HttpMethod.POST)
+                .body(FileChannel.open(source, StandardOpenOption.READ))
+                .responseType(String.class)
+                .build();
+
+        assertThrows(HttpServerErrorException.class, () -> serviceClient.execute(request));
+        verify(responseSpec, times(1)).body(String.class);
+    }
+
+    @Test
+    void execute_pathBody_isRetried(@TempDir Path dir) throws Exception {
+        Path source = dir.resolve("upload.bin");
+        Files.writeString(source, "file-contents");
+        when(requestBodySpec.body(any(StreamingHttpOutputMessage.Body.class))).thenReturn(requestBodySpec);
+        when(responseSpec.body(String.class))
+                .thenThrow(HttpServerErrorException.create(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null))
+                .thenReturn("uploaded");
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/upload")
+                .method(HttpMethod.POST)
+                .body(source)
+                .responseType(String.class)
+                .build();
+
+        assertEquals("uploaded", serviceClient.execute(request));
+        verify(responseSpec, times(2)).body(String.class);
+    }
+
+    @Test
+    void execute_plainBody_usesMessageConverters() {
+        when(responseSpec.body(String.class)).thenReturn("created");
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .method(HttpMethod.POST)
+                .body("{\"key\":\"value\"}")
+                .responseType(String.class)
+                .build();
+
+        assertEquals("created", serviceClient.execute(request));
+        verify(requestBodySpec).body((Object) "{\"key\":\"value\"}");
+    }
+
+    @Test
+    void executeAsync_runsOnVirtualThread() throws Exception {
+        AtomicBoolean virtual = new AtomicBoolean();
+        when(responseSpec.body(String.class)).thenAnswer(invocation -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            return "async";
+        });
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .build();
+
+        assertEquals("async", serviceClient.executeAsync(request).get(5, TimeUnit.SECONDS));
+        assertTrue(virtual.get());
+    }
+
+    @Test
+    void executeAsync_failure_completesExceptionally() {
+        when(responseSpec.body(String.class))
+                .thenThrow(HttpClientErrorException.create(
+                        HttpStatus.BAD_REQUEST, "Bad Request", null, null, null));
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .build();
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> serviceClient.executeAsync(request).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(HttpClientErrorException.class, e.getCause());
+    }
+
+    @Test
+    void close_rejectsLaterAsyncCallsButNotSyncCalls() {
+        when(responseSpec.body(String.class)).thenReturn("sync");
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .build();
+
+        serviceClient.close();
+
+        assertThrows(RejectedExecutionException.class, () -> serviceClient.executeAsync(request));
+        assertEquals("sync", serviceClient.execute(request));
+    }
+
+    @Test
+    void executeAsync_cancel_interruptsCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(responseSpec.body(String.class)).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "late";
+        });
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .build();
+
+        CompletableFuture<String> future = serviceClient.executeAsync(request);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        future.cancel(true);
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void executeAll_deadlineExceeded_cancelsStragglers() {
+        RestClient.RequestBodySpec slowBodySpec = mock(RestClient.RequestBodySpec.class);
+        RestClient.ResponseSpec slowResponseSpec = mock(RestClient.ResponseSpec.class);
+        when(requestBodyUriSpec.uri("https://example.com/slow")).thenReturn(slowBodySpec);
+        when(slowBodySpec.retrieve()).thenReturn(slowResponseSpec);
+        when(slowResponseSpec.body(String.class)).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return "too-late";
+        });
+        when(responseSpec.body(String.class)).thenReturn("fast");
+
+        List<RestServiceRequest<?>> requests = List.of(
+                RestServiceRequest.<String>builder()
+                        .url("https://example.com/fast").responseType(String.class).build(),
+                RestServiceRequest.<String>builder()
+                        .url("https://example.com/slow").responseType(String.class).build());
+
+        List<ServiceResult<?>> results = serviceClient.executeAll(requests, Duration.ofMillis(200));
+
+        assertEquals(2, results.size());
+        assertEquals("fast", results.get(0).getValue());
+        assertFalse(results.get(1).isSuccess());
+        assertInstanceOf(TimeoutException.class, results.get(1).getError());
+    }
+
+    @Test
+    void executeAll_runsCallsInParallel() {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        when(responseSpec.body(String.class)).thenAnswer(invocation -> {
+            allStarted.countDown();
+            // Only completes if all three calls are in flight at the same time
+            return allStarted.await(5, TimeUnit.SECONDS) ? "parallel" : "sequential";
+        });
+
+        List<RestServiceRequest<?>> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(RestServiceRequest.<String>builder()
+                    .url("https://example.com/api").responseType(String.class).build());
+        }
+
+        List<ServiceResult<?>> results = serviceClient.executeAll(requests);
+
+        results.forEach(result -> assertEquals("parallel", result.getValue()));
+    }
+
+    @Test
+    void execute_coalescingEnabled_concurrentIdenticalCallsShareOneExchange() throws Exception {
+        properties.getCoalescing().setEnabled(true);
+        CountDownLatch release = new CountDownLatch(1);
+        when(responseSpec.body(String.class)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "shared";
+        });
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .build();
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(serviceClient.executeAsync(request));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (serviceClient.getCoalescingStats().coalesced() < 4 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        for (CompletableFuture<String> future : futures) {
+            assertEquals("shared", future.get(5, TimeUnit.SECONDS));
+        }
+        verify(responseSpec, times(1)).body(String.class);
+        assertEquals(4, serviceClient.getCoalescingStats().coalesced());
+    }
+
+    @Test
+    void execute_coalescingEnabled_postIsNeverCoalesced() {
+        properties.getCoalescing().setEnabled(true);
+        when(responseSpec.body(String.class)).thenReturn("created");
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .method(HttpMethod.POST)
+                .body("payload")
+                .responseType(String.class)
+                .build();
+
+        serviceClient.execute(request);
+
+        assertEquals(0, serviceClient.getCoalescingStats().executions());
+    }
+
+    @Test
+    void execute_responseCacheSet_placesCacheInterceptorLastAndReusesClient() {
+        InMemoryResponseCache cache = new InMemoryResponseCache();
+        serviceClient.setResponseCache(cache);
+        ClientHttpRequestInterceptor interceptor =
+                (request, body, execution) -> execution.execute(request, body);
+
+        RestClient.Builder mutatedBuilder = mock(RestClient.Builder.class);
+        RestClient mutatedClient = mock(RestClient.class);
+        when(restClient.mutate()).thenReturn(mutatedBuilder);
+        when(mutatedBuilder.requestInterceptor(any())).thenReturn(mutatedBuilder);
+        when(mutatedBuilder.build()).thenReturn(mutatedClient);
+
+        RestClient.ResponseSpec mutatedResponseSpec = mock(RestClient.ResponseSpec.class);
+        stubRequestChain(mutatedClient, mock(RestClient.RequestBodyUriSpec.class),
+                mock(RestClient.RequestBodySpec.class), mutatedResponseSpec);
+        when(mutatedResponseSpec.body(String.class)).thenReturn("cached");
+
+        for (int i = 0; i < 2; i++) {
+            serviceClient.execute(RestServiceRequest.<String>builder()
+                    .url("https://example.com/api")
+                    .responseType(String.class)
+                    .interceptor(interceptor)
+                    .build());
+        }
+
+        ArgumentCaptor<ClientHttpRequestInterceptor> captor =
+                ArgumentCaptor.forClass(ClientHttpRequestInterceptor.class);
+        verify(mutatedBuilder, times(2)).requestInterceptor(captor.capture());
+        assertEquals(interceptor, captor.getAllValues().get(0));
+        ResponseCacheInterceptor cacheInterceptor =
+                assertInstanceOf(ResponseCacheInterceptor.class, captor.getAllValues().get(1));
+        assertEquals(cache, cacheInterceptor.getCache());
+        verify(restClient, times(1)).mutate();
+    }
+
+    @Test
+    void execute_perRequestResponseCache_overridesGlobal() {
+        serviceClient.setResponseCache(new InMemoryResponseCache());
+        InMemoryResponseCache perRequest = new InMemoryResponseCache();
+
+        RestClient.Builder mutatedBuilder = mock(RestClient.Builder.class);
+        RestClient mutatedClient = mock(RestClient.class);
+        when(restClient.mutate()).thenReturn(mutatedBuilder);
+        when(mutatedBuilder.requestInterceptor(any())).thenReturn(mutatedBuilder);
+        when(mutatedBuilder.build()).thenReturn(mutatedClient);
+        stubRequestChain(mutatedClient, mock(RestClient.RequestBodyUriSpec.class),
+                mock(RestClient.RequestBodySpec.class), mock(RestClient.ResponseSpec.class));
+
+        serviceClient.execute(RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .responseCache(perRequest)
+                .build());
+
+        ArgumentCaptor<ClientHttpRequestInterceptor> captor =
+                ArgumentCaptor.forClass(ClientHttpRequestInterceptor.class);
+        verify(mutatedBuilder).requestInterceptor(captor.capture());
+        assertEquals(perRequest, ((ResponseCacheInterceptor) captor.getValue()).getCache());
+    }
+
+    @Test
+    void execute_circuitBreakerOpens_failsFastWithoutFurtherRetries() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(new CircuitBreakerConfig(
+                50, 100, Duration.ofSeconds(10), 2, 2, Duration.ofMinutes(1), 1));
+        serviceClient.setCircuitBreakerRegistry(registry);
+        when(responseSpec.body(String.class))
+                .thenThrow(HttpServerErrorException.create(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null));
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("http://example.com:8080/api")
+                .responseType(String.class)
+                .build();
+
+        assertThrows(CallNotPermittedException.class, () -> serviceClient.execute(request));
+        verify(responseSpec, times(2)).body(String.class);
+        assertEquals(CircuitBreaker.State.OPEN, registry.get("http://example.com:8080").getState());
+    }
+
+    @Test
+    void execute_concurrencyLimit_serverErrorBacksOffLimit() {
+        ConcurrencyLimiterRegistry registry = new ConcurrencyLimiterRegistry(
+                () -> new AimdLimit(10, 1, 100, 0.5, Duration.ofSeconds(30)), 0, Duration.ofSeconds(1));
+        serviceClient.setConcurrencyLimiterRegistry(registry);
+        when(responseSpec.body(String.class))
+                .thenThrow(HttpServerErrorException.create(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null))
+                .thenReturn("recovered");
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .build();
+
+        assertEquals("recovered", serviceClient.execute(request));
+        assertEquals(new ConcurrencyLimiterStats(5, 0, 0, 0),
+                registry.get("https://example.com:443").getStats());
+    }
+
+    @Test
+    void execute_concurrencyLimitKeyResolver_selectsLimiter() {
+        ConcurrencyLimiterRegistry registry = new ConcurrencyLimiterRegistry(
+                () -> new AimdLimit(10, 1, 100, 0.5, Duration.ofSeconds(30)), 0, Duration.ofSeconds(1));
+        serviceClient.setConcurrencyLimiterRegistry(registry);
+        serviceClient.setConcurrencyLimitKeyResolver(request -> "per-endpoint:" + request.getUrl());
+        when(responseSpec.body(String.class)).thenReturn("ok");
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .build();
+
+        assertEquals("ok", serviceClient.execute(request));
+        assertEquals(List.of("per-endpoint:https://example.com/api"), List.copyOf(registry.getStats().keySet()));
+    }
+
+    @Test
+    void execute_loadBalancedRetry_goesToAnotherReplica() {
+        LoadBalancerRegistry balancers = new LoadBalancerRegistry(Duration.ofSeconds(10), Duration.ofSeconds(1));
+        balancers.register("orders", List.of("https://orders-1:8443", "https://orders-2:8443"));
+        serviceClient.setLoadBalancerRegistry(balancers);
+        ArgumentCaptor<String> urls = ArgumentCaptor.forClass(String.class);
+        when(requestBodyUriSpec.uri(urls.capture())).thenReturn(requestBodySpec);
+        when(responseSpec.body(String.class))
+                .thenThrow(HttpServerErrorException.create(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null))
+                .thenReturn("recovered");
+
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .service("orders")
+                .url("/orders/42")
+                .responseType(String.class)
+                .build();
+
+        assertEquals("recovered", serviceClient.execute(request));
+        assertEquals(2, urls.getAllValues().size());
+        assertTrue(urls.getAllValues().get(0).endsWith(":8443/orders/42"));
+        assertFalse(urls.getAllValues().get(0).equals(urls.getAllValues().get(1)));
+        assertEquals(1, balancers.get("orders").getStats().values().stream()
+                .mapToLong(EndpointStats::failures).sum());
+    }
+
+    @Test
+    void execute_loadBalancedWithoutRegistry_throws() {
+        RestServiceRequest<String> request = RestServiceRequest.<String>builder()
+                .service("orders")
+                .url("/orders/42")
+                .responseType(String.class)
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> serviceClient.execute(request));
+    }
+
+    private static void stubRequestChain(RestClient client,
+                                         RestClient.RequestBodyUriSpec uriSpec,
+                                         RestClient.RequestBodySpec bodySpec,
+                                         RestClient.ResponseSpec response) {
+        when(client.method(any(HttpMethod.class))).thenReturn(uriSpec);
+        when(uriSpec.uri(anyString())).thenReturn(bodySpec);
+        when(bodySpec.headers(any())).thenReturn(bodySpec);
+        when(bodySpec.contentType(any())).thenReturn(bodySpec);
+        when(bodySpec.accept(any(MediaType[].class))).thenReturn(bodySpec);
+        when(bodySpec.body(any(Object.class))).thenReturn(bodySpec);
+        when(bodySpec.retrieve()).thenReturn(response);
+    }
+}
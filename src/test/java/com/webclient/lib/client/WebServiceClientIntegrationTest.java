@@ -0,0 +1,906 @@
+package com.webclient.lib.client;
+
+import com.webclient.lib.auth.BearerTokenFilterFunction;
+import com.webclient.lib.cache.InMemoryResponseCache;
+import com.webclient.lib.cache.MappedFileResponseCache;
+import com.webclient.lib.cache.TieredResponseCache;
+import com.webclient.lib.config.HttpClientProperties;
+import com.webclient.lib.model.WebServiceRequest;
+import com.webclient.lib.retry.RetryStrategyFactory;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.ResourceLeakDetector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRoutes;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exercises {@link WebServiceClient} against a local Reactor Netty server.
+ */
+class WebServiceClientIntegrationTest {
+
+    private DisposableServer server;
+    private WebServiceClient serviceClient;
+    private HttpClientProperties properties;
+    private final AtomicInteger hits = new AtomicInteger();
+
+    private static final List<String> LEAKS = new CopyOnWriteArrayList<>();
+    private static ResourceLeakDetector.Level previousLevel;
+
+    @BeforeAll
+    static void enableLeakDetection() {
+        previousLevel = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+        ByteBufUtil.setLeakListener((resourceType, records) -> LEAKS.add(resourceType + ": " + records));
+    }
+
+    @AfterAll
+    static void restoreLeakDetection() {
+        ByteBufUtil.setLeakListener(null);
+        ResourceLeakDetector.setLevel(previousLevel);
+    }
+
+    @BeforeEach
+    void setUp() {
+        LEAKS.clear();
+        properties = new HttpClientProperties();
+        properties.getRetry().setMaxRetries(2);
+        properties.getRetry().setRetryIntervalMs(10);
+        properties.getTimeout().setTimeoutMs(5000);
+
+        RetryStrategyFactory retryStrategyFactory = new RetryStrategyFactory();
+        retryStrategyFactory.setProperties(properties);
+
+        serviceClient = new WebServiceClient();
+        serviceClient.setRetryStrategyFactory(retryStrategyFactory);
+        serviceClient.setProperties(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Streaming
+    // ------------------------------------------------------------------ //
+
+    @Test
+    void stream_ndjson_emitsOneElementPerLine() {
+        startServer(routes -> routes.get("/export", (req, res) -> res
+                .header("Content-Type", "application/x-ndjson")
+                .sendString(Flux.range(1, 1000).map(i -> "line-" + i + "\n"))));
+
+        StepVerifier.create(serviceClient.stream(request("/export")))
+                .expectNext("line-1", "line-2")
+                .expectNextCount(997)
+                .expectNext("line-1000")
+                .verifyComplete();
+    }
+
+    @Test
+    void stream_serverSentEvents_emitsEventData() {
+        startServer(routes -> routes.get("/events", (req, res) -> res
+                .header("Content-Type", "text/event-stream")
+                .sendString(Flux.just("data:first\n\n", "id:2\ndata:second\n\n"))));
+
+        StepVerifier.create(serviceClient.stream(request("/events")))
+                .expectNext("first", "second")
+                .verifyComplete();
+    }
+
+    @Test
+    void stream_limitedDemand_doesNotReadWholeBody() {
+        AtomicInteger produced = new AtomicInteger();
+        startServer(routes -> routes.get("/export", (req, res) -> res
+                .header("Content-Type", "application/x-ndjson")
+                .sendString(Flux.range(1, 1_000_000)
+                        .doOnNext(i -> produced.incrementAndGet())
+                        .map(i -> "line-" + i + "\n"))));
+
+        StepVerifier.create(serviceClient.stream(request("/export")).take(5))
+                .expectNextCount(5)
+                .verifyComplete();
+
+        assertTrue(produced.get() < 1_000_000);
+    }
+
+    @Test
+    void stream_failureBeforeFirstElement_isRetried() {
+        startServer(routes -> routes.get("/export", (req, res) -> {
+            if (hits.incrementAndGet() == 1) {
+                return res.status(503).send();
+            }
+            return res.header("Content-Type", "application/x-ndjson")
+                    .sendString(Flux.just("a\n", "b\n"));
+        }));
+
+        StepVerifier.create(serviceClient.stream(request("/export")))
+                .expectNext("a", "b")
+                .verifyComplete();
+
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    void stream_failureAfterFirstElement_isNotRetried() {
+        startServer(routes -> routes.get("/export", (req, res) -> {
+            hits.incrementAndGet();
+            return res.header("Content-Type", "application/x-ndjson")
+                    .sendString(Flux.just("a\n")
+                            .concatWith(Flux.<String>error(new IllegalStateException("boom"))
+                                    .delaySubscription(Duration.ofMillis(50))));
+        }));
+
+        StepVerifier.create(serviceClient.stream(request("/export")))
+                .expectNext("a")
+                .expectError()
+                .verify(Duration.ofSeconds(10));
+
+        assertEquals(1, hits.get());
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Raw passthrough
+    // ------------------------------------------------------------------ //
+
+    @Test
+    void streamRaw_emitsBodyBytesAndBuffersAreReleased() {
+        byte[] payload = payload(256 * 1024);
+        startServer(routes -> routes.get("/blob", (req, res) -> res.sendByteArray(Mono.just(payload))));
+
+        AtomicLong received = new AtomicLong();
+        StepVerifier.create(serviceClient.streamRaw(request("/blob"))
+                        .doOnNext(buffer -> {
+                            received.addAndGet(buffer.readableByteCount());
+                            DataBufferUtils.release(buffer);
+                        }))
+                .thenConsumeWhile(buffer -> true)
+                .verifyComplete();
+
+        assertEquals(payload.length, received.get());
+        assertNoLeaks();
+    }
+
+    @Test
+    void streamRaw_cancelAfterFirstBuffer_releasesInFlightBuffers() {
+        startServer(routes -> routes.get("/blob", (req, res) -> res.sendByteArray(
+                Flux.range(0, 10_000).map(i -> payload(1024)))));
+
+        StepVerifier.create(serviceClient.streamRaw(request("/blob"))
+                        .take(1)
+                        .doOnNext(DataBufferUtils::release))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertNoLeaks();
+    }
+
+    @Test
+    void streamRaw_serverError_releasesBodyAndPropagates() {
+        startServer(routes -> routes.get("/blob", (req, res) -> res.status(404).sendString(Mono.just("missing"))));
+
+        StepVerifier.create(serviceClient.streamRaw(request("/blob")))
+                .expectError(WebClientResponseException.NotFound.class)
+                .verify(Duration.ofSeconds(10));
+
+        assertNoLeaks();
+    }
+
+    @Test
+    void download_writesBodyToFile(@TempDir Path dir) throws Exception {
+        byte[] payload = payload(512 * 1024);
+        startServer(routes -> routes.get("/blob", (req, res) -> res.sendByteArray(Mono.just(payload))));
+
+        Path target = dir.resolve("blob.bin");
+        StepVerifier.create(serviceClient.download(request("/blob"), target))
+                .expectNext(target)
+                .verifyComplete();
+
+        assertArrayEquals(payload, Files.readAllBytes(target));
+        assertNoLeaks();
+    }
+
+    @Test
+    void download_existingFile_isTruncated(@TempDir Path dir) throws Exception {
+        startServer(routes -> routes.get("/blob", (req, res) -> res.sendString(Mono.just("short"))));
+
+        Path target = dir.resolve("blob.bin");
+        Files.write(target, payload(4096));
+
+        StepVerifier.create(serviceClient.download(request("/blob"), target))
+                .expectNext(target)
+                .verifyComplete();
+
+        assertEquals("short", Files.readString(target));
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Ranged download
+    // ------------------------------------------------------------------ //
+
+    @Test
+    void downloadSegments_rangesSupported_fetchesSegmentsInParallel(@TempDir Path dir) throws Exception {
+        byte[] payload = payload(1024 * 1024);
+        List<String> ranges = new CopyOnWriteArrayList<>();
+        startRangeServer(payload, ranges, range -> false);
+
+        Path target = dir.resolve("blob.bin");
+        StepVerifier.create(serviceClient.download(request("/blob"), target, 4))
+                .expectNext(target)
+                .verifyComplete();
+
+        assertArrayEquals(payload, Files.readAllBytes(target));
+        assertEquals(List.of("bytes=0-262143", "bytes=262144-524287",
+                        "bytes=524288-786431", "bytes=786432-1048575"),
+                ranges.stream().sorted().toList());
+        assertNoLeaks();
+    }
+
+    @Test
+    void downloadSegments_smallResource_usesFewerSegments(@TempDir Path dir) throws Exception {
+        byte[] payload = payload(100_000);
+        List<String> ranges = new CopyOnWriteArrayList<>();
+        startRangeServer(payload, ranges, range -> false);
+
+        Path target = dir.resolve("blob.bin");
+        StepVerifier.create(serviceClient.download(request("/blob"), target, 8))
+                .expectNext(target)
+                .verifyComplete();
+
+        assertArrayEquals(payload, Files.readAllBytes(target));
+        assertEquals(List.of("bytes=0-99999"), ranges);
+    }
+
+    @Test
+    void downloadSegments_noAcceptRanges_fallsBackToSingleStream(@TempDir Path dir) throws Exception {
+        byte[] payload = payload(300_000);
+        startServer(routes -> routes
+                .head("/blob", (req, res) -> res.header("Content-Length", String.valueOf(payload.length)).send())
+                .get("/blob", (req, res) -> {
+                    hits.incrementAndGet();
+                    assertEquals(null, req.requestHeaders().get("Range"));
+                    return res.sendByteArray(Mono.just(payload));
+                }));
+
+        Path target = dir.resolve("blob.bin");
+        StepVerifier.create(serviceClient.download(request("/blob"), target, 4))
+                .expectNext(target)
+                .verifyComplete();
+
+        assertArrayEquals(payload, Files.readAllBytes(target));
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void downloadSegments_segmentFailsMidway_resumesFromLastWrittenByte(@TempDir Path dir) throws Exception {
+        byte[] payload = payload(512 * 1024);
+        List<String> ranges = new CopyOnWriteArrayList<>();
+        AtomicInteger failures = new AtomicInteger();
+        startRangeServer(payload, ranges,
+                range -> range.equals("bytes=0-262143") && failures.getAndIncrement() == 0);
+
+        Path target = dir.resolve("blob.bin");
+        StepVerifier.create(serviceClient.download(request("/blob"), target, 2))
+                .expectNext(target)
+                .verifyComplete();
+
+        assertArrayEquals(payload, Files.readAllBytes(target));
+        assertEquals(3, ranges.size());
+        String resumed = ranges.stream()
+                .filter(r -> !r.equals("bytes=0-262143") && !r.equals("bytes=262144-524287"))
+                .findFirst().orElseThrow();
+        long resumedFrom = Long.parseLong(resumed.substring("bytes=".length(), resumed.indexOf('-')));
+        assertTrue(resumedFrom > 0 && resumedFrom < 262144, resumed);
+        assertNoLeaks();
+    }
+
+    @Test
+    void downloadSegments_rangeIgnoredByServer_fails(@TempDir Path dir) {
+        byte[] payload = payload(300_000);
+        startServer(routes -> routes
+                .head("/blob", (req, res) -> res
+                        .header("Accept-Ranges", "bytes")
+                        .header("Content-Length", String.valueOf(payload.length))
+                        .send())
+                .get("/blob", (req, res) -> res.sendByteArray(Mono.just(payload))));
+
+        StepVerifier.create(serviceClient.download(request("/blob"), dir.resolve("blob.bin"), 2))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(10));
+
+        assertNoLeaks();
+    }
+
+    @Test
+    void downloadSegments_contentRangeMismatch_fails(@TempDir Path dir) {
+        byte[] payload = payload(300_000);
+        startServer(routes -> routes
+                .head("/blob", (req, res) -> res
+                        .header("Accept-Ranges", "bytes")
+                        .header("Content-Length", String.valueOf(payload.length))
+                        .send())
+                .get("/blob", (req, res) -> {
+                    // always the first bytes, whatever range was asked for
+                    String range = req.requestHeaders().get("Range");
+                    String[] bounds = range.substring("bytes=".length()).split("-");
+                    int length = Integer.parseInt(bounds[1]) - Integer.parseInt(bounds[0]) + 1;
+                    return res.status(206)
+                            .header("Content-Range", "bytes 0-" + (length - 1) + "/" + payload.length)
+                            .sendByteArray(Mono.just(Arrays.copyOf(payload, length)));
+                }));
+
+        StepVerifier.create(serviceClient.download(request("/blob"), dir.resolve("blob.bin"), 2))
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(IllegalStateException.class, e);
+                    assertTrue(e.getMessage().contains("Content-Range"), e.getMessage());
+                })
+                .verify(Duration.ofSeconds(10));
+
+        assertNoLeaks();
+    }
+
+    @Test
+    void downloadSegments_resourceLengthChanged_fails(@TempDir Path dir) {
+        byte[] payload = payload(300_000);
+        startServer(routes -> routes
+                .head("/blob", (req, res) -> res
+                        .header("Accept-Ranges", "bytes")
+                        .header("Content-Length", String.valueOf(payload.length))
+                        .send())
+                .get("/blob", (req, res) -> {
+                    String range = req.requestHeaders().get("Range");
+                    String[] bounds = range.substring("bytes=".length()).split("-");
+                    int start = Integer.parseInt(bounds[0]);
+                    int end = Integer.parseInt(bounds[1]);
+                    return res.status(206)
+                            .header("Content-Range", "bytes " + start + "-" + end + "/" + (payload.length + 1))
+                            .sendByteArray(Mono.just(Arrays.copyOfRange(payload, start, end + 1)));
+                }));
+
+        StepVerifier.create(serviceClient.download(request("/blob"), dir.resolve("blob.bin"), 2))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(10));
+
+        assertNoLeaks();
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Streaming request bodies
+    // ------------------------------------------------------------------ //
+
+    @Test
+    void execute_pathBody_uploadsFileContents(@TempDir Path dir) throws Exception {
+        byte[] payload = payload(1024 * 1024);
+        Path source = dir.resolve("upload.bin");
+        Files.write(source, payload);
+        startEchoServer();
+
+        StepVerifier.create(serviceClient.execute(upload(source)))
+                .expectNext(digest(payload))
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_fileChannelBody_uploadsFromCurrentPosition(@TempDir Path dir) throws Exception {
+        byte[] payload = payload(200_000);
+        Path source = dir.resolve("upload.bin");
+        Files.write(source, payload);
+        startEchoServer();
+
+        FileChannel channel = FileChannel.open(source, StandardOpenOption.READ);
+        channel.position(100_000);
+
+        StepVerifier.create(serviceClient.execute(upload(channel)))
+                .expectNext(digest(Arrays.copyOfRange(payload, 100_000, payload.length)))
+                .verifyComplete();
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    void execute_dataBufferPublisherBody_isSentAsIs() throws Exception {
+        startEchoServer();
+        Flux<DataBuffer> chunks = Flux.range(0, 4)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(("chunk-" + i).getBytes(StandardCharsets.UTF_8)));
+
+        WebServiceRequest<String> request = WebServiceRequest.<String>builder()
+                .url(baseUrl() + "/echo")
+                .method(HttpMethod.POST)
+                .body(chunks, DataBuffer.class)
+                .responseType(String.class)
+                .build();
+
+        StepVerifier.create(serviceClient.execute(request))
+                .expectNext(digest("chunk-0chunk-1chunk-2chunk-3".getBytes(StandardCharsets.UTF_8)))
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_typedPublisherBody_isEncodedAsNdjson() {
+        startServer(routes -> routes.post("/echo", (req, res) -> res.sendString(
+                req.receive().aggregate().asString()
+                        .map(body -> req.requestHeaders().get("Content-Type") + "|" + body))));
+
+        WebServiceRequest<String> request = WebServiceRequest.<String>builder()
+                .url(baseUrl() + "/echo")
+                .method(HttpMethod.POST)
+                .body(Flux.just("first", "second"), String.class)
+                .responseType(String.class)
+                .build();
+
+        StepVerifier.create(serviceClient.execute(request))
+                .assertNext(echo -> {
+                    assertTrue(echo.startsWith("application/x-ndjson|"));
+                    assertTrue(echo.contains("first"));
+                    assertTrue(echo.contains("second"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_publisherBody_isNotRetried() {
+        startUnavailableUploadServer();
+        Flux<DataBuffer> chunks = Flux.just("chunk")
+                .map(s -> DefaultDataBufferFactory.sharedInstance.wrap(s.getBytes(StandardCharsets.UTF_8)));
+
+        WebServiceRequest<String> request = WebServiceRequest.<String>builder()
+                .url(baseUrl() + "/echo")
+                .method(HttpMethod.POST)
+                .body(chunks, DataBuffer.class)
+                .responseType(String.class)
+                .build();
+
+        StepVerifier.create(serviceClient.execute(request))
+                .expectError(WebClientResponseException.ServiceUnavailable.class)
+                .verify(Duration.ofSeconds(10));
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void execute_fileChannelBody_isNotRetried(@TempDir Path dir) throws Exception {
+        Path source = dir.resolve("upload.bin");
+        Files.write(source, payload(1024));
+        startUnavailableUploadServer();
+
+        StepVerifier.create(serviceClient.execute(upload(FileChannel.open(source, StandardOpenOption.READ))))
+                .expectError(WebClientResponseException.ServiceUnavailable.class)
+                .verify(Duration.ofSeconds(10));
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void execute_pathBody_isRetried(@TempDir Path dir) throws Exception {
+        Path source = dir.resolve("upload.bin");
+        Files.write(source, payload(1024));
+        startUnavailableUploadServer();
+
+        StepVerifier.create(serviceClient.execute(upload(source)))
+                .expectError()
+                .verify(Duration.ofSeconds(10));
+        assertEquals(3, hits.get());
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Coalescing
+    // ------------------------------------------------------------------ //
+
+    @Test
+    void executeAll_wideBatchToOneHost_staysWithinPendingAcquireLimit() {
+        properties.getRetry().setMaxRetries(0);
+        properties.getPool().setMaxConnectionsPerRoute(4);
+        startServer(routes -> routes.get("/item", (req, res) -> {
+            hits.incrementAndGet();
+            return res.sendString(Mono.just("item").delayElement(Duration.ofMillis(50)));
+        }));
+        // Sized like the auto-configured pool: per-route limit, 2x pending-acquire queue
+        ConnectionProvider provider = ConnectionProvider.builder("batch")
+                .maxConnections(4)
+                .pendingAcquireMaxCount(8)
+                .build();
+        serviceClient.setWebClient(WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider)))
+                .build());
+
+        try {
+            StepVerifier.create(serviceClient.executeAll(Flux.range(0, 60).map(i -> request("/item")), 60)
+                            .filter(result -> !result.isSuccess())
+                            .map(result -> result.getError().toString()))
+                    .verifyComplete();
+        } finally {
+            provider.disposeLater().block(Duration.ofSeconds(5));
+        }
+        assertEquals(60, hits.get());
+    }
+
+    @Test
+    void execute_coalescingEnabled_concurrentIdenticalGetsHitServerOnce() {
+        properties.getCoalescing().setEnabled(true);
+        startServer(routes -> routes.get("/item", (req, res) -> {
+            hits.incrementAndGet();
+            return res.sendString(Mono.just("item").delayElement(Duration.ofMillis(200)));
+        }));
+
+        StepVerifier.create(Flux.range(0, 20).flatMap(i -> serviceClient.execute(request("/item"))))
+                .expectNextCount(20)
+                .verifyComplete();
+
+        assertEquals(1, hits.get());
+        assertEquals(19, serviceClient.getCoalescingStats().coalesced());
+    }
+
+    @Test
+    void execute_coalescingEnabled_differentHeadersAreNotShared() {
+        properties.getCoalescing().setEnabled(true);
+        startServer(routes -> routes.get("/item", (req, res) -> {
+            hits.incrementAndGet();
+            return res.sendString(Mono.just(req.requestHeaders().get("X-Tenant"))
+                    .delayElement(Duration.ofMillis(100)));
+        }));
+
+        Mono<String> first = serviceClient.execute(WebServiceRequest.<String>builder()
+                .url(baseUrl() + "/item").header("X-Tenant", "a").responseType(String.class).build());
+        Mono<String> second = serviceClient.execute(WebServiceRequest.<String>builder()
+                .url(baseUrl() + "/item").header("X-Tenant", "b").responseType(String.class).build());
+
+        StepVerifier.create(Mono.zip(first, second))
+                .assertNext(results -> {
+                    assertEquals("a", results.getT1());
+                    assertEquals("b", results.getT2());
+                })
+                .verifyComplete();
+
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    void execute_coalescingDisabled_eachCallHitsServer() {
+        startServer(routes -> routes.get("/item", (req, res) -> {
+            hits.incrementAndGet();
+            return res.sendString(Mono.just("item").delayElement(Duration.ofMillis(100)));
+        }));
+
+        StepVerifier.create(Flux.range(0, 5).flatMap(i -> serviceClient.execute(request("/item"))))
+                .expectNextCount(5)
+                .verifyComplete();
+
+        assertEquals(5, hits.get());
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Response cache
+    // ------------------------------------------------------------------ //
+
+    @Test
+    void execute_globalCache_freshResponseServedWithoutServerHit() {
+        InMemoryResponseCache cache = new InMemoryResponseCache();
+        serviceClient.setResponseCache(cache);
+        startServer(routes -> routes.get("/item", (req, res) -> res
+                .header("Cache-Control", "max-age=60")
+                .sendString(Mono.just("item-" + hits.incrementAndGet()))));
+
+        StepVerifier.create(serviceClient.execute(request("/item"))).expectNext("item-1").verifyComplete();
+        StepVerifier.create(serviceClient.execute(request("/item"))).expectNext("item-1").verifyComplete();
+
+        assertEquals(1, hits.get());
+        assertEquals(1, cache.getStats().hits());
+        assertNoLeaks();
+    }
+
+    @Test
+    void execute_globalCache_differentBearerFiltersDoNotShareEntries() {
+        serviceClient.setResponseCache(new InMemoryResponseCache());
+        startServer(routes -> routes.get("/item", (req, res) -> res
+                .header("Cache-Control", "public, max-age=60")
+                .sendString(Mono.just(req.requestHeaders().get("Authorization") + "-" + hits.incrementAndGet()))));
+        BearerTokenFilterFunction alice = new BearerTokenFilterFunction();
+        alice.setBearerTokenProvider(() -> "alice");
+        BearerTokenFilterFunction bob = new BearerTokenFilterFunction();
+        bob.setBearerTokenProvider(() -> "bob");
+
+        StepVerifier.create(serviceClient.execute(request("/item", alice))).expectNext("Bearer alice-1").verifyComplete();
+        StepVerifier.create(serviceClient.execute(request("/item", bob))).expectNext("Bearer bob-2").verifyComplete();
+        StepVerifier.create(serviceClient.execute(request("/item", alice))).expectNext("Bearer alice-1").verifyComplete();
+        StepVerifier.create(serviceClient.execute(request("/item", bob))).expectNext("Bearer bob-2").verifyComplete();
+
+        assertEquals(2, hits.get());
+        assertNoLeaks();
+    }
+
+    @Test
+    void execute_perRequestCache_revalidatesWithEtag() {
+        InMemoryResponseCache cache = new InMemoryResponseCache();
+        List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+        startServer(routes -> routes.get("/item", (req, res) -> {
+            hits.incrementAndGet();
+            String etag = req.requestHeaders().get("If-None-Match");
+            if (etag != null) {
+                ifNoneMatch.add(etag);
+                return res.status(304).header("ETag", "\"v1\"").send();
+            }
+            return res.header("ETag", "\"v1\"").sendString(Mono.just("item"));
+        }));
+        WebServiceRequest<String> request = WebServiceRequest.<String>builder()
+                .url(baseUrl() + "/item")
+                .responseType(String.class)
+                .responseCache(cache)
+                .build();
+
+        StepVerifier.create(serviceClient.execute(request)).expectNext("item").verifyComplete();
+        StepVerifier.create(serviceClient.execute(request)).expectNext("item").verifyComplete();
+
+        assertEquals(2, hits.get());
+        assertEquals(List.of("\"v1\""), ifNoneMatch);
+        assertNoLeaks();
+    }
+
+    @Test
+    void execute_tieredCacheReopened_servesFromDiskTier(@TempDir Path dir) {
+        startServer(routes -> routes.get("/item", (req, res) -> res
+                .header("Cache-Control", "max-age=60")
+                .sendString(Mono.just("item-" + hits.incrementAndGet()))));
+        TieredResponseCache cache = new TieredResponseCache(new InMemoryResponseCache(),
+                new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024));
+        serviceClient.setResponseCache(cache);
+        StepVerifier.create(serviceClient.execute(request("/item"))).expectNext("item-1").verifyComplete();
+        cache.close();
+
+        TieredResponseCache restarted = new TieredResponseCache(new InMemoryResponseCache(),
+                new MappedFileResponseCache(dir, 64 * 1024, 16 * 1024));
+        serviceClient.setResponseCache(restarted);
+        StepVerifier.create(serviceClient.execute(request("/item"))).expectNext("item-1").verifyComplete();
+
+        assertEquals(1, hits.get());
+        assertEquals(1, restarted.getTierStats().get(1).hits());
+        assertNoLeaks();
+    }
+
+    @Test
+    void execute_staleIfError_timeoutServesStaleResponse() {
+        serviceClient.setResponseCache(new InMemoryResponseCache());
+        startServer(routes -> routes.get("/item", (req, res) -> {
+            if (hits.incrementAndGet() == 1) {
+                return res.header("Cache-Control", "max-age=0").header("ETag", "\"v1\"")
+                        .sendString(Mono.just("item"));
+            }
+            return res.sendString(Mono.just("late").delayElement(Duration.ofSeconds(2)));
+        }));
+        WebServiceRequest<String> request = WebServiceRequest.<String>builder()
+                .url(baseUrl() + "/item")
+                .responseType(String.class)
+                .timeoutMs(200)
+                .maxRetries(0)
+                .staleIfErrorMs(60_000)
+                .build();
+
+        StepVerifier.create(serviceClient.execute(request)).expectNext("item").verifyComplete();
+        StepVerifier.create(serviceClient.execute(request)).expectNext("item").verifyComplete();
+
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    void execute_staleWhileRevalidate_servesStaleThenRefreshed() throws Exception {
+        serviceClient.setResponseCache(new InMemoryResponseCache());
+        startServer(routes -> routes.get("/item", (req, res) -> {
+            int hit = hits.incrementAndGet();
+            return res.header("Cache-Control", hit == 1 ? "max-age=0, stale-while-revalidate=60" : "max-age=60")
+                    .header("ETag", "\"v" + hit + "\"")
+                    .sendString(Mono.just("item-" + hit).delayElement(Duration.ofMillis(hit == 1 ? 0 : 200)));
+        }));
+
+        StepVerifier.create(serviceClient.execute(request("/item"))).expectNext("item-1").verifyComplete();
+        StepVerifier.create(serviceClient.execute(request("/item")))
+                .expectNext("item-1")
+                .expectComplete()
+                .verify(Duration.ofMillis(150));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String latest;
+        do {
+            Thread.sleep(20);
+            latest = serviceClient.execute(request("/item")).block();
+        } while ("item-1".equals(latest) && System.nanoTime() < deadline);
+
+        assertEquals("item-2", latest);
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    void execute_noStoreResponse_isNotCached() {
+        serviceClient.setResponseCache(new InMemoryResponseCache());
+        startServer(routes -> routes.get("/item", (req, res) -> res
+                .header("Cache-Control", "no-store")
+                .sendString(Mono.just("item-" + hits.incrementAndGet()))));
+
+        StepVerifier.create(serviceClient.execute(request("/item"))).expectNext("item-1").verifyComplete();
+        StepVerifier.create(serviceClient.execute(request("/item"))).expectNext("item-2").verifyComplete();
+    }
+
+    @Test
+    void stream_globalCache_isBypassed() {
+        InMemoryResponseCache cache = new InMemoryResponseCache();
+        serviceClient.setResponseCache(cache);
+        startServer(routes -> routes.get("/item", (req, res) -> res
+                .header("Cache-Control", "max-age=60")
+                .sendString(Mono.just("item-" + hits.incrementAndGet()))));
+
+        StepVerifier.create(serviceClient.stream(request("/item"))).expectNext("item-1").verifyComplete();
+
+        assertEquals(0, cache.getStats().entries());
+    }
+
+    // ------------------------------------------------------------------ //
+    //  Helpers
+    // ------------------------------------------------------------------ //
+
+    /**
+     * Starts a server whose {@code /echo} route replies with the SHA-256 of
+     * the request body, so large uploads can be verified without echoing them.
+     */
+    private void startEchoServer() {
+        startServer(routes -> routes.post("/echo", (req, res) -> res.sendString(
+                req.receive().asByteArray()
+                        .reduce(sha256(), (md, bytes) -> {
+                            md.update(bytes);
+                            return md;
+                        })
+                        .map(md -> HexFormat.of().formatHex(md.digest())))));
+    }
+
+    /**
+     * Starts a server that drains every upload to {@code /echo} and answers
+     * {@code 503}, counting requests in {@link #hits}.
+     */
+    private void startUnavailableUploadServer() {
+        startServer(routes -> routes.post("/echo", (req, res) -> {
+            hits.incrementAndGet();
+            return req.receive().thenEmpty(res.status(503).send());
+        }));
+    }
+
+    /**
+     * Starts a server that serves {@code payload} at {@code /blob} with byte
+     * range support, recording each requested range.  Ranges matching
+     * {@code failWhen} send the first 64 KiB and then drop the connection.
+     */
+    private void startRangeServer(byte[] payload, List<String> ranges, Predicate<String> failWhen) {
+        startServer(routes -> routes
+                .head("/blob", (req, res) -> res
+                        .header("Accept-Ranges", "bytes")
+                        .header("Content-Length", String.valueOf(payload.length))
+                        .send())
+                .get("/blob", (req, res) -> {
+                    String range = req.requestHeaders().get("Range");
+                    ranges.add(range);
+                    String[] bounds = range.substring("bytes=".length()).split("-");
+                    int start = Integer.parseInt(bounds[0]);
+                    int end = Integer.parseInt(bounds[1]);
+                    byte[] slice = Arrays.copyOfRange(payload, start, end + 1);
+                    res.status(206).header("Content-Range", "bytes " + start + "-" + end + "/" + payload.length);
+                    if (failWhen.test(range)) {
+                        return res.sendByteArray(Flux.just(Arrays.copyOf(slice, 64 * 1024))
+                                .concatWith(Flux.<byte[]>error(new IllegalStateException("boom"))
+                                        .delaySubscription(Duration.ofMillis(50))));
+                    }
+                    return res.sendByteArray(Mono.just(slice));
+                }));
+    }
+
+    private WebServiceRequest<String> upload(Object body) {
+        return WebServiceRequest.<String>builder()
+                .url(baseUrl() + "/echo")
+                .method(HttpMethod.POST)
+                .body(body)
+                .responseType(String.class)
+                .build();
+    }
+
+    private static String digest(byte[] bytes) {
+        MessageDigest md = sha256();
+        md.update(bytes);
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] payload(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    /**
+     * Forces leak reporting: collected-but-unreleased buffers are reported by
+     * Netty on subsequent allocations once the GC has enqueued them.
+     */
+    private static void assertNoLeaks() {
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            for (int j = 0; j < 100; j++) {
+                ByteBufAllocator.DEFAULT.directBuffer(64).release();
+            }
+        }
+        assertEquals(List.of(), LEAKS);
+    }
+
+    private void startServer(Consumer<HttpServerRoutes> routes) {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes)
+                .bindNow();
+        serviceClient.setWebClient(WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector())
+                .build());
+    }
+
+    private WebServiceRequest<String> request(String path) {
+        return WebServiceRequest.<String>builder()
+                .url(baseUrl() + path)
+                .responseType(String.class)
+                .build();
+    }
+
+    private WebServiceRequest<String> request(String path, ExchangeFilterFunction filter) {
+        return WebServiceRequest.<String>builder()
+                .url(baseUrl() + path)
+                .responseType(String.class)
+                .filter(filter)
+                .build();
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+}
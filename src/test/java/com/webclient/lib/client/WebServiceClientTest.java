@@ -1,6 +1,17 @@
 package com.webclient.lib.client;
 
+import com.webclient.lib.balancer.EndpointStats;
+import com.webclient.lib.balancer.LoadBalancerRegistry;
+import com.webclient.lib.breaker.CallNotPermittedException;
+import com.webclient.lib.breaker.CircuitBreaker;
+import com.webclient.lib.breaker.CircuitBreakerConfig;
+import com.webclient.lib.breaker.CircuitBreakerRegistry;
 import com.webclient.lib.config.HttpClientProperties;
+import com.webclient.lib.limit.AimdLimit;
+import com.webclient.lib.limit.ConcurrencyLimiterRegistry;
+import com.webclient.lib.limit.FixedLimit;
+import com.webclient.lib.limit.LimitExceededException;
+import com.webclient.lib.model.ServiceResult;
 import com.webclient.lib.model.WebServiceRequest;
 import com.webclient.lib.retry.RetryStrategyFactory;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,19 +24,30 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -389,6 +411,40 @@ class WebServiceClientTest {
         verify(mutatedBuilder).build();
     }
 
+    @Test
+    void execute_sameFilterChainTwice_reusesCachedClient() {
+        ExchangeFilterFunction testFilter = (request, next) -> next.exchange(request);
+
+        WebClient.Builder mutatedBuilder = mock(WebClient.Builder.class);
+        WebClient mutatedClient = mock(WebClient.class);
+        when(webClient.mutate()).thenReturn(mutatedBuilder);
+        when(mutatedBuilder.filter(any(ExchangeFilterFunction.class))).thenReturn(mutatedBuilder);
+        when(mutatedBuilder.build()).thenReturn(mutatedClient);
+
+        WebClient.RequestBodyUriSpec mutatedUriSpec = mock(WebClient.RequestBodyUriSpec.class);
+        WebClient.RequestBodySpec mutatedBodySpec = mock(WebClient.RequestBodySpec.class);
+        when(mutatedClient.method(any(HttpMethod.class))).thenReturn(mutatedUriSpec);
+        when(mutatedUriSpec.uri(anyString())).thenReturn(mutatedBodySpec);
+        mockExchangeToMono(mutatedBodySpec, 200, "cached-client");
+
+        for (int i = 0; i < 2; i++) {
+            WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                    .url("https://example.com/api")
+                    .responseType(String.class)
+                    .filter(testFilter)
+                    .build();
+
+            StepVerifier.create(serviceClient.execute(spec))
+                    .expectNext("cached-client")
+                    .verifyComplete();
+        }
+
+        verify(webClient, times(1)).mutate();
+        verify(mutatedBuilder, times(1)).build();
+        assertEquals(1, serviceClient.getClientCacheStats().hits());
+        assertEquals(1, serviceClient.getClientCacheStats().misses());
+    }
+
     @Test
     void execute_withNoFilters_usesBaseWebClientDirectly() {
         WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
@@ -406,6 +462,298 @@ class WebServiceClientTest {
         verify(webClient).method(HttpMethod.GET);
     }
 
+    @Test
+    void executeAll_mixedOutcomes_wrapsEachResult() {
+        AtomicInteger callCount = new AtomicInteger(0);
+        when(requestBodySpec.exchangeToMono(any(Function.class))).thenAnswer(invocation -> {
+            Function<ClientResponse, Mono<String>> handler = invocation.getArgument(0);
+            return Mono.defer(() -> {
+                ClientResponse response = mock(ClientResponse.class);
+                if (callCount.incrementAndGet() == 2) {
+                    when(response.statusCode()).thenReturn(HttpStatusCode.valueOf(404));
+                    when(response.createException()).thenReturn(Mono.just(
+                            WebClientResponseException.create(404, "Not Found",
+                                    null, null, null)));
+                } else {
+                    when(response.statusCode()).thenReturn(HttpStatusCode.valueOf(200));
+                    when(response.bodyToMono(String.class)).thenReturn(Mono.just("ok"));
+                }
+                return handler.apply(response);
+            });
+        });
+
+        StepVerifier.create(serviceClient.executeAll(Flux.range(0, 3).map(i -> simpleRequest()), 1, true))
+                .assertNext(r -> {
+                    assertEquals(0, r.getIndex());
+                    assertEquals("ok", r.getValue());
+                })
+                .assertNext(r -> {
+                    assertEquals(1, r.getIndex());
+                    assertFalse(r.isSuccess());
+                    assertInstanceOf(WebClientResponseException.class, r.getError());
+                })
+                .assertNext(r -> assertEquals(2, r.getIndex()))
+                .verifyComplete();
+    }
+
+    @Test
+    void executeAll_boundsInFlightCalls() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        mockDelayedExchange(inFlight, maxInFlight, i -> Duration.ofMillis(20));
+
+        StepVerifier.create(serviceClient.executeAll(Flux.range(0, 20).map(i -> simpleRequest()), 4))
+                .expectNextCount(20)
+                .verifyComplete();
+
+        assertEquals(4, maxInFlight.get());
+    }
+
+    @Test
+    void executeAll_concurrencyAbovePoolLimit_isCapped() {
+        properties.getPool().setMaxConnections(2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        mockDelayedExchange(inFlight, maxInFlight, i -> Duration.ofMillis(20));
+
+        StepVerifier.create(serviceClient.executeAll(Flux.range(0, 10).map(i -> simpleRequest()), 50))
+                .expectNextCount(10)
+                .verifyComplete();
+
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void executeAll_concurrencyAboveRouteLimit_isCappedPerHost() {
+        properties.getPool().setMaxConnectionsPerRoute(3);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        mockDelayedExchange(inFlight, maxInFlight, i -> Duration.ofMillis(20));
+
+        StepVerifier.create(serviceClient.executeAll(Flux.range(0, 12).map(i -> simpleRequest()), 50, true))
+                .expectNextCount(12)
+                .verifyComplete();
+
+        assertEquals(3, maxInFlight.get());
+    }
+
+    @Test
+    void executeAll_hostOverride_capsAtHostLimit() {
+        HttpClientProperties.Pool.Host host = new HttpClientProperties.Pool.Host();
+        host.setMaxConnections(5);
+        properties.getPool().setMaxConnectionsPerRoute(2);
+        properties.getPool().getHosts().put("example.com", host);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        mockDelayedExchange(inFlight, maxInFlight, i -> Duration.ofMillis(20));
+
+        StepVerifier.create(serviceClient.executeAll(Flux.range(0, 20).map(i -> simpleRequest()), 50))
+                .expectNextCount(20)
+                .verifyComplete();
+
+        assertEquals(5, maxInFlight.get());
+    }
+
+    @Test
+    void executeAll_ordered_emitsInSubmissionOrder() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        // First call is the slowest, so completion order differs from submission order
+        mockDelayedExchange(inFlight, maxInFlight, i -> Duration.ofMillis(i == 1 ? 100 : 10));
+
+        StepVerifier.create(serviceClient.executeAll(Flux.range(0, 3).map(i -> simpleRequest()), 3, true)
+                        .map(ServiceResult::getIndex))
+                .expectNext(0L, 1L, 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void executeAll_invalidConcurrency_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> serviceClient.executeAll(Flux.<WebServiceRequest<String>>empty(), 0));
+    }
+
+    @Test
+    void download_invalidSegments_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> serviceClient.download(simpleRequest(), Path.of("unused.bin"), 0));
+    }
+
+    @Test
+    void execute_circuitBreakerOpens_failsFastWithoutFurtherRetries() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(new CircuitBreakerConfig(
+                50, 100, Duration.ofSeconds(10), 2, 2, Duration.ofMinutes(1), 1));
+        serviceClient.setCircuitBreakerRegistry(registry);
+
+        AtomicInteger exchanges = new AtomicInteger();
+        when(requestBodySpec.exchangeToMono(any(Function.class))).thenReturn(
+                Mono.defer(() -> {
+                    exchanges.incrementAndGet();
+                    return Mono.error(WebClientResponseException.create(503, "Unavailable", null, null, null));
+                }));
+
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .build();
+
+        StepVerifier.create(serviceClient.execute(spec))
+                .expectError(CallNotPermittedException.class)
+                .verify(Duration.ofSeconds(30));
+
+        assertEquals(2, exchanges.get());
+        assertEquals(CircuitBreaker.State.OPEN, registry.get("https://example.com:443").getState());
+    }
+
+    @Test
+    void execute_timeoutCancelsHungCall_recordedAsBreakerFailure() {
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(new CircuitBreakerConfig(
+                50, 100, Duration.ofSeconds(10), 2, 2, Duration.ofMinutes(1), 1));
+        serviceClient.setCircuitBreakerRegistry(registry);
+        when(requestBodySpec.exchangeToMono(any(Function.class))).thenReturn(Mono.never());
+
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .timeoutMs(100)
+                .build();
+
+        StepVerifier.create(serviceClient.execute(spec))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, registry.get("https://example.com:443").getStats().failedCalls());
+    }
+
+    @Test
+    void execute_concurrencyLimitReached_rejectsExcessWithoutCallingDownstream() {
+        ConcurrencyLimiterRegistry registry = new ConcurrencyLimiterRegistry(
+                () -> new AimdLimit(1, 1, 1, 0.5, Duration.ofSeconds(30)), 0, Duration.ofSeconds(1));
+        serviceClient.setConcurrencyLimiterRegistry(registry);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        mockDelayedExchange(inFlight, maxInFlight, call -> Duration.ofMillis(200));
+
+        StepVerifier.create(Flux.merge(
+                        serviceClient.execute(simpleRequest()).onErrorResume(LimitExceededException.class, e -> Mono.just("rejected")),
+                        serviceClient.execute(simpleRequest()).onErrorResume(LimitExceededException.class, e -> Mono.just("rejected"))))
+                .expectNext("rejected", "ok")
+                .verifyComplete();
+
+        assertEquals(1, maxInFlight.get());
+        assertEquals(0, registry.get("https://example.com:443").getStats().inFlight());
+    }
+
+    @Test
+    void execute_hedgingWithConcurrencyLimit_neverExceedsLimit() {
+        properties.getHedging().setEnabled(true);
+        serviceClient.setProperties(properties);
+        ConcurrencyLimiterRegistry registry = new ConcurrencyLimiterRegistry(
+                () -> new FixedLimit(2), 10, Duration.ofSeconds(5));
+        serviceClient.setConcurrencyLimiterRegistry(registry);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        mockDelayedExchange(inFlight, maxInFlight, call -> Duration.ofMillis(300));
+
+        StepVerifier.create(Flux.range(0, 4).flatMap(i -> serviceClient.execute(simpleRequest())))
+                .expectNextCount(4)
+                .verifyComplete();
+
+        assertEquals(2, maxInFlight.get());
+        assertEquals(0, serviceClient.getHedgingStats().hedges());
+        assertEquals(4, serviceClient.getHedgingStats().limitRejected());
+        assertEquals(0, registry.get("https://example.com:443").getStats().inFlight());
+    }
+
+    @Test
+    void execute_hedgingWithConcurrencyLimit_hedgeTakesFreePermit() {
+        properties.getHedging().setEnabled(true);
+        serviceClient.setProperties(properties);
+        ConcurrencyLimiterRegistry registry = new ConcurrencyLimiterRegistry(
+                () -> new FixedLimit(2), 10, Duration.ofSeconds(5));
+        serviceClient.setConcurrencyLimiterRegistry(registry);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        mockDelayedExchange(inFlight, maxInFlight, call -> Duration.ofMillis(call == 1 ? 2000 : 10));
+
+        StepVerifier.create(serviceClient.execute(simpleRequest()))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertEquals(2, maxInFlight.get());
+        assertEquals(1, serviceClient.getHedgingStats().hedgeWins());
+        assertEquals(0, registry.get("https://example.com:443").getStats().inFlight());
+    }
+
+    @Test
+    void execute_loadBalancedRetry_goesToAnotherReplica() {
+        LoadBalancerRegistry balancers = new LoadBalancerRegistry(Duration.ofSeconds(10), Duration.ofSeconds(1));
+        balancers.register("orders", List.of("https://orders-1:8443", "https://orders-2:8443"));
+        serviceClient.setLoadBalancerRegistry(balancers);
+
+        List<String> urls = new CopyOnWriteArrayList<>();
+        when(requestBodyUriSpec.uri(anyString())).thenAnswer(invocation -> {
+            urls.add(invocation.getArgument(0));
+            return requestBodySpec;
+        });
+        AtomicInteger exchanges = new AtomicInteger();
+        when(requestBodySpec.exchangeToMono(any(Function.class))).thenReturn(Mono.defer(() ->
+                exchanges.incrementAndGet() == 1
+                        ? Mono.error(WebClientResponseException.create(503, "Unavailable", null, null, null))
+                        : Mono.just("ok")));
+
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .service("orders")
+                .url("/orders/42")
+                .responseType(String.class)
+                .build();
+
+        StepVerifier.create(serviceClient.execute(spec))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertEquals(2, urls.size());
+        assertTrue(urls.get(0).endsWith(":8443/orders/42"));
+        assertNotEquals(urls.get(0), urls.get(1));
+        Map<String, EndpointStats> stats = balancers.get("orders").getStats();
+        assertEquals(1, stats.values().stream().mapToLong(EndpointStats::failures).sum());
+        assertEquals(0, stats.values().stream().mapToInt(EndpointStats::inFlight).sum());
+    }
+
+    @Test
+    void execute_loadBalancedWithoutRegistry_fails() {
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .service("orders")
+                .url("/orders/42")
+                .responseType(String.class)
+                .build();
+
+        StepVerifier.create(serviceClient.execute(spec))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private WebServiceRequest<String> simpleRequest() {
+        return WebServiceRequest.<String>builder()
+                .url("https://example.com/api")
+                .responseType(String.class)
+                .maxRetries(0)
+                .build();
+    }
+
+    private void mockDelayedExchange(AtomicInteger inFlight, AtomicInteger maxInFlight,
+                                     Function<Integer, Duration> delayForCall) {
+        AtomicInteger callCount = new AtomicInteger(0);
+        when(requestBodySpec.exchangeToMono(any(Function.class))).thenAnswer(invocation ->
+                Mono.defer(() -> {
+                    int current = inFlight.incrementAndGet();
+                    maxInFlight.accumulateAndGet(current, Math::max);
+                    return Mono.just("ok")
+                            .delayElement(delayForCall.apply(callCount.incrementAndGet()))
+                            .doOnNext(value -> inFlight.decrementAndGet());
+                }));
+    }
+
     private void mockExchangeToMono(WebClient.RequestHeadersSpec<?> spec,
                                      int statusCode, String body) {
         when(spec.exchangeToMono(any(Function.class))).thenAnswer(invocation -> {
@@ -0,0 +1,78 @@
+package com.webclient.lib.coalesce;
+
+import com.webclient.lib.model.RestServiceRequest;
+import com.webclient.lib.model.WebServiceRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CoalescingKeyResolverTest {
+
+    private final CoalescingKeyResolver<WebServiceRequest<?>> webResolver = CoalescingKeyResolver.forWebRequests();
+    private final CoalescingKeyResolver<RestServiceRequest<?>> restResolver = CoalescingKeyResolver.forRestRequests();
+
+    @Test
+    void forWebRequests_identicalRequests_haveEqualKeys() {
+        ExchangeFilterFunction filter = (request, next) -> next.exchange(request);
+
+        assertEquals(
+                webResolver.resolve(webRequest("https://example.com/a").header("X-Tenant", "t1").filter(filter).build()),
+                webResolver.resolve(webRequest("https://example.com/a").header("X-Tenant", "t1").filter(filter).build()));
+    }
+
+    @Test
+    void forWebRequests_differentHeaders_haveDifferentKeys() {
+        assertNotEquals(
+                webResolver.resolve(webRequest("https://example.com/a").header("X-Tenant", "t1").build()),
+                webResolver.resolve(webRequest("https://example.com/a").header("X-Tenant", "t2").build()));
+    }
+
+    @Test
+    void forWebRequests_differentAcceptType_haveDifferentKeys() {
+        assertNotEquals(
+                webResolver.resolve(webRequest("https://example.com/a").acceptType(MediaType.APPLICATION_JSON).build()),
+                webResolver.resolve(webRequest("https://example.com/a").acceptType(MediaType.TEXT_PLAIN).build()));
+    }
+
+    @Test
+    void forWebRequests_differentFilterInstances_haveDifferentKeys() {
+        assertNotEquals(
+                webResolver.resolve(webRequest("https://example.com/a").filter((r, n) -> n.exchange(r)).build()),
+                webResolver.resolve(webRequest("https://example.com/a").filter((r, n) -> n.exchange(r)).build()));
+    }
+
+    @Test
+    void forRestRequests_identicalRequests_haveEqualKeys() {
+        ClientHttpRequestInterceptor interceptor = (request, body, execution) -> execution.execute(request, body);
+
+        assertEquals(
+                restResolver.resolve(restRequest("https://example.com/a").interceptor(interceptor).build()),
+                restResolver.resolve(restRequest("https://example.com/a").interceptor(interceptor).build()));
+    }
+
+    @Test
+    void forRestRequests_differentUrls_haveDifferentKeys() {
+        assertNotEquals(
+                restResolver.resolve(restRequest("https://example.com/a").build()),
+                restResolver.resolve(restRequest("https://example.com/b").build()));
+    }
+
+    @Test
+    void forRestRequests_differentTimeouts_haveDifferentKeys() {
+        assertNotEquals(
+                restResolver.resolve(restRequest("https://example.com/a").timeoutMs(100).build()),
+                restResolver.resolve(restRequest("https://example.com/a").timeoutMs(200).build()));
+    }
+
+    private static WebServiceRequest.Builder<String> webRequest(String url) {
+        return WebServiceRequest.<String>builder().url(url).responseType(String.class);
+    }
+
+    private static RestServiceRequest.Builder<String> restRequest(String url) {
+        return RestServiceRequest.<String>builder().url(url).responseType(String.class);
+    }
+}
@@ -0,0 +1,120 @@
+package com.webclient.lib.coalesce;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestCoalescerTest {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    @Test
+    void execute_concurrentSameKey_subscribesOnce() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Sinks.One<String> response = Sinks.one();
+        Mono<String> call = response.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet());
+
+        Flux<String> callers = Flux.merge(
+                coalescer.execute("key", () -> call),
+                coalescer.execute("key", () -> call),
+                coalescer.execute("key", () -> call));
+
+        StepVerifier.create(callers)
+                .then(() -> response.tryEmitValue("shared"))
+                .expectNext("shared", "shared", "shared")
+                .verifyComplete();
+
+        assertEquals(1, subscriptions.get());
+        CoalescingStats stats = coalescer.getStats();
+        assertEquals(1, stats.executions());
+        assertEquals(2, stats.coalesced());
+        assertEquals(0, stats.inFlight());
+    }
+
+    @Test
+    void execute_differentKeys_runIndependently() {
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        StepVerifier.create(Flux.merge(
+                        coalescer.execute("a", () -> Mono.just("a").doOnSubscribe(s -> subscriptions.incrementAndGet())),
+                        coalescer.execute("b", () -> Mono.just("b").doOnSubscribe(s -> subscriptions.incrementAndGet()))))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertEquals(2, subscriptions.get());
+        assertEquals(0, coalescer.getStats().coalesced());
+    }
+
+    @Test
+    void execute_afterCompletion_startsNewCall() {
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(coalescer.execute("key", () -> Mono.fromCallable(calls::incrementAndGet)))
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(coalescer.execute("key", () -> Mono.fromCallable(calls::incrementAndGet)))
+                .expectNext(2)
+                .verifyComplete();
+
+        assertEquals(2, coalescer.getStats().executions());
+    }
+
+    @Test
+    void execute_error_isDeliveredToAllCallersAndReleasesKey() {
+        Sinks.One<String> response = Sinks.one();
+
+        StepVerifier.create(Flux.merge(
+                        coalescer.execute("key", response::asMono).onErrorReturn("failed-1"),
+                        coalescer.execute("key", response::asMono).onErrorReturn("failed-2")))
+                .then(() -> response.tryEmitError(new IllegalStateException("boom")))
+                .expectNext("failed-1", "failed-2")
+                .verifyComplete();
+
+        assertEquals(0, coalescer.getStats().inFlight());
+    }
+
+    @Test
+    void execute_oneCallerCancels_othersStillReceiveResult() {
+        AtomicInteger cancellations = new AtomicInteger();
+        Sinks.One<String> response = Sinks.one();
+        Mono<String> call = response.asMono().doOnCancel(cancellations::incrementAndGet);
+
+        Mono<String> impatient = coalescer.execute("key", () -> call).timeout(Duration.ofMillis(50));
+        Mono<String> patient = coalescer.execute("key", () -> call);
+
+        StepVerifier.create(Flux.merge(impatient.onErrorReturn("timed-out"), patient))
+                .expectNext("timed-out")
+                .then(() -> response.tryEmitValue("late"))
+                .expectNext("late")
+                .verifyComplete();
+
+        assertEquals(0, cancellations.get());
+        assertEquals(1, coalescer.getStats().executions());
+    }
+
+    @Test
+    void execute_allCallersCancel_cancelsSharedCallAndReleasesKey() {
+        AtomicInteger cancellations = new AtomicInteger();
+        Mono<String> call = Mono.<String>never().doOnCancel(cancellations::incrementAndGet);
+
+        StepVerifier.create(coalescer.execute("key", () -> call).timeout(Duration.ofMillis(10)))
+                .expectError()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, cancellations.get());
+        assertEquals(0, coalescer.getStats().inFlight());
+    }
+
+    @Test
+    void stats_coalescedRatio() {
+        assertEquals(0.0, coalescer.getStats().coalescedRatio());
+        assertEquals(0.75, new CoalescingStats(1, 3, 0).coalescedRatio());
+    }
+}
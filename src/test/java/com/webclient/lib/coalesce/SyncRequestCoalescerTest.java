@@ -0,0 +1,129 @@
+package com.webclient.lib.coalesce;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyncRequestCoalescerTest {
+
+    private final SyncRequestCoalescer coalescer = new SyncRequestCoalescer();
+
+    @Test
+    void execute_concurrentSameKey_runsCallOnce() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(executor.submit(() -> coalescer.execute("key", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return "shared";
+                })));
+            }
+
+            awaitCoalesced(4);
+            release.countDown();
+
+            for (Future<String> future : futures) {
+                assertEquals("shared", future.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(new CoalescingStats(1, 4, 0), coalescer.getStats());
+    }
+
+    @Test
+    void execute_failure_isRethrownToWaitingThreads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> leader = executor.submit(() -> coalescer.execute("key", () -> {
+                leaderStarted.countDown();
+                await(release);
+                throw failure;
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+            Future<Object> follower = executor.submit(() -> coalescer.execute("key", () -> "unused"));
+
+            awaitCoalesced(1);
+            release.countDown();
+
+            ExecutionException leaderError = assertThrows(ExecutionException.class,
+                    () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException followerError = assertThrows(ExecutionException.class,
+                    () -> follower.get(5, TimeUnit.SECONDS));
+            assertSame(failure, leaderError.getCause());
+            assertSame(failure, followerError.getCause());
+        }
+
+        assertEquals(0, coalescer.getStats().inFlight());
+    }
+
+    @Test
+    void execute_sequentialCalls_areNotCoalesced() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals(1, coalescer.execute("key", calls::incrementAndGet));
+        assertEquals(2, coalescer.execute("key", calls::incrementAndGet));
+
+        assertEquals(0, coalescer.getStats().coalesced());
+    }
+
+    @Test
+    void execute_waitingThreadInterrupted_throwsRuntimeException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> coalescer.execute("key", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return "done";
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            Thread.currentThread().interrupt();
+            RuntimeException e = assertThrows(RuntimeException.class,
+                    () -> coalescer.execute("key", () -> "unused"));
+            assertInstanceOf(InterruptedException.class, e.getCause());
+            assertTrue(Thread.interrupted());
+
+            release.countDown();
+        }
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.getStats().coalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, coalescer.getStats().coalesced());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.webclient.lib.config;
+
+import com.webclient.lib.metrics.ConnectionPoolMetricsRecorder;
+import com.webclient.lib.metrics.DnsResolverMetricsRecorder;
+import com.webclient.lib.metrics.MicrometerDnsResolverMetricsRecorder;
+import com.webclient.lib.metrics.TlsHandshakeMetricsRecorder;
+import com.webclient.lib.ssl.SslConnectionFactoryInitializer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.handler.codec.dns.DatagramDnsQuery;
+import io.netty.handler.codec.dns.DatagramDnsQueryDecoder;
+import io.netty.handler.codec.dns.DatagramDnsResponse;
+import io.netty.handler.codec.dns.DatagramDnsResponseEncoder;
+import io.netty.handler.codec.dns.DefaultDnsRawRecord;
+import io.netty.handler.codec.dns.DnsQuestion;
+import io.netty.handler.codec.dns.DnsRecordType;
+import io.netty.handler.codec.dns.DnsResponseCode;
+import io.netty.handler.codec.dns.DnsSection;
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The asynchronous resolver built by {@link WebClientAutoConfiguration},
+ * against a local stand-in DNS server that answers A queries from a fixed
+ * table and NXDOMAIN for anything else.
+ */
+class DnsResolverTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final HttpClientProperties properties = new HttpClientProperties();
+    private StandInDnsServer dns;
+    private LoopResources loops;
+    private AddressResolverGroup<InetSocketAddress> resolvers;
+
+    @BeforeEach
+    void setUp() {
+        dns = new StandInDnsServer(Map.of(
+                "api.test.", new Answer(60, List.of("127.0.0.1")),
+                "multi.test.", new Answer(60, List.of("127.0.0.1", "127.0.0.2")),
+                "short.test.", new Answer(0, List.of("127.0.0.1"))));
+        properties.getDns().setEnabled(true);
+        properties.getDns().setServers(List.of("127.0.0.1:" + dns.port()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (resolvers != null) {
+            resolvers.close();
+        }
+        if (loops != null) {
+            loops.disposeLater().block(Duration.ofSeconds(5));
+        }
+        dns.close();
+    }
+
+    @Test
+    void cachesAnswersAndRecordsResolveTimes() {
+        AddressResolver<InetSocketAddress> resolver = resolver();
+
+        assertEquals("127.0.0.1", resolve(resolver, "api.test").getAddress().getHostAddress());
+        assertEquals("127.0.0.1", resolve(resolver, "api.test").getAddress().getHostAddress());
+
+        assertEquals(1, dns.queries("api.test."));
+        assertEquals(2, registry.find("webclient.dns.resolve")
+                .tags("host", "api.test", "outcome", "success").timer().count());
+        Counter hits = registry.find("webclient.dns.cache.lookups").tags("host", "api.test", "result", "hit").counter();
+        assertTrue(hits != null && hits.count() >= 1);
+    }
+
+    @Test
+    void minTtl_keepsZeroTtlAnswersCached() {
+        properties.getDns().setMinTtlSeconds(60);
+        AddressResolver<InetSocketAddress> resolver = resolver();
+
+        resolve(resolver, "short.test");
+        resolve(resolver, "short.test");
+
+        assertEquals(1, dns.queries("short.test."));
+    }
+
+    @Test
+    void negativeTtl_cachesFailedLookups() {
+        properties.getDns().setNegativeTtlSeconds(60);
+        AddressResolver<InetSocketAddress> resolver = resolver();
+
+        assertInstanceOf(UnknownHostException.class, resolveFailure(resolver, "missing.test"));
+        assertInstanceOf(UnknownHostException.class, resolveFailure(resolver, "missing.test"));
+
+        assertEquals(1, dns.queries("missing.test."));
+        assertEquals(2, registry.find("webclient.dns.resolve")
+                .tags("host", "missing.test", "outcome", "failure").timer().count());
+    }
+
+    @Test
+    void roundRobin_spreadsConnectionsOverAllAddresses() {
+        AddressResolver<InetSocketAddress> resolver = resolver();
+
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            seen.add(resolve(resolver, "multi.test").getAddress().getHostAddress());
+        }
+
+        assertEquals(Set.of("127.0.0.1", "127.0.0.2"), seen);
+        assertEquals(1, dns.queries("multi.test."));
+    }
+
+    @Test
+    void roundRobinDisabled_alwaysUsesTheFirstAddress() {
+        properties.getDns().setRoundRobin(false);
+        AddressResolver<InetSocketAddress> resolver = resolver();
+
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            seen.add(resolve(resolver, "multi.test").getAddress().getHostAddress());
+        }
+
+        assertEquals(Set.of("127.0.0.1"), seen);
+    }
+
+    @Test
+    void httpClient_connectsThroughTheResolver() {
+        DisposableServer server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.get("/ping", (req, res) -> res.sendString(Mono.just("pong"))))
+                .bindNow();
+        WebClientAutoConfiguration configuration = configuration();
+        ConnectionProvider provider = configuration.webClientConnectionProvider(
+                new StaticListableBeanFactory().getBeanProvider(ConnectionPoolMetricsRecorder.class));
+        loops = configuration.webClientLoopResources();
+        SslConnectionFactoryInitializer ssl = new SslConnectionFactoryInitializer();
+        ssl.setProperties(properties);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("dnsRecorder", new MicrometerDnsResolverMetricsRecorder(registry));
+        try {
+            String body = configuration.webClientHttpClient(provider, ssl, loops,
+                            beans.getBeanProvider(DnsResolverMetricsRecorder.class),
+                            beans.getBeanProvider(TlsHandshakeMetricsRecorder.class))
+                    .get()
+                    .uri("http://api.test:" + server.port() + "/ping")
+                    .responseContent()
+                    .aggregate()
+                    .asString()
+                    .block(Duration.ofSeconds(5));
+
+            assertEquals("pong", body);
+            assertEquals(1, dns.queries("api.test."));
+            assertFalse(registry.find("webclient.dns.resolve").tags("host", "api.test").timers().isEmpty());
+        } finally {
+            provider.disposeLater().block(Duration.ofSeconds(5));
+            server.disposeNow();
+        }
+    }
+
+    private AddressResolver<InetSocketAddress> resolver() {
+        loops = configuration().webClientLoopResources();
+        resolvers = configuration().dnsResolverGroup(loops, false, new MicrometerDnsResolverMetricsRecorder(registry));
+        return resolvers.getResolver(loops.onClient(false).next());
+    }
+
+    private WebClientAutoConfiguration configuration() {
+        WebClientAutoConfiguration configuration = new WebClientAutoConfiguration();
+        configuration.setProperties(properties);
+        return configuration;
+    }
+
+    private static InetSocketAddress resolve(AddressResolver<InetSocketAddress> resolver, String host) {
+        return resolver.resolve(InetSocketAddress.createUnresolved(host, 80)).syncUninterruptibly().getNow();
+    }
+
+    private static Throwable resolveFailure(AddressResolver<InetSocketAddress> resolver, String host) {
+        Future<InetSocketAddress> result = resolver.resolve(InetSocketAddress.createUnresolved(host, 80))
+                .awaitUninterruptibly();
+        assertFalse(result.isSuccess());
+        return result.cause();
+    }
+
+    private record Answer(long ttlSeconds, List<String> addresses) {
+    }
+
+    /**
+     * UDP DNS server on a loopback port: answers A queries for the names in
+     * its table, an empty answer for other record types of those names and
+     * NXDOMAIN for every other name.  Counts the A queries per name.
+     */
+    private static class StandInDnsServer implements AutoCloseable {
+
+        private final Map<String, Answer> answers;
+        private final Map<String, AtomicInteger> queries = new ConcurrentHashMap<>();
+        private final LoopResources loops = LoopResources.create("dns-stand-in", 1, true);
+        private final Channel channel;
+
+        StandInDnsServer(Map<String, Answer> answers) {
+            this.answers = answers;
+            EventLoopGroup group = loops.onClient(false);
+            channel = new Bootstrap()
+                    .group(group)
+                    .channel(loops.onChannelClass(DatagramChannel.class, group))
+                    .handler(new ChannelInitializer<DatagramChannel>() {
+                        @Override
+                        protected void initChannel(DatagramChannel ch) {
+                            ch.pipeline().addLast(new DatagramDnsQueryDecoder(), new DatagramDnsResponseEncoder(),
+                                    new SimpleChannelInboundHandler<DatagramDnsQuery>() {
+                                        @Override
+                                        protected void channelRead0(ChannelHandlerContext ctx, DatagramDnsQuery query)
+                                                throws UnknownHostException {
+                                            ctx.writeAndFlush(answer(query));
+                                        }
+                                    });
+                        }
+                    })
+                    .bind("127.0.0.1", 0)
+                    .syncUninterruptibly()
+                    .channel();
+        }
+
+        int port() {
+            return ((InetSocketAddress) channel.localAddress()).getPort();
+        }
+
+        int queries(String name) {
+            AtomicInteger count = queries.get(name);
+            return count != null ? count.get() : 0;
+        }
+
+        private DatagramDnsResponse answer(DatagramDnsQuery query) throws UnknownHostException {
+            DnsQuestion question = query.recordAt(DnsSection.QUESTION);
+            DatagramDnsResponse response = new DatagramDnsResponse(query.recipient(), query.sender(), query.id());
+            response.setAuthoritativeAnswer(true);
+            response.addRecord(DnsSection.QUESTION, question);
+            if (question.type() == DnsRecordType.A) {
+                queries.computeIfAbsent(question.name(), name -> new AtomicInteger()).incrementAndGet();
+            }
+
+            Answer answer = answers.get(question.name());
+            if (answer == null) {
+                response.setCode(DnsResponseCode.NXDOMAIN);
+            } else if (question.type() == DnsRecordType.A) {
+                for (String address : answer.addresses()) {
+                    response.addRecord(DnsSection.ANSWER, new DefaultDnsRawRecord(question.name(), DnsRecordType.A,
+                            answer.ttlSeconds(), Unpooled.wrappedBuffer(InetAddress.getByName(address).getAddress())));
+                }
+            }
+            return response;
+        }
+
+        @Override
+        public void close() {
+            channel.close().syncUninterruptibly();
+            loops.disposeLater().block(Duration.ofSeconds(5));
+        }
+    }
+}
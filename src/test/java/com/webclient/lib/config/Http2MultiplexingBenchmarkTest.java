@@ -0,0 +1,139 @@
+package com.webclient.lib.config;
+
+import com.webclient.lib.metrics.ConnectionPoolMetricsRecorder;
+import com.webclient.lib.metrics.DnsResolverMetricsRecorder;
+import com.webclient.lib.metrics.TlsHandshakeMetricsRecorder;
+import com.webclient.lib.ssl.SslConnectionFactoryInitializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Connection count and latency of HTTP/1.1 against multiplexed HTTP/2 at
+ * high concurrency.
+ * <p>
+ * A local Netty server speaking HTTP/1.1 and h2c answers each request after
+ * {@value #SERVER_LATENCY_MS} ms.  The client, built by
+ * {@link WebClientAutoConfiguration} with {@code protocol} {@code HTTP11} and
+ * then {@code H2C}, sends {@value #REQUESTS} requests with
+ * {@value #CONCURRENCY} in flight.  HTTP/1.1 needs a connection per request
+ * in flight; HTTP/2 carries up to {@code max-concurrent-streams} on each.
+ * <p>
+ * Timing-dependent, so tagged {@code benchmark} and run only with
+ * {@code mvn test -Pbenchmark}.  A failure reports the connections the server
+ * saw and the p50 / p99 latency and throughput of both runs.
+ */
+@Tag("benchmark")
+class Http2MultiplexingBenchmarkTest {
+
+    private static final int CONCURRENCY = 200;
+    private static final int REQUESTS = 2_000;
+    private static final long SERVER_LATENCY_MS = 20;
+
+    private DisposableServer server;
+    private final Set<SocketAddress> clientConnections = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void startServer() {
+        server = HttpServer.create()
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .route(routes -> routes.get("/work", (req, res) -> {
+                    // an HTTP/2 stream reports the address of its connection
+                    clientConnections.add(req.remoteAddress());
+                    return res.sendString(Mono.just("done").delayElement(Duration.ofMillis(SERVER_LATENCY_MS)));
+                }))
+                .bindNow();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    void h2c_multiplexesConcurrentRequestsOverFewConnections() {
+        Run http11 = run("HTTP11");
+        Run h2c = run("H2C");
+
+        assertTrue(h2c.connections() * 4 <= http11.connections(),
+                "expected h2c to need at most a quarter of the connections, was " + http11 + " -> " + h2c);
+    }
+
+    private Run run(String protocol) {
+        clientConnections.clear();
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setProtocol(protocol);
+        properties.getPool().setMaxConnectionsPerRoute(CONCURRENCY);
+        properties.getPool().setPendingAcquireMaxCount(-1);
+        WebClientAutoConfiguration configuration = new WebClientAutoConfiguration();
+        configuration.setProperties(properties);
+        SslConnectionFactoryInitializer ssl = new SslConnectionFactoryInitializer();
+        ssl.setProperties(properties);
+
+        ConnectionProvider provider = configuration.webClientConnectionProvider(
+                new StaticListableBeanFactory().getBeanProvider(ConnectionPoolMetricsRecorder.class));
+        LoopResources loops = configuration.webClientLoopResources();
+        try {
+            HttpClient client = configuration.webClientHttpClient(provider, ssl, loops,
+                    new StaticListableBeanFactory().getBeanProvider(DnsResolverMetricsRecorder.class),
+                    new StaticListableBeanFactory().getBeanProvider(TlsHandshakeMetricsRecorder.class));
+            String url = "http://localhost:" + server.port() + "/work";
+            // settles the h2c upgrade before the timed run
+            get(client, url).block(Duration.ofSeconds(5));
+
+            long start = System.nanoTime();
+            long[] latencies = Flux.range(0, REQUESTS)
+                    .flatMap(i -> timed(get(client, url)), CONCURRENCY)
+                    .collectList()
+                    .block(Duration.ofMinutes(1))
+                    .stream()
+                    .mapToLong(Long::longValue)
+                    .sorted()
+                    .toArray();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            return new Run(clientConnections.size(), percentileMs(latencies, 0.50), percentileMs(latencies, 0.99),
+                    REQUESTS / seconds);
+        } finally {
+            provider.disposeLater().block(Duration.ofSeconds(5));
+            loops.disposeLater().block(Duration.ofSeconds(5));
+        }
+    }
+
+    private static Mono<String> get(HttpClient client, String url) {
+        return client.get().uri(url).responseContent().aggregate().asString();
+    }
+
+    private static Mono<Long> timed(Mono<String> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.map(body -> System.nanoTime() - start);
+        });
+    }
+
+    private static double percentileMs(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1e6;
+    }
+
+    private record Run(int connections, double p50Ms, double p99Ms, double throughput) {
+    }
+}
@@ -2,10 +2,13 @@ package com.webclient.lib.config;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class HttpClientPropertiesTest {
 
@@ -23,8 +26,15 @@ class HttpClientPropertiesTest {
         assertNull(ssl.getTruststorePassword());
         assertEquals("PKCS12", ssl.getTruststoreType());
         assertNull(ssl.getKeyAliasName());
+        assertTrue(ssl.getHostKeyAliases().isEmpty());
         assertFalse(ssl.isBypassVerification());
-        assertEquals("TLSv1.2", ssl.getTlsProtocol());
+        assertEquals("auto", ssl.getProvider());
+        assertEquals(List.of("TLSv1.3", "TLSv1.2"), ssl.getProtocols());
+        assertNull(ssl.getTlsProtocol());
+        assertNull(ssl.getSessionCacheSize());
+        assertNull(ssl.getSessionTimeoutSeconds());
+        assertFalse(ssl.isReloadOnChange());
+        assertEquals(1000, ssl.getReloadQuietPeriodMs());
     }
 
     @Test
@@ -35,6 +45,9 @@ class HttpClientPropertiesTest {
         assertNotNull(pool);
         assertEquals(500, pool.getMaxConnections());
         assertEquals(50, pool.getMaxConnectionsPerRoute());
+        assertNull(pool.getPendingAcquireMaxCount());
+        assertEquals(60_000, pool.getMaxIdleTimeMs());
+        assertTrue(pool.getHosts().isEmpty());
     }
 
     @Test
@@ -57,6 +70,138 @@ class HttpClientPropertiesTest {
         assertEquals(1000, retry.getRetryIntervalMs());
     }
 
+    @Test
+    void defaults_clientCacheProperties() {
+        HttpClientProperties props = new HttpClientProperties();
+        HttpClientProperties.ClientCache clientCache = props.getClientCache();
+
+        assertNotNull(clientCache);
+        assertEquals(256, clientCache.getMaxSize());
+    }
+
+    @Test
+    void defaults_coalescingProperties() {
+        HttpClientProperties props = new HttpClientProperties();
+
+        assertNotNull(props.getCoalescing());
+        assertFalse(props.getCoalescing().isEnabled());
+    }
+
+    @Test
+    void defaults_hedgingProperties() {
+        HttpClientProperties props = new HttpClientProperties();
+
+        assertNotNull(props.getHedging());
+        assertFalse(props.getHedging().isEnabled());
+        assertEquals(100, props.getHedging().getDelayMs());
+        assertEquals(0.0, props.getHedging().getPercentile());
+        assertEquals(0.1, props.getHedging().getMaxHedgeRatio());
+    }
+
+    @Test
+    void defaults_circuitBreakerProperties() {
+        HttpClientProperties props = new HttpClientProperties();
+
+        assertNotNull(props.getCircuitBreaker());
+        assertFalse(props.getCircuitBreaker().isEnabled());
+        assertEquals(50f, props.getCircuitBreaker().getFailureRateThreshold());
+        assertEquals(100f, props.getCircuitBreaker().getSlowCallRateThreshold());
+        assertEquals(10_000, props.getCircuitBreaker().getSlowCallDurationMs());
+        assertEquals(100, props.getCircuitBreaker().getSlidingWindowSize());
+        assertEquals(20, props.getCircuitBreaker().getMinimumNumberOfCalls());
+        assertEquals(30_000, props.getCircuitBreaker().getWaitDurationInOpenStateMs());
+        assertEquals(5, props.getCircuitBreaker().getPermittedCallsInHalfOpenState());
+    }
+
+    @Test
+    void defaults_concurrencyLimitProperties() {
+        HttpClientProperties props = new HttpClientProperties();
+
+        assertNotNull(props.getConcurrencyLimit());
+        assertFalse(props.getConcurrencyLimit().isEnabled());
+        assertEquals("vegas", props.getConcurrencyLimit().getAlgorithm());
+        assertEquals(20, props.getConcurrencyLimit().getInitialLimit());
+        assertEquals(1, props.getConcurrencyLimit().getMinLimit());
+        assertEquals(500, props.getConcurrencyLimit().getMaxLimit());
+        assertEquals(100, props.getConcurrencyLimit().getMaxQueueSize());
+        assertEquals(1000, props.getConcurrencyLimit().getMaxQueueWaitMs());
+        assertEquals(0.9, props.getConcurrencyLimit().getBackoffRatio());
+        assertEquals(1.0, props.getConcurrencyLimit().getSmoothing());
+    }
+
+    @Test
+    void defaults_protocolProperties() {
+        HttpClientProperties props = new HttpClientProperties();
+
+        assertEquals("HTTP11", props.getProtocol());
+        assertNotNull(props.getHttp2());
+        assertEquals(100, props.getHttp2().getMaxConcurrentStreams());
+        assertEquals(1, props.getHttp2().getMinConnections());
+        assertNull(new HttpClientProperties.Pool.Host().getMaxConcurrentStreams());
+    }
+
+    @Test
+    void defaults_transportProperties() {
+        HttpClientProperties props = new HttpClientProperties();
+
+        assertNotNull(props.getTransport());
+        assertEquals("auto", props.getTransport().getType());
+        assertNull(props.getTransport().getWorkerCount());
+    }
+
+    @Test
+    void defaults_dnsProperties() {
+        HttpClientProperties props = new HttpClientProperties();
+
+        assertNotNull(props.getDns());
+        assertFalse(props.getDns().isEnabled());
+        assertEquals(0, props.getDns().getMinTtlSeconds());
+        assertEquals(300, props.getDns().getMaxTtlSeconds());
+        assertEquals(0, props.getDns().getNegativeTtlSeconds());
+        assertTrue(props.getDns().isRoundRobin());
+        assertEquals(5000, props.getDns().getQueryTimeoutMs());
+        assertTrue(props.getDns().getServers().isEmpty());
+    }
+
+    @Test
+    void defaults_warmupProperties() {
+        HttpClientProperties props = new HttpClientProperties();
+
+        assertNotNull(props.getWarmup());
+        assertFalse(props.getWarmup().isEnabled());
+        assertTrue(props.getWarmup().getUrls().isEmpty());
+        assertTrue(props.getWarmup().isIncludeLoadBalancerServices());
+        assertEquals(4, props.getWarmup().getConnectionsPerHost());
+        assertEquals("HEAD", props.getWarmup().getProbeMethod());
+        assertEquals("/", props.getWarmup().getProbePath());
+        assertEquals(10_000, props.getWarmup().getTimeoutMs());
+        assertEquals(0, props.getWarmup().getRewarmIntervalMs());
+    }
+
+    @Test
+    void defaults_loadBalancerProperties() {
+        HttpClientProperties props = new HttpClientProperties();
+
+        assertNotNull(props.getLoadBalancer());
+        assertTrue(props.getLoadBalancer().getServices().isEmpty());
+        assertEquals(10_000, props.getLoadBalancer().getDecayMs());
+        assertEquals(1_000, props.getLoadBalancer().getFailurePenaltyMs());
+    }
+
+    @Test
+    void defaults_cacheProperties() {
+        HttpClientProperties props = new HttpClientProperties();
+
+        assertNotNull(props.getCache());
+        assertFalse(props.getCache().isEnabled());
+        assertEquals(10_000, props.getCache().getMaxEntries());
+        assertEquals(64L * 1024 * 1024, props.getCache().getMaxBytes());
+        assertFalse(props.getCache().getDisk().isEnabled());
+        assertNull(props.getCache().getDisk().getDirectory());
+        assertEquals(1024L * 1024 * 1024, props.getCache().getDisk().getMaxBytes());
+        assertEquals(64 * 1024 * 1024, props.getCache().getDisk().getSegmentBytes());
+    }
+
     @Test
     void settersAndGetters_ssl() {
         HttpClientProperties.Ssl ssl = new HttpClientProperties.Ssl();
@@ -90,11 +235,35 @@ class HttpClientPropertiesTest {
 
         pool.setMaxConnections(100);
         pool.setMaxConnectionsPerRoute(20);
+        pool.setPendingAcquireMaxCount(80);
+        pool.setMaxIdleTimeMs(30_000);
 
+        assertEquals(80, pool.getPendingAcquireMaxCount());
+        assertEquals(30_000, pool.getMaxIdleTimeMs());
         assertEquals(100, pool.getMaxConnections());
         assertEquals(20, pool.getMaxConnectionsPerRoute());
     }
 
+    @Test
+    void settersAndGetters_poolHost() {
+        HttpClientProperties.Pool.Host host = new HttpClientProperties.Pool.Host();
+
+        assertNull(host.getMaxConnections());
+        assertNull(host.getPendingAcquireMaxCount());
+        assertNull(host.getPendingAcquireTimeoutMs());
+        assertNull(host.getMaxIdleTimeMs());
+
+        host.setMaxConnections(10);
+        host.setPendingAcquireMaxCount(40);
+        host.setPendingAcquireTimeoutMs(200L);
+        host.setMaxIdleTimeMs(15_000L);
+
+        assertEquals(10, host.getMaxConnections());
+        assertEquals(40, host.getPendingAcquireMaxCount());
+        assertEquals(200L, host.getPendingAcquireTimeoutMs());
+        assertEquals(15_000L, host.getMaxIdleTimeMs());
+    }
+
     @Test
     void settersAndGetters_timeout() {
         HttpClientProperties.Timeout timeout = new HttpClientProperties.Timeout();
@@ -117,6 +286,115 @@ class HttpClientPropertiesTest {
         assertEquals(2000, retry.getRetryIntervalMs());
     }
 
+    @Test
+    void settersAndGetters_clientCache() {
+        HttpClientProperties.ClientCache clientCache = new HttpClientProperties.ClientCache();
+
+        clientCache.setMaxSize(32);
+
+        assertEquals(32, clientCache.getMaxSize());
+    }
+
+    @Test
+    void settersAndGetters_coalescing() {
+        HttpClientProperties.Coalescing coalescing = new HttpClientProperties.Coalescing();
+
+        coalescing.setEnabled(true);
+
+        assertTrue(coalescing.isEnabled());
+    }
+
+    @Test
+    void settersAndGetters_hedging() {
+        HttpClientProperties.Hedging hedging = new HttpClientProperties.Hedging();
+
+        hedging.setEnabled(true);
+        hedging.setDelayMs(50);
+        hedging.setPercentile(95);
+        hedging.setMaxHedgeRatio(0.05);
+
+        assertTrue(hedging.isEnabled());
+        assertEquals(50, hedging.getDelayMs());
+        assertEquals(95.0, hedging.getPercentile());
+        assertEquals(0.05, hedging.getMaxHedgeRatio());
+    }
+
+    @Test
+    void settersAndGetters_circuitBreaker() {
+        HttpClientProperties.CircuitBreaker breaker = new HttpClientProperties.CircuitBreaker();
+
+        breaker.setEnabled(true);
+        breaker.setFailureRateThreshold(25);
+        breaker.setSlowCallRateThreshold(80);
+        breaker.setSlowCallDurationMs(2000);
+        breaker.setSlidingWindowSize(50);
+        breaker.setMinimumNumberOfCalls(10);
+        breaker.setWaitDurationInOpenStateMs(5000);
+        breaker.setPermittedCallsInHalfOpenState(3);
+
+        assertTrue(breaker.isEnabled());
+        assertEquals(25f, breaker.getFailureRateThreshold());
+        assertEquals(80f, breaker.getSlowCallRateThreshold());
+        assertEquals(2000, breaker.getSlowCallDurationMs());
+        assertEquals(50, breaker.getSlidingWindowSize());
+        assertEquals(10, breaker.getMinimumNumberOfCalls());
+        assertEquals(5000, breaker.getWaitDurationInOpenStateMs());
+        assertEquals(3, breaker.getPermittedCallsInHalfOpenState());
+    }
+
+    @Test
+    void settersAndGetters_concurrencyLimit() {
+        HttpClientProperties.ConcurrencyLimit limit = new HttpClientProperties.ConcurrencyLimit();
+
+        limit.setEnabled(true);
+        limit.setAlgorithm("aimd");
+        limit.setInitialLimit(50);
+        limit.setMinLimit(5);
+        limit.setMaxLimit(200);
+        limit.setMaxQueueSize(0);
+        limit.setMaxQueueWaitMs(250);
+        limit.setBackoffRatio(0.7);
+        limit.setSmoothing(0.5);
+
+        assertTrue(limit.isEnabled());
+        assertEquals("aimd", limit.getAlgorithm());
+        assertEquals(50, limit.getInitialLimit());
+        assertEquals(5, limit.getMinLimit());
+        assertEquals(200, limit.getMaxLimit());
+        assertEquals(0, limit.getMaxQueueSize());
+        assertEquals(250, limit.getMaxQueueWaitMs());
+        assertEquals(0.7, limit.getBackoffRatio());
+        assertEquals(0.5, limit.getSmoothing());
+    }
+
+    @Test
+    void settersAndGetters_cache() {
+        HttpClientProperties.Cache cache = new HttpClientProperties.Cache();
+
+        cache.setEnabled(true);
+        cache.setMaxEntries(500);
+        cache.setMaxBytes(1024);
+
+        assertTrue(cache.isEnabled());
+        assertEquals(500, cache.getMaxEntries());
+        assertEquals(1024, cache.getMaxBytes());
+    }
+
+    @Test
+    void settersAndGetters_cacheDisk() {
+        HttpClientProperties.Cache.Disk disk = new HttpClientProperties.Cache.Disk();
+
+        disk.setEnabled(true);
+        disk.setDirectory("/var/cache/http");
+        disk.setMaxBytes(4096);
+        disk.setSegmentBytes(1024);
+
+        assertTrue(disk.isEnabled());
+        assertEquals("/var/cache/http", disk.getDirectory());
+        assertEquals(4096, disk.getMaxBytes());
+        assertEquals(1024, disk.getSegmentBytes());
+    }
+
     @Test
     void settersAndGetters_topLevel() {
         HttpClientProperties props = new HttpClientProperties();
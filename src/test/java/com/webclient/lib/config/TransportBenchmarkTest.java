@@ -0,0 +1,120 @@
+package com.webclient.lib.config;
+
+import com.webclient.lib.metrics.ConnectionPoolMetricsRecorder;
+import com.webclient.lib.metrics.DnsResolverMetricsRecorder;
+import com.webclient.lib.metrics.TlsHandshakeMetricsRecorder;
+import com.webclient.lib.ssl.SslConnectionFactoryInitializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput of the shared client on each transport.
+ * <p>
+ * A local server answers {@value #REQUESTS} small requests sent with
+ * {@value #CONCURRENCY} in flight by a client built by
+ * {@link WebClientAutoConfiguration} for each of {@code nio}, {@code epoll}
+ * and {@code io_uring}.  A native transport that is not available on this
+ * platform or classpath is skipped.  Every transport that ran must complete
+ * all requests.
+ * <p>
+ * Timing-dependent, so tagged {@code benchmark} and run only with
+ * {@code mvn test -Pbenchmark}; which transport {@code auto} selects is
+ * covered by {@link WebClientAutoConfigurationTest}.
+ */
+@Tag("benchmark")
+class TransportBenchmarkTest {
+
+    private static final int CONCURRENCY = 64;
+    private static final int REQUESTS = 20_000;
+
+    private DisposableServer server;
+
+    @BeforeEach
+    void startServer() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/ping", (req, res) -> res.sendString(Mono.just("pong"))))
+                .bindNow();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    void throughputPerTransport() {
+        Map<String, Double> throughputs = new LinkedHashMap<>();
+        for (String transport : List.of("nio", "epoll", "io_uring")) {
+            Double throughput = throughput(transport);
+            if (throughput != null) {
+                throughputs.put(transport, throughput);
+            }
+        }
+        assertTrue(throughputs.containsKey("nio"), "nio is always available, ran " + throughputs);
+    }
+
+    /**
+     * Returns the requests per second on {@code transport}, or {@code null}
+     * if the transport is not available.
+     */
+    private Double throughput(String transport) {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.getTransport().setType(transport);
+        properties.getTransport().setWorkerCount(2);
+        properties.getPool().setMaxConnectionsPerRoute(CONCURRENCY);
+        WebClientAutoConfiguration configuration = new WebClientAutoConfiguration();
+        configuration.setProperties(properties);
+        SslConnectionFactoryInitializer ssl = new SslConnectionFactoryInitializer();
+        ssl.setProperties(properties);
+
+        ConnectionProvider provider = configuration.webClientConnectionProvider(
+                new StaticListableBeanFactory().getBeanProvider(ConnectionPoolMetricsRecorder.class));
+        LoopResources loops = configuration.webClientLoopResources();
+        try {
+            HttpClient client;
+            try {
+                client = configuration.webClientHttpClient(provider, ssl, loops,
+                        new StaticListableBeanFactory().getBeanProvider(DnsResolverMetricsRecorder.class),
+                        new StaticListableBeanFactory().getBeanProvider(TlsHandshakeMetricsRecorder.class));
+            } catch (IllegalStateException unavailable) {
+                return null;
+            }
+            String url = "http://localhost:" + server.port() + "/ping";
+            // warms up connections and JIT before the timed run
+            send(client, url, REQUESTS / 10);
+
+            long start = System.nanoTime();
+            assertEquals(REQUESTS, send(client, url, REQUESTS));
+            return REQUESTS / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            provider.disposeLater().block(Duration.ofSeconds(5));
+            loops.disposeLater().block(Duration.ofSeconds(5));
+        }
+    }
+
+    private static long send(HttpClient client, String url, int requests) {
+        return Flux.range(0, requests)
+                .flatMap(i -> client.get().uri(url).responseContent().aggregate().asString(), CONCURRENCY)
+                .count()
+                .block(Duration.ofMinutes(1));
+    }
+}
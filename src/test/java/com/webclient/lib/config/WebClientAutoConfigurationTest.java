@@ -0,0 +1,243 @@
+package com.webclient.lib.config;
+
+import com.webclient.lib.balancer.LoadBalancerRegistry;
+import com.webclient.lib.metrics.ConnectionPoolMetricsRecorder;
+import com.webclient.lib.metrics.DnsResolverMetricsRecorder;
+import com.webclient.lib.metrics.TlsHandshakeMetricsRecorder;
+import com.webclient.lib.ssl.SslConnectionFactoryInitializer;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.uring.IoUring;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebClientAutoConfigurationTest {
+
+    @Test
+    void connectionProvider_capsEachHostAtMaxConnectionsPerRoute() {
+        ConnectionProvider provider = configuration(new HttpClientProperties()).webClientConnectionProvider(noRecorders());
+        try {
+            assertEquals(50, provider.maxConnections());
+            assertTrue(provider.maxConnectionsPerHost().isEmpty());
+        } finally {
+            provider.dispose();
+        }
+    }
+
+    @Test
+    void connectionProvider_appliesHostOverrides() {
+        HttpClientProperties properties = new HttpClientProperties();
+        HttpClientProperties.Pool.Host payments = new HttpClientProperties.Pool.Host();
+        payments.setMaxConnections(200);
+        payments.setPendingAcquireTimeoutMs(250L);
+        HttpClientProperties.Pool.Host reports = new HttpClientProperties.Pool.Host();
+        reports.setMaxIdleTimeMs(5_000L);
+        properties.getPool().getHosts().put("payments.internal:8443", payments);
+        properties.getPool().getHosts().put("reports.internal", reports);
+
+        ConnectionProvider provider = configuration(properties).webClientConnectionProvider(noRecorders());
+        try {
+            Map<SocketAddress, Integer> perHost = provider.maxConnectionsPerHost();
+            assertEquals(3, perHost.size());
+            assertEquals(200, perHost.get(InetSocketAddress.createUnresolved("payments.internal", 8443)));
+            assertEquals(50, perHost.get(InetSocketAddress.createUnresolved("reports.internal", 80)));
+            assertEquals(50, perHost.get(InetSocketAddress.createUnresolved("reports.internal", 443)));
+        } finally {
+            provider.dispose();
+        }
+    }
+
+    @Test
+    void connectionProvider_rejectsHostLimitAboveMaxConnections() {
+        HttpClientProperties properties = new HttpClientProperties();
+        HttpClientProperties.Pool.Host host = new HttpClientProperties.Pool.Host();
+        host.setMaxConnections(501);
+        properties.getPool().getHosts().put("api.example.com:443", host);
+
+        assertThrows(IllegalStateException.class, () -> configuration(properties).webClientConnectionProvider(noRecorders()));
+    }
+
+    @Test
+    void connectionProvider_rejectsPerRouteLimitAboveMaxConnections() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.getPool().setMaxConnections(10);
+        properties.getPool().setMaxConnectionsPerRoute(20);
+
+        assertThrows(IllegalStateException.class, () -> configuration(properties).webClientConnectionProvider(noRecorders()));
+    }
+
+    @Test
+    void remoteAddresses_parsesHostKeys() {
+        assertEquals(List.of(InetSocketAddress.createUnresolved("api.example.com", 8080)),
+                WebClientAutoConfiguration.remoteAddresses("api.example.com:8080"));
+        assertEquals(List.of(InetSocketAddress.createUnresolved("api.example.com", 80),
+                        InetSocketAddress.createUnresolved("api.example.com", 443)),
+                WebClientAutoConfiguration.remoteAddresses("api.example.com"));
+        assertThrows(IllegalStateException.class,
+                () -> WebClientAutoConfiguration.remoteAddresses("api.example.com:http"));
+    }
+
+    @Test
+    void httpProtocols_alwaysOfferHttp11() {
+        assertEquals(List.of(HttpProtocol.HTTP11),
+                Arrays.asList(WebClientAutoConfiguration.httpProtocols("http11")));
+        assertEquals(List.of(HttpProtocol.HTTP11, HttpProtocol.H2),
+                Arrays.asList(WebClientAutoConfiguration.httpProtocols("H2")));
+        assertEquals(List.of(HttpProtocol.HTTP11, HttpProtocol.H2C),
+                Arrays.asList(WebClientAutoConfiguration.httpProtocols("h2c")));
+        assertThrows(IllegalStateException.class, () -> WebClientAutoConfiguration.httpProtocols("HTTP3"));
+    }
+
+    @Test
+    void connectionProvider_rejectsNonPositiveMaxConcurrentStreams() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setProtocol("H2");
+        properties.getHttp2().setMaxConcurrentStreams(0);
+
+        assertThrows(IllegalStateException.class, () -> configuration(properties).webClientConnectionProvider(noRecorders()));
+    }
+
+    @Test
+    void loopResources_nioIsAlwaysAvailable() {
+        LoopResources loops = configuration(new HttpClientProperties()).webClientLoopResources();
+        try {
+            assertEquals("nio", WebClientAutoConfiguration.activeTransport(loops, false));
+        } finally {
+            loops.dispose();
+        }
+    }
+
+    @Test
+    void loopResources_rejectsNonPositiveWorkerCount() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.getTransport().setWorkerCount(0);
+
+        assertThrows(IllegalStateException.class, () -> configuration(properties).webClientLoopResources());
+    }
+
+    @Test
+    void httpClient_rejectsUnknownTransport() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.getTransport().setType("quic");
+        WebClientAutoConfiguration configuration = configuration(properties);
+        ConnectionProvider provider = configuration.webClientConnectionProvider(noRecorders());
+        LoopResources loops = configuration.webClientLoopResources();
+        try {
+            assertThrows(IllegalStateException.class,
+                    () -> configuration.webClientHttpClient(provider, new SslConnectionFactoryInitializer(), loops,
+                            new StaticListableBeanFactory().getBeanProvider(DnsResolverMetricsRecorder.class),
+                            new StaticListableBeanFactory().getBeanProvider(TlsHandshakeMetricsRecorder.class)));
+        } finally {
+            provider.dispose();
+            loops.dispose();
+        }
+    }
+
+    @Test
+    void httpClient_autoTransport_usesNativeWhenAvailableElseNio() {
+        WebClientAutoConfiguration configuration = configuration(new HttpClientProperties());
+        ConnectionProvider provider = configuration.webClientConnectionProvider(noRecorders());
+        LoopResources loops = configuration.webClientLoopResources();
+        try {
+            assertNotNull(httpClient(configuration, provider, loops));
+            String transport = WebClientAutoConfiguration.activeTransport(loops, true);
+            if (Epoll.isAvailable() || IoUring.isAvailable()) {
+                assertTrue(Set.of("epoll", "io_uring").contains(transport), transport);
+            } else {
+                assertEquals("nio", transport);
+            }
+        } finally {
+            provider.dispose();
+            loops.dispose();
+        }
+    }
+
+    @Test
+    void httpClient_explicitNativeTransport_failsWhenNotSelected() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.getTransport().setType("epoll");
+        WebClientAutoConfiguration configuration = configuration(properties);
+        ConnectionProvider provider = configuration.webClientConnectionProvider(noRecorders());
+        LoopResources loops = configuration.webClientLoopResources();
+        try {
+            if ("epoll".equals(WebClientAutoConfiguration.activeTransport(loops, true))) {
+                assertNotNull(httpClient(configuration, provider, loops));
+            } else {
+                IllegalStateException e = assertThrows(IllegalStateException.class,
+                        () -> httpClient(configuration, provider, loops));
+                assertTrue(e.getMessage().contains("netty-transport-native-epoll"), e.getMessage());
+            }
+        } finally {
+            provider.dispose();
+            loops.dispose();
+        }
+    }
+
+    @Test
+    void nameServer_parsesServerEntries() {
+        assertEquals(new InetSocketAddress("10.0.0.2", 53), WebClientAutoConfiguration.nameServer("10.0.0.2"));
+        assertEquals(new InetSocketAddress("10.0.0.2", 5353), WebClientAutoConfiguration.nameServer("10.0.0.2:5353"));
+        assertEquals(new InetSocketAddress("::1", 53), WebClientAutoConfiguration.nameServer("::1"));
+        assertThrows(IllegalStateException.class, () -> WebClientAutoConfiguration.nameServer("10.0.0.2:dns"));
+    }
+
+    @Test
+    void warmupTargets_combinesUrlsAndReplicasCappedAtPoolLimits() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.getWarmup().setConnectionsPerHost(8);
+        properties.getWarmup().setUrls(List.of("https://payments.internal", "http://reports.internal:8080"));
+        HttpClientProperties.Pool.Host payments = new HttpClientProperties.Pool.Host();
+        payments.setMaxConnections(2);
+        properties.getPool().getHosts().put("payments.internal", payments);
+        properties.getPool().setMaxConnectionsPerRoute(5);
+        LoadBalancerRegistry registry = new LoadBalancerRegistry(Duration.ofSeconds(10), Duration.ofSeconds(1));
+        registry.register("orders", List.of("http://orders-1:8080", "http://reports.internal:8080"));
+
+        Map<String, Integer> targets = configuration(properties).warmupTargets(registry);
+
+        assertEquals(List.of("https://payments.internal", "http://reports.internal:8080", "http://orders-1:8080"),
+                List.copyOf(targets.keySet()));
+        assertEquals(2, targets.get("https://payments.internal"));
+        assertEquals(5, targets.get("http://reports.internal:8080"));
+        assertEquals(5, targets.get("http://orders-1:8080"));
+
+        properties.getWarmup().setIncludeLoadBalancerServices(false);
+        assertEquals(2, configuration(properties).warmupTargets(registry).size());
+    }
+
+    private static ObjectProvider<ConnectionPoolMetricsRecorder> noRecorders() {
+        return new StaticListableBeanFactory().getBeanProvider(ConnectionPoolMetricsRecorder.class);
+    }
+
+    private static HttpClient httpClient(WebClientAutoConfiguration configuration, ConnectionProvider provider,
+                                         LoopResources loops) {
+        SslConnectionFactoryInitializer ssl = new SslConnectionFactoryInitializer();
+        ssl.setProperties(new HttpClientProperties());
+        return configuration.webClientHttpClient(provider, ssl, loops,
+                new StaticListableBeanFactory().getBeanProvider(DnsResolverMetricsRecorder.class),
+                new StaticListableBeanFactory().getBeanProvider(TlsHandshakeMetricsRecorder.class));
+    }
+
+    private static WebClientAutoConfiguration configuration(HttpClientProperties properties) {
+        WebClientAutoConfiguration configuration = new WebClientAutoConfiguration();
+        configuration.setProperties(properties);
+        return configuration;
+    }
+}
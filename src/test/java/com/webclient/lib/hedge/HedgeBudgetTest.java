@@ -0,0 +1,59 @@
+package com.webclient.lib.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgeBudgetTest {
+
+    @Test
+    void tryAcquire_startsWithBurst() {
+        HedgeBudget budget = new HedgeBudget(0.1, 2);
+
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    void onRequest_refillsByRatio() {
+        HedgeBudget budget = new HedgeBudget(0.5, 1);
+        budget.tryAcquire();
+
+        budget.onRequest();
+        assertFalse(budget.tryAcquire());
+
+        budget.onRequest();
+        assertTrue(budget.tryAcquire());
+    }
+
+    @Test
+    void refund_returnsWithdrawnToken() {
+        HedgeBudget budget = new HedgeBudget(0.0, 1);
+        budget.tryAcquire();
+
+        budget.refund();
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    void onRequest_capsAtBurst() {
+        HedgeBudget budget = new HedgeBudget(1.0, 3);
+
+        for (int i = 0; i < 10; i++) {
+            budget.onRequest();
+        }
+
+        assertEquals(3.0, budget.getTokens());
+    }
+
+    @Test
+    void constructor_invalidRatio_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new HedgeBudget(1.5, 1));
+        assertThrows(IllegalArgumentException.class, () -> new HedgeBudget(-0.1, 1));
+    }
+}
@@ -0,0 +1,48 @@
+package com.webclient.lib.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LatencyTrackerTest {
+
+    @Test
+    void getPercentileNanos_belowMinSamples_returnsMinusOne() {
+        LatencyTracker tracker = new LatencyTracker(90, 100);
+        tracker.record(10);
+
+        assertEquals(-1, tracker.getPercentileNanos(2));
+    }
+
+    @Test
+    void getPercentileNanos_returnsNearestRank() {
+        LatencyTracker tracker = new LatencyTracker(90, 100);
+        for (int i = 1; i <= LatencyTracker.RECOMPUTE_INTERVAL; i++) {
+            tracker.record(i);
+        }
+
+        // ceil(0.9 * 64) = 58th smallest
+        assertEquals(58, tracker.getPercentileNanos(1));
+    }
+
+    @Test
+    void record_wrapsWindow() {
+        LatencyTracker tracker = new LatencyTracker(100, LatencyTracker.RECOMPUTE_INTERVAL);
+        for (int i = 0; i < LatencyTracker.RECOMPUTE_INTERVAL; i++) {
+            tracker.record(1_000);
+        }
+        for (int i = 0; i < LatencyTracker.RECOMPUTE_INTERVAL; i++) {
+            tracker.record(5);
+        }
+
+        assertEquals(LatencyTracker.RECOMPUTE_INTERVAL, tracker.getSampleCount());
+        assertEquals(5, tracker.getPercentileNanos(1));
+    }
+
+    @Test
+    void constructor_invalidPercentile_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyTracker(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyTracker(101, 10));
+    }
+}
@@ -0,0 +1,127 @@
+package com.webclient.lib.hedge;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestHedgerTest {
+
+    @Test
+    void execute_fastAttempt_doesNotHedge() {
+        RequestHedger hedger = new RequestHedger(Duration.ofMillis(100), 0, 1.0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.withVirtualTime(() -> hedger.execute("host:80", () -> Mono.fromCallable(attempts::incrementAndGet)))
+                .expectNext(1)
+                .verifyComplete();
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedger.getStats().hedges());
+    }
+
+    @Test
+    void execute_slowAttempt_hedgeWinsAndCancelsPrimary() {
+        RequestHedger hedger = new RequestHedger(Duration.ofMillis(100), 0, 1.0);
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+
+        StepVerifier.withVirtualTime(() -> hedger.execute("host:80", () ->
+                        attempts.incrementAndGet() == 1
+                                ? Mono.<String>never().doOnCancel(() -> primaryCancelled.set(true))
+                                : Mono.just("hedge")))
+                .thenAwait(Duration.ofMillis(100))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        assertEquals(2, attempts.get());
+        assertTrue(primaryCancelled.get());
+        HedgingStats stats = hedger.getStats();
+        assertEquals(1, stats.hedges());
+        assertEquals(1, stats.hedgeWins());
+    }
+
+    @Test
+    void execute_primaryFailsAfterHedge_waitsForHedge() {
+        RequestHedger hedger = new RequestHedger(Duration.ofMillis(100), 0, 1.0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.withVirtualTime(() -> hedger.execute("host:80", () ->
+                        attempts.incrementAndGet() == 1
+                                ? Mono.delay(Duration.ofMillis(150)).then(Mono.<String>error(new IllegalStateException("boom")))
+                                : Mono.delay(Duration.ofMillis(100)).thenReturn("hedge")))
+                .thenAwait(Duration.ofMillis(200))
+                .expectNext("hedge")
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_allAttemptsFail_propagatesError() {
+        RequestHedger hedger = new RequestHedger(Duration.ofMillis(100), 0, 1.0);
+
+        StepVerifier.withVirtualTime(() -> hedger.execute("host:80", () ->
+                        Mono.delay(Duration.ofMillis(150)).then(Mono.<String>error(new IllegalStateException("boom")))))
+                .thenAwait(Duration.ofMillis(300))
+                .verifyError(IllegalStateException.class);
+
+        assertEquals(1, hedger.getStats().hedges());
+    }
+
+    @Test
+    void execute_budgetExhausted_doesNotHedge() {
+        RequestHedger hedger = new RequestHedger(Duration.ofMillis(100), 0, 0.0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        for (int i = 0; i < RequestHedger.DEFAULT_BURST + 1; i++) {
+            StepVerifier.withVirtualTime(() -> hedger.execute("host:80", () -> {
+                        attempts.incrementAndGet();
+                        return Mono.delay(Duration.ofMillis(200)).thenReturn("slow");
+                    }))
+                    .thenAwait(Duration.ofMillis(200))
+                    .expectNext("slow")
+                    .verifyComplete();
+        }
+
+        HedgingStats stats = hedger.getStats();
+        assertEquals(RequestHedger.DEFAULT_BURST, stats.hedges());
+        assertEquals(1, stats.budgetRejected());
+        assertEquals(2L * RequestHedger.DEFAULT_BURST + 1, attempts.get());
+    }
+
+    @Test
+    void execute_hedgeCannotStart_isSkippedAndBudgetRefunded() {
+        RequestHedger hedger = new RequestHedger(Duration.ofMillis(100), 0, 0.0);
+
+        for (int i = 0; i < RequestHedger.DEFAULT_BURST + 1; i++) {
+            StepVerifier.withVirtualTime(() -> hedger.execute("host:80",
+                            () -> Mono.delay(Duration.ofMillis(200)).thenReturn("slow"),
+                            () -> null))
+                    .thenAwait(Duration.ofMillis(200))
+                    .expectNext("slow")
+                    .verifyComplete();
+        }
+
+        HedgingStats stats = hedger.getStats();
+        assertEquals(0, stats.hedges());
+        assertEquals(0, stats.budgetRejected());
+        assertEquals(RequestHedger.DEFAULT_BURST + 1, stats.limitRejected());
+    }
+
+    @Test
+    void getDelay_usesObservedPercentile() {
+        RequestHedger hedger = new RequestHedger(Duration.ofSeconds(1), 50, 1.0);
+        assertEquals(Duration.ofSeconds(1), hedger.getDelay("host:80"));
+
+        for (int i = 0; i < LatencyTracker.RECOMPUTE_INTERVAL; i++) {
+            hedger.execute("host:80", () -> Mono.just("ok")).block();
+        }
+
+        assertTrue(hedger.getDelay("host:80").compareTo(Duration.ofSeconds(1)) < 0);
+    }
+}
@@ -0,0 +1,75 @@
+package com.webclient.lib.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AimdLimitTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    private final AimdLimit limit = new AimdLimit(10, 2, 12, 0.5, Duration.ofSeconds(1));
+
+    @Test
+    void onSample_successWhileBusy_increasesByOne() {
+        limit.onSample(10 * MILLIS, 5, false);
+
+        assertEquals(11, limit.getLimit());
+    }
+
+    @Test
+    void onSample_successWhileMostlyIdle_keepsLimit() {
+        limit.onSample(10 * MILLIS, 4, false);
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void onSample_drop_backsOff() {
+        limit.onSample(10 * MILLIS, 10, true);
+
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void onSample_rttAtTimeout_countsAsDrop() {
+        limit.onSample(1000 * MILLIS, 10, false);
+
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void onCancel_beforeTimeout_keepsLimit() {
+        limit.onCancel(1000, 10);
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void onCancel_atTimeout_backsOff() {
+        limit.onCancel(1000 * MILLIS, 10);
+
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void onSample_staysWithinBounds() {
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(10 * MILLIS, 12, false);
+        }
+        assertEquals(12, limit.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(10 * MILLIS, 12, true);
+        }
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void constructor_invalidBackoffRatio_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new AimdLimit(10, 1, 20, 1.0, Duration.ofSeconds(1)));
+    }
+}
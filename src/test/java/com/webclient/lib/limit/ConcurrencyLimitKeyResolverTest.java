@@ -0,0 +1,39 @@
+package com.webclient.lib.limit;
+
+import com.webclient.lib.breaker.CircuitBreakerKeyResolver;
+import com.webclient.lib.model.RestServiceRequest;
+import com.webclient.lib.model.WebServiceRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrencyLimitKeyResolverTest {
+
+    @Test
+    void defaultResolvers_keyOnHostLikeTheCircuitBreaker() {
+        WebServiceRequest<String> web = WebServiceRequest.<String>builder()
+                .url("https://example.com/users/1")
+                .responseType(String.class)
+                .build();
+        RestServiceRequest<String> rest = RestServiceRequest.<String>builder()
+                .url("https://example.com/orders/2")
+                .responseType(String.class)
+                .build();
+
+        assertEquals("https://example.com:443", ConcurrencyLimitKeyResolver.forWebRequests().resolve(web));
+        assertEquals("https://example.com:443", ConcurrencyLimitKeyResolver.forRestRequests().resolve(rest));
+        assertEquals(CircuitBreakerKeyResolver.forWebRequests().resolve(web),
+                ConcurrencyLimitKeyResolver.forWebRequests().resolve(web));
+    }
+
+    @Test
+    void defaultResolvers_loadBalancedRequest_isKeyedByService() {
+        WebServiceRequest<String> web = WebServiceRequest.<String>builder()
+                .url("/orders/1")
+                .service("orders")
+                .responseType(String.class)
+                .build();
+
+        assertEquals("lb://orders", ConcurrencyLimitKeyResolver.forWebRequests().resolve(web));
+    }
+}
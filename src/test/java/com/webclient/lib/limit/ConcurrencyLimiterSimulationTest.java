@@ -0,0 +1,129 @@
+package com.webclient.lib.limit;
+
+import com.webclient.lib.client.WebServiceClient;
+import com.webclient.lib.config.HttpClientProperties;
+import com.webclient.lib.model.ServiceResult;
+import com.webclient.lib.model.WebServiceRequest;
+import com.webclient.lib.retry.RetryStrategyFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Goodput simulation: an overloaded stand-in downstream, called with and
+ * without the adaptive limiter.
+ * <p>
+ * The local server works on {@value #CAPACITY} requests at a time at
+ * {@value #BASE_LATENCY_MS} ms each; beyond that, latency grows linearly with
+ * the requests it holds, and it keeps working on requests whose caller has
+ * already given up.  The client offers {@value #OFFERED_CONCURRENCY}
+ * concurrent calls with a {@value #DEADLINE_MS} ms deadline through a
+ * 500-connection pool (the library default).  Without a limiter every call
+ * reaches the server, latency passes the deadline and goodput collapses; the
+ * limiter keeps the server near its capacity and the excess waits client-side.
+ * <p>
+ * Timing-dependent, so tagged {@code benchmark} and run only with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ConcurrencyLimiterSimulationTest {
+
+    private static final int CAPACITY = 8;
+    private static final long BASE_LATENCY_MS = 20;
+    private static final int OFFERED_CONCURRENCY = 200;
+    private static final int REQUESTS = 600;
+    private static final int DEADLINE_MS = 250;
+
+    private DisposableServer server;
+    private ConnectionProvider connections;
+    private final AtomicInteger serverInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/work", (req, res) -> {
+                    int held = serverInFlight.incrementAndGet();
+                    Duration latency = Duration.ofMillis(BASE_LATENCY_MS * Math.max(1, held / CAPACITY));
+                    // the work finishes whether or not the caller is still waiting
+                    Mono.delay(latency).subscribe(tick -> serverInFlight.decrementAndGet());
+                    return res.sendString(Mono.just("done").delayElement(latency));
+                }))
+                .bindNow();
+        connections = ConnectionProvider.builder("simulation")
+                .maxConnections(500)
+                .pendingAcquireMaxCount(-1)
+                .build();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.disposeNow();
+        connections.disposeLater().block();
+    }
+
+    @Test
+    void adaptiveLimit_improvesGoodputUnderOverload() {
+        double unlimited = goodput(null);
+        awaitServerIdle();
+        double limited = goodput(new ConcurrencyLimiterRegistry(
+                () -> new VegasLimit(20, 1, 500, 1.0), 1000, Duration.ofMillis(DEADLINE_MS)));
+
+        assertTrue(limited > 2 * unlimited,
+                "expected the limiter to at least double goodput, was " + unlimited + " -> " + limited);
+    }
+
+    private double goodput(ConcurrencyLimiterRegistry limiters) {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.getRetry().setMaxRetries(0);
+        RetryStrategyFactory retryStrategyFactory = new RetryStrategyFactory();
+        retryStrategyFactory.setProperties(properties);
+
+        WebServiceClient client = new WebServiceClient();
+        client.setRetryStrategyFactory(retryStrategyFactory);
+        client.setProperties(properties);
+        client.setWebClient(WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build());
+        if (limiters != null) {
+            client.setConcurrencyLimiterRegistry(limiters);
+        }
+
+        WebServiceRequest<String> request = WebServiceRequest.<String>builder()
+                .url("http://localhost:" + server.port() + "/work")
+                .responseType(String.class)
+                .timeoutMs(DEADLINE_MS)
+                .build();
+
+        long start = System.nanoTime();
+        List<ServiceResult<String>> results = client
+                .executeAll(Flux.range(0, REQUESTS).map(i -> request), OFFERED_CONCURRENCY)
+                .collectList()
+                .block(Duration.ofMinutes(1));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long answered = results.stream().filter(ServiceResult::isSuccess).count();
+        return answered / seconds;
+    }
+
+    private void awaitServerIdle() {
+        Mono.delay(Duration.ofMillis(100))
+                .repeat(() -> serverInFlight.get() > 0)
+                .blockLast(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,229 @@
+package com.webclient.lib.limit;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimiterTest {
+
+    private static final Predicate<Throwable> IO_DROPS = UncheckedIOException.class::isInstance;
+
+    private final RecordingLimit algorithm = new RecordingLimit(1);
+
+    @Test
+    void acquire_overLimit_waitsForRelease() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("host", algorithm, 10, Duration.ofSeconds(10));
+
+        ConcurrencyLimiter.Permit first = limiter.acquire().get();
+        CompletableFuture<ConcurrencyLimiter.Permit> second = limiter.acquire();
+        CompletableFuture<ConcurrencyLimiter.Permit> third = limiter.acquire();
+
+        assertFalse(second.isDone());
+        assertEquals(2, limiter.getStats().queued());
+
+        first.onSuccess();
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+
+        second.get().onSuccess();
+        third.get().onSuccess();
+        assertEquals(new ConcurrencyLimiterStats(1, 0, 0, 0), limiter.getStats());
+    }
+
+    @Test
+    void acquire_queueFull_rejects() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("host", algorithm, 0, Duration.ofSeconds(10));
+        limiter.acquire().get();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> limiter.acquire().get());
+
+        assertInstanceOf(LimitExceededException.class, e.getCause());
+        assertEquals(1, limiter.getStats().rejected());
+    }
+
+    @Test
+    void acquire_queueWaitExceeded_rejectsAndLeavesQueue() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("host", algorithm, 10, Duration.ofMillis(50));
+        limiter.acquire().get();
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> limiter.acquire().get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(LimitExceededException.class, e.getCause());
+        assertEquals(0, limiter.getStats().queued());
+        assertEquals(1, limiter.getStats().rejected());
+    }
+
+    @Test
+    void acquire_noQueueWait_waitsUntilReleased() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("host", new FixedLimit(1), 10, null);
+        ConcurrencyLimiter.Permit first = limiter.acquire().get();
+
+        CompletableFuture<ConcurrencyLimiter.Permit> second = limiter.acquire();
+        assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+
+        first.onSuccess();
+        second.get(5, TimeUnit.SECONDS).onSuccess();
+        assertEquals(new ConcurrencyLimiterStats(1, 0, 0, 0), limiter.getStats());
+    }
+
+    @Test
+    void acquire_cancelledWaiter_isSkipped() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("host", algorithm, 10, Duration.ofSeconds(10));
+        ConcurrencyLimiter.Permit first = limiter.acquire().get();
+        CompletableFuture<ConcurrencyLimiter.Permit> abandoned = limiter.acquire();
+        CompletableFuture<ConcurrencyLimiter.Permit> next = limiter.acquire();
+
+        abandoned.cancel(false);
+        first.onSuccess();
+
+        assertTrue(next.isDone());
+        assertEquals(1, limiter.getStats().inFlight());
+        assertEquals(0, limiter.getStats().queued());
+    }
+
+    @Test
+    void permit_releasedTwice_countsOnce() throws Exception {
+        RecordingLimit twoPermits = new RecordingLimit(2);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("host", twoPermits, 10, Duration.ofSeconds(10));
+        limiter.acquire().get();
+        ConcurrencyLimiter.Permit permit = limiter.acquire().get();
+
+        permit.onSuccess();
+        permit.onCancel();
+
+        assertEquals(1, limiter.getStats().inFlight());
+        assertEquals(1, twoPermits.samples.size());
+    }
+
+    @Test
+    void permit_cancelled_isReportedAsCancelNotSample() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("host", algorithm, 10, Duration.ofSeconds(10));
+
+        limiter.acquire().get().onCancel();
+
+        assertTrue(algorithm.samples.isEmpty());
+        assertEquals(1, algorithm.cancels);
+        assertEquals(0, limiter.getStats().inFlight());
+    }
+
+    @Test
+    void executeMono_waitsForPermitAndSamplesOutcome() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("host", algorithm, 10, Duration.ofSeconds(10));
+        Sinks.One<String> firstResponse = Sinks.one();
+
+        Disposable first = limiter.execute(firstResponse.asMono(), IO_DROPS).subscribe();
+        Mono<String> second = limiter.execute(Mono.just("second"), IO_DROPS);
+
+        StepVerifier.create(second)
+                .then(() -> assertEquals(1, limiter.getStats().queued()))
+                .then(() -> firstResponse.tryEmitValue("first"))
+                .expectNext("second")
+                .verifyComplete();
+
+        first.dispose();
+        assertEquals(0, limiter.getStats().inFlight());
+        assertEquals(List.of(false, false), algorithm.samples);
+        assertEquals(0, algorithm.cancels);
+    }
+
+    @Test
+    void executeMono_cancelledWhileQueued_givesUpPlace() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("host", algorithm, 10, Duration.ofSeconds(10));
+        Disposable holder = limiter.execute(Mono.never(), IO_DROPS).subscribe();
+
+        Disposable queued = limiter.execute(Mono.just("queued"), IO_DROPS).subscribe();
+        assertEquals(1, limiter.getStats().queued());
+        queued.dispose();
+
+        assertEquals(0, limiter.getStats().queued());
+        holder.dispose();
+        assertEquals(0, limiter.getStats().inFlight());
+    }
+
+    @Test
+    void tryExecute_runsOnFreePermitElseReturnsNull() {
+        RecordingLimit twoPermits = new RecordingLimit(2);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("host", twoPermits, 10, Duration.ofSeconds(10));
+        Disposable holder = limiter.execute(Mono.never(), IO_DROPS).subscribe();
+
+        StepVerifier.create(limiter.tryExecute(Mono.just("free"), IO_DROPS))
+                .expectNext("free")
+                .verifyComplete();
+
+        Disposable second = limiter.execute(Mono.never(), IO_DROPS).subscribe();
+        Disposable queued = limiter.execute(Mono.never(), IO_DROPS).subscribe();
+        assertNull(limiter.tryExecute(Mono.just("full"), IO_DROPS));
+        assertEquals(1, limiter.getStats().queued());
+
+        holder.dispose();
+        second.dispose();
+        queued.dispose();
+        assertEquals(0, limiter.getStats().inFlight());
+    }
+
+    @Test
+    void executeSupplier_droppedError_isSampledAsDrop() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("host", algorithm, 10, Duration.ofSeconds(10));
+
+        assertThrows(UncheckedIOException.class, () -> limiter.execute(() -> {
+            throw new UncheckedIOException(new IOException("reset"));
+        }, IO_DROPS));
+        assertThrows(IllegalStateException.class, () -> limiter.execute(() -> {
+            throw new IllegalStateException("not sampled");
+        }, IO_DROPS));
+
+        assertEquals(List.of(true), algorithm.samples);
+        assertEquals(0, limiter.getStats().inFlight());
+    }
+
+    /**
+     * Constant limit recording whether each sample was a drop, and the
+     * number of cancels.
+     */
+    private static final class RecordingLimit implements LimitAlgorithm {
+
+        private final int limit;
+        private final List<Boolean> samples = new ArrayList<>();
+        private int cancels;
+
+        RecordingLimit(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public int getLimit() {
+            return limit;
+        }
+
+        @Override
+        public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+            samples.add(dropped);
+        }
+
+        @Override
+        public synchronized void onCancel(long elapsedNanos, int inFlight) {
+            cancels++;
+        }
+    }
+}
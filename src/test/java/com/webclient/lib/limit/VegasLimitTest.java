@@ -0,0 +1,101 @@
+package com.webclient.lib.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VegasLimitTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void onSample_noQueueing_growsWhileBusy() {
+        VegasLimit limit = new VegasLimit(20, 1, 1000, 1.0);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        }
+
+        assertTrue(limit.getLimit() > 20);
+    }
+
+    @Test
+    void onSample_noQueueingButIdle_keepsLimit() {
+        VegasLimit limit = new VegasLimit(20, 1, 1000, 1.0);
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(10 * MILLIS, 1, false);
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void onSample_latencyGrowsWithQueue_shrinks() {
+        VegasLimit limit = new VegasLimit(100, 1, 1000, 1.0);
+        limit.onSample(10 * MILLIS, 100, false);
+        int afterBaseline = limit.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(40 * MILLIS, limit.getLimit(), false);
+        }
+
+        assertTrue(limit.getLimit() < afterBaseline);
+    }
+
+    @Test
+    void onSample_drop_shrinks() {
+        VegasLimit limit = new VegasLimit(100, 1, 1000, 1.0);
+
+        limit.onSample(10 * MILLIS, 100, true);
+
+        assertEquals(98, limit.getLimit());
+    }
+
+    @Test
+    void onCancel_immediate_doesNotShrinkLimitOrNoLoadLatency() {
+        VegasLimit limit = new VegasLimit(100, 1, 1000, 1.0);
+        limit.onSample(10 * MILLIS, 100, false);
+        int afterBaseline = limit.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            limit.onCancel(1000, 100);
+        }
+        assertEquals(afterBaseline, limit.getLimit());
+
+        limit.onSample(10 * MILLIS, limit.getLimit(), false);
+        assertTrue(limit.getLimit() > afterBaseline);
+    }
+
+    @Test
+    void onCancel_longerThanSmoothedRtt_countsAsDrop() {
+        VegasLimit limit = new VegasLimit(100, 1, 1000, 1.0);
+        limit.onSample(10 * MILLIS, 1, false);
+
+        limit.onCancel(50 * MILLIS, 100);
+
+        assertEquals(98, limit.getLimit());
+    }
+
+    @Test
+    void onSample_staysWithinBounds() {
+        VegasLimit limit = new VegasLimit(10, 5, 30, 1.0);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, 30, false);
+        }
+        assertEquals(30, limit.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, 30, true);
+        }
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void constructor_invalidSmoothing_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new VegasLimit(10, 1, 20, 0));
+    }
+}
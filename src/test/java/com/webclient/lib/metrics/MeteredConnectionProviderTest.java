@@ -0,0 +1,171 @@
+package com.webclient.lib.metrics;
+
+import com.webclient.lib.config.HttpClientProperties;
+import com.webclient.lib.config.WebClientAutoConfiguration;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeteredConnectionProviderTest {
+
+    private DisposableServer server;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ConnectionProvider provider;
+
+    @BeforeEach
+    void startServer() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/fast", (req, res) -> res.sendString(Mono.just("ok")))
+                        .get("/slow", (req, res) -> res.sendString(Mono.just("ok").delayElement(Duration.ofMillis(500)))))
+                .bindNow();
+    }
+
+    @AfterEach
+    void stop() {
+        if (provider != null) {
+            provider.disposeLater().block(Duration.ofSeconds(5));
+        }
+        server.disposeNow();
+    }
+
+    @Test
+    void recordsPerHostGaugesAndAcquireTimes() {
+        provider = connectionProvider(new HttpClientProperties());
+
+        get("/fast").block(Duration.ofSeconds(5));
+        get("/fast").block(Duration.ofSeconds(5));
+
+        String host = "localhost:" + server.port();
+        Gauge max = registry.find("webclient.pool.connections.max").tag("remote.host", host).gauge();
+        assertNotNull(max);
+        assertEquals(50, max.value());
+        assertNotNull(registry.find("webclient.pool.connections.idle").tag("remote.host", host).gauge());
+        assertNotNull(registry.find("webclient.pool.pending").tag("remote.host", host).gauge());
+
+        Timer acquire = registry.find("webclient.pool.acquire")
+                .tags("remote.host", host, "outcome", "success").timer();
+        assertNotNull(acquire);
+        assertEquals(2, acquire.count());
+    }
+
+    @Test
+    void countsPendingAcquireTimeouts() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.getPool().setMaxConnectionsPerRoute(1);
+        properties.getTimeout().setConnectRequestTimeoutMs(50);
+        provider = connectionProvider(properties);
+
+        Flux.merge(get("/slow"), get("/slow"))
+                .onErrorResume(e -> Mono.empty())
+                .blockLast(Duration.ofSeconds(5));
+
+        String host = "localhost:" + server.port();
+        assertEquals(1, registry.counter("webclient.pool.pending.timeouts",
+                "pool", "webclient-pool", "remote.host", host).count());
+        assertEquals(1, registry.find("webclient.pool.acquire")
+                .tags("remote.host", host, "outcome", "failure").timer().count());
+    }
+
+    @Test
+    void mutate_buildsUnmeteredProviderUntilWrappedAgain() {
+        provider = connectionProvider(new HttpClientProperties());
+        ConnectionProvider mutated = provider.mutate().build();
+        try {
+            assertFalse(mutated instanceof MeteredConnectionProvider);
+            get(mutated, "/fast").block(Duration.ofSeconds(5));
+            assertNull(registry.find("webclient.pool.acquire").timer());
+
+            ConnectionProvider rewrapped = new MeteredConnectionProvider(mutated,
+                    new MicrometerConnectionPoolMetricsRecorder(registry));
+            get(rewrapped, "/fast").block(Duration.ofSeconds(5));
+            assertEquals(1, registry.find("webclient.pool.acquire")
+                    .tags("remote.host", "localhost:" + server.port(), "outcome", "success").timer().count());
+        } finally {
+            mutated.disposeLater().block(Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    void h2c_recordsGaugesButNotAcquireTimes() {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setProtocol("H2C");
+        provider = connectionProvider(properties);
+        DisposableServer h2cServer = HttpServer.create()
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .route(routes -> routes.get("/fast", (req, res) -> res.sendString(Mono.just("ok"))))
+                .bindNow();
+        try {
+            HttpClient client = HttpClient.create(provider).protocol(HttpProtocol.HTTP11, HttpProtocol.H2C);
+            for (int i = 0; i < 2; i++) {
+                assertEquals("ok", client.get()
+                        .uri("http://localhost:" + h2cServer.port() + "/fast")
+                        .responseContent()
+                        .aggregate()
+                        .asString()
+                        .block(Duration.ofSeconds(5)));
+            }
+
+            String host = "localhost:" + h2cServer.port();
+            // Reactor Netty builds its HTTP/2 pool from mutate() and acquires through it directly
+            assertNotNull(registry.find("webclient.pool.pending").tag("remote.host", host).gauge());
+            assertNull(registry.find("webclient.pool.acquire").timer());
+            assertNull(registry.find("webclient.pool.pending.timeouts").counter());
+        } finally {
+            h2cServer.disposeNow();
+        }
+    }
+
+    @Test
+    void isPendingAcquireTimeout_matchesPoolExceptionsAnywhereInTheCauseChain() {
+        assertFalse(MeteredConnectionProvider.isPendingAcquireTimeout(new IllegalStateException("boom")));
+        assertTrue(MeteredConnectionProvider.isPendingAcquireTimeout(
+                new RuntimeException(new PoolAcquireTimeoutException())));
+    }
+
+    private Mono<String> get(String path) {
+        return get(provider, path);
+    }
+
+    private Mono<String> get(ConnectionProvider provider, String path) {
+        return HttpClient.create(provider)
+                .get()
+                .uri("http://localhost:" + server.port() + path)
+                .responseContent()
+                .aggregate()
+                .asString();
+    }
+
+    private ConnectionProvider connectionProvider(HttpClientProperties properties) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("recorder", new MicrometerConnectionPoolMetricsRecorder(registry));
+        WebClientAutoConfiguration configuration = new WebClientAutoConfiguration();
+        configuration.setProperties(properties);
+        return configuration.webClientConnectionProvider(beans.getBeanProvider(ConnectionPoolMetricsRecorder.class));
+    }
+
+    /** Stand-in for the shaded reactor-pool exception, matched by simple name. */
+    private static class PoolAcquireTimeoutException extends RuntimeException {
+    }
+}
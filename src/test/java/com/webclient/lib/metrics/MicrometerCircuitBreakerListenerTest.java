@@ -0,0 +1,44 @@
+package com.webclient.lib.metrics;
+
+import com.webclient.lib.breaker.CircuitBreaker;
+import com.webclient.lib.breaker.CircuitBreakerEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MicrometerCircuitBreakerListenerTest {
+
+    private static final String KEY = "https://example.com:443";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerCircuitBreakerListener listener = new MicrometerCircuitBreakerListener(registry);
+
+    @Test
+    void onStateTransition_updatesStateGaugesAndCountsTransitions() {
+        listener.onStateTransition(event(CircuitBreaker.State.CLOSED, CircuitBreaker.State.OPEN));
+
+        assertEquals(1, state("open"));
+        assertEquals(0, state("closed"));
+        assertEquals(0, state("half_open"));
+
+        listener.onStateTransition(event(CircuitBreaker.State.OPEN, CircuitBreaker.State.HALF_OPEN));
+        listener.onStateTransition(event(CircuitBreaker.State.HALF_OPEN, CircuitBreaker.State.OPEN));
+
+        assertEquals(1, state("open"));
+        assertEquals(2, registry.find("webclient.circuitbreaker.transitions")
+                .tag("key", KEY).tag("to", "open").counter().count());
+        assertEquals(1, registry.find("webclient.circuitbreaker.transitions")
+                .tag("key", KEY).tag("from", "open").tag("to", "half_open").counter().count());
+    }
+
+    private double state(String state) {
+        return registry.get("webclient.circuitbreaker.state").tag("key", KEY).tag("state", state).gauge().value();
+    }
+
+    private static CircuitBreakerEvent event(CircuitBreaker.State from, CircuitBreaker.State to) {
+        return new CircuitBreakerEvent(KEY, from, to, Instant.now());
+    }
+}
@@ -0,0 +1,49 @@
+package com.webclient.lib.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.ConnectionPoolMetrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MicrometerConnectionPoolMetricsRecorderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerConnectionPoolMetricsRecorder recorder = new MicrometerConnectionPoolMetricsRecorder(registry);
+
+    @Test
+    void poolsSharingAHost_keepSeparateGauges() {
+        recorder.registerPool("webclient-pool", "1", "example.com:443", metrics(3));
+        recorder.registerPool("webclient-pool", "2", "example.com:443", metrics(7));
+
+        assertEquals(3, active("1").value());
+        assertEquals(7, active("2").value());
+    }
+
+    @Test
+    void deregisterPool_removesOnlyThatPoolsGauges() {
+        recorder.registerPool("webclient-pool", "1", "example.com:443", metrics(3));
+        recorder.registerPool("webclient-pool", "2", "example.com:443", metrics(7));
+
+        recorder.deregisterPool("webclient-pool", "1", "example.com:443");
+
+        assertNull(active("1"));
+        assertEquals(7, active("2").value());
+    }
+
+    private Gauge active(String id) {
+        return registry.find("webclient.pool.connections.active")
+                .tags("pool", "webclient-pool", "remote.host", "example.com:443", "id", id)
+                .gauge();
+    }
+
+    private static ConnectionPoolMetrics metrics(int acquired) {
+        ConnectionPoolMetrics metrics = mock(ConnectionPoolMetrics.class);
+        when(metrics.acquiredSize()).thenReturn(acquired);
+        return metrics;
+    }
+}
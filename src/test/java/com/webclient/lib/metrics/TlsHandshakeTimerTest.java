@@ -0,0 +1,60 @@
+package com.webclient.lib.metrics;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TlsHandshakeTimerTest {
+
+    private final List<Handshake> handshakes = new ArrayList<>();
+    private final TlsHandshakeMetricsRecorder recorder = (host, time, protocol, resumed, success) ->
+            handshakes.add(new Handshake(host, time, protocol, resumed, success));
+
+    @Test
+    void install_handshakeAborted_recordsFailure() throws Exception {
+        SslContext context = SslContextBuilder.forClient().sslProvider(SslProvider.JDK).build();
+        EmbeddedChannel channel = new EmbeddedChannel(false, false);
+        channel.pipeline().addLast(context.newHandler(channel.alloc(), "payments.internal", 443));
+        TlsHandshakeTimer.install(channel, InetSocketAddress.createUnresolved("payments.internal", 443), recorder);
+
+        channel.register();
+        assertNull(channel.pipeline().get(TlsHandshakeTimer.class), "removes itself once the clock is started");
+        channel.close();
+        channel.runPendingTasks();
+        channel.finishAndReleaseAll();
+
+        assertEquals(1, handshakes.size());
+        Handshake handshake = handshakes.get(0);
+        assertEquals("payments.internal:443", handshake.host());
+        assertFalse(handshake.success());
+        assertFalse(handshake.resumed());
+        assertNull(handshake.protocol());
+        assertFalse(handshake.time().isNegative());
+    }
+
+    @Test
+    void install_cleartextChannel_addsNothing() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+
+        TlsHandshakeTimer.install(channel, InetSocketAddress.createUnresolved("reports.internal", 80), recorder);
+        channel.close();
+
+        assertNull(channel.pipeline().get(TlsHandshakeTimer.class));
+        assertTrue(handshakes.isEmpty());
+    }
+
+    private record Handshake(String host, Duration time, String protocol, boolean resumed, boolean success) {
+    }
+}
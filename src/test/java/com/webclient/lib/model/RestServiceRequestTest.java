@@ -1,5 +1,6 @@
 package com.webclient.lib.model;
 
+import com.webclient.lib.cache.InMemoryResponseCache;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
@@ -9,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -225,4 +227,126 @@ class RestServiceRequestTest {
             assertEquals(method, spec.getHttpMethod());
         }
     }
+
+    @Test
+    void builder_defaultCoalesce_isNull() {
+        RestServiceRequest<String> spec = RestServiceRequest.<String>builder()
+                .url("https://example.com")
+                .responseType(String.class)
+                .build();
+
+        assertNull(spec.getCoalesce());
+        assertTrue(spec.isCoalescable());
+    }
+
+    @Test
+    void builder_coalesceOnGet_setsValue() {
+        RestServiceRequest<String> spec = RestServiceRequest.<String>builder()
+                .url("https://example.com")
+                .coalesce(true)
+                .responseType(String.class)
+                .build();
+
+        assertTrue(spec.getCoalesce());
+    }
+
+    @Test
+    void builder_requestWithBody_isNotCoalescable() {
+        RestServiceRequest<String> spec = RestServiceRequest.<String>builder()
+                .url("https://example.com")
+                .method(HttpMethod.GET)
+                .body("payload")
+                .responseType(String.class)
+                .build();
+
+        assertFalse(spec.isCoalescable());
+    }
+
+    @Test
+    void builder_coalesceOnPost_throwsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                RestServiceRequest.<String>builder()
+                        .url("https://example.com")
+                        .method(HttpMethod.POST)
+                        .coalesce(true)
+                        .responseType(String.class)
+                        .build());
+    }
+
+    @Test
+    void builder_responseCache_setsValue() {
+        InMemoryResponseCache cache = new InMemoryResponseCache();
+
+        RestServiceRequest<String> spec = RestServiceRequest.<String>builder()
+                .url("https://example.com")
+                .responseCache(cache)
+                .responseType(String.class)
+                .build();
+
+        assertEquals(cache, spec.getResponseCache());
+    }
+
+    @Test
+    void builder_defaultResponseCache_isNull() {
+        RestServiceRequest<String> spec = RestServiceRequest.<String>builder()
+                .url("https://example.com")
+                .responseType(String.class)
+                .build();
+
+        assertNull(spec.getResponseCache());
+    }
+
+    @Test
+    void builder_staleWindows_setValues() {
+        RestServiceRequest<String> spec = RestServiceRequest.<String>builder()
+                .url("https://example.com")
+                .staleWhileRevalidateMs(30_000)
+                .staleIfErrorMs(0)
+                .responseType(String.class)
+                .build();
+
+        assertEquals(30_000L, spec.getStaleWhileRevalidateMs());
+        assertEquals(0L, spec.getStaleIfErrorMs());
+    }
+
+    @Test
+    void builder_negativeStaleWindow_throws() {
+        assertThrows(IllegalArgumentException.class, () -> RestServiceRequest.<String>builder()
+                .url("https://example.com")
+                .staleIfErrorMs(-1)
+                .responseType(String.class)
+                .build());
+    }
+
+    @Test
+    void builder_service_targetsServicePath() {
+        RestServiceRequest<String> spec = RestServiceRequest.<String>builder()
+                .service("orders")
+                .url("/orders/42")
+                .responseType(String.class)
+                .build();
+
+        assertEquals("orders", spec.getService());
+        assertEquals("lb://orders/orders/42", spec.getTarget());
+    }
+
+    @Test
+    void builder_noService_targetIsUrl() {
+        RestServiceRequest<String> spec = RestServiceRequest.<String>builder()
+                .url("https://example.com/a")
+                .responseType(String.class)
+                .build();
+
+        assertNull(spec.getService());
+        assertEquals("https://example.com/a", spec.getTarget());
+    }
+
+    @Test
+    void builder_serviceWithAbsoluteUrl_throws() {
+        assertThrows(IllegalArgumentException.class, () -> RestServiceRequest.<String>builder()
+                .service("orders")
+                .url("https://example.com/orders")
+                .responseType(String.class)
+                .build());
+    }
 }
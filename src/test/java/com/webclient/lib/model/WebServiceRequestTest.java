@@ -1,14 +1,17 @@
 package com.webclient.lib.model;
 
+import com.webclient.lib.cache.InMemoryResponseCache;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -225,4 +228,211 @@ class WebServiceRequestTest {
             assertEquals(method, spec.getHttpMethod());
         }
     }
+
+    @Test
+    void builder_publisherBody_setsElementType() {
+        Flux<String> lines = Flux.just("a", "b");
+
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com")
+                .method(HttpMethod.POST)
+                .body(lines, String.class)
+                .responseType(String.class)
+                .build();
+
+        assertEquals(lines, spec.getBody());
+        assertEquals(String.class, spec.getBodyElementType());
+    }
+
+    @Test
+    void builder_plainBody_hasNoElementType() {
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com")
+                .body(Flux.just("a"), String.class)
+                .body("plain")
+                .responseType(String.class)
+                .build();
+
+        assertNull(spec.getBodyElementType());
+    }
+
+    @Test
+    void builder_publisherBodyWithoutElementType_throwsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                WebServiceRequest.<String>builder()
+                        .url("https://example.com")
+                        .body(Flux.just("a"))
+                        .responseType(String.class)
+                        .build());
+    }
+
+    @Test
+    void builder_defaultCoalesce_isNull() {
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com")
+                .responseType(String.class)
+                .build();
+
+        assertNull(spec.getCoalesce());
+        assertTrue(spec.isCoalescable());
+    }
+
+    @Test
+    void builder_coalesceOnGet_setsValue() {
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com")
+                .coalesce(true)
+                .responseType(String.class)
+                .build();
+
+        assertTrue(spec.getCoalesce());
+    }
+
+    @Test
+    void builder_requestWithBody_isNotCoalescable() {
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com")
+                .method(HttpMethod.GET)
+                .body("payload")
+                .responseType(String.class)
+                .build();
+
+        assertFalse(spec.isCoalescable());
+    }
+
+    @Test
+    void builder_coalesceOnPost_throwsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                WebServiceRequest.<String>builder()
+                        .url("https://example.com")
+                        .method(HttpMethod.POST)
+                        .coalesce(true)
+                        .responseType(String.class)
+                        .build());
+    }
+
+    @Test
+    void builder_defaultHedge_isNull() {
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com")
+                .responseType(String.class)
+                .build();
+
+        assertNull(spec.getHedge());
+        assertTrue(spec.isHedgeable());
+    }
+
+    @Test
+    void builder_hedgeOnPutWithBody_setsValue() {
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com")
+                .method(HttpMethod.PUT)
+                .body("payload")
+                .hedge(true)
+                .responseType(String.class)
+                .build();
+
+        assertTrue(spec.getHedge());
+        assertTrue(spec.isHedgeable());
+    }
+
+    @Test
+    void builder_publisherBody_isNotHedgeable() {
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com")
+                .method(HttpMethod.PUT)
+                .body(Flux.just("a", "b"))
+                .responseType(String.class)
+                .build();
+
+        assertFalse(spec.isHedgeable());
+    }
+
+    @Test
+    void builder_hedgeOnPost_throwsException() {
+        assertThrows(IllegalArgumentException.class, () ->
+                WebServiceRequest.<String>builder()
+                        .url("https://example.com")
+                        .method(HttpMethod.POST)
+                        .hedge(true)
+                        .responseType(String.class)
+                        .build());
+    }
+
+    @Test
+    void builder_responseCache_setsValue() {
+        InMemoryResponseCache cache = new InMemoryResponseCache();
+
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com")
+                .responseCache(cache)
+                .responseType(String.class)
+                .build();
+
+        assertEquals(cache, spec.getResponseCache());
+    }
+
+    @Test
+    void builder_defaultResponseCache_isNull() {
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com")
+                .responseType(String.class)
+                .build();
+
+        assertNull(spec.getResponseCache());
+    }
+
+    @Test
+    void builder_staleWindows_setValues() {
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com")
+                .staleWhileRevalidateMs(30_000)
+                .staleIfErrorMs(0)
+                .responseType(String.class)
+                .build();
+
+        assertEquals(30_000L, spec.getStaleWhileRevalidateMs());
+        assertEquals(0L, spec.getStaleIfErrorMs());
+    }
+
+    @Test
+    void builder_negativeStaleWindow_throws() {
+        assertThrows(IllegalArgumentException.class, () -> WebServiceRequest.<String>builder()
+                .url("https://example.com")
+                .staleIfErrorMs(-1)
+                .responseType(String.class)
+                .build());
+    }
+
+    @Test
+    void builder_service_targetsServicePath() {
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .service("orders")
+                .url("/orders/42")
+                .responseType(String.class)
+                .build();
+
+        assertEquals("orders", spec.getService());
+        assertEquals("lb://orders/orders/42", spec.getTarget());
+    }
+
+    @Test
+    void builder_noService_targetIsUrl() {
+        WebServiceRequest<String> spec = WebServiceRequest.<String>builder()
+                .url("https://example.com/a")
+                .responseType(String.class)
+                .build();
+
+        assertNull(spec.getService());
+        assertEquals("https://example.com/a", spec.getTarget());
+    }
+
+    @Test
+    void builder_serviceWithAbsoluteUrl_throws() {
+        assertThrows(IllegalArgumentException.class, () -> WebServiceRequest.<String>builder()
+                .service("orders")
+                .url("https://example.com/orders")
+                .responseType(String.class)
+                .build());
+    }
 }
@@ -1,5 +1,8 @@
 package com.webclient.lib.retry;
 
+import com.webclient.lib.breaker.CallNotPermittedException;
+import com.webclient.lib.breaker.CircuitBreaker;
+import com.webclient.lib.limit.LimitExceededException;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
@@ -98,4 +101,14 @@ class RetriableExceptionPredicateTest {
     void nullPointerException_isNotRetriable() {
         assertFalse(predicate.test(new NullPointerException("oops")));
     }
+
+    @Test
+    void callNotPermitted_isNotRetriable() {
+        assertFalse(predicate.test(new CallNotPermittedException("https://example.com:443", CircuitBreaker.State.OPEN)));
+    }
+
+    @Test
+    void limitExceeded_isNotRetriable() {
+        assertFalse(predicate.test(new LimitExceededException("https://example.com:443", 10, "wait queue full")));
+    }
 }
@@ -1,5 +1,8 @@
 package com.webclient.lib.retry;
 
+import com.webclient.lib.breaker.CallNotPermittedException;
+import com.webclient.lib.breaker.CircuitBreaker;
+import com.webclient.lib.limit.LimitExceededException;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.client.HttpClientErrorException;
@@ -143,4 +146,14 @@ class SyncRetriableExceptionPredicateTest {
         NullPointerException exception = new NullPointerException("null");
         assertFalse(predicate.test(exception));
     }
+
+    @Test
+    void test_callNotPermittedException_returnsFalse() {
+        assertFalse(predicate.test(new CallNotPermittedException("https://example.com:443", CircuitBreaker.State.OPEN)));
+    }
+
+    @Test
+    void test_limitExceededException_returnsFalse() {
+        assertFalse(predicate.test(new LimitExceededException("https://example.com:443", 10, "wait queue full")));
+    }
 }
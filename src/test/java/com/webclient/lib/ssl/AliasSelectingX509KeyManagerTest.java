@@ -8,6 +8,8 @@ import javax.net.ssl.X509ExtendedKeyManager;
 import java.security.Principal;
 import java.security.PrivateKey;
 import java.security.cert.X509Certificate;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -101,4 +103,40 @@ class AliasSelectingX509KeyManagerTest {
         assertArrayEquals(aliases, result);
         verify(delegate).getServerAliases("RSA", issuers);
     }
+
+    @Test
+    void chooseEngineClientAlias_hostMap_prefersHostAndPortThenHost() {
+        AliasSelectingX509KeyManager tenants = new AliasSelectingX509KeyManager(delegate, ALIAS, Map.of(
+                "payments.internal:8443", "payments-admin",
+                "Payments.Internal", "payments",
+                "reports.internal", "reports"));
+
+        assertEquals("payments-admin", tenants.chooseEngineClientAlias(new String[]{"EC"}, null,
+                engine("payments.internal", 8443)));
+        assertEquals("payments", tenants.chooseEngineClientAlias(new String[]{"EC"}, null,
+                engine("PAYMENTS.internal", 443)));
+        assertEquals("reports", tenants.chooseEngineClientAlias(new String[]{"EC"}, null,
+                engine("reports.internal", 443)));
+        assertEquals(ALIAS, tenants.chooseEngineClientAlias(new String[]{"EC"}, null,
+                engine("search.internal", 443)));
+        assertEquals(Set.of("payments-admin", "payments", "reports", ALIAS), tenants.getAliases());
+    }
+
+    @Test
+    void chooseEngineClientAlias_hostMapWithoutDefault_fallsBackToWrappedManager() {
+        AliasSelectingX509KeyManager tenants = new AliasSelectingX509KeyManager(delegate, null,
+                Map.of("reports.internal", "reports"));
+        SSLEngine engine = engine("search.internal", 443);
+        when(delegate.chooseEngineClientAlias(new String[]{"EC"}, null, engine)).thenReturn("first");
+
+        assertEquals("first", tenants.chooseEngineClientAlias(new String[]{"EC"}, null, engine));
+        verify(delegate).chooseEngineClientAlias(new String[]{"EC"}, null, engine);
+    }
+
+    private static SSLEngine engine(String peerHost, int peerPort) {
+        SSLEngine engine = mock(SSLEngine.class);
+        when(engine.getPeerHost()).thenReturn(peerHost);
+        when(engine.getPeerPort()).thenReturn(peerPort);
+        return engine;
+    }
 }
@@ -0,0 +1,168 @@
+package com.webclient.lib.ssl;
+
+import com.webclient.lib.config.HttpClientProperties;
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import java.io.FileInputStream;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * One client and pool presenting a different client certificate to each of
+ * two local TLS servers, chosen by {@code ssl.host-key-aliases}.  Each server
+ * requires a client certificate and answers with the subject of the one it
+ * was shown.
+ */
+class HostKeyAliasTest {
+
+    private static final String PASSWORD = "changeit";
+
+    @TempDir
+    static Path tempDir;
+
+    private static String clientKeystore;
+    private static String clientTruststore;
+    private static DisposableServer payments;
+    private static DisposableServer reports;
+
+    @BeforeAll
+    static void startServers() throws Exception {
+        String serverKeystore = tempDir.resolve("server.p12").toString();
+        String serverCert = tempDir.resolve("server.pem").toString();
+        clientKeystore = tempDir.resolve("tenants.p12").toString();
+        clientTruststore = tempDir.resolve("trust.p12").toString();
+        runKeytool("-genkeypair", "-alias", "server", "-keyalg", "EC", "-groupname", "secp256r1",
+                "-storetype", "PKCS12", "-keystore", serverKeystore, "-storepass", PASSWORD, "-keypass", PASSWORD,
+                "-dname", "CN=localhost", "-ext", "SAN=dns:localhost", "-validity", "1");
+        runKeytool("-exportcert", "-alias", "server", "-keystore", serverKeystore, "-storepass", PASSWORD,
+                "-file", serverCert, "-rfc");
+        runKeytool("-importcert", "-alias", "server", "-keystore", clientTruststore, "-storepass", PASSWORD,
+                "-file", serverCert, "-noprompt", "-storetype", "PKCS12");
+        for (String tenant : List.of("tenant-a", "tenant-b")) {
+            runKeytool("-genkeypair", "-alias", tenant, "-keyalg", "EC", "-groupname", "secp256r1",
+                    "-storetype", "PKCS12", "-keystore", clientKeystore, "-storepass", PASSWORD,
+                    "-keypass", PASSWORD, "-dname", "CN=" + tenant, "-validity", "1");
+        }
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (FileInputStream in = new FileInputStream(serverKeystore)) {
+            keyStore.load(in, PASSWORD.toCharArray());
+        }
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(keyStore, PASSWORD.toCharArray());
+        SslContext serverContext = SslContextBuilder.forServer(kmf)
+                .trustManager(InsecureTrustManagerFactory.INSTANCE)
+                .clientAuth(ClientAuth.REQUIRE)
+                .build();
+        payments = whoamiServer(serverContext);
+        reports = whoamiServer(serverContext);
+    }
+
+    @AfterAll
+    static void stopServers() {
+        payments.disposeNow();
+        reports.disposeNow();
+    }
+
+    @Test
+    void eachHostSeesItsOwnIdentityOverOneSharedPool() {
+        HttpClientProperties properties = new HttpClientProperties();
+        HttpClientProperties.Ssl ssl = properties.getSsl();
+        ssl.setEnabled(true);
+        ssl.setKeystorePath(clientKeystore);
+        ssl.setKeystorePassword(PASSWORD);
+        ssl.setTruststorePath(clientTruststore);
+        ssl.setTruststorePassword(PASSWORD);
+        ssl.setHostKeyAliases(Map.of(
+                "localhost:" + payments.port(), "tenant-a",
+                "localhost:" + reports.port(), "tenant-b"));
+        SslConnectionFactoryInitializer initializer = new SslConnectionFactoryInitializer();
+        initializer.setProperties(properties);
+        SslContext context = initializer.createSslContext();
+
+        ConnectionProvider pool = ConnectionProvider.create("host-key-alias-test", 4);
+        try {
+            HttpClient client = HttpClient.create(pool).secure(spec -> spec.sslContext(context));
+
+            Set<String> seenByPayments = Set.copyOf(whoami(client, payments, 20));
+            Set<String> seenByReports = Set.copyOf(whoami(client, reports, 20));
+
+            assertEquals(Set.of("CN=tenant-a"), seenByPayments);
+            assertEquals(Set.of("CN=tenant-b"), seenByReports);
+        } finally {
+            pool.disposeLater().block(Duration.ofSeconds(5));
+        }
+    }
+
+    private static List<String> whoami(HttpClient client, DisposableServer server, int requests) {
+        String url = "https://localhost:" + server.port() + "/whoami";
+        return Flux.range(0, requests)
+                .flatMap(i -> client.get().uri(url).responseContent().aggregate().asString(), 4)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+    }
+
+    private static DisposableServer whoamiServer(SslContext serverContext) {
+        return HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .secure(spec -> spec.sslContext(serverContext))
+                .route(routes -> routes.get("/whoami", (req, res) -> {
+                    String[] subject = new String[1];
+                    req.withConnection(connection -> subject[0] = peerSubject(connection.channel().pipeline()
+                            .get(SslHandler.class)));
+                    return res.sendString(Mono.just(subject[0]));
+                }))
+                .bindNow();
+    }
+
+    private static String peerSubject(SslHandler sslHandler) {
+        try {
+            return ((X509Certificate) sslHandler.engine().getSession().getPeerCertificates()[0])
+                    .getSubjectX500Principal().getName();
+        } catch (SSLPeerUnverifiedException e) {
+            return "none";
+        }
+    }
+
+    private static void runKeytool(String... args) throws Exception {
+        String keytoolPath = System.getProperty("java.home")
+                + java.io.File.separator + "bin"
+                + java.io.File.separator + "keytool";
+        String[] cmd = new String[args.length + 1];
+        cmd[0] = keytoolPath;
+        System.arraycopy(args, 0, cmd, 1, args.length);
+
+        ProcessBuilder pb = new ProcessBuilder(cmd);
+        pb.redirectErrorStream(true);
+        Process process = pb.start();
+        process.getInputStream().readAllBytes();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new RuntimeException("keytool failed with exit code " + exitCode);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.webclient.lib.ssl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.X509ExtendedKeyManager;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReloadingX509KeyManagerTest {
+
+    private X509ExtendedKeyManager first;
+    private X509ExtendedKeyManager second;
+    private ReloadingX509KeyManager keyManager;
+
+    @BeforeEach
+    void setUp() {
+        first = mock(X509ExtendedKeyManager.class);
+        second = mock(X509ExtendedKeyManager.class);
+        keyManager = new ReloadingX509KeyManager(first);
+    }
+
+    @Test
+    void delegatesToCurrentManager() {
+        SSLEngine engine = mock(SSLEngine.class);
+        X509Certificate[] chain = new X509Certificate[]{mock(X509Certificate.class)};
+        PrivateKey key = mock(PrivateKey.class);
+        when(first.chooseEngineClientAlias(new String[]{"RSA"}, null, engine)).thenReturn("client");
+        when(first.getCertificateChain("client")).thenReturn(chain);
+        when(first.getPrivateKey("client")).thenReturn(key);
+
+        assertEquals("client", keyManager.chooseEngineClientAlias(new String[]{"RSA"}, null, engine));
+        assertArrayEquals(chain, keyManager.getCertificateChain("client"));
+        assertSame(key, keyManager.getPrivateKey("client"));
+    }
+
+    @Test
+    void setDelegate_switchesLaterCalls() {
+        X509Certificate[] rotated = new X509Certificate[]{mock(X509Certificate.class)};
+        when(second.getCertificateChain("client")).thenReturn(rotated);
+
+        keyManager.setDelegate(second);
+
+        assertSame(second, keyManager.getDelegate());
+        assertArrayEquals(rotated, keyManager.getCertificateChain("client"));
+        verifyNoInteractions(first);
+    }
+}
@@ -1,14 +1,25 @@
 package com.webclient.lib.ssl;
 
 import com.webclient.lib.config.HttpClientProperties;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.ssl.JdkSslContext;
+import io.netty.handler.ssl.OpenSsl;
 import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslProvider;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import javax.net.ssl.SSLEngine;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -131,6 +142,20 @@ class SslConnectionFactoryInitializerTest {
         assertTrue(result.isClient());
     }
 
+    @Test
+    void createSslContext_http2_offersH2ThenHttp11ThroughAlpn() {
+        properties.getSsl().setEnabled(true);
+        properties.getSsl().setTruststorePath(truststorePath);
+        properties.getSsl().setTruststorePassword(PASSWORD);
+        properties.getSsl().setTruststoreType("PKCS12");
+
+        SslContext http2 = initializer.createSslContext(true);
+        SslContext http11 = initializer.createSslContext();
+
+        assertEquals(List.of("h2", "http/1.1"), http2.applicationProtocolNegotiator().protocols());
+        assertTrue(http11.applicationProtocolNegotiator().protocols().isEmpty());
+    }
+
     @Test
     void createSslContext_withKeyAliasName_usesAliasSelectingKeyManager() {
         properties.getSsl().setEnabled(true);
@@ -148,6 +173,19 @@ class SslConnectionFactoryInitializerTest {
         assertTrue(result.isClient());
     }
 
+    @Test
+    void createSslContext_hostKeyAliasMissingFromKeystore_throwsException() {
+        properties.getSsl().setEnabled(true);
+        properties.getSsl().setKeystorePath(keystorePath);
+        properties.getSsl().setKeystorePassword(PASSWORD);
+        properties.getSsl().setHostKeyAliases(Map.of("payments.internal", "missing"));
+
+        SslConnectionFactoryInitializer.SslInitializationException e = assertThrows(
+                SslConnectionFactoryInitializer.SslInitializationException.class,
+                () -> initializer.createSslContext());
+        assertTrue(e.getCause().getMessage().contains("'missing'"));
+    }
+
     @Test
     void createSslContext_withTruststoreOnly_returnsSslContext() {
         properties.getSsl().setEnabled(true);
@@ -170,6 +208,70 @@ class SslConnectionFactoryInitializerTest {
                 () -> initializer.createSslContext());
     }
 
+    @Test
+    void createSslContext_defaultProtocols_offerTls13AndTls12() {
+        properties.getSsl().setEnabled(true);
+        properties.getSsl().setProvider("jdk");
+
+        SslContext result = initializer.createSslContext();
+
+        assertInstanceOf(JdkSslContext.class, result);
+        assertEquals(Set.of("TLSv1.3", "TLSv1.2"), enabledProtocols(result));
+    }
+
+    @Test
+    void createSslContext_tlsProtocol_pinsASingleProtocol() {
+        properties.getSsl().setEnabled(true);
+        properties.getSsl().setProvider("jdk");
+        properties.getSsl().setTlsProtocol("TLSv1.2");
+
+        assertEquals(Set.of("TLSv1.2"), enabledProtocols(initializer.createSslContext()));
+    }
+
+    @Test
+    void createSslContext_emptyProtocols_throwsException() {
+        properties.getSsl().setEnabled(true);
+        properties.getSsl().setProtocols(List.of());
+
+        assertThrows(SslConnectionFactoryInitializer.SslInitializationException.class,
+                () -> initializer.createSslContext());
+    }
+
+    @Test
+    void createSslContext_sessionSettings_appliedToSessionContext() {
+        properties.getSsl().setEnabled(true);
+        properties.getSsl().setProvider("jdk");
+        properties.getSsl().setSessionCacheSize(500);
+        properties.getSsl().setSessionTimeoutSeconds(600);
+
+        SslContext result = initializer.createSslContext();
+
+        assertEquals(500, result.sessionContext().getSessionCacheSize());
+        assertEquals(600, result.sessionContext().getSessionTimeout());
+    }
+
+    @Test
+    void createSslContext_openSslProvider_usedOnlyWhenAvailable() {
+        properties.getSsl().setEnabled(true);
+        properties.getSsl().setProvider("openssl");
+
+        if (OpenSsl.isAvailable()) {
+            SslContext result = initializer.createSslContext();
+            assertFalse(result instanceof JdkSslContext);
+            assertEquals(SslProvider.OPENSSL, SslConnectionFactoryInitializer.sslProvider("auto"));
+        } else {
+            assertThrows(SslConnectionFactoryInitializer.SslInitializationException.class,
+                    () -> initializer.createSslContext());
+            assertEquals(SslProvider.JDK, SslConnectionFactoryInitializer.sslProvider("auto"));
+        }
+    }
+
+    @Test
+    void sslProvider_unknownValue_throwsException() {
+        assertThrows(SslConnectionFactoryInitializer.SslInitializationException.class,
+                () -> SslConnectionFactoryInitializer.sslProvider("conscrypt"));
+    }
+
     @Test
     void createSslContext_noKeystoreNoTruststore_returnsSslContext() {
         properties.getSsl().setEnabled(true);
@@ -178,4 +280,9 @@ class SslConnectionFactoryInitializerTest {
 
         assertNotNull(result);
     }
+
+    private static Set<String> enabledProtocols(SslContext context) {
+        SSLEngine engine = context.newEngine(ByteBufAllocator.DEFAULT);
+        return Set.of(engine.getEnabledProtocols());
+    }
 }
@@ -0,0 +1,222 @@
+package com.webclient.lib.ssl;
+
+import com.webclient.lib.config.HttpClientProperties;
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import java.io.FileInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keystore and truststore reloads of {@link SslConnectionFactoryInitializer}
+ * against a local TLS server that requires a client certificate and answers
+ * with the subject of the one it was shown.
+ */
+class SslReloadTest {
+
+    private static final String PASSWORD = "changeit";
+
+    @TempDir
+    static Path storesDir;
+
+    private static Path clientA;
+    private static Path clientB;
+    private static Path serverTrust;
+    private static DisposableServer server;
+
+    @TempDir
+    Path watchedDir;
+
+    private final BlockingQueue<SslReloadEvent> events = new LinkedBlockingQueue<>();
+    private final HttpClientProperties properties = new HttpClientProperties();
+    private SslConnectionFactoryInitializer initializer;
+    private Path keystore;
+    private Path truststore;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        Path serverKeystore = storesDir.resolve("server.p12");
+        Path serverCert = storesDir.resolve("server.pem");
+        serverTrust = storesDir.resolve("server-trust.p12");
+        clientA = storesDir.resolve("client-a.p12");
+        clientB = storesDir.resolve("client-b.p12");
+        runKeytool("-genkeypair", "-alias", "server", "-keyalg", "EC", "-groupname", "secp256r1",
+                "-storetype", "PKCS12", "-keystore", serverKeystore.toString(), "-storepass", PASSWORD,
+                "-keypass", PASSWORD, "-dname", "CN=localhost", "-ext", "SAN=dns:localhost", "-validity", "1");
+        runKeytool("-exportcert", "-alias", "server", "-keystore", serverKeystore.toString(),
+                "-storepass", PASSWORD, "-file", serverCert.toString(), "-rfc");
+        runKeytool("-importcert", "-alias", "server", "-keystore", serverTrust.toString(), "-storepass", PASSWORD,
+                "-file", serverCert.toString(), "-noprompt", "-storetype", "PKCS12");
+        for (Path client : new Path[]{clientA, clientB}) {
+            String name = client == clientA ? "client-a" : "client-b";
+            runKeytool("-genkeypair", "-alias", "client", "-keyalg", "EC", "-groupname", "secp256r1",
+                    "-storetype", "PKCS12", "-keystore", client.toString(), "-storepass", PASSWORD,
+                    "-keypass", PASSWORD, "-dname", "CN=" + name, "-validity", "1");
+        }
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (FileInputStream in = new FileInputStream(serverKeystore.toFile())) {
+            keyStore.load(in, PASSWORD.toCharArray());
+        }
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(keyStore, PASSWORD.toCharArray());
+        SslContext serverContext = SslContextBuilder.forServer(kmf)
+                .trustManager(InsecureTrustManagerFactory.INSTANCE)
+                .clientAuth(ClientAuth.REQUIRE)
+                .build();
+
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .secure(spec -> spec.sslContext(serverContext))
+                .route(routes -> routes.get("/whoami", (req, res) -> {
+                    String[] subject = new String[1];
+                    req.withConnection(connection -> subject[0] = peerSubject(connection.channel().pipeline()
+                            .get(SslHandler.class)));
+                    return res.sendString(Mono.just(subject[0]));
+                }))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.disposeNow();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        keystore = Files.copy(clientA, watchedDir.resolve("client.p12"));
+        truststore = Files.copy(serverTrust, watchedDir.resolve("trust.p12"));
+        HttpClientProperties.Ssl ssl = properties.getSsl();
+        ssl.setEnabled(true);
+        ssl.setKeystorePath(keystore.toString());
+        ssl.setKeystorePassword(PASSWORD);
+        ssl.setTruststorePath(truststore.toString());
+        ssl.setTruststorePassword(PASSWORD);
+        ssl.setReloadOnChange(true);
+        ssl.setReloadQuietPeriodMs(100);
+        initializer = new SslConnectionFactoryInitializer();
+        initializer.setProperties(properties);
+        initializer.addReloadListener(events::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        initializer.close();
+    }
+
+    @Test
+    void keystoreRotated_newConnectionsPresentTheNewCertificate() throws Exception {
+        SslContext context = initializer.createSslContext();
+        ConnectionProvider pool = ConnectionProvider.create("ssl-reload-test", 1);
+        try {
+            HttpClient pooled = HttpClient.create(pool).secure(spec -> spec.sslContext(context));
+            assertEquals("CN=client-a", whoami(pooled));
+
+            Files.copy(clientB, keystore, StandardCopyOption.REPLACE_EXISTING);
+            SslReloadEvent event = events.poll(10, TimeUnit.SECONDS);
+
+            assertNotNull(event, "reload event");
+            assertEquals(SslReloadEvent.Store.KEYSTORE, event.store());
+            assertEquals(keystore.toAbsolutePath().normalize(), event.path());
+            assertTrue(event.success());
+            assertEquals("CN=client-a", whoami(pooled), "pooled connection keeps its session");
+            HttpClient fresh = HttpClient.create(ConnectionProvider.newConnection())
+                    .secure(spec -> spec.sslContext(context));
+            assertEquals("CN=client-b", whoami(fresh));
+        } finally {
+            pool.disposeLater().block(Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    void truststoreCorrupted_reportsFailureAndKeepsThePreviousOne() throws Exception {
+        SslContext context = initializer.createSslContext();
+
+        Files.write(truststore, new byte[]{1, 2, 3});
+        SslReloadEvent event = events.poll(10, TimeUnit.SECONDS);
+
+        assertNotNull(event, "reload event");
+        assertEquals(SslReloadEvent.Store.TRUSTSTORE, event.store());
+        assertFalse(event.success());
+        assertNotNull(event.error());
+        HttpClient fresh = HttpClient.create(ConnectionProvider.newConnection())
+                .secure(spec -> spec.sslContext(context));
+        assertEquals("CN=client-a", whoami(fresh));
+    }
+
+    @Test
+    void unchangedContent_isNotReloaded() throws Exception {
+        initializer.createSslContext();
+
+        Files.copy(clientA, keystore, StandardCopyOption.REPLACE_EXISTING);
+
+        assertNull(events.poll(1, TimeUnit.SECONDS));
+    }
+
+    private String whoami(HttpClient client) {
+        return client.get()
+                .uri("https://localhost:" + server.port() + "/whoami")
+                .responseContent()
+                .aggregate()
+                .asString()
+                .block(Duration.ofSeconds(5));
+    }
+
+    private static String peerSubject(SslHandler sslHandler) {
+        try {
+            return ((X509Certificate) sslHandler.engine().getSession().getPeerCertificates()[0])
+                    .getSubjectX500Principal().getName();
+        } catch (SSLPeerUnverifiedException e) {
+            return "none";
+        }
+    }
+
+    private static void runKeytool(String... args) throws Exception {
+        String keytoolPath = System.getProperty("java.home")
+                + java.io.File.separator + "bin"
+                + java.io.File.separator + "keytool";
+        String[] cmd = new String[args.length + 1];
+        cmd[0] = keytoolPath;
+        System.arraycopy(args, 0, cmd, 1, args.length);
+
+        ProcessBuilder pb = new ProcessBuilder(cmd);
+        pb.redirectErrorStream(true);
+        Process process = pb.start();
+        process.getInputStream().readAllBytes();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new RuntimeException("keytool failed with exit code " + exitCode);
+        }
+    }
+}
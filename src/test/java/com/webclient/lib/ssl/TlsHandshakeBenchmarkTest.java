@@ -0,0 +1,209 @@
+package com.webclient.lib.ssl;
+
+import com.webclient.lib.config.HttpClientProperties;
+import com.webclient.lib.config.WebClientAutoConfiguration;
+import com.webclient.lib.metrics.ConnectionPoolMetricsRecorder;
+import com.webclient.lib.metrics.DnsResolverMetricsRecorder;
+import com.webclient.lib.metrics.TlsHandshakeMetricsRecorder;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import javax.net.ssl.KeyManagerFactory;
+import java.io.FileInputStream;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TLS handshakes per second of the shared client on each provider.
+ * <p>
+ * A local TLS server answers {@value #HANDSHAKES} requests sent with
+ * {@value #CONCURRENCY} in flight and {@code Connection: close}, so every
+ * request opens a connection and handshakes.  The client is built by
+ * {@link WebClientAutoConfiguration} with the default protocols (TLS 1.3
+ * and 1.2) on {@code jdk} and, when netty-tcnative is available,
+ * {@code openssl}.
+ * <p>
+ * The throughput run is timing-dependent, so it is tagged {@code benchmark}
+ * and runs only with {@code mvn test -Pbenchmark}.  Session resumption is
+ * checked in the default run.
+ */
+class TlsHandshakeBenchmarkTest {
+
+    private static final String PASSWORD = "changeit";
+    private static final int CONCURRENCY = 16;
+    private static final int HANDSHAKES = 2_000;
+
+    @TempDir
+    static Path tempDir;
+
+    private static String truststorePath;
+    private static DisposableServer server;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        String keystorePath = tempDir.resolve("server-keystore.p12").toString();
+        truststorePath = tempDir.resolve("client-truststore.p12").toString();
+        String certPath = tempDir.resolve("server-cert.pem").toString();
+        runKeytool("-genkeypair", "-alias", "server", "-keyalg", "EC", "-groupname", "secp256r1",
+                "-storetype", "PKCS12", "-keystore", keystorePath, "-storepass", PASSWORD, "-keypass", PASSWORD,
+                "-dname", "CN=localhost", "-ext", "SAN=dns:localhost,ip:127.0.0.1", "-validity", "1");
+        runKeytool("-exportcert", "-alias", "server", "-keystore", keystorePath, "-storepass", PASSWORD,
+                "-file", certPath, "-rfc");
+        runKeytool("-importcert", "-alias", "server", "-keystore", truststorePath, "-storepass", PASSWORD,
+                "-file", certPath, "-noprompt", "-storetype", "PKCS12");
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (FileInputStream in = new FileInputStream(keystorePath)) {
+            keyStore.load(in, PASSWORD.toCharArray());
+        }
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(keyStore, PASSWORD.toCharArray());
+        SslContext serverContext = SslContextBuilder.forServer(kmf).build();
+
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .secure(spec -> spec.sslContext(serverContext))
+                .route(routes -> routes.get("/ping", (req, res) -> res.sendString(Mono.just("pong"))))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    void secondHandshake_resumesSession() {
+        List<Boolean> resumed = new CopyOnWriteArrayList<>();
+        try (Client client = client("jdk", (host, time, protocol, wasResumed, success) -> resumed.add(wasResumed))) {
+            send(client.http(), client.url(), 1);
+            send(client.http(), client.url(), 1);
+        }
+
+        assertEquals(List.of(false, true), resumed);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void handshakesPerProvider() {
+        List<String> providers = OpenSsl.isAvailable() ? List.of("jdk", "openssl") : List.of("jdk");
+        for (String provider : providers) {
+            Run run = run(provider);
+            assertTrue(run.resumed() > 0, provider + " resumed no session, ran " + run);
+        }
+    }
+
+    private Run run(String provider) {
+        AtomicInteger handshakes = new AtomicInteger();
+        AtomicInteger resumed = new AtomicInteger();
+        TlsHandshakeMetricsRecorder counter = (host, time, protocol, wasResumed, success) -> {
+            if (success) {
+                handshakes.incrementAndGet();
+            }
+            if (wasResumed) {
+                resumed.incrementAndGet();
+            }
+        };
+
+        try (Client client = client(provider, counter)) {
+            // warms up the provider and JIT before the timed run
+            send(client.http(), client.url(), HANDSHAKES / 10);
+            handshakes.set(0);
+            resumed.set(0);
+
+            long start = System.nanoTime();
+            send(client.http(), client.url(), HANDSHAKES);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            assertEquals(HANDSHAKES, handshakes.get());
+            return new Run(HANDSHAKES / seconds, resumed.get());
+        }
+    }
+
+    /**
+     * Builds the shared client for {@code provider} with {@code Connection: close},
+     * so every request handshakes.
+     */
+    private static Client client(String provider, TlsHandshakeMetricsRecorder recorder) {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.getSsl().setEnabled(true);
+        properties.getSsl().setProvider(provider);
+        properties.getSsl().setTruststorePath(truststorePath);
+        properties.getSsl().setTruststorePassword(PASSWORD);
+        properties.getPool().setMaxConnectionsPerRoute(CONCURRENCY);
+        WebClientAutoConfiguration configuration = new WebClientAutoConfiguration();
+        configuration.setProperties(properties);
+        SslConnectionFactoryInitializer ssl = new SslConnectionFactoryInitializer();
+        ssl.setProperties(properties);
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("recorder", recorder);
+
+        ConnectionProvider pool = configuration.webClientConnectionProvider(
+                new StaticListableBeanFactory().getBeanProvider(ConnectionPoolMetricsRecorder.class));
+        LoopResources loops = configuration.webClientLoopResources();
+        HttpClient http = configuration.webClientHttpClient(pool, ssl, loops,
+                        new StaticListableBeanFactory().getBeanProvider(DnsResolverMetricsRecorder.class),
+                        beans.getBeanProvider(TlsHandshakeMetricsRecorder.class))
+                .headers(headers -> headers.set("Connection", "close"));
+        return new Client(http, "https://localhost:" + server.port() + "/ping", pool, loops);
+    }
+
+    private static void send(HttpClient client, String url, int requests) {
+        Flux.range(0, requests)
+                .flatMap(i -> client.get().uri(url).responseContent().aggregate().asString(), CONCURRENCY)
+                .blockLast(Duration.ofMinutes(1));
+    }
+
+    private static void runKeytool(String... args) throws Exception {
+        String keytoolPath = System.getProperty("java.home")
+                + java.io.File.separator + "bin"
+                + java.io.File.separator + "keytool";
+        String[] cmd = new String[args.length + 1];
+        cmd[0] = keytoolPath;
+        System.arraycopy(args, 0, cmd, 1, args.length);
+
+        ProcessBuilder pb = new ProcessBuilder(cmd);
+        pb.redirectErrorStream(true);
+        Process process = pb.start();
+        process.getInputStream().readAllBytes();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new RuntimeException("keytool failed with exit code " + exitCode);
+        }
+    }
+
+    private record Client(HttpClient http, String url, ConnectionProvider pool, LoopResources loops)
+            implements AutoCloseable {
+
+        @Override
+        public void close() {
+            pool.disposeLater().block(Duration.ofSeconds(5));
+            loops.disposeLater().block(Duration.ofSeconds(5));
+        }
+    }
+
+    private record Run(double handshakesPerSecond, int resumed) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.webclient.lib.warmup;
+
+import io.netty.handler.codec.http.HttpMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConnectionWarmerTest {
+
+    private final AtomicInteger accepted = new AtomicInteger();
+    private final AtomicInteger probes = new AtomicInteger();
+    private DisposableServer server;
+    private ConnectionProvider provider;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .doOnConnection(connection -> accepted.incrementAndGet())
+                .route(routes -> routes.head("/", (req, res) -> {
+                    probes.incrementAndGet();
+                    return res.send();
+                }))
+                .bindNow();
+        provider = ConnectionProvider.create("warmup-test", 16);
+        client = HttpClient.create(provider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.disposeLater().block(Duration.ofSeconds(5));
+        server.disposeNow();
+    }
+
+    @Test
+    void warmUp_opensTheRequestedConnections() {
+        ConnectionWarmer warmer = warmer(Map.of(url(), 4));
+
+        WarmupResult result = warmer.warmUp().block(Duration.ofSeconds(10));
+
+        assertEquals(4, accepted.get());
+        assertEquals(4, probes.get());
+        assertEquals(1, result.hosts());
+        assertEquals(4, result.requested());
+        assertEquals(4, result.established());
+        assertEquals(0, result.failed());
+        assertSame(result, warmer.getLastResult());
+    }
+
+    @Test
+    void warmUp_again_reusesIdleConnections() {
+        ConnectionWarmer warmer = warmer(Map.of(url(), 4));
+        warmer.warmUp().block(Duration.ofSeconds(10));
+
+        WarmupResult result = warmer.warmUp().block(Duration.ofSeconds(10));
+
+        assertEquals(4, result.established());
+        assertEquals(4, accepted.get());
+    }
+
+    @Test
+    void warmUp_unreachableHost_countsFailuresAndWarmsTheOthers() {
+        Map<String, Integer> targets = new LinkedHashMap<>();
+        targets.put(url(), 2);
+        targets.put("http://127.0.0.1:1", 3);
+        ConnectionWarmer warmer = warmer(targets);
+
+        WarmupResult result = warmer.warmUp().block(Duration.ofSeconds(10));
+
+        assertEquals(2, result.hosts());
+        assertEquals(5, result.requested());
+        assertEquals(2, result.established());
+        assertEquals(3, result.failed());
+    }
+
+    @Test
+    void warmUp_readsTargetsOnEveryRun() {
+        Map<String, Integer> targets = new LinkedHashMap<>();
+        ConnectionWarmer warmer = new ConnectionWarmer(client, () -> Map.copyOf(targets), HttpMethod.HEAD, "/",
+                Duration.ofSeconds(5));
+        assertEquals(0, warmer.warmUp().block(Duration.ofSeconds(10)).established());
+
+        targets.put(url(), 2);
+
+        assertEquals(2, warmer.warmUp().block(Duration.ofSeconds(10)).established());
+    }
+
+    @Test
+    void rewarmEvery_runsUntilClosed() throws InterruptedException {
+        ConnectionWarmer warmer = warmer(Map.of(url(), 1));
+        assertNull(warmer.getLastResult());
+
+        warmer.rewarmEvery(Duration.ofMillis(50));
+        Thread.sleep(500);
+        warmer.close();
+        // lets a probe that was already on the wire arrive
+        Thread.sleep(100);
+        int afterClose = probes.get();
+        Thread.sleep(200);
+
+        assertEquals(1, warmer.getLastResult().established());
+        assertEquals(afterClose, probes.get());
+    }
+
+    @Test
+    void constructor_nonPositiveTimeout_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConnectionWarmer(client, Map::of, HttpMethod.HEAD, "/", Duration.ZERO));
+    }
+
+    private ConnectionWarmer warmer(Map<String, Integer> targets) {
+        return new ConnectionWarmer(client, () -> targets, HttpMethod.HEAD, "/", Duration.ofSeconds(5));
+    }
+
+    private String url() {
+        return "http://localhost:" + server.port();
+    }
+}